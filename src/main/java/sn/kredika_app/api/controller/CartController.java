@@ -0,0 +1,78 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.CheckoutService;
+import sn.kredika_app.application.interfaces.service.IdempotencyService;
+import sn.kredika_app.common.enums.IdempotencyScope;
+import sn.kredika_app.domain.dto.request.CartItemRequestDto;
+import sn.kredika_app.domain.dto.request.CheckoutRequestDto;
+import sn.kredika_app.domain.dto.response.CartResponseDto;
+import sn.kredika_app.domain.dto.response.OrderResponseDto;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/users/{userId}/cart")
+@RequiredArgsConstructor
+public class CartController {
+
+    private final ActiveCartService activeCartService;
+    private final CheckoutService checkoutService;
+    private final IdempotencyService idempotencyService;
+
+    @GetMapping
+    public ResponseEntity<CartResponseDto> getCart (@PathVariable UUID userId) {
+        return ResponseEntity.ok(activeCartService.getCart(userId));
+    }
+
+    /**
+     * Ajoute un produit ; la quantité s'ajoute à celle déjà présente dans le panier
+     */
+    @PostMapping("/items")
+    public ResponseEntity<CartResponseDto> addItem (@PathVariable UUID userId,
+                                                   @RequestBody CartItemRequestDto request) {
+        return ResponseEntity.ok(activeCartService.addItem(userId, request));
+    }
+
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<CartResponseDto> updateItem (@PathVariable UUID userId, @PathVariable UUID productId,
+                                                      @RequestBody CartItemRequestDto request) {
+        return ResponseEntity.ok(activeCartService.updateItem(userId, productId, request));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<CartResponseDto> removeItem (@PathVariable UUID userId, @PathVariable UUID productId) {
+        return ResponseEntity.ok(activeCartService.removeItem(userId, productId));
+    }
+
+    /**
+     * Convertit le panier en commande ; un rejeu portant la même clé d'idempotence reçoit la même commande
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<OrderResponseDto> checkout (
+            @PathVariable UUID userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody(required = false) CheckoutRequestDto request
+    ) {
+        OrderResponseDto order = idempotencyService.execute(IdempotencyScope.CHECKOUT, userId, idempotencyKey,
+                request, OrderResponseDto.class, () -> checkoutService.checkout(userId, request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<CartResponseDto> clear (@PathVariable UUID userId) {
+        return ResponseEntity.ok(activeCartService.clear(userId));
+    }
+}
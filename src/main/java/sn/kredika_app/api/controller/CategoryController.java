@@ -0,0 +1,55 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.CategoryProductStatsService;
+import sn.kredika_app.application.interfaces.service.CategoryTreeService;
+import sn.kredika_app.domain.dto.response.CategoryProductCountsDto;
+import sn.kredika_app.domain.dto.response.CategoryTreeNodeDto;
+import sn.kredika_app.domain.dto.simple.CategorySimpleDto;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/catalog/categories")
+@RequiredArgsConstructor
+public class CategoryController {
+
+    private final CategoryTreeService categoryTreeService;
+    private final CategoryProductStatsService categoryProductStatsService;
+
+    /**
+     * Menu des catégories visibles, servi depuis l'arbre en mémoire
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoryTreeNodeDto>> getMenu () {
+        return ResponseEntity.ok(categoryTreeService.getMenu());
+    }
+
+    /**
+     * Fil d'Ariane d'une catégorie, de la racine jusqu'à elle
+     */
+    @GetMapping("/{categoryId}/path")
+    public ResponseEntity<List<CategorySimpleDto>> getPath (@PathVariable UUID categoryId) {
+        return ResponseEntity.ok(categoryTreeService.current().path(categoryId).stream()
+                .map(node -> new CategorySimpleDto(node.id(), node.name(), node.slug(), node.imageUrl()))
+                .toList());
+    }
+
+    /**
+     * Compteurs de produits actifs, en stock et éligibles au crédit d'une catégorie
+     */
+    @GetMapping("/{categoryId}/counts")
+    public ResponseEntity<CategoryProductCountsDto> getCounts (
+            @PathVariable UUID categoryId,
+            @RequestParam(defaultValue = "true") boolean includeSubcategories
+    ) {
+        return ResponseEntity.ok(categoryProductStatsService.getCounts(categoryId, includeSubcategories));
+    }
+}
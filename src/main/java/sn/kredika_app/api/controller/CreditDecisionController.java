@@ -0,0 +1,43 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.CreditDecisionService;
+import sn.kredika_app.domain.dto.request.CreditDecisionRequestDto;
+import sn.kredika_app.domain.dto.response.CartCreditDecisionResponseDto;
+import sn.kredika_app.domain.dto.response.CreditDecisionResponseDto;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/users/{userId}/credit-decisions")
+@RequiredArgsConstructor
+public class CreditDecisionController {
+
+    private final CreditDecisionService creditDecisionService;
+
+    /**
+     * Simule la décision de crédit pour un montant et une durée
+     */
+    @PostMapping
+    public ResponseEntity<CreditDecisionResponseDto> decide (
+            @PathVariable UUID userId,
+            @RequestBody CreditDecisionRequestDto request
+    ) {
+        return ResponseEntity.ok(creditDecisionService.decide(userId, request));
+    }
+
+    /**
+     * Décision de crédit pour toutes les lignes à crédit du panier actif
+     */
+    @GetMapping("/cart")
+    public ResponseEntity<CartCreditDecisionResponseDto> decideCart (@PathVariable UUID userId) {
+        return ResponseEntity.ok(creditDecisionService.decideCart(userId));
+    }
+}
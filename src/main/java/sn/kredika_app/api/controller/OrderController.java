@@ -0,0 +1,34 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.OrderHistoryService;
+import sn.kredika_app.domain.dto.response.CursorPageResponseDto;
+import sn.kredika_app.domain.dto.simple.OrderSimpleDto;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/users/{userId}/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final OrderHistoryService orderHistoryService;
+
+    /**
+     * Historique des commandes du client, page par page, à l'aide d'un curseur opaque
+     */
+    @GetMapping
+    public ResponseEntity<CursorPageResponseDto<OrderSimpleDto>> listOrders (
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderHistoryService.listOrders(userId, cursor, size));
+    }
+}
@@ -0,0 +1,42 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.IdempotencyService;
+import sn.kredika_app.application.interfaces.service.PaymentService;
+import sn.kredika_app.common.enums.IdempotencyScope;
+import sn.kredika_app.domain.dto.request.PaymentTransactionRequestDto;
+import sn.kredika_app.domain.dto.response.PaymentTransactionResponseDto;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/users/{userId}/payments")
+@RequiredArgsConstructor
+public class PaymentController {
+
+    private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Initie le paiement d'une échéance ; un rejeu portant la même clé d'idempotence reçoit la même transaction
+     */
+    @PostMapping
+    public ResponseEntity<PaymentTransactionResponseDto> initiate (
+            @PathVariable UUID userId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody PaymentTransactionRequestDto request
+    ) {
+        PaymentTransactionResponseDto transaction = idempotencyService.execute(IdempotencyScope.PAYMENT, userId,
+                idempotencyKey, request, PaymentTransactionResponseDto.class,
+                () -> paymentService.initiate(userId, request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+    }
+}
@@ -0,0 +1,74 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.ProductCatalogService;
+import sn.kredika_app.application.interfaces.service.ProductCounterService;
+import sn.kredika_app.application.interfaces.service.ProductFacetService;
+import sn.kredika_app.common.enums.ProductCatalogSort;
+import sn.kredika_app.domain.dto.response.CursorPageResponseDto;
+import sn.kredika_app.domain.dto.response.ProductFacetResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetFilter;
+
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/catalog")
+@RequiredArgsConstructor
+public class ProductCatalogController {
+
+    private final ProductCatalogService productCatalogService;
+    private final ProductCounterService productCounterService;
+    private final ProductFacetService productFacetService;
+
+    /**
+     * Liste les produits d'une catégorie, page par page, à l'aide d'un curseur opaque
+     */
+    @GetMapping("/categories/{categoryId}/products")
+    public ResponseEntity<CursorPageResponseDto<ProductSimpleDto>> listByCategory (
+            @PathVariable UUID categoryId,
+            @RequestParam(defaultValue = "false") boolean includeSubcategories,
+            @RequestParam(defaultValue = "true") boolean active,
+            @RequestParam(defaultValue = "NEWEST") ProductCatalogSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(productCatalogService.listByCategory(
+                categoryId, includeSubcategories, active, sort, cursor, size));
+    }
+
+    /**
+     * Enregistre la consultation d'une fiche produit (comptabilisée en différé)
+     */
+    @PostMapping("/products/{productId}/views")
+    public ResponseEntity<Void> recordView (@PathVariable UUID productId) {
+        productCounterService.recordView(productId);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Compteurs du panneau de filtres pour le périmètre et les filtres courants.
+     * Plusieurs valeurs d'une même facette se combinent en OU, les facettes entre elles en ET.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetResponseDto> getFacets (
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(defaultValue = "true") boolean includeSubcategories,
+            @RequestParam(required = false) Set<String> brand,
+            @RequestParam(required = false) Set<String> color,
+            @RequestParam(required = false) Set<String> priceBucket,
+            @RequestParam(required = false) Boolean creditEligible,
+            @RequestParam(required = false) Boolean featured
+    ) {
+        FacetFilter filter = new FacetFilter(brand, color, priceBucket, creditEligible, featured);
+        return ResponseEntity.ok(productFacetService.getFacets(categoryId, includeSubcategories, filter));
+    }
+}
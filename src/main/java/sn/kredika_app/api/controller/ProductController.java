@@ -0,0 +1,76 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import sn.kredika_app.application.interfaces.service.ProductImageService;
+import sn.kredika_app.application.interfaces.service.ProductQueryService;
+import sn.kredika_app.application.interfaces.service.ProductRatingStatsService;
+import sn.kredika_app.domain.dto.response.ProductImageResponseDto;
+import sn.kredika_app.domain.dto.response.ProductRatingSummaryDto;
+import sn.kredika_app.domain.dto.response.ProductResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/products")
+@RequiredArgsConstructor
+public class ProductController {
+
+    private final ProductQueryService productQueryService;
+    private final ProductRatingStatsService productRatingStatsService;
+    private final ProductImageService productImageService;
+
+    @GetMapping("/{productId}")
+    public ResponseEntity<ProductResponseDto> getProduct (@PathVariable UUID productId,
+                                                         @RequestParam(required = false) Integer imageWidth) {
+        return ResponseEntity.ok(productQueryService.getProduct(productId, imageWidth));
+    }
+
+    /**
+     * Téléverse une image ; les variantes redimensionnées sont générées en arrière-plan
+     */
+    @PostMapping(value = "/{productId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImageResponseDto> uploadImage (
+            @PathVariable UUID productId,
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) String altText,
+            @RequestParam(required = false) Integer position,
+            @RequestParam(defaultValue = "false") boolean isPrimary
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(productImageService.upload(productId, file, altText, position, isPrimary));
+    }
+
+    /**
+     * Moyenne et répartition des notes (barres par étoiles de la fiche produit)
+     */
+    @GetMapping("/{productId}/rating")
+    public ResponseEntity<ProductRatingSummaryDto> getRatingSummary (@PathVariable UUID productId) {
+        return ResponseEntity.ok(productRatingStatsService.getRatingSummary(productId));
+    }
+
+    /**
+     * Produits demandés par identifiant (panier, liste de souhaits, résultats de recherche)
+     */
+    @GetMapping
+    public ResponseEntity<List<ProductResponseDto>> getProducts (@RequestParam List<UUID> ids) {
+        return ResponseEntity.ok(productQueryService.getProducts(ids));
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<List<ProductSimpleDto>> getProductSummaries (@RequestParam List<UUID> ids) {
+        return ResponseEntity.ok(productQueryService.getProductSummaries(ids));
+    }
+}
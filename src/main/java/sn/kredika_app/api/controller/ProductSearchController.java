@@ -0,0 +1,33 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.ProductSearchService;
+import sn.kredika_app.domain.dto.response.ProductSearchResponseDto;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/catalog/search")
+@RequiredArgsConstructor
+public class ProductSearchController {
+
+    private final ProductSearchService productSearchService;
+
+    /**
+     * Recherche plein texte dans les produits actifs, classés par pertinence
+     */
+    @GetMapping
+    public ResponseEntity<ProductSearchResponseDto> search (
+            @RequestParam("q") String query,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(productSearchService.search(query, categoryId, page, size));
+    }
+}
@@ -0,0 +1,83 @@
+package sn.kredika_app.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sn.kredika_app.application.interfaces.service.SalesReportService;
+import sn.kredika_app.application.interfaces.service.SalesRollupService;
+import sn.kredika_app.application.interfaces.service.SalesRollupService.RebuildJob;
+import sn.kredika_app.domain.dto.response.SalesReportRowDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/reports/sales")
+@RequiredArgsConstructor
+public class SalesReportController {
+
+    private final SalesReportService salesReportService;
+    private final SalesRollupService salesRollupService;
+
+    /**
+     * Ventes jour par jour sur la plage
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<List<SalesReportRowDto>> daily (
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesReportService.dailyTotals(from, to));
+    }
+
+    /**
+     * Ventes par catégorie sur la plage
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<List<SalesReportRowDto>> categories (
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesReportService.categoryTotals(from, to));
+    }
+
+    /**
+     * Meilleures ventes par produit sur la plage, éventuellement limitées à une catégorie
+     */
+    @GetMapping("/products")
+    public ResponseEntity<List<SalesReportRowDto>> products (
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(salesReportService.productTotals(from, to, categoryId, limit));
+    }
+
+    /**
+     * Lance en arrière-plan le recalcul des agrégats de la plage depuis les commandes livrées ; l'état se suit sur
+     * GET /reports/sales/rebuild/{jobId}
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<RebuildJob> rebuild (
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.accepted().body(salesRollupService.startRebuild(from, to));
+    }
+
+    /**
+     * État d'un recalcul lancé, avec son bilan une fois terminé
+     */
+    @GetMapping("/rebuild/{jobId}")
+    public ResponseEntity<RebuildJob> rebuildStatus (@PathVariable UUID jobId) {
+        return ResponseEntity.ok(salesRollupService.findRebuild(jobId));
+    }
+}
@@ -0,0 +1,471 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.CreditSettingsService;
+import sn.kredika_app.common.enums.PaymentFrequency;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.common.util.AmortizationEngine;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.dto.request.CartItemRequestDto;
+import sn.kredika_app.domain.dto.response.CartItemResponseDto;
+import sn.kredika_app.domain.dto.response.CartResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+import sn.kredika_app.domain.snapshot.ActiveCart;
+import sn.kredika_app.domain.snapshot.ActiveCartLine;
+import sn.kredika_app.domain.snapshot.CreditSettingsSnapshot;
+import sn.kredika_app.domain.snapshot.CreditTerm;
+import sn.kredika_app.infrastructure.cache.ActiveCartStore;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartRepository.ProductInfo;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Paniers actifs en écriture différée (write-back).
+ * Une modification de panier ne touche que la mémoire : le panier immuable est remplacé atomiquement dans
+ * l'ActiveCartStore et l'utilisateur est marqué à persister. Les données produit sont servies depuis un cache local
+ * et les taux de commission depuis la photographie de CreditSettingsService, si bien qu'une modification ne fait
+ * d'aller-retour en base que pour un produit jamais vu récemment. Le vidage périodique regroupe toutes les
+ * modifications d'un panier en une seule écriture, par lots ; seul le passage en caisse écrit de façon synchrone.
+ */
+@Slf4j
+@Service
+public class ActiveCartServiceImpl implements ActiveCartService {
+
+    static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final ActiveCartStore cartStore;
+    private final JdbcCartRepository cartRepository;
+    private final CreditSettingsService creditSettingsService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration cartTtl;
+    private final long productCacheTtlNanos;
+
+    private final Set<UUID> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<UUID, CachedProduct> productCache = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter cartsFlushed;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public ActiveCartServiceImpl (
+            ActiveCartStore cartStore,
+            JdbcCartRepository cartRepository,
+            CreditSettingsService creditSettingsService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.cart.ttl-minutes:60}") long cartTtlMinutes,
+            @Value("${kredika.cart.product-cache-ttl-ms:30000}") long productCacheTtlMs
+    ) {
+        this.cartStore = cartStore;
+        this.cartRepository = cartRepository;
+        this.creditSettingsService = creditSettingsService;
+        this.transactionTemplate = transactionTemplate;
+        this.cartTtl = Duration.ofMinutes(cartTtlMinutes);
+        this.productCacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(productCacheTtlMs);
+        this.cartsFlushed = Counter.builder("kredika.cart.flushed")
+                .description("Paniers écrits en base par les vidages")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("kredika.cart.flush.failures")
+                .description("Lots de paniers dont l'écriture a échoué et qui ont été remis en attente")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("kredika.cart.flush")
+                .description("Durée d'un vidage des paniers")
+                .register(meterRegistry);
+        Gauge.builder("kredika.cart.active", cartStore, store -> store.userIds().size())
+                .description("Paniers actifs tenus en mémoire")
+                .register(meterRegistry);
+        Gauge.builder("kredika.cart.dirty", dirtyUsers, Set::size)
+                .description("Paniers modifiés en attente d'écriture")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CartResponseDto getCart (UUID userId) {
+        return toDto(currentCart(userId));
+    }
+
+    @Override
+    public CartResponseDto addItem (UUID userId, CartItemRequestDto request) {
+        if (request == null || request.getProductId() == null) {
+            throw CustomException.badRequest("Le produit est requis");
+        }
+        int quantity = request.getQuantity() == null ? 1 : request.getQuantity();
+        if (quantity < 1) {
+            throw CustomException.badRequest("La quantité doit être au moins 1");
+        }
+        currentCart(userId);
+        ProductInfo product = product(request.getProductId());
+        return mutate(userId, (cart, expiresAt) -> {
+            ActiveCartLine existing = cart.line(product.id());
+            ActiveCartLine line = existing == null
+                    ? priceLine(UUID.randomUUID(), product, quantity, request.getPaymentMethodCode(),
+                    request.getCreditDuration(), request.getCreditFrequencyCode(), product.price())
+                    : repriceLine(existing, product, existing.quantity() + quantity, request);
+            return cart.withLine(line, expiresAt);
+        });
+    }
+
+    @Override
+    public CartResponseDto updateItem (UUID userId, UUID productId, CartItemRequestDto request) {
+        if (request == null) {
+            throw CustomException.badRequest("La modification est requise");
+        }
+        if (request.getQuantity() != null && request.getQuantity() < 1) {
+            throw CustomException.badRequest("La quantité doit être au moins 1");
+        }
+        if (currentCart(userId).line(productId) == null) {
+            throw CustomException.notFound("Produit absent du panier");
+        }
+        ProductInfo product = product(productId);
+        return mutate(userId, (cart, expiresAt) -> {
+            ActiveCartLine existing = cart.line(productId);
+            if (existing == null) {
+                throw CustomException.notFound("Produit absent du panier");
+            }
+            int quantity = request.getQuantity() == null ? existing.quantity() : request.getQuantity();
+            return cart.withLine(repriceLine(existing, product, quantity, request), expiresAt);
+        });
+    }
+
+    @Override
+    public CartResponseDto removeItem (UUID userId, UUID productId) {
+        currentCart(userId);
+        return mutate(userId, (cart, expiresAt) -> cart.withoutLine(productId, expiresAt));
+    }
+
+    @Override
+    public CartResponseDto clear (UUID userId) {
+        currentCart(userId);
+        return mutate(userId, (cart, expiresAt) -> cart.cleared(expiresAt));
+    }
+
+    @Override
+    @Transactional
+    public ActiveCart persistForCheckout (UUID userId) {
+        ActiveCart cart = cartStore.get(userId);
+        if (cart == null) {
+            return cartRepository.findActiveCart(userId);
+        }
+        dirtyUsers.remove(userId);
+        cartRepository.saveAll(List.of(cart));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion (int status) {
+                    if (status != STATUS_COMMITTED) {
+                        dirtyUsers.add(userId);
+                    }
+                }
+            });
+        }
+        return cart;
+    }
+
+    @Override
+    public ActiveCart snapshot (UUID userId) {
+        return currentCart(userId);
+    }
+
+    @Override
+    public void detach (UUID userId, UUID cartId) {
+        ActiveCart remaining = cartStore.update(userId,
+                current -> current != null && current.cartId().equals(cartId) ? null : current);
+        if (remaining == null) {
+            dirtyUsers.remove(userId);
+        }
+    }
+
+    @Override
+    public int reprice (Collection<UUID> productIds, Collection<Integer> creditDurations) {
+        Map<UUID, ProductInfo> products = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            long now = System.nanoTime();
+            for (ProductInfo product : cartRepository.findProducts(productIds.toArray(UUID[]::new))) {
+                products.put(product.id(), product);
+                productCache.put(product.id(), new CachedProduct(product, now));
+            }
+        }
+        if (!creditDurations.isEmpty()) {
+            creditSettingsService.refresh();
+        }
+        CreditSettingsSnapshot settings = creditSettingsService.current();
+
+        int repriced = 0;
+        for (UUID userId : cartStore.userIds()) {
+            ActiveCart cart = cartStore.get(userId);
+            if (cart == null || cart.lines().stream().noneMatch(line -> productIds.contains(line.productId())
+                    || line.creditDuration() != null && creditDurations.contains(line.creditDuration()))) {
+                continue;
+            }
+            cartStore.update(userId, current -> current == null ? null
+                    : current.withLines(current.lines().stream()
+                    .map(line -> repricedLine(line, products.get(line.productId()), settings, creditDurations))
+                    .toList()));
+            dirtyUsers.add(userId);
+            repriced++;
+        }
+        return repriced;
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.cart.flush-interval-ms:2000}")
+    public void scheduledFlush () {
+        flush();
+        evictExpired();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown () {
+        int flushed = flush();
+        log.info("Paniers vidés à l'arrêt : {} panier(s)", flushed);
+    }
+
+    @Override
+    public int flush () {
+        flushLock.lock();
+        long start = System.nanoTime();
+        try {
+            List<UUID> users = new ArrayList<>();
+            for (Iterator<UUID> it = dirtyUsers.iterator(); it.hasNext(); ) {
+                users.add(it.next());
+                it.remove();
+            }
+            int written = 0;
+            int from = 0;
+            try {
+                for (; from < users.size(); from += FLUSH_CHUNK_SIZE) {
+                    List<UUID> chunk = users.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, users.size()));
+                    written += writeChunk(chunk);
+                }
+            } finally {
+                // Interruption imprévue : le lot en cours et les suivants restent à persister
+                if (from < users.size()) {
+                    dirtyUsers.addAll(users.subList(from, users.size()));
+                }
+            }
+            cartsFlushed.increment(written);
+            return written;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushLock.unlock();
+        }
+    }
+
+    private int writeChunk (List<UUID> users) {
+        List<ActiveCart> carts = new ArrayList<>(users.size());
+        for (UUID userId : users) {
+            ActiveCart cart = cartStore.get(userId);
+            if (cart != null) {
+                carts.add(cart);
+            }
+        }
+        try {
+            List<ActiveCart> written = transactionTemplate.execute(status -> cartRepository.saveAll(carts));
+            return written == null ? 0 : written.size();
+        } catch (RuntimeException ex) {
+            // Base indisponible (CannotCreateTransactionException) comme échec d'écriture : les paniers restent marqués
+            dirtyUsers.addAll(users);
+            flushFailures.increment();
+            log.warn("Échec de l'écriture de {} panier(s), nouvel essai au prochain cycle", carts.size(), ex);
+            return 0;
+        }
+    }
+
+    /**
+     * Libère la mémoire des paniers expirés déjà écrits en base
+     */
+    private void evictExpired () {
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID userId : cartStore.userIds()) {
+            ActiveCart cart = cartStore.get(userId);
+            if (cart != null && cart.isExpired(now) && !dirtyUsers.contains(userId)) {
+                cartStore.remove(userId, cart.revision());
+            }
+        }
+    }
+
+    private CartResponseDto mutate (UUID userId, CartMutation mutation) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(cartTtl);
+        ActiveCart updated = cartStore.update(userId, cart -> mutation.apply(cart, expiresAt));
+        dirtyUsers.add(userId);
+        return toDto(updated);
+    }
+
+    /**
+     * Panier en mémoire, chargé depuis la base au premier accès ; un panier expiré est remplacé par un panier vide
+     */
+    private ActiveCart currentCart (UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        ActiveCart cart = cartStore.get(userId);
+        if (cart != null && !cart.isExpired(now)) {
+            return cart;
+        }
+        ActiveCart loaded = cart == null ? cartRepository.findActiveCart(userId) : null;
+        ActiveCart fresh = loaded != null && !loaded.isExpired(now)
+                ? loaded
+                : ActiveCart.empty(UUID.randomUUID(), userId, now.plus(cartTtl));
+        return cartStore.update(userId, current -> current != null && !current.isExpired(now) ? current : fresh);
+    }
+
+    private ProductInfo product (UUID productId) {
+        long now = System.nanoTime();
+        CachedProduct cached = productCache.get(productId);
+        if (cached == null || now - cached.loadedAt() > productCacheTtlNanos) {
+            List<ProductInfo> found = cartRepository.findProducts(new UUID[]{productId});
+            if (found.isEmpty()) {
+                productCache.remove(productId);
+                throw CustomException.notFound("Produit introuvable");
+            }
+            cached = new CachedProduct(found.getFirst(), now);
+            productCache.put(productId, cached);
+        }
+        if (!cached.product().active()) {
+            throw CustomException.badRequest("Ce produit n'est plus disponible");
+        }
+        return cached.product();
+    }
+
+    /**
+     * Recalcule une ligne existante en conservant le prix unitaire enregistré à l'ajout
+     */
+    private ActiveCartLine repriceLine (ActiveCartLine existing, ProductInfo product, int quantity,
+                                        CartItemRequestDto request) {
+        String paymentMethod = request.getPaymentMethodCode() != null
+                ? request.getPaymentMethodCode()
+                : existing.paymentMethodCode();
+        Integer duration = request.getCreditDuration() != null ? request.getCreditDuration() : existing.creditDuration();
+        String frequency = request.getCreditFrequencyCode() != null
+                ? request.getCreditFrequencyCode()
+                : existing.creditFrequencyCode();
+        return priceLine(existing.itemId(), product, quantity, paymentMethod, duration, frequency,
+                existing.unitPrice());
+    }
+
+    private ActiveCartLine priceLine (UUID itemId, ProductInfo product, int quantity, String paymentMethodCode,
+                                      Integer creditDuration, String frequencyCode, BigDecimal unitPrice) {
+        String method = paymentMethodCode == null ? CreditPricing.PAYMENT_CASH : paymentMethodCode;
+        if (!CreditPricing.PAYMENT_METHODS.contains(method)) {
+            throw CustomException.badRequest("Mode de paiement inconnu : " + paymentMethodCode);
+        }
+        if (!CreditPricing.PAYMENT_CREDIT.equals(method)) {
+            return new ActiveCartLine(itemId, product.id(), product.name(), product.mainImageUrl(), quantity, method,
+                    null, null, unitPrice, null, CreditPricing.lineTotal(unitPrice, quantity, null), null);
+        }
+        if (creditDuration == null || creditDuration < 1) {
+            throw CustomException.badRequest("La durée du crédit est requise");
+        }
+        if (!product.creditEligible()) {
+            throw CustomException.badRequest("Ce produit n'est pas éligible au crédit");
+        }
+        if (product.maxCreditDuration() != null && creditDuration > product.maxCreditDuration()) {
+            throw CustomException.badRequest(
+                    "La durée maximale de crédit pour ce produit est de " + product.maxCreditDuration() + " mois");
+        }
+        BigDecimal rate = commissionRate(creditDuration, unitPrice, quantity);
+        String frequency;
+        try {
+            frequency = PaymentFrequency.fromCode(frequencyCode).name();
+        } catch (IllegalArgumentException ex) {
+            throw CustomException.badRequest(ex.getMessage());
+        }
+        BigDecimal total = CreditPricing.lineTotal(unitPrice, quantity, rate);
+        return new ActiveCartLine(itemId, product.id(), product.name(), product.mainImageUrl(), quantity,
+                CreditPricing.PAYMENT_CREDIT, creditDuration, frequency, unitPrice, rate, total,
+                CreditPricing.installmentAmount(total, creditDuration, frequency));
+    }
+
+    /**
+     * @param product produit au prix courant, null si son prix n'a pas changé
+     * @return la ligne au prix et au taux courants (inchangée si rien ne la concerne)
+     */
+    private static ActiveCartLine repricedLine (ActiveCartLine line, ProductInfo product,
+                                                CreditSettingsSnapshot settings,
+                                                Collection<Integer> creditDurations) {
+        boolean credit = line.creditDuration() != null && CreditPricing.PAYMENT_CREDIT.equals(line.paymentMethodCode());
+        boolean rateChanged = credit && creditDurations.contains(line.creditDuration());
+        if (product == null && !rateChanged) {
+            return line;
+        }
+        BigDecimal unitPrice = product == null ? line.unitPrice() : product.price();
+        BigDecimal rate = line.commissionRate();
+        if (credit) {
+            CreditTerm term = settings.quote(line.creditDuration(), financedCentimes(unitPrice, line.quantity()));
+            if (term != null) {
+                rate = term.commissionRate();
+            }
+        }
+        BigDecimal total = CreditPricing.lineTotal(unitPrice, line.quantity(), credit ? rate : null);
+        return new ActiveCartLine(line.itemId(), line.productId(), line.productName(), line.mainImageUrl(),
+                line.quantity(), line.paymentMethodCode(), line.creditDuration(), line.creditFrequencyCode(),
+                unitPrice, credit ? rate : null, total,
+                credit ? CreditPricing.installmentAmount(total, line.creditDuration(), line.creditFrequencyCode())
+                        : null);
+    }
+
+    /**
+     * @return le taux de la tranche qui contient le montant financé, ou de la plus proche
+     */
+    private BigDecimal commissionRate (int creditDuration, BigDecimal unitPrice, int quantity) {
+        CreditTerm term = creditSettingsService.current().quote(creditDuration, financedCentimes(unitPrice, quantity));
+        if (term == null) {
+            throw CustomException.badRequest("Aucune offre de crédit sur " + creditDuration + " mois");
+        }
+        return term.commissionRate();
+    }
+
+    private static long financedCentimes (BigDecimal unitPrice, int quantity) {
+        return AmortizationEngine.toCentimes(CreditPricing.lineTotal(unitPrice, quantity, null));
+    }
+
+    private static CartResponseDto toDto (ActiveCart cart) {
+        List<CartItemResponseDto> items = cart.lines().stream()
+                .map(line -> new CartItemResponseDto(
+                        line.itemId(),
+                        new ProductSimpleDto(line.productId(), line.productName(), line.unitPrice(),
+                                line.mainImageUrl()),
+                        line.quantity(),
+                        line.unitPrice(),
+                        line.totalAmount(),
+                        line.paymentMethodCode(),
+                        line.creditDuration(),
+                        line.creditFrequencyCode(),
+                        line.installmentAmount()))
+                .toList();
+        return new CartResponseDto(cart.cartId(), cart.statusCode(), cart.totalAmount(), items, cart.expiresAt());
+    }
+
+    @FunctionalInterface
+    private interface CartMutation {
+        ActiveCart apply (ActiveCart cart, LocalDateTime expiresAt);
+    }
+
+    private record CachedProduct(ProductInfo product, long loadedAt) {
+    }
+}
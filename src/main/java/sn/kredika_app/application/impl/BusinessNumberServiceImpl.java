@@ -0,0 +1,102 @@
+package sn.kredika_app.application.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.BusinessNumberService;
+import sn.kredika_app.common.enums.BusinessNumberType;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcBusinessNumberRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Numéros métier attribués par blocs loués (hi/lo).
+ * Le nœud loue en base un bloc de valeurs consécutives du compteur du jour, dans une transaction courte et
+ * indépendante, puis distribue ces valeurs depuis la mémoire par simple incrément atomique : aucun verrou ni
+ * aller-retour en base tant que le bloc n'est pas épuisé. Les blocs de deux nœuds ne se chevauchent jamais ; les
+ * valeurs non distribuées d'un bloc (arrêt du nœud, changement de jour) sont perdues, les numéros restent donc
+ * uniques et croissants par nœud mais pas contigus.
+ */
+@Service
+public class BusinessNumberServiceImpl implements BusinessNumberService {
+
+    private final JdbcBusinessNumberRepository numberRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+    private final Map<BusinessNumberType, AtomicReference<Block>> blocks = new EnumMap<>(BusinessNumberType.class);
+
+    public BusinessNumberServiceImpl (
+            JdbcBusinessNumberRepository numberRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${kredika.numbers.block-size:50}") int blockSize
+    ) {
+        this.numberRepository = numberRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+        for (BusinessNumberType type : BusinessNumberType.values()) {
+            blocks.put(type, new AtomicReference<>(Block.EXHAUSTED));
+        }
+    }
+
+    /**
+     * Bloc loué pour un jour : {@code next} est la prochaine valeur à distribuer, {@code last} la dernière du bloc
+     */
+    private record Block(LocalDate day, AtomicLong next, long last) {
+
+        static final Block EXHAUSTED = new Block(LocalDate.MIN, new AtomicLong(1), 0);
+    }
+
+    @Override
+    public String next (BusinessNumberType type) {
+        LocalDate today = LocalDate.now();
+        AtomicReference<Block> current = blocks.get(type);
+        while (true) {
+            Block block = current.get();
+            if (block.day().equals(today)) {
+                long value = block.next().getAndIncrement();
+                if (value <= block.last()) {
+                    return type.format(today, value);
+                }
+            }
+            renew(type, today, current, block);
+        }
+    }
+
+    @Override
+    public List<String> next (BusinessNumberType type, int count) {
+        List<String> numbers = new ArrayList<>(Math.max(0, count));
+        for (int i = 0; i < count; i++) {
+            numbers.add(next(type));
+        }
+        return numbers;
+    }
+
+    /**
+     * Loue un nouveau bloc si aucun autre thread ne l'a déjà remplacé ; seul ce chemin, une fois par bloc, est
+     * sérialisé
+     */
+    private void renew (BusinessNumberType type, LocalDate today, AtomicReference<Block> current, Block exhausted) {
+        synchronized (current) {
+            if (current.get() != exhausted) {
+                return;
+            }
+            String counterKey = type.counterKey(today);
+            Long leased = requiresNew.execute(status -> numberRepository.leaseBlock(counterKey, blockSize));
+            long last = leased == null ? 0 : leased;
+            long first = last - blockSize + 1;
+            if (first > BusinessNumberType.MAX_DAILY_VALUE) {
+                throw new IllegalStateException("Séquence quotidienne épuisée pour " + counterKey);
+            }
+            current.set(new Block(today, new AtomicLong(first), Math.min(last, BusinessNumberType.MAX_DAILY_VALUE)));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.CartRepricingService;
+import sn.kredika_app.domain.event.CreditRateChangedEvent;
+import sn.kredika_app.domain.event.ProductPriceChangedEvent;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartRepricingRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartRepricingRepository.RepricedChunk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recalcul des paniers ouverts.
+ * Les changements de prix et de taux signalés après validation sont cumulés puis traités par un cycle périodique :
+ * plusieurs modifications rapprochées (import de tarifs, par exemple) donnent un seul recalcul. Les paniers concernés
+ * sont découpés en lots disjoints recalculés en SQL, chacun dans sa transaction, par un pool borné (chaque lot occupe
+ * une connexion). Les paniers tenus en mémoire sont recalculés ensuite, afin que leur prochaine écriture différée
+ * porte les nouveaux montants.
+ */
+@Slf4j
+@Service
+public class CartRepricingServiceImpl implements CartRepricingService {
+
+    private final JdbcCartRepricingRepository repricingRepository;
+    private final ActiveCartService activeCartService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final ExecutorService workers;
+
+    private final Set<UUID> pendingProducts = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> pendingDurations = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicInteger totalChunks = new AtomicInteger();
+    private final AtomicInteger completedChunks = new AtomicInteger();
+    private final AtomicLong lastItemsPerSecond = new AtomicLong();
+
+    private final Counter itemsRepriced;
+    private final Counter cartsRepriced;
+    private final Counter chunkFailures;
+    private final Timer runTimer;
+
+    public CartRepricingServiceImpl (
+            JdbcCartRepricingRepository repricingRepository,
+            ActiveCartService activeCartService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.cart-repricing.chunk-size:1000}") int chunkSize,
+            @Value("${kredika.cart-repricing.parallelism:4}") int parallelism
+    ) {
+        this.repricingRepository = repricingRepository;
+        this.activeCartService = activeCartService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workers = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        this.itemsRepriced = Counter.builder("kredika.cart.repricing.items")
+                .description("Lignes de panier recalculées en base")
+                .register(meterRegistry);
+        this.cartsRepriced = Counter.builder("kredika.cart.repricing.carts")
+                .description("Paniers en base dont le total a été recalculé")
+                .register(meterRegistry);
+        this.chunkFailures = Counter.builder("kredika.cart.repricing.chunk.failures")
+                .description("Lots de recalcul en échec, remis en attente")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("kredika.cart.repricing.run")
+                .description("Durée d'un recalcul des paniers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Jauges enregistrées une fois le service construit : elles lisent son état et ne doivent pas être visibles du
+     * registre avant la fin du constructeur
+     */
+    @PostConstruct
+    public void registerGauges () {
+        Gauge.builder("kredika.cart.repricing.progress", this, CartRepricingServiceImpl::progress)
+                .description("Avancement du recalcul en cours (0 à 1)")
+                .register(meterRegistry);
+        Gauge.builder("kredika.cart.repricing.throughput", lastItemsPerSecond, AtomicLong::get)
+                .description("Lignes recalculées par seconde lors du dernier recalcul")
+                .baseUnit("items/s")
+                .register(meterRegistry);
+        Gauge.builder("kredika.cart.repricing.pending", this, service -> service.pendingProducts.size()
+                        + service.pendingDurations.size())
+                .description("Produits et durées en attente de recalcul")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductPriceChanged (ProductPriceChangedEvent event) {
+        pendingProducts.add(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreditRateChanged (CreditRateChangedEvent event) {
+        pendingDurations.add(event.durationMonths());
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.cart-repricing.interval-ms:5000}")
+    public void repricePending () {
+        List<UUID> products = drain(pendingProducts);
+        List<Integer> durations = drain(pendingDurations);
+        if (!products.isEmpty() || !durations.isEmpty()) {
+            reprice(products, durations);
+        }
+    }
+
+    @Override
+    public RepricingReport reprice (Collection<UUID> productIds, Collection<Integer> creditDurations) {
+        Set<UUID> products = Set.copyOf(productIds);
+        Set<Integer> durations = Set.copyOf(creditDurations);
+        UUID[] productArray = products.toArray(UUID[]::new);
+        Integer[] durationArray = durations.toArray(Integer[]::new);
+
+        runLock.lock();
+        long start = System.nanoTime();
+        try {
+            List<UUID> cartIds = repricingRepository.findAffectedCartIds(productArray, durationArray);
+            int chunkCount = (cartIds.size() + chunkSize - 1) / chunkSize;
+            totalChunks.set(chunkCount);
+            completedChunks.set(0);
+            AtomicLong items = new AtomicLong();
+            AtomicInteger carts = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            int progressStep = Math.max(1, chunkCount / 10);
+
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(chunkCount);
+            for (int from = 0; from < cartIds.size(); from += chunkSize) {
+                UUID[] chunk = cartIds.subList(from, Math.min(from + chunkSize, cartIds.size())).toArray(UUID[]::new);
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        RepricedChunk result = transactionTemplate.execute(
+                                status -> repricingRepository.repriceChunk(chunk, productArray, durationArray));
+                        if (result != null) {
+                            items.addAndGet(result.items());
+                            carts.addAndGet(result.carts());
+                            itemsRepriced.increment(result.items());
+                            cartsRepriced.increment(result.carts());
+                        }
+                    } catch (RuntimeException ex) {
+                        failed.incrementAndGet();
+                        chunkFailures.increment();
+                        log.warn("Échec du recalcul d'un lot de {} panier(s) : {}", chunk.length, ex.getMessage());
+                    }
+                    int done = completedChunks.incrementAndGet();
+                    if (done % progressStep == 0 && done < chunkCount) {
+                        log.info("Recalcul des paniers : {}/{} lots, {} ligne(s)", done, chunkCount, items.get());
+                    }
+                }, workers));
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+            if (failed.get() > 0) {
+                pendingProducts.addAll(products);
+                pendingDurations.addAll(durations);
+            }
+            int inMemory = activeCartService.reprice(products, durations);
+
+            long elapsedNanos = System.nanoTime() - start;
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            long perSecond = elapsedNanos == 0 ? 0 : items.get() * 1_000_000_000L / elapsedNanos;
+            lastItemsPerSecond.set(perSecond);
+            log.info("Recalcul des paniers terminé : {} produit(s), {} durée(s), {} panier(s) et {} ligne(s) en base, "
+                            + "{} panier(s) en mémoire, {} lot(s) en échec, {} ms ({} lignes/s)",
+                    products.size(), durations.size(), carts.get(), items.get(), inMemory, failed.get(),
+                    elapsedMillis, perSecond);
+            return new RepricingReport(carts.get(), items.get(), inMemory, failed.get(), elapsedMillis);
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            runLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown () throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private double progress () {
+        int total = totalChunks.get();
+        return total == 0 ? 1.0 : (double) completedChunks.get() / total;
+    }
+
+    private static <T> List<T> drain (Set<T> pending) {
+        List<T> drained = new ArrayList<>();
+        for (Iterator<T> it = pending.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,128 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sn.kredika_app.application.interfaces.service.CartSweeperService;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartSweepRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartSweepRepository.SweptChunk;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Balayage périodique des paniers abandonnés.
+ * Un panier expiré n'est plus jamais repris : le panier actif le remplace par un panier neuf au premier accès. Le
+ * délai de grâce couvre l'écriture différée des paniers en mémoire, dont l'expiration en base peut avoir quelques
+ * secondes de retard. Chaque lot est une instruction autonome ; le nombre de lots par cycle est borné pour qu'un
+ * arriéré important soit résorbé sur plusieurs cycles plutôt que d'occuper une connexion en continu.
+ */
+@Slf4j
+@Service
+public class CartSweeperServiceImpl implements CartSweeperService {
+
+    private final JdbcCartSweepRepository sweepRepository;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Duration grace;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Counter cartsSwept;
+    private final Counter itemsSwept;
+    private final Counter holdsReleased;
+    private final Counter chunkFailures;
+    private final Timer runTimer;
+
+    public CartSweeperServiceImpl (
+            JdbcCartSweepRepository sweepRepository,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.cart-sweeper.chunk-size:500}") int chunkSize,
+            @Value("${kredika.cart-sweeper.max-chunks-per-run:20}") int maxChunksPerRun,
+            @Value("${kredika.cart-sweeper.grace-minutes:5}") long graceMinutes
+    ) {
+        this.sweepRepository = sweepRepository;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxChunksPerRun = Math.max(1, maxChunksPerRun);
+        this.grace = Duration.ofMinutes(Math.max(0, graceMinutes));
+        this.cartsSwept = Counter.builder("kredika.cart.sweeper.carts")
+                .description("Paniers expirés supprimés")
+                .register(meterRegistry);
+        this.itemsSwept = Counter.builder("kredika.cart.sweeper.items")
+                .description("Lignes de paniers expirés supprimées")
+                .register(meterRegistry);
+        this.holdsReleased = Counter.builder("kredika.cart.sweeper.holds")
+                .description("Réservations de stock rendues lors de la purge")
+                .register(meterRegistry);
+        this.chunkFailures = Counter.builder("kredika.cart.sweeper.chunk.failures")
+                .description("Lots de purge en échec, repris au cycle suivant")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("kredika.cart.sweeper.run")
+                .description("Durée d'un balayage des paniers expirés")
+                .register(meterRegistry);
+        Gauge.builder("kredika.cart.sweeper.lag", lagSeconds, AtomicLong::get)
+                .description("Ancienneté du plus ancien panier expiré restant à purger")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.cart-sweeper.interval-ms:60000}")
+    public void scheduledSweep () {
+        sweepExpired();
+    }
+
+    @Override
+    public SweepReport sweepExpired () {
+        if (!runLock.tryLock()) {
+            return new SweepReport(0, 0, 0, 0, 0);
+        }
+        long start = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minus(grace);
+            int carts = 0;
+            long items = 0;
+            int holds = 0;
+            int chunks = 0;
+            SweptChunk chunk;
+            do {
+                try {
+                    chunk = sweepRepository.sweepExpired(cutoff, now, chunkSize);
+                } catch (DataAccessException ex) {
+                    chunkFailures.increment();
+                    log.warn("Échec de la purge d'un lot de paniers expirés, reprise au prochain cycle", ex);
+                    break;
+                }
+                chunks++;
+                carts += chunk.carts();
+                items += chunk.items();
+                holds += chunk.holds();
+                cartsSwept.increment(chunk.carts());
+                itemsSwept.increment(chunk.items());
+                holdsReleased.increment(chunk.holds());
+            } while (chunk.carts() == chunkSize && chunks < maxChunksPerRun);
+
+            LocalDateTime oldest = sweepRepository.findOldestExpiry(cutoff);
+            lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, now).toSeconds());
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (carts > 0) {
+                log.info("{} panier(s) expiré(s) purgé(s) ({} ligne(s), {} réservation(s) rendue(s)) en {} ms",
+                        carts, items, holds, elapsedMillis);
+            }
+            return new SweepReport(carts, items, holds, chunks, elapsedMillis);
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            runLock.unlock();
+        }
+    }
+}
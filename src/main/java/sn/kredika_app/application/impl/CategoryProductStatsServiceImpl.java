@@ -0,0 +1,65 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.CategoryProductStatsService;
+import sn.kredika_app.application.interfaces.service.CategoryTreeService;
+import sn.kredika_app.domain.dto.response.CategoryProductCountsDto;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCategoryStatsRepository;
+
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryProductStatsServiceImpl implements CategoryProductStatsService {
+
+    private final JdbcCategoryStatsRepository categoryStatsRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CategoryProductCountsDto getCounts (UUID categoryId, boolean includeSubcategories) {
+        UUID[] categoryIds = includeSubcategories
+                ? categoryTreeService.getSubtreeIds(categoryId)
+                : new UUID[]{categoryId};
+        long[] counts = categoryStatsRepository.sum(categoryIds);
+        return new CategoryProductCountsDto(categoryId, includeSubcategories, counts[0], counts[1], counts[2]);
+    }
+
+    /**
+     * Transaction explicite : la méthode est aussi appelée depuis cette classe (démarrage, tâche planifiée), où
+     * l'annotation @Transactional serait ignorée, alors que le recalcul doit garder son verrou jusqu'à la validation
+     */
+    @Override
+    public int reconcile () {
+        int updated = transactionTemplate.execute(status -> categoryStatsRepository.recomputeAll());
+        log.info("Compteurs de catégories réconciliés : {} ligne(s)", updated);
+        return updated;
+    }
+
+    /**
+     * Initialise les compteurs au premier démarrage sur une base existante
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty () {
+        if (categoryStatsRepository.isEmpty()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Filet de sécurité contre les écritures faites hors JPA (scripts, imports SQL)
+     */
+    @Scheduled(cron = "${kredika.category-stats.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile () {
+        reconcile();
+    }
+}
@@ -0,0 +1,108 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sn.kredika_app.application.interfaces.service.CategoryTreeService;
+import sn.kredika_app.domain.dto.response.CategoryTreeNodeDto;
+import sn.kredika_app.domain.event.CategoryChangedEvent;
+import sn.kredika_app.domain.snapshot.CategoryTreeSnapshot;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCategoryRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCategoryStatsRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tient l'arbre des catégories en mémoire.
+ * Les lecteurs obtiennent toujours une photographie complète et cohérente via une référence atomique ; une
+ * reconstruction remplace la photographie d'un bloc. L'arbre est reconstruit après chaque transaction modifiant une
+ * catégorie sur ce nœud, et périodiquement pour converger avec les écritures faites par les autres nœuds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+
+    private final JdbcCategoryRepository categoryRepository;
+    private final JdbcCategoryStatsRepository categoryStatsRepository;
+    private final AtomicReference<CategoryTreeSnapshot> snapshot = new AtomicReference<>();
+
+    @Override
+    public CategoryTreeSnapshot current () {
+        CategoryTreeSnapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void refresh () {
+        CategoryTreeSnapshot rebuilt = CategoryTreeSnapshot.build(categoryRepository.findAllTreeRows());
+        snapshot.set(rebuilt);
+        log.debug("Arbre des catégories reconstruit : {} catégorie(s)", rebuilt.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup () {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.category-tree.refresh-interval-ms:60000}",
+            initialDelayString = "${kredika.category-tree.refresh-interval-ms:60000}")
+    public void scheduledRefresh () {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged (CategoryChangedEvent event) {
+        refresh();
+    }
+
+    @Override
+    public List<CategoryTreeNodeDto> getMenu () {
+        CategoryTreeSnapshot tree = current();
+        Map<UUID, long[]> directCounts = categoryStatsRepository.findAll();
+        return toMenu(tree, tree.roots(), directCounts);
+    }
+
+    @Override
+    public UUID[] getSubtreeIds (UUID categoryId) {
+        return current().subtreeIds(categoryId);
+    }
+
+    private List<CategoryTreeNodeDto> toMenu (CategoryTreeSnapshot tree, List<CategoryTreeSnapshot.Node> nodes,
+                                              Map<UUID, long[]> directCounts) {
+        return nodes.stream()
+                .filter(CategoryTreeSnapshot.Node::visible)
+                .map(node -> new CategoryTreeNodeDto(
+                        node.id(),
+                        node.name(),
+                        node.slug(),
+                        node.imageUrl(),
+                        node.depth(),
+                        activeProductsInSubtree(node, directCounts),
+                        toMenu(tree, tree.children(node.id()), directCounts)
+                ))
+                .toList();
+    }
+
+    private long activeProductsInSubtree (CategoryTreeSnapshot.Node node, Map<UUID, long[]> directCounts) {
+        long total = 0;
+        for (UUID id : node.subtreeIds()) {
+            long[] counts = directCounts.get(id);
+            if (counts != null) {
+                total += counts[0];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,223 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.BusinessNumberService;
+import sn.kredika_app.application.interfaces.service.CheckoutService;
+import sn.kredika_app.application.interfaces.service.CreditDecisionService;
+import sn.kredika_app.application.interfaces.service.ProductCounterService;
+import sn.kredika_app.application.interfaces.service.StockReservationService;
+import sn.kredika_app.common.enums.BusinessNumberType;
+import sn.kredika_app.common.enums.PaymentFrequency;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.common.util.AmortizationEngine;
+import sn.kredika_app.common.util.AmortizationEngine.Amortization;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.dto.request.CheckoutRequestDto;
+import sn.kredika_app.domain.dto.response.OrderItemResponseDto;
+import sn.kredika_app.domain.dto.response.OrderResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+import sn.kredika_app.domain.snapshot.ActiveCart;
+import sn.kredika_app.domain.snapshot.ActiveCartLine;
+import sn.kredika_app.domain.snapshot.CheckoutDraft;
+import sn.kredika_app.domain.snapshot.CheckoutDraft.Item;
+import sn.kredika_app.domain.snapshot.CheckoutDraft.Plan;
+import sn.kredika_app.domain.snapshot.CheckoutDraft.Schedule;
+import sn.kredika_app.domain.snapshot.CreditDecision;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCheckoutRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCreditLedgerRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passage en caisse.
+ * Tout ce qui ne demande pas de verrou est fait avant d'ouvrir la transaction : lecture du panier en mémoire,
+ * décision de crédit sur les lignes à crédit, attribution des numéros et construction complète de la commande
+ * (lignes, plans, échéanciers). La transaction ne contient ensuite que des écritures groupées, dans cet ordre : panier,
+ * insertions par lots, statut du panier, débit conditionnel du crédit puis décompte conditionnel du stock en une
+ * instruction. Les verrous les plus disputés (client, puis produits) sont pris en dernier et relâchés au commit qui
+ * suit immédiatement. Les achats ne sont comptés (compteurs en mémoire de ProductCounterService) qu'après validation.
+ */
+@Slf4j
+@Service
+public class CheckoutServiceImpl implements CheckoutService {
+
+    static final String CART_STATUS_CONVERTED = "CONVERTED_TO_ORDER";
+    static final String ORDER_STATUS_CREATED = "CREATED";
+
+    private final ActiveCartService activeCartService;
+    private final StockReservationService stockReservationService;
+    private final ProductCounterService productCounterService;
+    private final BusinessNumberService businessNumberService;
+    private final CreditDecisionService creditDecisionService;
+    private final JdbcCheckoutRepository checkoutRepository;
+    private final JdbcCartRepository cartRepository;
+    private final JdbcCreditLedgerRepository creditLedgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer checkoutTimer;
+    private final Counter completedCounter;
+    private final Counter rejectedCounter;
+
+    public CheckoutServiceImpl (
+            ActiveCartService activeCartService,
+            StockReservationService stockReservationService,
+            ProductCounterService productCounterService,
+            BusinessNumberService businessNumberService,
+            CreditDecisionService creditDecisionService,
+            JdbcCheckoutRepository checkoutRepository,
+            JdbcCartRepository cartRepository,
+            JdbcCreditLedgerRepository creditLedgerRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.activeCartService = activeCartService;
+        this.stockReservationService = stockReservationService;
+        this.productCounterService = productCounterService;
+        this.businessNumberService = businessNumberService;
+        this.creditDecisionService = creditDecisionService;
+        this.checkoutRepository = checkoutRepository;
+        this.cartRepository = cartRepository;
+        this.creditLedgerRepository = creditLedgerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.checkoutTimer = Timer.builder("kredika.checkout")
+                .description("Durée d'un passage en caisse")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("kredika.checkout.completed")
+                .description("Commandes créées")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("kredika.checkout.rejected")
+                .description("Passages en caisse refusés (stock, crédit, panier modifié)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OrderResponseDto checkout (UUID userId, CheckoutRequestDto request) {
+        long start = System.nanoTime();
+        try {
+            ActiveCart cart = activeCartService.snapshot(userId);
+            if (cart.lines().isEmpty()) {
+                throw CustomException.badRequest("Le panier est vide");
+            }
+            List<ActiveCartLine> creditLines = cart.lines().stream().filter(CheckoutServiceImpl::isCredit).toList();
+            BigDecimal creditAmount = creditLines.stream()
+                    .map(ActiveCartLine::totalAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            for (CreditDecision decision : creditDecisionService.evaluateLines(userId, creditLines)) {
+                if (!decision.approved()) {
+                    throw CustomException.conflict("Crédit non accordé : " + String.join(", ", decision.reasons()));
+                }
+            }
+
+            String orderNumber = businessNumberService.next(BusinessNumberType.ORDER);
+            List<String> planNumbers = businessNumberService.next(BusinessNumberType.INSTALLMENT_PLAN,
+                    creditLines.size());
+            CheckoutDraft draft = buildDraft(cart, request, orderNumber, planNumbers, creditAmount);
+
+            transactionTemplate.executeWithoutResult(status -> write(cart, draft));
+            activeCartService.detach(userId, cart.cartId());
+            for (ActiveCartLine line : cart.lines()) {
+                productCounterService.recordPurchase(line.productId(), line.quantity());
+            }
+            completedCounter.increment();
+            return toDto(draft);
+        } catch (CustomException ex) {
+            rejectedCounter.increment();
+            throw ex;
+        } finally {
+            checkoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void write (ActiveCart cart, CheckoutDraft draft) {
+        ActiveCart persisted = activeCartService.persistForCheckout(cart.userId());
+        if (persisted == null || !persisted.cartId().equals(cart.cartId()) || persisted.revision() != cart.revision()) {
+            throw CustomException.conflict("Le panier a été modifié pendant la validation, veuillez réessayer");
+        }
+        checkoutRepository.insertOrder(draft);
+        cartRepository.updateStatus(cart.cartId(), CART_STATUS_CONVERTED);
+        if (draft.creditAmount().signum() > 0
+                && !creditLedgerRepository.debit(cart.userId(), draft.orderId(), draft.creditAmount())) {
+            throw CustomException.conflict("Crédit disponible insuffisant");
+        }
+        Map<UUID, Integer> quantities = new HashMap<>();
+        for (ActiveCartLine line : cart.lines()) {
+            quantities.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        stockReservationService.consumeForCheckout(cart.cartId(), quantities);
+    }
+
+    private static CheckoutDraft buildDraft (ActiveCart cart, CheckoutRequestDto request, String orderNumber,
+                                             List<String> planNumbers, BigDecimal creditAmount) {
+        LocalDate startDate = LocalDate.now();
+        List<Item> items = new ArrayList<>(cart.lines().size());
+        List<Plan> plans = new ArrayList<>(planNumbers.size());
+        Iterator<String> planNumber = planNumbers.iterator();
+        for (ActiveCartLine line : cart.lines()) {
+            items.add(new Item(UUID.randomUUID(), line.productId(), line.productName(), line.mainImageUrl(),
+                    line.quantity(), line.unitPrice(), line.totalAmount(), line.paymentMethodCode()));
+            if (isCredit(line)) {
+                plans.add(buildPlan(line, planNumber.next(), startDate));
+            }
+        }
+        return new CheckoutDraft(UUID.randomUUID(), orderNumber, cart.userId(), cart.cartId(),
+                request == null ? null : request.getDeliveryAddressId(),
+                request == null ? null : request.getNotes(),
+                cart.totalAmount(), creditAmount, items, plans);
+    }
+
+    /**
+     * Plan d'une ligne à crédit : échéances en francs entiers calculées par AmortizationEngine, le montant du plan
+     * étant celui de la première échéance
+     */
+    private static Plan buildPlan (ActiveCartLine line, String planNumber, LocalDate startDate) {
+        PaymentFrequency frequency = PaymentFrequency.fromCode(line.creditFrequencyCode());
+        int count = frequency.installmentCount(line.creditDuration());
+        BigDecimal total = line.totalAmount();
+        BigDecimal principal = CreditPricing.lineTotal(line.unitPrice(), line.quantity(), null);
+        Amortization amortization = AmortizationEngine.amortize(total, count, frequency, startDate);
+
+        List<Schedule> schedules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            schedules.add(new Schedule(UUID.randomUUID(), i + 1, amortization.dueDates()[i],
+                    amortization.amount(i)));
+        }
+        return new Plan(UUID.randomUUID(), planNumber, line.productId(), principal, line.commissionRate(),
+                total.subtract(principal), total, amortization.firstAmount(), line.creditDuration(), frequency.name(),
+                count, startDate, amortization.endDate(), schedules);
+    }
+
+    private static boolean isCredit (ActiveCartLine line) {
+        return CreditPricing.PAYMENT_CREDIT.equals(line.paymentMethodCode()) && line.creditDuration() != null;
+    }
+
+    private static OrderResponseDto toDto (CheckoutDraft draft) {
+        List<OrderItemResponseDto> items = draft.items().stream()
+                .map(item -> new OrderItemResponseDto(
+                        item.id(),
+                        new ProductSimpleDto(item.productId(), item.productName(), item.unitPrice(),
+                                item.mainImageUrl()),
+                        item.quantity(),
+                        item.unitPrice(),
+                        item.totalPrice(),
+                        item.paymentMethodCode()))
+                .toList();
+        return new OrderResponseDto(draft.orderId(), draft.orderNumber(), null, null, draft.totalAmount(),
+                ORDER_STATUS_CREATED, LocalDateTime.now(), items);
+    }
+}
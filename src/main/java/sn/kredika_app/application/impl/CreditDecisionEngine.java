@@ -0,0 +1,158 @@
+package sn.kredika_app.application.impl;
+
+import sn.kredika_app.common.enums.CreditDecisionOutcome;
+import sn.kredika_app.common.enums.CreditRule;
+import sn.kredika_app.domain.snapshot.CreditApplication;
+import sn.kredika_app.domain.snapshot.CreditDecision;
+import sn.kredika_app.domain.snapshot.CreditSettingsSnapshot;
+import sn.kredika_app.domain.snapshot.CreditSnapshot;
+import sn.kredika_app.domain.snapshot.CreditTerm;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moteur de décision de crédit, entièrement en mémoire : il évalue des demandes contre la situation du client et les
+ * paramétrages actifs, sans accès à la base. Tous les montants sont en centimes (long) et les taux en dix-millièmes,
+ * si bien qu'une évaluation ne fait que quelques comparaisons et divisions entières.
+ * En mode lot (panier entier), les demandes sont évaluées dans l'ordre et chaque accord consomme le crédit disponible
+ * et la capacité de remboursement mensuelle laissés aux demandes suivantes.
+ */
+public final class CreditDecisionEngine {
+
+    private static final long BPS_SCALE = 10_000;
+
+    private final Set<CreditRule> rules;
+    private final int minScore;
+    private final int maxDefaults;
+    private final long maxDebtToIncomeBps;
+
+    /**
+     * @param rules              règles appliquées
+     * @param minScore           score minimal (règle SCORE)
+     * @param maxDefaults        nombre maximal d'incidents de paiement (règle DEFAULTS)
+     * @param maxDebtToIncomeBps part maximale du revenu mensuel consacrée aux échéances, en dix-millièmes
+     *                           (règle DEBT_TO_INCOME)
+     */
+    public CreditDecisionEngine (Set<CreditRule> rules, int minScore, int maxDefaults, long maxDebtToIncomeBps) {
+        this.rules = rules.isEmpty() ? EnumSet.noneOf(CreditRule.class) : EnumSet.copyOf(rules);
+        this.minScore = minScore;
+        this.maxDefaults = maxDefaults;
+        this.maxDebtToIncomeBps = maxDebtToIncomeBps;
+    }
+
+    /**
+     * Évalue une demande isolée
+     *
+     * @param terms paramétrages actifs
+     */
+    public CreditDecision evaluate (CreditSnapshot snapshot, CreditSettingsSnapshot terms,
+                                    CreditApplication application) {
+        return evaluate(snapshot, terms, application, new Budget(snapshot, maxDebtToIncomeBps));
+    }
+
+    /**
+     * Évalue les demandes d'un panier dans l'ordre, chaque accord réduisant le budget des suivantes
+     */
+    public List<CreditDecision> evaluateAll (CreditSnapshot snapshot, CreditSettingsSnapshot terms,
+                                             List<CreditApplication> applications) {
+        Budget budget = new Budget(snapshot, maxDebtToIncomeBps);
+        List<CreditDecision> decisions = new ArrayList<>(applications.size());
+        for (CreditApplication application : applications) {
+            decisions.add(evaluate(snapshot, terms, application, budget));
+        }
+        return decisions;
+    }
+
+    private CreditDecision evaluate (CreditSnapshot snapshot, CreditSettingsSnapshot terms,
+                                     CreditApplication application, Budget budget) {
+        if (application.principal() <= 0 || application.durationMonths() <= 0) {
+            return decline(application, "Demande de financement invalide");
+        }
+        if (rules.contains(CreditRule.PROFILE) && !snapshot.hasProfile()) {
+            return decline(application, "Aucun profil de crédit pour cet utilisateur");
+        }
+        if (rules.contains(CreditRule.DEFAULTS) && snapshot.defaultCount() > maxDefaults) {
+            return decline(application, "Trop d'incidents de paiement (" + snapshot.defaultCount() + ")");
+        }
+        if (rules.contains(CreditRule.SCORE) && snapshot.creditScore() != CreditSnapshot.UNKNOWN
+                && snapshot.creditScore() < minScore) {
+            return decline(application, "Score de crédit insuffisant");
+        }
+
+        List<String> reasons = new ArrayList<>(2);
+        long principal = application.principal();
+        CreditTerm term = terms.quote(application.durationMonths(), principal);
+        if (term == null) {
+            if (rules.contains(CreditRule.TERMS)) {
+                return decline(application, "Aucun paramétrage de crédit actif pour " + application.durationMonths()
+                        + " mois");
+            }
+            term = new CreditTerm(application.durationMonths(), 0, 0, Long.MAX_VALUE);
+        }
+        if (rules.contains(CreditRule.TERMS)) {
+            if (principal < term.minAmount()) {
+                return decline(application, "Montant inférieur au minimum de la durée");
+            }
+            if (principal > term.maxAmount()) {
+                principal = term.maxAmount();
+                reasons.add("Montant plafonné au maximum de la durée");
+            }
+        }
+        if (rules.contains(CreditRule.AVAILABLE_CREDIT) && term.totalFor(principal) > budget.availableCredit) {
+            principal = term.principalWithin(budget.availableCredit);
+            reasons.add("Montant plafonné au crédit disponible");
+        }
+        if (rules.contains(CreditRule.DEBT_TO_INCOME) && budget.monthlyHeadroom != Long.MAX_VALUE
+                && monthly(term.totalFor(principal), application.durationMonths()) > budget.monthlyHeadroom) {
+            principal = budget.monthlyHeadroom <= 0
+                    ? 0
+                    : term.principalWithin(budget.monthlyHeadroom * application.durationMonths());
+            reasons.add("Mensualités plafonnées à la capacité de remboursement");
+        }
+
+        if (principal <= 0 || rules.contains(CreditRule.TERMS) && principal < term.minAmount()) {
+            reasons.add("Montant accordable inférieur au minimum");
+            return new CreditDecision(application, CreditDecisionOutcome.DECLINE, 0, 0, reasons);
+        }
+        long total = term.totalFor(principal);
+        budget.consume(total, monthly(total, application.durationMonths()));
+        CreditDecisionOutcome outcome = principal < application.principal()
+                ? CreditDecisionOutcome.LIMIT
+                : CreditDecisionOutcome.APPROVE;
+        return new CreditDecision(application, outcome, principal, total, reasons);
+    }
+
+    private static long monthly (long total, int durationMonths) {
+        return (total + durationMonths - 1) / durationMonths;
+    }
+
+    private static CreditDecision decline (CreditApplication application, String reason) {
+        return new CreditDecision(application, CreditDecisionOutcome.DECLINE, 0, 0, List.of(reason));
+    }
+
+    /**
+     * Crédit disponible et capacité mensuelle restant à accorder au fil d'une évaluation
+     */
+    private static final class Budget {
+
+        private long availableCredit;
+        private long monthlyHeadroom;
+
+        private Budget (CreditSnapshot snapshot, long maxDebtToIncomeBps) {
+            this.availableCredit = snapshot.availableCredit();
+            this.monthlyHeadroom = snapshot.monthlyIncome() == CreditSnapshot.UNKNOWN
+                    ? Long.MAX_VALUE
+                    : snapshot.monthlyIncome() * maxDebtToIncomeBps / BPS_SCALE - snapshot.monthlyCommitment();
+        }
+
+        private void consume (long total, long monthly) {
+            availableCredit -= total;
+            if (monthlyHeadroom != Long.MAX_VALUE) {
+                monthlyHeadroom -= monthly;
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.CreditDecisionService;
+import sn.kredika_app.application.interfaces.service.CreditSettingsService;
+import sn.kredika_app.common.enums.CreditDecisionOutcome;
+import sn.kredika_app.common.enums.CreditRule;
+import sn.kredika_app.common.enums.PaymentFrequency;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.common.util.AmortizationEngine;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.dto.request.CreditDecisionRequestDto;
+import sn.kredika_app.domain.dto.response.CartCreditDecisionResponseDto;
+import sn.kredika_app.domain.dto.response.CreditDecisionResponseDto;
+import sn.kredika_app.domain.snapshot.ActiveCartLine;
+import sn.kredika_app.domain.snapshot.CreditApplication;
+import sn.kredika_app.domain.snapshot.CreditDecision;
+import sn.kredika_app.domain.snapshot.CreditSnapshot;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCreditDecisionRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Décision de crédit.
+ * Une décision coûte une seule lecture, la situation du client ; les paramétrages actifs sont lus dans la
+ * photographie de CreditSettingsService et l'évaluation est faite par CreditDecisionEngine, sans
+ * autre accès à la base. Le panier est évalué en un passage, les lignes se partageant le crédit disponible.
+ */
+@Slf4j
+@Service
+public class CreditDecisionServiceImpl implements CreditDecisionService {
+
+    private final JdbcCreditDecisionRepository decisionRepository;
+    private final ActiveCartService activeCartService;
+    private final CreditDecisionEngine engine;
+    private final CreditSettingsService creditSettingsService;
+    private final Map<CreditDecisionOutcome, Counter> outcomeCounters = new EnumMap<>(CreditDecisionOutcome.class);
+
+    public CreditDecisionServiceImpl (
+            JdbcCreditDecisionRepository decisionRepository,
+            ActiveCartService activeCartService,
+            CreditSettingsService creditSettingsService,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.credit-decision.rules:PROFILE,DEFAULTS,SCORE,TERMS,AVAILABLE_CREDIT,DEBT_TO_INCOME}")
+            String rules,
+            @Value("${kredika.credit-decision.min-score:300}") int minScore,
+            @Value("${kredika.credit-decision.max-defaults:2}") int maxDefaults,
+            @Value("${kredika.credit-decision.max-debt-to-income-bps:4000}") long maxDebtToIncomeBps
+    ) {
+        this.decisionRepository = decisionRepository;
+        this.activeCartService = activeCartService;
+        this.creditSettingsService = creditSettingsService;
+        this.engine = new CreditDecisionEngine(parseRules(rules), minScore, maxDefaults, maxDebtToIncomeBps);
+        for (CreditDecisionOutcome outcome : CreditDecisionOutcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("kredika.credit.decisions")
+                    .description("Décisions de crédit rendues, par issue")
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public CreditDecisionResponseDto decide (UUID userId, CreditDecisionRequestDto request) {
+        if (request == null || request.getAmount() == null || request.getAmount().signum() <= 0
+                || request.getDurationMonths() == null || request.getDurationMonths() < 1) {
+            throw CustomException.badRequest("Montant et durée requis");
+        }
+        CreditApplication application = new CreditApplication(request.getProductId(),
+                AmortizationEngine.toCentimes(CreditPricing.lineTotal(request.getAmount(), 1, null)),
+                request.getDurationMonths(), frequency(request.getFrequencyCode()));
+        CreditDecision decision = engine.evaluate(loadSnapshot(userId), creditSettingsService.current(),
+                application);
+        record(decision);
+        return toDto(decision);
+    }
+
+    @Override
+    public CartCreditDecisionResponseDto decideCart (UUID userId) {
+        List<ActiveCartLine> creditLines = activeCartService.snapshot(userId).lines().stream()
+                .filter(CreditDecisionServiceImpl::isCredit)
+                .toList();
+        List<CreditDecision> decisions = evaluateLines(userId, creditLines);
+        CreditDecisionOutcome outcome = CreditDecisionOutcome.APPROVE;
+        long approvedTotal = 0;
+        List<CreditDecisionResponseDto> lines = new ArrayList<>(decisions.size());
+        for (CreditDecision decision : decisions) {
+            if (decision.outcome().ordinal() > outcome.ordinal()) {
+                outcome = decision.outcome();
+            }
+            approvedTotal += decision.approvedTotal();
+            lines.add(toDto(decision));
+        }
+        return new CartCreditDecisionResponseDto(outcome.name(), AmortizationEngine.fromCentimes(approvedTotal),
+                lines);
+    }
+
+    @Override
+    public List<CreditDecision> evaluateLines (UUID userId, List<ActiveCartLine> creditLines) {
+        if (creditLines.isEmpty()) {
+            return List.of();
+        }
+        List<CreditApplication> applications = new ArrayList<>(creditLines.size());
+        for (ActiveCartLine line : creditLines) {
+            applications.add(new CreditApplication(line.productId(),
+                    AmortizationEngine.toCentimes(CreditPricing.lineTotal(line.unitPrice(), line.quantity(), null)),
+                    line.creditDuration(), frequency(line.creditFrequencyCode())));
+        }
+        List<CreditDecision> decisions = engine.evaluateAll(loadSnapshot(userId), creditSettingsService.current(),
+                applications);
+        decisions.forEach(this::record);
+        return decisions;
+    }
+
+    private CreditSnapshot loadSnapshot (UUID userId) {
+        CreditSnapshot snapshot = decisionRepository.findSnapshot(userId);
+        if (snapshot == null) {
+            throw CustomException.notFound("Utilisateur introuvable");
+        }
+        return snapshot;
+    }
+
+    private void record (CreditDecision decision) {
+        outcomeCounters.get(decision.outcome()).increment();
+    }
+
+    private static PaymentFrequency frequency (String code) {
+        try {
+            return PaymentFrequency.fromCode(code);
+        } catch (IllegalArgumentException ex) {
+            throw CustomException.badRequest(ex.getMessage());
+        }
+    }
+
+    private static boolean isCredit (ActiveCartLine line) {
+        return CreditPricing.PAYMENT_CREDIT.equals(line.paymentMethodCode()) && line.creditDuration() != null;
+    }
+
+    private static Set<CreditRule> parseRules (String rules) {
+        Set<CreditRule> parsed = EnumSet.noneOf(CreditRule.class);
+        Arrays.stream(rules.split(","))
+                .map(String::trim)
+                .filter(rule -> !rule.isEmpty())
+                .forEach(rule -> parsed.add(CreditRule.valueOf(rule.toUpperCase(Locale.ROOT))));
+        log.info("Règles de décision de crédit actives : {}", parsed);
+        return parsed;
+    }
+
+    private static CreditDecisionResponseDto toDto (CreditDecision decision) {
+        CreditApplication application = decision.application();
+        return new CreditDecisionResponseDto(application.productId(), decision.outcome().name(),
+                AmortizationEngine.fromCentimes(application.principal()),
+                AmortizationEngine.fromCentimes(decision.approvedPrincipal()),
+                AmortizationEngine.fromCentimes(decision.approvedTotal()),
+                application.durationMonths(),
+                decision.reasons().isEmpty() ? null : decision.reasons());
+    }
+}
@@ -0,0 +1,100 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.CreditLedgerService;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCreditLedgerRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintenance du journal de crédit.
+ * Le compactage garde le journal borné sans changer aucun solde ; sa durée de conservation doit rester supérieure à
+ * celle de l'outbox, les lignes de remboursement servant à écarter un paiement rejoué. La réconciliation est le filet
+ * de sécurité des soldes : chaque lot de profils est verrouillé puis recalculé dans sa propre transaction, si bien
+ * qu'elle n'interrompt les passages en caisse que des clients du lot en cours.
+ */
+@Slf4j
+@Service
+public class CreditLedgerServiceImpl implements CreditLedgerService {
+
+    private final JdbcCreditLedgerRepository ledgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Counter compactedUsers;
+    private final Counter correctedProfiles;
+
+    public CreditLedgerServiceImpl (
+            JdbcCreditLedgerRepository ledgerRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.credit-ledger.retention-days:30}") long retentionDays,
+            @Value("${kredika.credit-ledger.chunk-size:500}") int chunkSize
+    ) {
+        this.ledgerRepository = ledgerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = Duration.ofDays(Math.max(1, retentionDays));
+        this.chunkSize = Math.max(1, chunkSize);
+        this.compactedUsers = Counter.builder("kredika.credit.ledger.compacted")
+                .description("Clients dont les mouvements anciens ont été compactés")
+                .register(meterRegistry);
+        this.correctedProfiles = Counter.builder("kredika.credit.ledger.reconciled")
+                .description("Profils de crédit corrigés par la réconciliation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(cron = "${kredika.credit-ledger.compaction-cron:0 0 4 * * *}")
+    public int compact () {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int compacted;
+        do {
+            compacted = ledgerRepository.compact(before, chunkSize);
+            total += compacted;
+        } while (compacted == chunkSize);
+        compactedUsers.increment(total);
+        if (total > 0) {
+            log.info("Journal de crédit compacté pour {} client(s)", total);
+        }
+        return total;
+    }
+
+    @Override
+    @Scheduled(cron = "${kredika.credit-ledger.reconcile-cron:0 0 3 * * *}")
+    public int reconcile () {
+        int total = 0;
+        UUID after = null;
+        List<UUID> users;
+        do {
+            users = ledgerRepository.findProfileUserIds(after, chunkSize);
+            if (users.isEmpty()) {
+                break;
+            }
+            UUID[] chunk = users.toArray(UUID[]::new);
+            try {
+                Integer corrected = transactionTemplate.execute(status -> ledgerRepository.reconcile(chunk));
+                total += corrected == null ? 0 : corrected;
+            } catch (DataAccessException ex) {
+                log.warn("Échec de la réconciliation d'un lot de {} profil(s) de crédit, repris à la prochaine "
+                        + "exécution", chunk.length, ex);
+            }
+            after = users.getLast();
+        } while (users.size() == chunkSize);
+        correctedProfiles.increment(total);
+        if (total > 0) {
+            log.warn("Réconciliation du crédit : {} profil(s) corrigé(s)", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,45 @@
+package sn.kredika_app.application.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.application.interfaces.service.OutboxEventHandler;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.event.OutboxEvent;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCreditLedgerRepository;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reconstitue le crédit disponible du client à chaque paiement accepté. Le mouvement est inscrit au journal de crédit
+ * sous l'identifiant de la transaction : un événement livré plusieurs fois n'est répercuté qu'une fois.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreditProfileOutboxHandler implements OutboxEventHandler {
+
+    private final JdbcCreditLedgerRepository creditLedgerRepository;
+
+    @Override
+    public Set<OutboxEventType> supportedTypes () {
+        return Set.of(OutboxEventType.PAYMENT_SUCCEEDED);
+    }
+
+    @Override
+    public void handle (OutboxEvent event) {
+        JsonNode payload = event.payload();
+        if (!payload.hasNonNull("userId") || !payload.hasNonNull("amount")) {
+            return;
+        }
+        UUID userId = UUID.fromString(payload.get("userId").asText());
+        BigDecimal amount = new BigDecimal(payload.get("amount").asText());
+        if (!creditLedgerRepository.applyRepayment(userId, event.aggregateId(), amount)) {
+            log.info("Paiement {} sans effet sur le crédit de l'utilisateur {} (déjà répercuté ou sans profil)",
+                    event.aggregateId(), userId);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sn.kredika_app.application.interfaces.service.CreditSettingsService;
+import sn.kredika_app.domain.event.CreditSettingsChangedEvent;
+import sn.kredika_app.domain.snapshot.CreditSettingsSnapshot;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCreditSettingsRepository;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tient les paramétrages de crédit actifs en mémoire, pour le panier et le moteur de décision.
+ * Les lecteurs obtiennent une photographie immuable via une référence atomique, sans verrou ni accès à la base.
+ * Elle est rechargée après chaque transaction modifiant un paramétrage sur ce nœud ; pour les écritures faites par
+ * les autres nœuds, une empreinte de la table est relue à intervalle court et la photographie n'est reconstruite que si
+ * elle a changé. Un rechargement complet périodique borne toute dérive.
+ */
+@Slf4j
+@Service
+public class CreditSettingsServiceImpl implements CreditSettingsService {
+
+    private final JdbcCreditSettingsRepository settingsRepository;
+    private final AtomicReference<CreditSettingsSnapshot> snapshot = new AtomicReference<>();
+    private final Counter reloads;
+
+    public CreditSettingsServiceImpl (JdbcCreditSettingsRepository settingsRepository, MeterRegistry meterRegistry) {
+        this.settingsRepository = settingsRepository;
+        this.reloads = Counter.builder("kredika.credit-settings.reloads")
+                .description("Rechargements des paramétrages de crédit actifs")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CreditSettingsSnapshot current () {
+        CreditSettingsSnapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * L'empreinte est lue avant les paramétrages : une écriture intercalée laisse une empreinte périmée, et la
+     * vérification suivante recharge
+     */
+    @Override
+    public synchronized void refresh () {
+        String fingerprint = settingsRepository.findFingerprint();
+        CreditSettingsSnapshot reloaded = CreditSettingsSnapshot.of(settingsRepository.findActiveTerms(), fingerprint);
+        snapshot.set(reloaded);
+        reloads.increment();
+        log.debug("Paramétrages de crédit rechargés (empreinte {})", fingerprint);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup () {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.credit-settings.check-interval-ms:5000}",
+            initialDelayString = "${kredika.credit-settings.check-interval-ms:5000}")
+    public void refreshIfChanged () {
+        CreditSettingsSnapshot current = snapshot.get();
+        if (current == null || !Objects.equals(current.fingerprint(), settingsRepository.findFingerprint())) {
+            refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.credit-settings.refresh-interval-ms:600000}",
+            initialDelayString = "${kredika.credit-settings.refresh-interval-ms:600000}")
+    public void scheduledRefresh () {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreditSettingsChanged (CreditSettingsChangedEvent event) {
+        refresh();
+    }
+}
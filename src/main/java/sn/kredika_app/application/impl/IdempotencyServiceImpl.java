@@ -0,0 +1,272 @@
+package sn.kredika_app.application.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sn.kredika_app.application.interfaces.service.IdempotencyService;
+import sn.kredika_app.common.enums.IdempotencyScope;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcIdempotencyRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcIdempotencyRepository.StoredResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Couche d'idempotence à deux niveaux.
+ * Les réponses récentes sont gardées en mémoire (sous forme JSON, jamais partagées entre requêtes, en nombre borné) :
+ * un rejeu immédiat, le cas le plus courant sur réseau mobile, est servi sans aller-retour en base. Sur ce nœud, deux
+ * exécutions simultanées d'une même clé se partagent le même résultat. Entre nœuds, la réservation de la clé en base
+ * avant exécution garantit qu'une seule requête s'exécute ; sa réponse y est conservée pendant la durée de
+ * rétention. Une exécution en échec libère la clé : le client peut réessayer avec la même.
+ * <p>
+ * L'opération valide ses propres transactions avant que sa réponse ne soit enregistrée : une réservation n'expire
+ * donc jamais, sans quoi un rejeu arrivé entre les deux exécuterait l'opération une seconde fois. Une clé dont
+ * l'exécution a été interrompue (nœud arrêté) reste refusée en 409 ; le client en génère une nouvelle.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 100;
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    private final JdbcIdempotencyRepository idempotencyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Duration memoryRetention;
+
+    /**
+     * Réponses récentes, dans l'ordre d'insertion : toutes ont la même durée de vie, la plus ancienne est donc la
+     * première à expirer et la première évincée quand la borne est atteinte
+     */
+    private final Map<String, CachedResponse> responses;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter rejectedCounter;
+
+    public IdempotencyServiceImpl (
+            JdbcIdempotencyRepository idempotencyRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${kredika.idempotency.memory-ttl-minutes:30}") long memoryTtlMinutes,
+            @Value("${kredika.idempotency.memory-max-entries:10000}") int memoryMaxEntries
+    ) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofHours(Math.max(1, ttlHours));
+        this.memoryRetention = Duration.ofMinutes(Math.max(1, memoryTtlMinutes)).compareTo(retention) < 0
+                ? Duration.ofMinutes(Math.max(1, memoryTtlMinutes))
+                : retention;
+        int maxEntries = Math.max(1, memoryMaxEntries);
+        this.responses = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry (Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.executedCounter = Counter.builder("kredika.idempotency.executed")
+                .description("Requêtes idempotentes exécutées")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("kredika.idempotency.replayed")
+                .description("Rejeux servis depuis la réponse enregistrée")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("kredika.idempotency.rejected")
+                .description("Rejeux refusés (clé en cours d'exécution ou contenu différent)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Réponse gardée en mémoire
+     */
+    private record CachedResponse(String requestHash, String body, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Exécution en cours sur ce nœud, dont le résultat (JSON) est partagé avec les rejeux simultanés
+     */
+    private record InFlight(String requestHash, CompletableFuture<String> body) {
+    }
+
+    @Override
+    public <T> T execute (IdempotencyScope scope, UUID userId, String key, Object request, Class<T> responseType,
+                          Supplier<T> operation) {
+        if (key == null || key.isBlank()) {
+            return operation.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw CustomException.badRequest("La clé d'idempotence ne doit pas dépasser "
+                    + MAX_KEY_LENGTH + " caractères");
+        }
+        String recordKey = scope.name() + ":" + userId + ":" + key;
+        String requestHash = hash(request);
+        LocalDateTime now = LocalDateTime.now();
+
+        CachedResponse cached = responses.get(recordKey);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return replay(cached.requestHash(), requestHash, cached.body(), responseType);
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(recordKey, mine);
+        if (running != null) {
+            return replay(running.requestHash(), requestHash, await(running.body()), responseType);
+        }
+        try {
+            if (!idempotencyRepository.claim(recordKey, scope.name(), userId, requestHash)) {
+                String body = storedBody(recordKey, requestHash, now);
+                mine.body().complete(body);
+                return replay(requestHash, requestHash, body, responseType);
+            }
+            T response = run(recordKey, operation);
+            String body = serialize(response);
+            remember(recordKey, requestHash, body);
+            mine.body().complete(body);
+            executedCounter.increment();
+            return response;
+        } catch (RuntimeException ex) {
+            mine.body().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(recordKey, mine);
+        }
+    }
+
+    /**
+     * Purge les réponses expirées, en mémoire puis en base par lots
+     */
+    @Scheduled(fixedDelayString = "${kredika.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired () {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (responses) {
+            responses.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+        }
+        int total = 0;
+        int purged;
+        do {
+            purged = idempotencyRepository.purgeExpired(PURGE_CHUNK_SIZE);
+            total += purged;
+        } while (purged == PURGE_CHUNK_SIZE);
+        if (total > 0) {
+            log.info("{} clé(s) d'idempotence expirée(s) purgée(s)", total);
+        }
+    }
+
+    /**
+     * Exécute l'opération réservée ; en cas d'échec, la réservation est libérée pour permettre un nouvel essai
+     */
+    private <T> T run (String recordKey, Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException ex) {
+            try {
+                idempotencyRepository.release(recordKey);
+            } catch (DataAccessException releaseError) {
+                log.error("Impossible de libérer la clé d'idempotence {}, elle restera refusée",
+                        recordKey, releaseError);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Conserve la réponse en mémoire et en base. L'opération a abouti : un échec d'écriture en base est journalisé
+     * mais ne change pas la réponse du client (la réservation reste en place, les rejeux d'autres nœuds sont refusés
+     * plutôt que réexécutés).
+     */
+    private void remember (String recordKey, String requestHash, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        responses.put(recordKey, new CachedResponse(requestHash, body, now.plus(memoryRetention)));
+        try {
+            idempotencyRepository.complete(recordKey, body, now.plus(retention));
+        } catch (DataAccessException ex) {
+            log.warn("Réponse de la clé d'idempotence {} non enregistrée en base", recordKey, ex);
+        }
+    }
+
+    /**
+     * Réponse enregistrée par un autre nœud ; refus si la requête y est encore en cours
+     */
+    private String storedBody (String recordKey, String requestHash, LocalDateTime now) {
+        StoredResponse stored = idempotencyRepository.find(recordKey);
+        if (stored == null || !stored.completed()) {
+            rejectedCounter.increment();
+            throw CustomException.conflict("Une requête avec cette clé d'idempotence est en cours de traitement");
+        }
+        checkSameRequest(stored.requestHash(), requestHash);
+        LocalDateTime memoryExpiry = now.plus(memoryRetention);
+        responses.put(recordKey, new CachedResponse(stored.requestHash(), stored.responseBody(),
+                stored.expiresAt().isBefore(memoryExpiry) ? stored.expiresAt() : memoryExpiry));
+        return stored.responseBody();
+    }
+
+    private <T> T replay (String storedHash, String requestHash, String body, Class<T> responseType) {
+        checkSameRequest(storedHash, requestHash);
+        try {
+            T response = objectMapper.readValue(body, responseType);
+            replayedCounter.increment();
+            return response;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Réponse enregistrée illisible", ex);
+        }
+    }
+
+    private void checkSameRequest (String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            rejectedCounter.increment();
+            throw new CustomException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Cette clé d'idempotence a déjà été utilisée pour une requête différente");
+        }
+    }
+
+    private static String await (CompletableFuture<String> body) {
+        try {
+            return body.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private String serialize (Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Réponse non sérialisable", ex);
+        }
+    }
+
+    private String hash (Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] json = request == null ? new byte[0] : serialize(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(json));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponible", ex);
+        }
+    }
+}
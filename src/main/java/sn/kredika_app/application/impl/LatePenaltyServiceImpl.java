@@ -0,0 +1,192 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.LatePenaltyService;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcLatePenaltyRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcLatePenaltyRepository.PenalizedChunk;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Calcul nocturne des retards et pénalités.
+ * Le démarrage d'une journée (point de reprise et liste des plans à traiter) est une transaction unique ; ensuite,
+ * des threads virtuels en nombre borné prennent des lots de plans jusqu'à épuisement de la liste, chaque lot étant
+ * validé indépendamment. Un nœud arrêté en cours de route reprend au démarrage suivant ; un autre nœud déclenché en
+ * même temps se joint simplement au calcul en cours.
+ */
+@Slf4j
+@Service
+public class LatePenaltyServiceImpl implements LatePenaltyService {
+
+    private static final int RATE_SCALE = 4;
+
+    private final JdbcLatePenaltyRepository penaltyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final int parallelism;
+    private final int chunkSize;
+    private final int graceDays;
+    private final BigDecimal dailyRate;
+    private final BigDecimal capRate;
+
+    private final Counter schedulesPenalized;
+    private final Counter plansUpdated;
+    private final Timer chunkTimer;
+
+    public LatePenaltyServiceImpl (
+            JdbcLatePenaltyRepository penaltyRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.late-penalty.parallelism:4}") int parallelism,
+            @Value("${kredika.late-penalty.chunk-size:1000}") int chunkSize,
+            @Value("${kredika.late-penalty.grace-days:3}") int graceDays,
+            @Value("${kredika.late-penalty.daily-rate-bps:10}") long dailyRateBps,
+            @Value("${kredika.late-penalty.cap-bps:2000}") long capBps
+    ) {
+        this.penaltyRepository = penaltyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.graceDays = Math.max(0, graceDays);
+        this.dailyRate = BigDecimal.valueOf(Math.max(0, dailyRateBps), RATE_SCALE);
+        this.capRate = BigDecimal.valueOf(Math.max(0, capBps), RATE_SCALE);
+        this.schedulesPenalized = Counter.builder("kredika.late-penalty.schedules")
+                .description("Échéances dont la pénalité de retard a été recalculée")
+                .register(meterRegistry);
+        this.plansUpdated = Counter.builder("kredika.late-penalty.plans")
+                .description("Plans dont la pénalité ou le statut de retard a changé")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("kredika.late-penalty.chunk")
+                .description("Durée du traitement d'un lot de plans")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${kredika.late-penalty.cron:0 0 1 * * *}")
+    public void scheduledRun () {
+        run(LocalDate.now());
+    }
+
+    /**
+     * Reprend en arrière-plan un calcul interrompu par l'arrêt du nœud, sans retenir le démarrage de l'application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup () {
+        resume();
+    }
+
+    /**
+     * @return la reprise lancée sur les threads du calcul, ou null si aucun calcul n'est inachevé
+     */
+    Future<PenaltyReport> resume () {
+        LocalDate running = penaltyRepository.findRunningDate();
+        if (running == null) {
+            return null;
+        }
+        log.info("Reprise du calcul des pénalités du {}", running);
+        return workers.submit(() -> {
+            try {
+                return run(running);
+            } catch (RuntimeException ex) {
+                log.error("Échec de la reprise du calcul des pénalités du {}", running, ex);
+                throw ex;
+            }
+        });
+    }
+
+    @Override
+    public PenaltyReport run (LocalDate runDate) {
+        if (!runLock.tryLock()) {
+            return new PenaltyReport(runDate, 0, 0, 0, false, 0);
+        }
+        long start = System.nanoTime();
+        try {
+            String status = transactionTemplate.execute(tx -> {
+                if (penaltyRepository.createRun(runDate, runDate.minusDays(graceDays), dailyRate, capRate)) {
+                    int abandoned = penaltyRepository.abandonBefore(runDate);
+                    int plans = penaltyRepository.planRun(runDate, runDate.minusDays(graceDays));
+                    log.info("Calcul des pénalités du {} : {} plan(s) à traiter, {} calcul(s) antérieur(s) "
+                            + "abandonné(s)", runDate, plans, abandoned);
+                    return JdbcLatePenaltyRepository.STATUS_RUNNING;
+                }
+                return penaltyRepository.findStatus(runDate);
+            });
+            if (!JdbcLatePenaltyRepository.STATUS_RUNNING.equals(status)) {
+                return new PenaltyReport(runDate, 0, 0, 0, JdbcLatePenaltyRepository.STATUS_DONE.equals(status), 0);
+            }
+
+            List<Future<long[]>> running = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                running.add(workers.submit(() -> drain(runDate)));
+            }
+            long plans = 0;
+            long schedules = 0;
+            long updated = 0;
+            for (Future<long[]> worker : running) {
+                try {
+                    long[] totals = worker.get();
+                    plans += totals[0];
+                    schedules += totals[1];
+                    updated += totals[2];
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Calcul des pénalités interrompu", ex);
+                } catch (ExecutionException ex) {
+                    log.warn("Lot de pénalités du {} en échec, repris au prochain lancement", runDate, ex.getCause());
+                }
+            }
+            boolean completed = penaltyRepository.finishRun(runDate);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("Pénalités du {} : {} plan(s) traité(s), {} échéance(s) et {} plan(s) modifié(s) en {} ms{}",
+                    runDate, plans, schedules, updated, elapsedMillis, completed ? "" : " (calcul inachevé)");
+            return new PenaltyReport(runDate, plans, schedules, updated, completed, elapsedMillis);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown () {
+        workers.shutdown();
+    }
+
+    /**
+     * Prend des lots jusqu'à épuisement de la liste
+     *
+     * @return plans traités, échéances modifiées, plans modifiés
+     */
+    private long[] drain (LocalDate runDate) {
+        long[] totals = new long[3];
+        PenalizedChunk chunk;
+        do {
+            long start = System.nanoTime();
+            chunk = penaltyRepository.penalizeChunk(runDate, chunkSize);
+            chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            totals[0] += chunk.plans();
+            totals[1] += chunk.schedules();
+            totals[2] += chunk.updatedPlans();
+            schedulesPenalized.increment(chunk.schedules());
+            plansUpdated.increment(chunk.updatedPlans());
+        } while (chunk.plans() > 0);
+        return totals;
+    }
+}
@@ -0,0 +1,62 @@
+package sn.kredika_app.application.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.application.interfaces.service.OutboxEventHandler;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.event.OutboxEvent;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcNotificationRepository;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Notifications in-app du client : changement de statut de commande, paiement accepté ou refusé, plan soldé.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxHandler implements OutboxEventHandler {
+
+    private final JdbcNotificationRepository notificationRepository;
+
+    @Override
+    public Set<OutboxEventType> supportedTypes () {
+        return EnumSet.of(OutboxEventType.ORDER_STATUS_CHANGED, OutboxEventType.PAYMENT_SUCCEEDED,
+                OutboxEventType.PAYMENT_FAILED, OutboxEventType.INSTALLMENT_PLAN_COMPLETED);
+    }
+
+    @Override
+    public void handle (OutboxEvent event) {
+        JsonNode payload = event.payload();
+        UUID userId = uuid(payload, "userId");
+        if (userId == null) {
+            return;
+        }
+        switch (event.type()) {
+            case ORDER_STATUS_CHANGED -> notificationRepository.insert(event.id(), userId,
+                    "Commande " + payload.path("orderNumber").asText(),
+                    "Votre commande est désormais au statut " + payload.path("statusCode").asText() + ".",
+                    "ORDER", "NORMAL", "/orders/" + event.aggregateId());
+            case PAYMENT_SUCCEEDED -> notificationRepository.insert(event.id(), userId,
+                    "Paiement reçu",
+                    "Votre paiement de " + payload.path("amount").asText() + " FCFA ("
+                            + payload.path("transactionNumber").asText() + ") a été accepté.",
+                    "PAYMENT", "NORMAL", null);
+            case PAYMENT_FAILED -> notificationRepository.insert(event.id(), userId,
+                    "Paiement refusé",
+                    "Votre paiement " + payload.path("transactionNumber").asText() + " n'a pas abouti.",
+                    "PAYMENT", "HIGH", null);
+            case INSTALLMENT_PLAN_COMPLETED -> notificationRepository.insert(event.id(), userId,
+                    "Plan soldé",
+                    "Félicitations, le plan " + payload.path("planNumber").asText() + " est entièrement payé.",
+                    "INSTALLMENT_PLAN", "NORMAL", null);
+        }
+    }
+
+    private static UUID uuid (JsonNode payload, String field) {
+        JsonNode value = payload.get(field);
+        return value == null || value.isNull() ? null : UUID.fromString(value.asText());
+    }
+}
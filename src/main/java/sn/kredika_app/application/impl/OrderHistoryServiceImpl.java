@@ -0,0 +1,59 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sn.kredika_app.application.interfaces.service.OrderHistoryService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.common.util.CursorCodec;
+import sn.kredika_app.domain.dto.response.CursorPageResponseDto;
+import sn.kredika_app.domain.dto.simple.OrderSimpleDto;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcOrderHistoryRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryServiceImpl implements OrderHistoryService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final JdbcOrderHistoryRepository orderHistoryRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<OrderSimpleDto> listOrders (UUID userId, String cursor, int size) {
+        if (userId == null) {
+            throw CustomException.badRequest("L'utilisateur est requis");
+        }
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        LocalDateTime cursorCreatedAt = null;
+        UUID cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorCodec.decode(cursor, 2);
+            try {
+                cursorCreatedAt = LocalDateTime.parse(parts[0]);
+                cursorId = UUID.fromString(parts[1]);
+            } catch (DateTimeParseException | IllegalArgumentException ex) {
+                throw CustomException.badRequest("Curseur de pagination invalide");
+            }
+        }
+
+        // Une ligne de plus que demandé indique l'existence d'une page suivante sans COUNT(*)
+        List<OrderSimpleDto> rows = orderHistoryRepository.findPage(userId, cursorCreatedAt, cursorId, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<OrderSimpleDto> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderSimpleDto last = page.getLast();
+            nextCursor = CursorCodec.encode(last.getCreatedAt().toString(), last.getId().toString());
+        }
+        return new CursorPageResponseDto<>(page, nextCursor, hasNext);
+    }
+}
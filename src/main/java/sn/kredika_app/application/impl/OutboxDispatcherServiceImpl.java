@@ -0,0 +1,284 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.OutboxDispatcherService;
+import sn.kredika_app.application.interfaces.service.OutboxEventHandler;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.event.OutboxEvent;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dispatcher de l'outbox.
+ * Chaque cycle prend un lot d'événements (SKIP LOCKED, avec bail) et les traite sur des threads virtuels, les
+ * agrégats distincts en parallèle. Un lot ne contient que le plus ancien événement en attente de chaque agrégat : le
+ * suivant n'est pris qu'une fois celui-ci traité ou abandonné, y compris par un autre nœud, ce qui préserve l'ordre
+ * d'écriture même quand le délai de reprise dépasse la durée du bail. Le parallélisme est borné par un sémaphore, chaque traitement occupant une connexion le temps de sa
+ * transaction. Un échec est rejoué avec un délai exponentiel (plafonné, avec gigue) jusqu'au nombre maximal de
+ * tentatives, après quoi l'événement passe en DEAD pour analyse.
+ */
+@Slf4j
+@Service
+public class OutboxDispatcherServiceImpl implements OutboxDispatcherService {
+
+    private static final int PURGE_CHUNK_SIZE = 1000;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JdbcOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<OutboxEventType, List<OutboxEventHandler>> handlers = new EnumMap<>(OutboxEventType.class);
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong lastEventsPerSecond = new AtomicLong();
+
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+    private final Timer runTimer;
+
+    public OutboxDispatcherServiceImpl (
+            JdbcOutboxRepository outboxRepository,
+            TransactionTemplate transactionTemplate,
+            List<OutboxEventHandler> eventHandlers,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.outbox.batch-size:100}") int batchSize,
+            @Value("${kredika.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${kredika.outbox.concurrency:8}") int concurrency,
+            @Value("${kredika.outbox.lease-seconds:60}") long leaseSeconds,
+            @Value("${kredika.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${kredika.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${kredika.outbox.max-backoff-ms:600000}") long maxBackoffMs,
+            @Value("${kredika.outbox.retention-days:7}") long retentionDays
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        for (OutboxEventHandler handler : eventHandlers) {
+            for (OutboxEventType type : handler.supportedTypes()) {
+                handlers.computeIfAbsent(type, t -> new ArrayList<>()).add(handler);
+            }
+        }
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.permits = new Semaphore(Math.max(1, concurrency));
+        this.leaseSeconds = Math.max(1, leaseSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Duration.ofMillis(Math.max(1, initialBackoffMs));
+        this.maxBackoff = Duration.ofMillis(Math.max(initialBackoffMs, maxBackoffMs));
+        this.retention = Duration.ofDays(Math.max(1, retentionDays));
+        this.dispatchedCounter = Counter.builder("kredika.outbox.dispatched")
+                .description("Événements de l'outbox traités")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("kredika.outbox.failures")
+                .description("Tentatives de traitement en échec, replanifiées")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("kredika.outbox.dead")
+                .description("Événements abandonnés après le nombre maximal de tentatives")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("kredika.outbox.run")
+                .description("Durée d'un cycle du dispatcher")
+                .register(meterRegistry);
+        Gauge.builder("kredika.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Ancienneté du plus ancien événement non traité")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("kredika.outbox.throughput", lastEventsPerSecond, AtomicLong::get)
+                .description("Événements traités par seconde lors du dernier cycle")
+                .baseUnit("events/s")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.outbox.poll-interval-ms:500}")
+    public void scheduledDispatch () {
+        dispatchPending();
+    }
+
+    @Override
+    public int dispatchPending () {
+        if (!runLock.tryLock()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            int dispatched = 0;
+            int batches = 0;
+            List<OutboxEvent> batch;
+            do {
+                batch = outboxRepository.claimBatch(batchSize, leaseSeconds);
+                if (!batch.isEmpty()) {
+                    dispatched += dispatchBatch(batch);
+                }
+                batches++;
+            } while (batch.size() == batchSize && batches < maxBatchesPerRun);
+
+            long elapsedNanos = System.nanoTime() - start;
+            if (dispatched > 0) {
+                lastEventsPerSecond.set(dispatched * 1_000_000_000L / Math.max(1, elapsedNanos));
+            }
+            LocalDateTime oldest = outboxRepository.findOldestPending();
+            lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now())
+                    .toSeconds()));
+            return dispatched;
+        } finally {
+            runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Purge les événements traités au-delà de la durée de rétention ; les événements DEAD sont conservés
+     */
+    @Scheduled(cron = "${kredika.outbox.purge-cron:0 15 4 * * *}")
+    public void purgeDone () {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int purged;
+        do {
+            purged = outboxRepository.purgeDone(before, PURGE_CHUNK_SIZE);
+            total += purged;
+        } while (purged == PURGE_CHUNK_SIZE);
+        if (total > 0) {
+            log.info("{} événement(s) d'outbox traité(s) purgé(s)", total);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown () {
+        workers.shutdown();
+    }
+
+    /**
+     * Traite un lot : un thread virtuel par agrégat
+     */
+    private int dispatchBatch (List<OutboxEvent> batch) {
+        Map<UUID, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            byAggregate.computeIfAbsent(event.aggregateId(), id -> new ArrayList<>()).add(event);
+        }
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> running = new ArrayList<>(byAggregate.size());
+        for (Collection<OutboxEvent> events : byAggregate.values()) {
+            running.add(workers.submit(() -> {
+                for (OutboxEvent event : events) {
+                    if (!process(event)) {
+                        break;
+                    }
+                    succeeded.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ex) {
+                log.warn("Traitement d'un groupe d'événements de l'outbox interrompu", ex);
+            }
+        }
+        return succeeded.get();
+    }
+
+    private boolean process (OutboxEvent event) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            Boolean done = transactionTemplate.execute(status -> {
+                for (OutboxEventHandler handler : handlers.getOrDefault(event.type(), List.of())) {
+                    handler.handle(event);
+                }
+                if (!outboxRepository.markDone(event.id(), event.attempt())) {
+                    // Bail expiré et événement repris ailleurs : on annule pour ne pas appliquer deux fois
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                dispatchedCounter.increment();
+                return true;
+            }
+            return false;
+        } catch (RuntimeException ex) {
+            fail(event, ex);
+            return false;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void fail (OutboxEvent event, RuntimeException cause) {
+        String error = truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        try {
+            if (event.attempt() >= maxAttempts) {
+                outboxRepository.markDead(event.id(), event.attempt(), error);
+                deadCounter.increment();
+                log.error("Événement {} {} abandonné après {} tentative(s)", event.type(), event.id(),
+                        event.attempt(), cause);
+            } else {
+                outboxRepository.reschedule(event.id(), event.attempt(), backoffSeconds(event.attempt()), error);
+                failedCounter.increment();
+                log.warn("Événement {} {} en échec (tentative {}), nouvel essai planifié : {}", event.type(),
+                        event.id(), event.attempt(), error);
+            }
+        } catch (DataAccessException ex) {
+            // La fin du bail rendra l'événement disponible
+            log.warn("Impossible de replanifier l'événement {}", event.id(), ex);
+        }
+    }
+
+    /**
+     * Délai exponentiel depuis le délai initial, plafonné, avec une gigue de ±20 % pour étaler les reprises
+     */
+    private long backoffSeconds (int attempt) {
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Math.max(1, Math.round(capped * jitter / 1000.0));
+    }
+
+    private static String truncate (String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
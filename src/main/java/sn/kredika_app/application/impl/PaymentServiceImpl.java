@@ -0,0 +1,56 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sn.kredika_app.application.interfaces.service.BusinessNumberService;
+import sn.kredika_app.application.interfaces.service.PaymentService;
+import sn.kredika_app.common.enums.BusinessNumberType;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.request.PaymentTransactionRequestDto;
+import sn.kredika_app.domain.dto.response.PaymentTransactionResponseDto;
+import sn.kredika_app.domain.dto.simple.InstallmentPlanSimpleDto;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcPaymentRepository;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentServiceImpl implements PaymentService {
+
+    /**
+     * Statuts d'un plan qui accepte encore des paiements : un plan en retard doit pouvoir être régularisé
+     */
+    static final Set<String> PAYABLE_PLAN_STATUSES = Set.of("ACTIVE", "LATE");
+    static final String TRANSACTION_STATUS_PENDING = "PENDING";
+
+    private final JdbcPaymentRepository paymentRepository;
+    private final BusinessNumberService businessNumberService;
+
+    @Override
+    @Transactional
+    public PaymentTransactionResponseDto initiate (UUID userId, PaymentTransactionRequestDto request) {
+        if (request == null || request.getInstallmentPlanId() == null) {
+            throw CustomException.badRequest("Le plan de paiement est requis");
+        }
+        if (request.getAmount() == null || request.getAmount().signum() <= 0) {
+            throw CustomException.badRequest("Le montant doit être strictement positif");
+        }
+        InstallmentPlanSimpleDto plan = paymentRepository.findPlan(request.getInstallmentPlanId(), userId);
+        if (plan == null) {
+            throw CustomException.notFound("Plan de paiement introuvable");
+        }
+        if (!PAYABLE_PLAN_STATUSES.contains(plan.getStatusCode())) {
+            throw CustomException.conflict("Ce plan de paiement n'accepte plus de paiement");
+        }
+
+        UUID id = UUID.randomUUID();
+        String transactionNumber = businessNumberService.next(BusinessNumberType.PAYMENT_TRANSACTION);
+        UUID scheduleId = paymentRepository.findNextDueSchedule(plan.getId());
+        paymentRepository.insertPending(id, transactionNumber, userId, plan.getId(), scheduleId,
+                request.getAmount(), request.getPaymentMethodCode(), request.getExternalTransactionId());
+        return new PaymentTransactionResponseDto(id, transactionNumber, request.getAmount(),
+                request.getPaymentMethodCode(), TRANSACTION_STATUS_PENDING, null, plan);
+    }
+}
@@ -0,0 +1,81 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sn.kredika_app.application.interfaces.service.CategoryTreeService;
+import sn.kredika_app.application.interfaces.service.ProductCatalogService;
+import sn.kredika_app.common.enums.ProductCatalogSort;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.common.util.CursorCodec;
+import sn.kredika_app.domain.dto.response.CursorPageResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductCatalogRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductCatalogRepository.CatalogRow;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ProductCatalogServiceImpl implements ProductCatalogService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final JdbcProductCatalogRepository catalogRepository;
+    private final CategoryTreeService categoryTreeService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<ProductSimpleDto> listByCategory (UUID categoryId, boolean includeSubcategories,
+                                                                   boolean active, ProductCatalogSort sort,
+                                                                   String cursor, int size) {
+        if (categoryId == null) {
+            throw CustomException.badRequest("La catégorie est requise");
+        }
+        ProductCatalogSort effectiveSort = sort != null ? sort : ProductCatalogSort.NEWEST;
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        String cursorKey = null;
+        UUID cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            // Le curseur embarque le tri : on refuse de le rejouer avec un autre ordre
+            String[] parts = CursorCodec.decode(cursor, 3);
+            if (!effectiveSort.name().equals(parts[0])) {
+                throw CustomException.badRequest("Le curseur ne correspond pas au tri demandé");
+            }
+            cursorKey = parts[1];
+            cursorId = parseId(parts[2]);
+        }
+
+        // Une ligne de plus que demandé indique l'existence d'une page suivante sans COUNT(*)
+        UUID[] categoryIds = includeSubcategories
+                ? categoryTreeService.getSubtreeIds(categoryId)
+                : new UUID[]{categoryId};
+        List<CatalogRow> rows = catalogRepository.findPage(
+                categoryIds, active, effectiveSort, cursorKey, cursorId, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<CatalogRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            CatalogRow last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encode(effectiveSort.name(), last.sortKey(), last.product().getId().toString());
+        }
+
+        return new CursorPageResponseDto<>(
+                page.stream().map(CatalogRow::product).toList(),
+                nextCursor,
+                hasNext
+        );
+    }
+
+    private UUID parseId (String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            throw CustomException.badRequest("Curseur de pagination invalide");
+        }
+    }
+}
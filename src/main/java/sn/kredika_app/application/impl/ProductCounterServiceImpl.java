@@ -0,0 +1,201 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sn.kredika_app.application.interfaces.service.ProductCounterService;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductCounterRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compteurs produits en écriture différée (write-behind).
+ * Chaque produit possède ses propres LongAdder : les fils qui consultent le même produit populaire incrémentent des
+ * cellules distinctes au lieu de se disputer une ligne en base. Les deltas sont vidés périodiquement, par lots triés
+ * par identifiant, puis une dernière fois à l'arrêt de l'application.
+ */
+@Slf4j
+@Service
+public class ProductCounterServiceImpl implements ProductCounterService {
+
+    static final int FLUSH_CHUNK_SIZE = 1_000;
+
+    /**
+     * Nombre de vidages consécutifs sans activité avant de libérer l'entrée d'un produit
+     */
+    static final int IDLE_FLUSHES_BEFORE_EVICTION = 3;
+
+    private final ConcurrentHashMap<UUID, ProductCounters> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcProductCounterRepository counterRepository;
+
+    private final Counter viewsRecorded;
+    private final Counter purchasesRecorded;
+    private final Counter productsFlushed;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public ProductCounterServiceImpl (JdbcProductCounterRepository counterRepository, MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.viewsRecorded = Counter.builder("kredika.product.views")
+                .description("Vues de fiches produits enregistrées")
+                .register(meterRegistry);
+        this.purchasesRecorded = Counter.builder("kredika.product.purchases")
+                .description("Unités achetées enregistrées")
+                .register(meterRegistry);
+        this.productsFlushed = Counter.builder("kredika.product.counters.flushed")
+                .description("Lignes produits mises à jour par les vidages")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("kredika.product.counters.flush.failures")
+                .description("Lots de deltas dont l'écriture a échoué et qui ont été réintégrés")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("kredika.product.counters.flush")
+                .description("Durée d'un vidage des compteurs produits")
+                .register(meterRegistry);
+        Gauge.builder("kredika.product.counters.tracked", counters, Map::size)
+                .description("Produits suivis en mémoire")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordView (UUID productId) {
+        countersOf(productId).views.increment();
+        viewsRecorded.increment();
+    }
+
+    @Override
+    public void recordPurchase (UUID productId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        countersOf(productId).purchases.add(quantity);
+        purchasesRecorded.increment(quantity);
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.counters.flush-interval-ms:5000}")
+    public void scheduledFlush () {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown () {
+        int flushed = flush();
+        log.info("Compteurs produits vidés à l'arrêt : {} produit(s)", flushed);
+    }
+
+    @Override
+    public int flush () {
+        flushLock.lock();
+        long start = System.nanoTime();
+        try {
+            return drainAndWrite();
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushLock.unlock();
+        }
+    }
+
+    private int drainAndWrite () {
+        List<Delta> deltas = new ArrayList<>();
+        for (Map.Entry<UUID, ProductCounters> entry : counters.entrySet()) {
+            ProductCounters productCounters = entry.getValue();
+            long views = productCounters.views.sumThenReset();
+            long purchases = productCounters.purchases.sumThenReset();
+            if (views == 0 && purchases == 0) {
+                if (++productCounters.idleFlushes >= IDLE_FLUSHES_BEFORE_EVICTION) {
+                    evict(entry.getKey(), productCounters);
+                }
+                continue;
+            }
+            productCounters.idleFlushes = 0;
+            deltas.add(new Delta(entry.getKey(), views, purchases));
+        }
+
+        // Ordre de verrouillage identique sur tous les nœuds : pas d'interblocage entre vidages concurrents
+        deltas.sort(Comparator.comparing(Delta::productId));
+
+        int updated = 0;
+        for (int from = 0; from < deltas.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Delta> chunk = deltas.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, deltas.size()));
+            try {
+                updated += writeChunk(chunk);
+            } catch (DataAccessException ex) {
+                // Les deltas sont réintégrés et retentés au prochain vidage
+                chunk.forEach(this::restore);
+                flushFailures.increment();
+                log.warn("Échec du vidage de {} compteur(s) produit(s), nouvel essai au prochain cycle",
+                        chunk.size(), ex);
+            }
+        }
+        productsFlushed.increment(updated);
+        return updated;
+    }
+
+    private int writeChunk (List<Delta> chunk) {
+        UUID[] ids = new UUID[chunk.size()];
+        Long[] views = new Long[chunk.size()];
+        Long[] purchases = new Long[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            Delta delta = chunk.get(i);
+            ids[i] = delta.productId();
+            views[i] = delta.views();
+            purchases[i] = delta.purchases();
+        }
+        return counterRepository.applyDeltas(ids, views, purchases);
+    }
+
+    /**
+     * Libère l'entrée d'un produit inactif. Un incrément arrivé entre le dernier vidage et le retrait est récupéré
+     * et réintégré ; seul un incrément effectué sur une référence obtenue avant le retrait et appliqué après ce
+     * contrôle serait perdu, ce qui suppose un produit resté sans activité pendant plusieurs cycles.
+     */
+    private void evict (UUID productId, ProductCounters productCounters) {
+        if (counters.remove(productId, productCounters)) {
+            long lateViews = productCounters.views.sumThenReset();
+            long latePurchases = productCounters.purchases.sumThenReset();
+            if (lateViews != 0 || latePurchases != 0) {
+                restore(new Delta(productId, lateViews, latePurchases));
+            }
+        }
+    }
+
+    private void restore (Delta delta) {
+        ProductCounters productCounters = countersOf(delta.productId());
+        productCounters.views.add(delta.views());
+        productCounters.purchases.add(delta.purchases());
+    }
+
+    private ProductCounters countersOf (UUID productId) {
+        ProductCounters productCounters = counters.get(productId);
+        return productCounters != null
+                ? productCounters
+                : counters.computeIfAbsent(productId, id -> new ProductCounters());
+    }
+
+    private static final class ProductCounters {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder purchases = new LongAdder();
+
+        /**
+         * Lu et écrit uniquement sous flushLock
+         */
+        private int idleFlushes;
+    }
+
+    private record Delta(UUID productId, long views, long purchases) {
+    }
+}
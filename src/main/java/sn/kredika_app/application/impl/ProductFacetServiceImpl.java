@@ -0,0 +1,130 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sn.kredika_app.application.interfaces.service.CategoryTreeService;
+import sn.kredika_app.application.interfaces.service.ProductFacetService;
+import sn.kredika_app.domain.dto.response.ProductFacetResponseDto;
+import sn.kredika_app.domain.event.ProductChangedEvent;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.Facet;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetFilter;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetResult;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetRow;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductFacetRepository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tient l'index de facettes en mémoire.
+ * Chaque produit modifié sur ce nœud est relu et réindexé après validation de sa transaction ; une reconstruction
+ * complète périodique converge avec les écritures des autres nœuds et compacte les ordinaux. Les produits modifiés
+ * pendant une reconstruction sont rejoués sur le nouvel index avant de rendre la main.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+    private final JdbcProductFacetRepository productFacetRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final AtomicReference<ProductFacetIndex> index = new AtomicReference<>();
+    private final Object rebuildLock = new Object();
+    private volatile Set<UUID> changedDuringRebuild;
+
+    @Override
+    public ProductFacetResponseDto getFacets (UUID categoryId, boolean includeSubcategories, FacetFilter filter) {
+        UUID[] categoryIds = null;
+        if (categoryId != null) {
+            categoryIds = includeSubcategories
+                    ? categoryTreeService.getSubtreeIds(categoryId)
+                    : new UUID[]{categoryId};
+        }
+        FacetResult result = current().query(categoryIds, filter);
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (Map.Entry<Facet, Map<String, Integer>> entry : result.counts().entrySet()) {
+            facets.put(entry.getKey().getKey(), entry.getValue());
+        }
+        return new ProductFacetResponseDto(categoryId, result.totalCount(), facets);
+    }
+
+    @Override
+    public void rebuild () {
+        synchronized (rebuildLock) {
+            Set<UUID> changed = ConcurrentHashMap.newKeySet();
+            changedDuringRebuild = changed;
+            try {
+                ProductFacetIndex rebuilt = ProductFacetIndex.build(productFacetRepository.findAllIndexable());
+                index.set(rebuilt);
+                log.debug("Index de facettes reconstruit : {} produit(s)", rebuilt.size());
+            } finally {
+                changedDuringRebuild = null;
+            }
+            if (!changed.isEmpty()) {
+                reindex(changed);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup () {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.facets.rebuild-interval-ms:600000}",
+            initialDelayString = "${kredika.facets.rebuild-interval-ms:600000}")
+    public void scheduledRebuild () {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged (ProductChangedEvent event) {
+        if (event.productId() == null) {
+            return;
+        }
+        Set<UUID> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(event.productId());
+        }
+        reindex(List.of(event.productId()));
+    }
+
+    private ProductFacetIndex current () {
+        ProductFacetIndex current = index.get();
+        if (current == null) {
+            rebuild();
+            current = index.get();
+        }
+        return current;
+    }
+
+    /**
+     * Relit les produits et met à jour leurs entrées ; les produits absents de la base sont retirés
+     */
+    private void reindex (Collection<UUID> productIds) {
+        ProductFacetIndex current = index.get();
+        if (current == null) {
+            return;
+        }
+        Set<UUID> missing = new HashSet<>(productIds);
+        for (FacetRow row : productFacetRepository.findByIds(productIds.toArray(UUID[]::new))) {
+            current.upsert(row);
+            missing.remove(row.id());
+        }
+        missing.forEach(current::remove);
+    }
+}
@@ -0,0 +1,250 @@
+package sn.kredika_app.application.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import sn.kredika_app.application.interfaces.service.ProductImageService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.common.util.ImageResizer;
+import sn.kredika_app.common.util.ImageResizer.ImageInfo;
+import sn.kredika_app.domain.dto.response.ProductImageResponseDto;
+import sn.kredika_app.domain.event.ProductImageUploadedEvent;
+import sn.kredika_app.domain.model.ProductImageModel;
+import sn.kredika_app.domain.repository.ProductImageRepository;
+import sn.kredika_app.domain.repository.ProductRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductImageVariantRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductImageVariantRepository.ImageSource;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductImageVariantRepository.VariantRow;
+import sn.kredika_app.infrastructure.storage.ContentAddressedImageStorage;
+import sn.kredika_app.infrastructure.storage.ContentAddressedImageStorage.StoredFile;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline d'images produits.
+ * Le téléversement écrit l'original en flux dans le stockage adressé par le contenu (Tomcat a déjà déposé la partie
+ * multipart sur disque) et ne lit que l'en-tête pour les dimensions. Les variantes sont générées après validation par
+ * des threads virtuels ; un sémaphore borne le nombre de décodages simultanés, seule étape coûteuse en mémoire.
+ */
+@Slf4j
+@Service
+public class ProductImageServiceImpl implements ProductImageService {
+
+    static final String STATUS_PENDING = "PENDING";
+    static final String STATUS_READY = "READY";
+    static final String STATUS_FAILED = "FAILED";
+
+    private static final Map<String, String> EXTENSIONS_BY_CONTENT_TYPE = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/bmp", "bmp"
+    );
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
+    private final JdbcProductImageVariantRepository variantRepository;
+    private final ContentAddressedImageStorage storage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int[] variantWidths;
+    private final Semaphore decodePermits;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ProductImageServiceImpl (
+            ProductRepository productRepository,
+            ProductImageRepository productImageRepository,
+            JdbcProductImageVariantRepository variantRepository,
+            ContentAddressedImageStorage storage,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            @Value("${kredika.images.variant-widths:160,320,640,1280}") int[] variantWidths,
+            @Value("${kredika.images.max-concurrent-decodes:2}") int maxConcurrentDecodes
+    ) {
+        this.productRepository = productRepository;
+        this.productImageRepository = productImageRepository;
+        this.variantRepository = variantRepository;
+        this.storage = storage;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.variantWidths = Arrays.stream(variantWidths).filter(w -> w > 0).sorted().distinct().toArray();
+        this.decodePermits = new Semaphore(Math.max(1, maxConcurrentDecodes));
+    }
+
+    /**
+     * Écriture et lecture de l'en-tête hors transaction : aucune connexion n'est retenue pendant la copie d'un fichier
+     * pouvant atteindre la taille maximale d'une requête multipart. Seule l'insertion de la ligne est transactionnelle.
+     */
+    @Override
+    public ProductImageResponseDto upload (UUID productId, MultipartFile file, String altText, Integer position,
+                                           boolean isPrimary) {
+        if (file == null || file.isEmpty()) {
+            throw CustomException.badRequest("Le fichier image est requis");
+        }
+        String extension = file.getContentType() == null ? null
+                : EXTENSIONS_BY_CONTENT_TYPE.get(file.getContentType().toLowerCase());
+        if (extension == null) {
+            throw CustomException.badRequest("Format d'image non supporté (JPEG, PNG, GIF ou BMP attendu)");
+        }
+        if (!productRepository.existsById(productId)) {
+            throw CustomException.notFound("Produit introuvable");
+        }
+
+        StoredFile stored = storage.store(out -> {
+            try (InputStream in = file.getInputStream()) {
+                in.transferTo(out);
+            }
+        }, extension);
+        ImageInfo info;
+        try {
+            info = ImageResizer.probe(storage.resolve(stored.storageKey()));
+        } catch (IOException ex) {
+            info = null;
+        }
+        if (info == null) {
+            storage.discard(stored);
+            throw CustomException.badRequest("Le fichier n'est pas une image lisible");
+        }
+
+        ProductImageModel image = new ProductImageModel();
+        image.setProductId(productId);
+        image.setImageUrl(storage.urlOf(stored.storageKey()));
+        image.setAltText(altText);
+        image.setPosition(position == null ? 0 : Math.max(0, position));
+        image.setIsPrimary(isPrimary);
+        image.setContentHash(stored.contentHash());
+        image.setStorageKey(stored.storageKey());
+        image.setWidth(info.width());
+        image.setHeight(info.height());
+        image.setByteSize(stored.byteSize());
+        image.setProcessingStatus(STATUS_PENDING);
+        ProductImageModel saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                ProductImageModel created = productImageRepository.save(image);
+                if (isPrimary) {
+                    productImageRepository.clearOtherPrimary(productId, created.getId());
+                }
+                eventPublisher.publishEvent(new ProductImageUploadedEvent(created.getId()));
+                return created;
+            });
+        } catch (RuntimeException ex) {
+            storage.discard(stored);
+            throw ex;
+        }
+        return new ProductImageResponseDto(saved.getId(), saved.getImageUrl(), saved.getAltText(),
+                saved.getPosition(), saved.getIsPrimary(), saved.getWidth(), saved.getHeight(),
+                saved.getProcessingStatus());
+    }
+
+    @TransactionalEventListener
+    public void onImageUploaded (ProductImageUploadedEvent event) {
+        submit(event.imageId());
+    }
+
+    /**
+     * Reprend les images restées en attente lors d'un arrêt du nœud
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending () {
+        List<UUID> pending = variantRepository.findPendingImageIds(1000);
+        if (!pending.isEmpty()) {
+            log.info("Reprise du traitement de {} image(s) en attente", pending.size());
+            pending.forEach(this::submit);
+        }
+    }
+
+    private void submit (UUID imageId) {
+        workers.submit(() -> {
+            try {
+                processVariants(imageId);
+            } catch (RuntimeException ex) {
+                log.warn("Échec de la génération des variantes de l'image {} : {}", imageId, ex.getMessage());
+                variantRepository.updateStatus(imageId, STATUS_FAILED);
+            }
+        });
+    }
+
+    @Override
+    public void processVariants (UUID imageId) {
+        ImageSource source = variantRepository.findSource(imageId);
+        if (source == null) {
+            return;
+        }
+        int[] targets = Arrays.stream(variantWidths).filter(w -> w < source.width()).toArray();
+        List<VariantRow> variants = targets.length == 0 ? List.of() : renderVariants(source, targets);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            variantRepository.replaceVariants(imageId, variants);
+            variantRepository.updateStatus(imageId, STATUS_READY);
+        });
+        log.debug("Image {} : {} variante(s) générée(s)", imageId, variants.size());
+    }
+
+    private List<VariantRow> renderVariants (ImageSource source, int[] targets) {
+        Path original = storage.resolve(source.storageKey());
+        try {
+            decodePermits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Traitement d'image interrompu", ex);
+        }
+        try {
+            BufferedImage decoded = ImageResizer.decode(original, source.width(), targets[targets.length - 1]);
+            boolean alpha = ImageResizer.hasAlpha(decoded);
+            String format = alpha ? "png" : "jpeg";
+            String extension = alpha ? "png" : "jpg";
+
+            List<VariantRow> variants = new ArrayList<>(targets.length);
+            BufferedImage previous = decoded;
+            // Du plus grand au plus petit : chaque variante est réduite depuis la précédente
+            for (int i = targets.length - 1; i >= 0; i--) {
+                BufferedImage scaled = ImageResizer.scaleToWidth(previous, targets[i]);
+                StoredFile stored = storage.store(out -> {
+                    if (alpha) {
+                        ImageResizer.writePng(scaled, out);
+                    } else {
+                        ImageResizer.writeJpeg(scaled, JPEG_QUALITY, out);
+                    }
+                }, extension);
+                variants.add(new VariantRow(scaled.getWidth(), scaled.getHeight(), format, stored.byteSize(),
+                        storage.urlOf(stored.storageKey()), stored.storageKey()));
+                previous = scaled;
+            }
+            return variants.reversed();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            decodePermits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown () throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+}
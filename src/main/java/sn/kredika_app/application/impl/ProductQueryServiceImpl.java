@@ -0,0 +1,107 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sn.kredika_app.application.interfaces.service.ProductQueryService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.response.ProductImageResponseDto;
+import sn.kredika_app.domain.dto.response.ProductImageVariantResponseDto;
+import sn.kredika_app.domain.dto.response.ProductResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+import sn.kredika_app.domain.repository.ProductImageRepository;
+import sn.kredika_app.domain.repository.ProductRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductQueryServiceImpl implements ProductQueryService {
+
+    static final int MAX_IDS = 200;
+
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
+
+    @Override
+    public ProductResponseDto getProduct (UUID productId) {
+        return getProduct(productId, null);
+    }
+
+    @Override
+    public ProductResponseDto getProduct (UUID productId, Integer imageWidth) {
+        ProductResponseDto product = productRepository.findResponseById(productId)
+                .orElseThrow(() -> CustomException.notFound("Produit introuvable"));
+        List<ProductImageResponseDto> images = productRepository.findImagesByProductId(productId);
+        Map<UUID, List<ProductImageVariantResponseDto>> variantsByImage = productImageRepository
+                .findVariantsByProductId(productId).stream()
+                .collect(Collectors.groupingBy(ProductImageVariantResponseDto::getImageId));
+        for (ProductImageResponseDto image : images) {
+            List<ProductImageVariantResponseDto> variants = variantsByImage.getOrDefault(image.getId(), List.of());
+            image.setVariants(variants.isEmpty() ? null : variants);
+            if (imageWidth != null) {
+                image.setDisplayUrl(selectUrl(image, variants, imageWidth));
+                if (Boolean.TRUE.equals(image.getIsPrimary())) {
+                    product.setMainImageUrl(image.getDisplayUrl());
+                }
+            }
+        }
+        product.setImages(images);
+        return product;
+    }
+
+    @Override
+    public List<ProductResponseDto> getProducts (List<UUID> productIds) {
+        checkIds(productIds);
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return inRequestedOrder(productIds, productRepository.findResponsesByIds(productIds), ProductResponseDto::getId);
+    }
+
+    @Override
+    public List<ProductSimpleDto> getProductSummaries (List<UUID> productIds) {
+        checkIds(productIds);
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return inRequestedOrder(productIds, productRepository.findSimpleByIds(productIds), ProductSimpleDto::getId);
+    }
+
+    /**
+     * Plus petite variante au moins aussi large que demandé ; l'original si aucune ne suffit
+     */
+    private static String selectUrl (ProductImageResponseDto image, List<ProductImageVariantResponseDto> variants,
+                                     int imageWidth) {
+        return variants.stream()
+                .filter(variant -> variant.getWidth() >= imageWidth)
+                .min(Comparator.comparing(ProductImageVariantResponseDto::getWidth))
+                .map(ProductImageVariantResponseDto::getUrl)
+                .orElse(image.getImageUrl());
+    }
+
+    private void checkIds (List<UUID> productIds) {
+        if (productIds == null) {
+            throw CustomException.badRequest("La liste des produits est requise");
+        }
+        if (productIds.size() > MAX_IDS) {
+            throw CustomException.badRequest("Au plus " + MAX_IDS + " produits peuvent être demandés à la fois");
+        }
+    }
+
+    private static <T> List<T> inRequestedOrder (List<UUID> requestedIds, List<T> rows, Function<T, UUID> idOf) {
+        Map<UUID, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+        return requestedIds.stream()
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
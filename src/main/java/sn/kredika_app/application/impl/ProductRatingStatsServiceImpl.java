@@ -0,0 +1,88 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.ProductRatingStatsService;
+import sn.kredika_app.domain.dto.response.ProductRatingSummaryDto;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductRatingStatsRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductRatingStatsServiceImpl implements ProductRatingStatsService {
+
+    private final JdbcProductRatingStatsRepository ratingStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductRatingSummaryDto getRatingSummary (UUID productId) {
+        long[] stats = ratingStatsRepository.findByProductId(productId);
+        long sum = stats[0];
+        long count = stats[1];
+        BigDecimal average = count > 0
+                ? BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                : null;
+        return new ProductRatingSummaryDto(productId, average, count,
+                List.of(stats[2], stats[3], stats[4], stats[5], stats[6]));
+    }
+
+    @Override
+    @Transactional
+    public int syncProductRatings () {
+        return ratingStatsRepository.syncProductRatings();
+    }
+
+    /**
+     * Transaction explicite : appelée aussi depuis le démarrage et la tâche planifiée de cette classe, la méthode ne
+     * passerait pas par le proxy transactionnel, et le verrou du recalcul doit tenir jusqu'à la validation
+     */
+    @Override
+    public int reconcile () {
+        int updated = transactionTemplate.execute(status -> ratingStatsRepository.recomputeAll());
+        log.info("Agrégats de notes réconciliés : {} ligne(s)", updated);
+        return updated;
+    }
+
+    /**
+     * Initialise les agrégats au premier démarrage sur une base existante
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty () {
+        if (ratingStatsRepository.isEmpty()) {
+            reconcile();
+            syncProductRatings();
+        }
+    }
+
+    /**
+     * Met à jour la copie dénormalisée de products.rating utilisée par le tri et les vignettes
+     */
+    @Scheduled(fixedDelayString = "${kredika.rating-stats.sync-interval-ms:60000}")
+    public void scheduledSync () {
+        int updated = syncProductRatings();
+        if (updated > 0) {
+            log.debug("Notes recopiées sur {} produit(s)", updated);
+        }
+    }
+
+    /**
+     * Filet de sécurité contre les écritures d'avis faites hors JPA
+     */
+    @Scheduled(cron = "${kredika.rating-stats.reconcile-cron:0 45 3 * * *}")
+    public void scheduledReconcile () {
+        reconcile();
+        syncProductRatings();
+    }
+}
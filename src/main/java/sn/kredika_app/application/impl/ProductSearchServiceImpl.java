@@ -0,0 +1,59 @@
+package sn.kredika_app.application.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sn.kredika_app.application.interfaces.service.ProductSearchService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.response.ProductSearchHitDto;
+import sn.kredika_app.domain.dto.response.ProductSearchResponseDto;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductSearchRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 50;
+
+    /**
+     * Profondeur maximale de résultats consultables : au-delà, le classement n'apporte plus rien à l'utilisateur.
+     * Borne aussi le nombre de correspondances classées par requête.
+     */
+    static final int MAX_RESULT_WINDOW = 1_000;
+
+    private final JdbcProductSearchRepository searchRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductSearchResponseDto search (String query, UUID categoryId, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw CustomException.badRequest("Le texte de recherche est requis");
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() > 200) {
+            throw CustomException.badRequest("Le texte de recherche ne peut excéder 200 caractères");
+        }
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        int offset = pageNumber * pageSize;
+        if (offset + pageSize > MAX_RESULT_WINDOW) {
+            throw CustomException.badRequest("Seuls les " + MAX_RESULT_WINDOW + " premiers résultats sont consultables");
+        }
+
+        List<ProductSearchHitDto> hits = searchRepository.search(trimmed, categoryId, pageSize + 1, offset,
+                MAX_RESULT_WINDOW);
+        boolean hasNext = hits.size() > pageSize;
+
+        return new ProductSearchResponseDto(
+                trimmed,
+                hasNext ? hits.subList(0, pageSize) : hits,
+                pageNumber,
+                pageSize,
+                hasNext
+        );
+    }
+}
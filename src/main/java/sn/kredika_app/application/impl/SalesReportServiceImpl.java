@@ -0,0 +1,67 @@
+package sn.kredika_app.application.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sn.kredika_app.application.interfaces.service.SalesReportService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.response.SalesReportRowDto;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcSalesRollupRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rapports de ventes : une plage de dates ne lit qu'une ligne par jour et par produit (ou catégorie), quel que soit
+ * le volume de commandes.
+ */
+@Service
+public class SalesReportServiceImpl implements SalesReportService {
+
+    private static final int DEFAULT_PRODUCTS = 50;
+    private static final int MAX_PRODUCTS = 500;
+
+    private final JdbcSalesRollupRepository rollupRepository;
+
+    /**
+     * Plage maximale, la même que celle d'un recalcul : tout ce qui peut être recalculé peut être lu
+     */
+    private final long maxRangeDays;
+
+    public SalesReportServiceImpl (
+            JdbcSalesRollupRepository rollupRepository,
+            @Value("${kredika.sales-rollup.max-rebuild-days:3660}") long maxRangeDays
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.maxRangeDays = Math.max(1, maxRangeDays);
+    }
+
+    @Override
+    public List<SalesReportRowDto> dailyTotals (LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return rollupRepository.findDailyTotals(from, to);
+    }
+
+    @Override
+    public List<SalesReportRowDto> categoryTotals (LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return rollupRepository.findCategoryTotals(from, to);
+    }
+
+    @Override
+    public List<SalesReportRowDto> productTotals (LocalDate from, LocalDate to, UUID categoryId, int limit) {
+        validateRange(from, to);
+        int maxProducts = limit <= 0 ? DEFAULT_PRODUCTS : Math.min(limit, MAX_PRODUCTS);
+        return rollupRepository.findProductTotals(from, to, categoryId, maxProducts);
+    }
+
+    private void validateRange (LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw CustomException.badRequest("Plage de dates invalide");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw CustomException.badRequest("Plage limitée à " + maxRangeDays + " jours");
+        }
+    }
+}
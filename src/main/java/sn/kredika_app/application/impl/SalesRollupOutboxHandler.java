@@ -0,0 +1,41 @@
+package sn.kredika_app.application.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.application.interfaces.service.OutboxEventHandler;
+import sn.kredika_app.application.interfaces.service.SalesRollupService;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.event.OutboxEvent;
+
+import java.util.Set;
+
+/**
+ * Reporte dans les agrégats de ventes les commandes qui passent en DELIVERED ou en sortent, ou qui sont supprimées.
+ * L'état courant de la commande fait foi, pas le contenu de l'événement : un événement rejoué ou périmé ne fausse pas
+ * les totaux.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesRollupOutboxHandler implements OutboxEventHandler {
+
+    private static final String DELIVERED = "DELIVERED";
+
+    private final SalesRollupService salesRollupService;
+
+    @Override
+    public Set<OutboxEventType> supportedTypes () {
+        return Set.of(OutboxEventType.ORDER_STATUS_CHANGED, OutboxEventType.ORDER_DELETED);
+    }
+
+    @Override
+    public void handle (OutboxEvent event) {
+        JsonNode payload = event.payload();
+        // Seules l'entrée en DELIVERED, la sortie de DELIVERED et la suppression modifient les agrégats
+        if (event.type() == OutboxEventType.ORDER_DELETED
+                || DELIVERED.equals(payload.path("statusCode").asText(null))
+                || DELIVERED.equals(payload.path("previousStatusCode").asText(null))) {
+            salesRollupService.syncOrder(event.aggregateId());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.SalesRollupService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcSalesRollupRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcSalesRollupRepository.OrderState;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Agrégats de ventes.
+ * Le suivi incrémental passe par l'outbox (changement de statut de commande) : l'agrégat est modifié dans la
+ * transaction qui marque l'événement traité, donc une seule fois. Le recalcul traite chaque journée dans sa propre
+ * transaction, sur des threads virtuels dont le nombre simultané est borné pour ne pas accaparer le pool de
+ * connexions ; une journée en échec n'interrompt pas les autres. Lancé depuis l'API, le recalcul s'exécute en
+ * arrière-plan et son état est conservé en mémoire pour les derniers recalculs.
+ */
+@Slf4j
+@Service
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    static final String JOB_RUNNING = "RUNNING";
+    static final String JOB_DONE = "DONE";
+    static final String JOB_FAILED = "FAILED";
+    private static final int MAX_JOBS = 50;
+
+    private final JdbcSalesRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final int maxRebuildDays;
+    private final AtomicReference<UUID> runningJob = new AtomicReference<>();
+    private final Map<UUID, RebuildJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry (Map.Entry<UUID, RebuildJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    private final Counter ordersAdded;
+    private final Counter ordersRemoved;
+    private final Timer rebuildDayTimer;
+
+    public SalesRollupServiceImpl (
+            JdbcSalesRollupRepository rollupRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.sales-rollup.rebuild-parallelism:4}") int rebuildParallelism,
+            @Value("${kredika.sales-rollup.max-rebuild-days:3660}") int maxRebuildDays
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.permits = new Semaphore(Math.max(1, rebuildParallelism));
+        this.maxRebuildDays = Math.max(1, maxRebuildDays);
+        this.ordersAdded = Counter.builder("kredika.sales.rollup.orders.added")
+                .description("Commandes livrées ajoutées aux agrégats de ventes")
+                .register(meterRegistry);
+        this.ordersRemoved = Counter.builder("kredika.sales.rollup.orders.removed")
+                .description("Commandes retirées des agrégats de ventes après un changement de statut")
+                .register(meterRegistry);
+        this.rebuildDayTimer = Timer.builder("kredika.sales.rollup.rebuild.day")
+                .description("Durée du recalcul d'une journée")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public boolean syncOrder (UUID orderId) {
+        OrderState state = rollupRepository.findOrderState(orderId);
+        if (state == null) {
+            return false;
+        }
+        rollupRepository.lockDay(state.salesDate());
+        if (state.delivered()) {
+            if (rollupRepository.addOrder(orderId, state.salesDate())) {
+                ordersAdded.increment();
+                return true;
+            }
+        } else if (rollupRepository.removeOrder(orderId)) {
+            ordersRemoved.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public RebuildReport rebuild (LocalDate from, LocalDate to) {
+        long days = validateRange(from, to);
+        long start = System.nanoTime();
+        Map<LocalDate, Future<Integer>> running = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate salesDate = day;
+            running.put(salesDate, workers.submit(() -> rebuildDay(salesDate)));
+        }
+
+        long orders = 0;
+        List<LocalDate> failedDays = new ArrayList<>();
+        for (Map.Entry<LocalDate, Future<Integer>> entry : running.entrySet()) {
+            try {
+                orders += entry.getValue().get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Recalcul des agrégats de ventes interrompu", ex);
+            } catch (ExecutionException ex) {
+                failedDays.add(entry.getKey());
+                log.warn("Recalcul des ventes du {} en échec", entry.getKey(), ex.getCause());
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Agrégats de ventes recalculés du {} au {} : {} commande(s), {} journée(s) en échec, {} ms", from, to,
+                orders, failedDays.size(), elapsedMillis);
+        return new RebuildReport((int) days, orders, List.copyOf(failedDays), elapsedMillis);
+    }
+
+    @Override
+    public RebuildJob startRebuild (LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        UUID jobId = UUID.randomUUID();
+        if (!runningJob.compareAndSet(null, jobId)) {
+            throw CustomException.conflict("Un recalcul des agrégats de ventes est déjà en cours");
+        }
+        RebuildJob job = new RebuildJob(jobId, from, to, JOB_RUNNING, null, null);
+        jobs.put(jobId, job);
+        try {
+            workers.submit(() -> {
+                try {
+                    RebuildReport report = rebuild(from, to);
+                    jobs.put(jobId, new RebuildJob(jobId, from, to, JOB_DONE, report, null));
+                } catch (RuntimeException ex) {
+                    log.error("Recalcul des agrégats de ventes du {} au {} en échec", from, to, ex);
+                    jobs.put(jobId, new RebuildJob(jobId, from, to, JOB_FAILED, null, ex.getMessage()));
+                } finally {
+                    runningJob.set(null);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(jobId);
+            runningJob.set(null);
+            throw ex;
+        }
+        return job;
+    }
+
+    @Override
+    public RebuildJob findRebuild (UUID jobId) {
+        RebuildJob job = jobs.get(jobId);
+        if (job == null) {
+            throw CustomException.notFound("Recalcul introuvable");
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown () {
+        workers.shutdown();
+    }
+
+    /**
+     * @return le nombre de journées de la plage
+     */
+    private long validateRange (LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw CustomException.badRequest("Plage de dates invalide");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxRebuildDays) {
+            throw CustomException.badRequest("Plage limitée à " + maxRebuildDays + " jours");
+        }
+        return days;
+    }
+
+    private int rebuildDay (LocalDate salesDate) throws InterruptedException {
+        permits.acquire();
+        long start = System.nanoTime();
+        try {
+            Integer orders = transactionTemplate.execute(status -> {
+                rollupRepository.lockDay(salesDate);
+                return rollupRepository.rebuildDay(salesDate);
+            });
+            return orders == null ? 0 : orders;
+        } finally {
+            rebuildDayTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sn.kredika_app.application.interfaces.service.StockReservationService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcStockReservationRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcStockReservationRepository.ClosedHold;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Moteur de mouvements de stock.
+ * Le passage en caisse décompte tout le panier en une instruction : décréments conditionnels, produits verrouillés
+ * dans l'ordre de leur identifiant et relâchés au commit qui suit. Les commandes concurrentes sur un même produit se
+ * sérialisent sur ce seul verrou, sans version optimiste ni nouvelle tentative, et celles qui ne trouvent plus de
+ * stock échouent immédiatement.
+ */
+@Slf4j
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final JdbcStockReservationRepository reservationRepository;
+    private final int sweepChunkSize;
+    private final Counter reservedCounter;
+    private final Counter rejectedCounter;
+    private final Counter expiredCounter;
+
+    public StockReservationServiceImpl (
+            JdbcStockReservationRepository reservationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${kredika.stock.sweep-chunk-size:500}") int sweepChunkSize
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.sweepChunkSize = sweepChunkSize;
+        this.reservedCounter = meterRegistry.counter("kredika.stock.reservations.reserved");
+        this.rejectedCounter = meterRegistry.counter("kredika.stock.reservations.rejected");
+        this.expiredCounter = meterRegistry.counter("kredika.stock.reservations.expired");
+    }
+
+    @Override
+    @Transactional
+    public void consumeForCheckout (UUID cartId, Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> deltas = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> deltas.merge(productId, -quantity, Integer::sum));
+        for (ClosedHold hold : reservationRepository.closeCartHolds(cartId,
+                JdbcStockReservationRepository.STATUS_CONSUMED)) {
+            deltas.merge(hold.productId(), hold.quantity(), Integer::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int applied = reservationRepository.adjustStockBatch(
+                deltas.keySet().toArray(UUID[]::new), deltas.values().toArray(Integer[]::new));
+        if (applied < deltas.size()) {
+            rejectedCounter.increment();
+            throw CustomException.conflict("Stock insuffisant pour au moins un produit du panier");
+        }
+        reservedCounter.increment();
+    }
+
+    @Override
+    @Transactional
+    public int adjustStock (UUID productId, int delta) {
+        Integer stock = reservationRepository.adjustStock(productId, delta);
+        if (stock == null) {
+            throw CustomException.conflict("Produit introuvable ou stock insuffisant");
+        }
+        return stock;
+    }
+
+    @Override
+    public int releaseExpired () {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int released;
+        do {
+            // Chaque lot est une instruction autonome : aucune transaction longue pendant le balayage
+            released = reservationRepository.releaseExpired(now, sweepChunkSize);
+            total += released;
+        } while (released == sweepChunkSize);
+        if (total > 0) {
+            expiredCounter.increment(total);
+            log.info("{} réservation(s) de stock expirée(s) rendue(s) au stock", total);
+        }
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${kredika.stock.sweep-interval-ms:30000}")
+    public void scheduledReleaseExpired () {
+        releaseExpired();
+    }
+}
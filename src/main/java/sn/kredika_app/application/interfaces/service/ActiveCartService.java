@@ -0,0 +1,69 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.request.CartItemRequestDto;
+import sn.kredika_app.domain.dto.response.CartResponseDto;
+import sn.kredika_app.domain.snapshot.ActiveCart;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Panier actif des utilisateurs, servi depuis la mémoire et persisté en différé dans carts / cart_items.
+ */
+public interface ActiveCartService {
+
+    /**
+     * @return le panier actif de l'utilisateur (vide s'il n'en a pas)
+     */
+    CartResponseDto getCart (UUID userId);
+
+    /**
+     * Ajoute un produit au panier, ou augmente sa quantité s'il y figure déjà
+     */
+    CartResponseDto addItem (UUID userId, CartItemRequestDto request);
+
+    /**
+     * Modifie la quantité et/ou le mode de paiement d'une ligne ; les champs null sont conservés
+     */
+    CartResponseDto updateItem (UUID userId, UUID productId, CartItemRequestDto request);
+
+    CartResponseDto removeItem (UUID userId, UUID productId);
+
+    CartResponseDto clear (UUID userId);
+
+    /**
+     * @return le panier actif de l'utilisateur tel qu'en mémoire (vide s'il n'en a pas)
+     */
+    ActiveCart snapshot (UUID userId);
+
+    /**
+     * Écrit le panier de façon synchrone dans la transaction courante (passage en caisse). En cas d'annulation de la
+     * transaction, le panier est de nouveau marqué à persister.
+     *
+     * @return le panier tel qu'écrit, ou null si l'utilisateur n'a pas de panier
+     */
+    ActiveCart persistForCheckout (UUID userId);
+
+    /**
+     * Retire le panier de la mémoire après sa conversion en commande
+     *
+     * @param cartId panier converti ; un panier plus récent de l'utilisateur est conservé
+     */
+    void detach (UUID userId, UUID cartId);
+
+    /**
+     * Recalcule les paniers en mémoire après un changement de prix ou de taux : les lignes des produits indiqués
+     * prennent le prix courant, les lignes à crédit des durées indiquées le taux courant. Les paniers recalculés sont
+     * marqués à persister.
+     *
+     * @return le nombre de paniers recalculés
+     */
+    int reprice (Collection<UUID> productIds, Collection<Integer> creditDurations);
+
+    /**
+     * Écrit les paniers modifiés depuis le dernier vidage
+     *
+     * @return le nombre de paniers écrits
+     */
+    int flush ();
+}
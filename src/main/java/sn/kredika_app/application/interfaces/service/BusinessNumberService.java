@@ -0,0 +1,21 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.common.enums.BusinessNumberType;
+
+import java.util.List;
+
+/**
+ * Attribution des numéros métier (CMD-, PLAN-, TRX-AAAAMMJJ-XXXXX), uniques sur l'ensemble des nœuds.
+ */
+public interface BusinessNumberService {
+
+    /**
+     * @return un nouveau numéro du jour
+     */
+    String next (BusinessNumberType type);
+
+    /**
+     * @return {@code count} nouveaux numéros du jour
+     */
+    List<String> next (BusinessNumberType type, int count);
+}
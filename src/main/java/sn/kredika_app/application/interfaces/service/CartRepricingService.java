@@ -0,0 +1,28 @@
+package sn.kredika_app.application.interfaces.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Recalcul des paniers ouverts après un changement de prix produit ou de taux de commission.
+ */
+public interface CartRepricingService {
+
+    /**
+     * Bilan d'un recalcul
+     *
+     * @param carts         paniers en base dont le total a changé
+     * @param items         lignes en base recalculées
+     * @param inMemoryCarts paniers actifs recalculés en mémoire
+     * @param failedChunks  lots en échec, remis en attente pour le prochain cycle
+     * @param elapsedMillis durée totale
+     */
+    record RepricingReport(int carts, long items, int inMemoryCarts, int failedChunks, long elapsedMillis) {
+    }
+
+    /**
+     * Recalcule les lignes des produits dont le prix a changé et les lignes à crédit des durées dont le taux a
+     * changé, dans tous les paniers ouverts
+     */
+    RepricingReport reprice (Collection<UUID> productIds, Collection<Integer> creditDurations);
+}
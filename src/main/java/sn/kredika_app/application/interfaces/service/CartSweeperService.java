@@ -0,0 +1,24 @@
+package sn.kredika_app.application.interfaces.service;
+
+/**
+ * Purge des paniers abandonnés (expirés sans passage en caisse).
+ */
+public interface CartSweeperService {
+
+    /**
+     * Bilan d'un balayage
+     *
+     * @param carts         paniers supprimés
+     * @param items         lignes de panier supprimées
+     * @param holds         réservations de stock rendues au stock
+     * @param chunks        lots traités
+     * @param elapsedMillis durée totale
+     */
+    record SweepReport(int carts, long items, int holds, int chunks, long elapsedMillis) {
+    }
+
+    /**
+     * Supprime par lots les paniers expirés depuis plus que le délai de grâce et rend au stock leurs réservations
+     */
+    SweepReport sweepExpired ();
+}
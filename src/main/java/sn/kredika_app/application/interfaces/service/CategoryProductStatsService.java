@@ -0,0 +1,25 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.CategoryProductCountsDto;
+
+import java.util.UUID;
+
+/**
+ * Lecture des compteurs de produits par catégorie, sans initialiser la collection CategoryModel.products.
+ */
+public interface CategoryProductStatsService {
+
+    /**
+     * @param categoryId           catégorie
+     * @param includeSubcategories true pour cumuler les compteurs de toutes les sous-catégories
+     * @return les compteurs de produits actifs, en stock et éligibles au crédit
+     */
+    CategoryProductCountsDto getCounts (UUID categoryId, boolean includeSubcategories);
+
+    /**
+     * Recalcule tous les compteurs depuis la table products
+     *
+     * @return le nombre de catégories mises à jour
+     */
+    int reconcile ();
+}
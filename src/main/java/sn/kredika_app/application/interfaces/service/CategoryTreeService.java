@@ -0,0 +1,34 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.CategoryTreeNodeDto;
+import sn.kredika_app.domain.snapshot.CategoryTreeSnapshot;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Accès à l'arbre des catégories tenu en mémoire.
+ */
+public interface CategoryTreeService {
+
+    /**
+     * @return la photographie courante de l'arbre (jamais null)
+     */
+    CategoryTreeSnapshot current ();
+
+    /**
+     * Recharge l'arbre depuis la base et le publie atomiquement
+     */
+    void refresh ();
+
+    /**
+     * @return le menu des catégories visibles, sous forme d'arbre
+     */
+    List<CategoryTreeNodeDto> getMenu ();
+
+    /**
+     * @param categoryId catégorie racine du sous-arbre
+     * @return la catégorie et toutes ses descendantes
+     */
+    UUID[] getSubtreeIds (UUID categoryId);
+}
@@ -0,0 +1,22 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.request.CheckoutRequestDto;
+import sn.kredika_app.domain.dto.response.OrderResponseDto;
+
+import java.util.UUID;
+
+/**
+ * Conversion du panier actif d'un utilisateur en commande.
+ */
+public interface CheckoutService {
+
+    /**
+     * Crée la commande, ses lignes et, pour chaque ligne à crédit, le plan de paiement et son échéancier ; décompte le
+     * stock et débite le crédit disponible
+     *
+     * @throws sn.kredika_app.common.exception.CustomException 400 si le panier est vide, 409 si le stock ou le crédit
+     *                                                         disponible est insuffisant ou si le panier a été modifié
+     *                                                         pendant la validation
+     */
+    OrderResponseDto checkout (UUID userId, CheckoutRequestDto request);
+}
@@ -0,0 +1,33 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.request.CreditDecisionRequestDto;
+import sn.kredika_app.domain.dto.response.CartCreditDecisionResponseDto;
+import sn.kredika_app.domain.dto.response.CreditDecisionResponseDto;
+import sn.kredika_app.domain.snapshot.ActiveCartLine;
+import sn.kredika_app.domain.snapshot.CreditDecision;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Décision de crédit : accord, plafonnement ou refus d'un financement, avec ses motifs.
+ */
+public interface CreditDecisionService {
+
+    /**
+     * Évalue une demande de financement isolée (simulation)
+     */
+    CreditDecisionResponseDto decide (UUID userId, CreditDecisionRequestDto request);
+
+    /**
+     * Évalue en un seul passage toutes les lignes à crédit du panier actif
+     */
+    CartCreditDecisionResponseDto decideCart (UUID userId);
+
+    /**
+     * Évalue des lignes de panier à crédit, dans l'ordre, sur une seule lecture de la situation du client
+     *
+     * @return une décision par ligne, dans l'ordre des lignes
+     */
+    List<CreditDecision> evaluateLines (UUID userId, List<ActiveCartLine> creditLines);
+}
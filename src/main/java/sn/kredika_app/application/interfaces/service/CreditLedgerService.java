@@ -0,0 +1,22 @@
+package sn.kredika_app.application.interfaces.service;
+
+/**
+ * Maintenance du journal de crédit : compactage des mouvements anciens et réconciliation des soldes des profils avec
+ * les échéances restant dues.
+ */
+public interface CreditLedgerService {
+
+    /**
+     * Remplace, client par client, les mouvements plus anciens que la durée de conservation par leur somme
+     *
+     * @return le nombre de clients compactés
+     */
+    int compact ();
+
+    /**
+     * Recalcule la dette et le crédit disponible de tous les profils depuis les plans non clôturés, par lots
+     *
+     * @return le nombre de profils corrigés
+     */
+    int reconcile ();
+}
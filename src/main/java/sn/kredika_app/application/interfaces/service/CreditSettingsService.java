@@ -0,0 +1,19 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.snapshot.CreditSettingsSnapshot;
+
+/**
+ * Accès aux paramétrages de crédit actifs tenus en mémoire.
+ */
+public interface CreditSettingsService {
+
+    /**
+     * @return la photographie courante des paramétrages actifs (jamais null)
+     */
+    CreditSettingsSnapshot current ();
+
+    /**
+     * Recharge les paramétrages depuis la base et les publie atomiquement
+     */
+    void refresh ();
+}
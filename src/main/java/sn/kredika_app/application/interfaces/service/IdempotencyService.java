@@ -0,0 +1,31 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.common.enums.IdempotencyScope;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Exécution idempotente des requêtes portant l'en-tête {@code Idempotency-Key}.
+ */
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * Exécute l'opération une seule fois par clé : une requête rejouée avec la même clé et le même contenu reçoit la
+     * réponse enregistrée, sans nouvelle exécution. Sans clé, l'opération est simplement exécutée.
+     *
+     * @param scope        opération protégée
+     * @param userId       utilisateur à l'origine de la requête
+     * @param key          clé fournie par le client (peut être null)
+     * @param request      corps de la requête, dont l'empreinte est comparée à chaque rejeu
+     * @param responseType type de la réponse enregistrée
+     * @param operation    opération à exécuter
+     * @return la réponse de la première exécution réussie
+     * @throws sn.kredika_app.common.exception.CustomException 409 si la même clé est en cours d'exécution ailleurs,
+     *                                                         422 si la clé a déjà servi pour un contenu différent
+     */
+    <T> T execute (IdempotencyScope scope, UUID userId, String key, Object request, Class<T> responseType,
+                   Supplier<T> operation);
+}
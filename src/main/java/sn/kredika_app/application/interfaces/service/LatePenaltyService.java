@@ -0,0 +1,28 @@
+package sn.kredika_app.application.interfaces.service;
+
+import java.time.LocalDate;
+
+/**
+ * Calcul nocturne des retards : pénalités des échéances impayées et statut LATE des plans concernés.
+ */
+public interface LatePenaltyService {
+
+    /**
+     * Bilan d'un calcul
+     *
+     * @param runDate       journée calculée
+     * @param plans         plans traités par ce nœud
+     * @param schedules     échéances dont la pénalité a changé
+     * @param updatedPlans  plans dont la pénalité ou le statut a changé
+     * @param completed     true si le calcul de la journée est terminé
+     * @param elapsedMillis durée
+     */
+    record PenaltyReport(LocalDate runDate, long plans, long schedules, long updatedPlans, boolean completed,
+                         long elapsedMillis) {
+    }
+
+    /**
+     * Lance le calcul de la journée, ou le reprend là où il s'est arrêté ; sans effet s'il est déjà terminé
+     */
+    PenaltyReport run (LocalDate runDate);
+}
@@ -0,0 +1,22 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.CursorPageResponseDto;
+import sn.kredika_app.domain.dto.simple.OrderSimpleDto;
+
+import java.util.UUID;
+
+/**
+ * Consultation de l'historique des commandes d'un client.
+ */
+public interface OrderHistoryService {
+
+    /**
+     * Liste les commandes d'un client, des plus récentes aux plus anciennes, par pagination par clé
+     *
+     * @param userId identifiant du client
+     * @param cursor curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param size   taille de page demandée
+     * @return la page de commandes et le curseur de la page suivante
+     */
+    CursorPageResponseDto<OrderSimpleDto> listOrders (UUID userId, String cursor, int size);
+}
@@ -0,0 +1,14 @@
+package sn.kredika_app.application.interfaces.service;
+
+/**
+ * Diffusion des événements de l'outbox vers leurs handlers.
+ */
+public interface OutboxDispatcherService {
+
+    /**
+     * Traite les événements disponibles, lot par lot, jusqu'à épuisement ou jusqu'au nombre maximal de lots par cycle
+     *
+     * @return le nombre d'événements traités avec succès
+     */
+    int dispatchPending ();
+}
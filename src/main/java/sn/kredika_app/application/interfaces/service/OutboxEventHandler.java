@@ -0,0 +1,22 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.event.OutboxEvent;
+
+import java.util.Set;
+
+/**
+ * Effet de bord d'un événement de l'outbox (notification, mise à jour du profil de crédit, ...).
+ * Tous les handlers d'un événement s'exécutent dans une même transaction, qui marque aussi l'événement comme traité :
+ * leurs écritures en base sont appliquées une seule fois. Un échec annule l'ensemble et l'événement est rejoué plus
+ * tard ; un effet hors base doit donc tolérer d'être rejoué (clé de déduplication : l'identifiant de l'événement).
+ */
+public interface OutboxEventHandler {
+
+    /**
+     * @return les types d'événements traités par ce handler
+     */
+    Set<OutboxEventType> supportedTypes ();
+
+    void handle (OutboxEvent event);
+}
@@ -0,0 +1,22 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.request.PaymentTransactionRequestDto;
+import sn.kredika_app.domain.dto.response.PaymentTransactionResponseDto;
+
+import java.util.UUID;
+
+/**
+ * Paiement des échéances des plans de crédit.
+ */
+public interface PaymentService {
+
+    /**
+     * Initie le paiement d'un plan : la transaction est créée en attente (PENDING) et rattachée à la première
+     * échéance non soldée
+     *
+     * @param userId  client payeur, propriétaire du plan
+     * @param request plan, montant et moyen de paiement
+     * @return la transaction créée
+     */
+    PaymentTransactionResponseDto initiate (UUID userId, PaymentTransactionRequestDto request);
+}
@@ -0,0 +1,28 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.common.enums.ProductCatalogSort;
+import sn.kredika_app.domain.dto.response.CursorPageResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+
+import java.util.UUID;
+
+/**
+ * Cas d'usage de navigation dans le catalogue produits.
+ */
+public interface ProductCatalogService {
+
+    /**
+     * Liste les produits d'une catégorie par pagination par clé
+     *
+     * @param categoryId           identifiant de la catégorie
+     * @param includeSubcategories true pour inclure les produits de toutes les sous-catégories
+     * @param active               filtre sur l'état actif des produits
+     * @param sort                 ordre de tri
+     * @param cursor               curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param size                 taille de page demandée
+     * @return la page de produits et le curseur de la page suivante
+     */
+    CursorPageResponseDto<ProductSimpleDto> listByCategory (UUID categoryId, boolean includeSubcategories,
+                                                            boolean active, ProductCatalogSort sort,
+                                                            String cursor, int size);
+}
@@ -0,0 +1,32 @@
+package sn.kredika_app.application.interfaces.service;
+
+import java.util.UUID;
+
+/**
+ * Compteurs de vues et d'achats des produits, agrégés en mémoire et écrits en différé.
+ * Les incréments ne touchent jamais l'entité ProductModel : ni chargement, ni incrément de version.
+ */
+public interface ProductCounterService {
+
+    /**
+     * Enregistre une vue de la fiche produit
+     *
+     * @param productId identifiant du produit
+     */
+    void recordView (UUID productId);
+
+    /**
+     * Enregistre l'achat d'une quantité du produit
+     *
+     * @param productId identifiant du produit
+     * @param quantity  quantité achetée
+     */
+    void recordPurchase (UUID productId, int quantity);
+
+    /**
+     * Écrit en base les deltas accumulés depuis le dernier vidage
+     *
+     * @return le nombre de produits mis à jour
+     */
+    int flush ();
+}
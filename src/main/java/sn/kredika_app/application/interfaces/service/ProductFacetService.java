@@ -0,0 +1,25 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.ProductFacetResponseDto;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetFilter;
+
+import java.util.UUID;
+
+/**
+ * Compteurs de facettes du panneau de filtres, servis depuis l'index en mémoire.
+ */
+public interface ProductFacetService {
+
+    /**
+     * @param categoryId           catégorie du périmètre, null pour tout le catalogue
+     * @param includeSubcategories true pour inclure toutes les sous-catégories
+     * @param filter               filtres actifs
+     * @return le nombre de produits correspondants et les compteurs de chaque facette
+     */
+    ProductFacetResponseDto getFacets (UUID categoryId, boolean includeSubcategories, FacetFilter filter);
+
+    /**
+     * Reconstruit entièrement l'index depuis la table products
+     */
+    void rebuild ();
+}
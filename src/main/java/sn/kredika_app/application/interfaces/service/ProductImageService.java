@@ -0,0 +1,32 @@
+package sn.kredika_app.application.interfaces.service;
+
+import org.springframework.web.multipart.MultipartFile;
+import sn.kredika_app.domain.dto.response.ProductImageResponseDto;
+
+import java.util.UUID;
+
+/**
+ * Téléversement des images produits et génération asynchrone de leurs variantes redimensionnées.
+ */
+public interface ProductImageService {
+
+    /**
+     * Stocke l'original et planifie la génération des variantes après validation de la transaction
+     *
+     * @param productId produit concerné
+     * @param file      fichier téléversé (JPEG, PNG, GIF ou BMP)
+     * @param altText   texte alternatif (optionnel)
+     * @param position  position dans le carrousel (optionnelle)
+     * @param isPrimary true pour en faire l'image principale
+     * @return l'image créée, à l'état PENDING
+     */
+    ProductImageResponseDto upload (UUID productId, MultipartFile file, String altText, Integer position,
+                                    boolean isPrimary);
+
+    /**
+     * Génère (ou régénère) les variantes d'une image
+     *
+     * @param imageId identifiant de l'image
+     */
+    void processVariants (UUID imageId);
+}
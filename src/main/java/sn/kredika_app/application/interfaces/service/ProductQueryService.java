@@ -0,0 +1,40 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.ProductResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lectures des produits sous forme de DTO, sans hydratation des entités.
+ * Le listage d'une catégorie passe par ProductCatalogService, paginé par clé.
+ */
+public interface ProductQueryService {
+
+    /**
+     * @param productId identifiant du produit
+     * @return le détail du produit, images comprises
+     */
+    ProductResponseDto getProduct (UUID productId);
+
+    /**
+     * @param productId  identifiant du produit
+     * @param imageWidth largeur d'affichage du client (px) : chaque image reçoit l'URL de la plus petite variante
+     *                   suffisante, null pour ne pas sélectionner de variante
+     * @return le détail du produit, images et variantes comprises
+     */
+    ProductResponseDto getProduct (UUID productId, Integer imageWidth);
+
+    /**
+     * @param productIds identifiants des produits
+     * @return les produits trouvés, dans l'ordre des identifiants demandés
+     */
+    List<ProductResponseDto> getProducts (List<UUID> productIds);
+
+    /**
+     * @param productIds identifiants des produits
+     * @return les vignettes des produits trouvés, dans l'ordre des identifiants demandés
+     */
+    List<ProductSimpleDto> getProductSummaries (List<UUID> productIds);
+}
@@ -0,0 +1,31 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.ProductRatingSummaryDto;
+
+import java.util.UUID;
+
+/**
+ * Lecture de l'agrégat de notes des produits (moyenne, nombre d'avis, répartition par étoiles).
+ */
+public interface ProductRatingStatsService {
+
+    /**
+     * @param productId identifiant du produit
+     * @return la moyenne, le nombre d'avis approuvés et l'histogramme 1 à 5 étoiles
+     */
+    ProductRatingSummaryDto getRatingSummary (UUID productId);
+
+    /**
+     * Recopie la moyenne et le nombre d'avis de l'agrégat sur la table products
+     *
+     * @return le nombre de produits mis à jour
+     */
+    int syncProductRatings ();
+
+    /**
+     * Recalcule tous les agrégats depuis la table product_reviews
+     *
+     * @return le nombre de produits mis à jour
+     */
+    int reconcile ();
+}
@@ -0,0 +1,22 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.ProductSearchResponseDto;
+
+import java.util.UUID;
+
+/**
+ * Cas d'usage de recherche plein texte dans le catalogue.
+ */
+public interface ProductSearchService {
+
+    /**
+     * Recherche les produits correspondant à un texte libre
+     *
+     * @param query      texte recherché (insensible aux accents)
+     * @param categoryId catégorie à laquelle restreindre la recherche (optionnelle)
+     * @param page       numéro de page (à partir de 0)
+     * @param size       taille de page
+     * @return les produits classés par pertinence
+     */
+    ProductSearchResponseDto search (String query, UUID categoryId, int page, int size);
+}
@@ -0,0 +1,31 @@
+package sn.kredika_app.application.interfaces.service;
+
+import sn.kredika_app.domain.dto.response.SalesReportRowDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rapports de ventes, lus uniquement dans les agrégats journaliers.
+ */
+public interface SalesReportService {
+
+    /**
+     * Totaux par jour sur la plage (bornes incluses), du plus ancien au plus récent
+     */
+    List<SalesReportRowDto> dailyTotals (LocalDate from, LocalDate to);
+
+    /**
+     * Totaux par catégorie sur la plage, par chiffre d'affaires décroissant
+     */
+    List<SalesReportRowDto> categoryTotals (LocalDate from, LocalDate to);
+
+    /**
+     * Meilleures ventes par produit sur la plage, par chiffre d'affaires décroissant
+     *
+     * @param categoryId catégorie à laquelle se limiter (null pour toutes)
+     * @param limit      nombre maximal de produits
+     */
+    List<SalesReportRowDto> productTotals (LocalDate from, LocalDate to, UUID categoryId, int limit);
+}
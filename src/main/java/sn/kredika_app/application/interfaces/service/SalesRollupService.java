@@ -0,0 +1,63 @@
+package sn.kredika_app.application.interfaces.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tenue des agrégats de ventes par produit, catégorie et jour à partir des commandes livrées.
+ */
+public interface SalesRollupService {
+
+    /**
+     * Bilan d'un recalcul
+     *
+     * @param days          journées recalculées
+     * @param orders        commandes livrées comptées
+     * @param failedDays    journées en échec, à relancer
+     * @param elapsedMillis durée totale
+     */
+    record RebuildReport(int days, long orders, List<LocalDate> failedDays, long elapsedMillis) {
+    }
+
+    /**
+     * Recalcul lancé en arrière-plan
+     *
+     * @param id     identifiant à interroger
+     * @param status RUNNING, DONE ou FAILED
+     * @param report bilan, une fois le recalcul terminé
+     * @param error  cause de l'échec d'ensemble (FAILED)
+     */
+    record RebuildJob(UUID id, LocalDate from, LocalDate to, String status, RebuildReport report, String error) {
+    }
+
+    /**
+     * Aligne les agrégats sur l'état courant de la commande : une commande livrée y est ajoutée, une commande qui ne
+     * l'est plus en est retirée. Sans effet si les agrégats sont déjà à jour.
+     *
+     * @param orderId identifiant de la commande
+     * @return true si les agrégats ont été modifiés
+     */
+    boolean syncOrder (UUID orderId);
+
+    /**
+     * Recalcule les journées de la plage (bornes incluses) depuis les commandes, plusieurs journées en parallèle,
+     * chacune dans sa propre transaction
+     */
+    RebuildReport rebuild (LocalDate from, LocalDate to);
+
+    /**
+     * Lance {@link #rebuild} en arrière-plan ; un seul recalcul à la fois
+     *
+     * @return le recalcul, au statut RUNNING
+     * @throws sn.kredika_app.common.exception.CustomException 400 si la plage est invalide, 409 si un recalcul est
+     *                                                         déjà en cours
+     */
+    RebuildJob startRebuild (LocalDate from, LocalDate to);
+
+    /**
+     * @return l'état du recalcul
+     * @throws sn.kredika_app.common.exception.CustomException 404 si le recalcul est inconnu ou trop ancien
+     */
+    RebuildJob findRebuild (UUID jobId);
+}
@@ -0,0 +1,38 @@
+package sn.kredika_app.application.interfaces.service;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mouvements de stock des produits.
+ * Le stock n'est retenu qu'au passage en caisse : les paniers actifs vivent en mémoire (ActiveCartService) et leurs
+ * modifications n'écrivent pas en base. Les réservations encore présentes dans le registre stock_reservations sont
+ * consommées par la commande ou rendues au stock à leur expiration.
+ */
+public interface StockReservationService {
+
+    /**
+     * Décompte le stock d'une commande en une seule instruction : les réservations actives du panier sont consommées
+     * et seul l'écart avec les quantités commandées est retiré (ou rendu) au stock.
+     *
+     * @param quantities quantité commandée par produit
+     * @throws sn.kredika_app.common.exception.CustomException 409 si un produit manque de stock
+     */
+    void consumeForCheckout (UUID cartId, Map<UUID, Integer> quantities);
+
+    /**
+     * Mouvement de stock hors panier (réassort, inventaire)
+     *
+     * @param productId produit
+     * @param delta     quantité ajoutée ou retirée
+     * @return le nouveau stock
+     */
+    int adjustStock (UUID productId, int delta);
+
+    /**
+     * Rend au stock les réservations expirées, par lots
+     *
+     * @return le nombre de réservations libérées
+     */
+    int releaseExpired ();
+}
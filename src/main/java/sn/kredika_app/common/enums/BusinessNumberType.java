@@ -0,0 +1,45 @@
+package sn.kredika_app.common.enums;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Numéros métier à séquence quotidienne, au format {@code PREFIXE-AAAAMMJJ-XXXXX}.
+ */
+public enum BusinessNumberType {
+
+    ORDER("CMD"),
+    INSTALLMENT_PLAN("PLAN"),
+    PAYMENT_TRANSACTION("TRX");
+
+    /**
+     * Plus grande valeur représentable sur cinq chiffres
+     */
+    public static final long MAX_DAILY_VALUE = 99_999L;
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final String prefix;
+
+    BusinessNumberType (String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPrefix () {
+        return prefix;
+    }
+
+    /**
+     * @return la clé du compteur du jour, par exemple {@code CMD-20250131}
+     */
+    public String counterKey (LocalDate day) {
+        return prefix + "-" + DAY_FORMAT.format(day);
+    }
+
+    /**
+     * @return le numéro formaté, par exemple {@code CMD-20250131-00042}
+     */
+    public String format (LocalDate day, long value) {
+        return "%s-%05d".formatted(counterKey(day), value);
+    }
+}
@@ -0,0 +1,11 @@
+package sn.kredika_app.common.enums;
+
+/**
+ * Issue d'une décision de crédit : accordé tel que demandé, accordé pour un montant plafonné, ou refusé.
+ */
+public enum CreditDecisionOutcome {
+
+    APPROVE,
+    LIMIT,
+    DECLINE
+}
@@ -0,0 +1,33 @@
+package sn.kredika_app.common.enums;
+
+/**
+ * Règles du moteur de décision de crédit, évaluées dans l'ordre de déclaration. La liste des règles actives est
+ * configurable (kredika.credit-decision.rules).
+ */
+public enum CreditRule {
+
+    /**
+     * Un profil de crédit est requis
+     */
+    PROFILE,
+    /**
+     * Nombre d'incidents de paiement au plus égal au maximum configuré
+     */
+    DEFAULTS,
+    /**
+     * Score de crédit au moins égal au minimum configuré (un score inconnu n'est pas bloquant)
+     */
+    SCORE,
+    /**
+     * Durée proposée par un paramétrage actif et montant dans ses bornes, plafonné au maximum
+     */
+    TERMS,
+    /**
+     * Total à rembourser plafonné au crédit disponible
+     */
+    AVAILABLE_CREDIT,
+    /**
+     * Mensualités, existantes et nouvelles, plafonnées à une part du revenu mensuel (revenu inconnu non bloquant)
+     */
+    DEBT_TO_INCOME
+}
@@ -0,0 +1,11 @@
+package sn.kredika_app.common.enums;
+
+/**
+ * Opérations protégées par une clé d'idempotence. Une même clé client peut être réutilisée d'une opération à l'autre
+ * sans collision : la portée fait partie de la clé enregistrée.
+ */
+public enum IdempotencyScope {
+
+    CHECKOUT,
+    PAYMENT
+}
@@ -0,0 +1,23 @@
+package sn.kredika_app.common.enums;
+
+/**
+ * Événements métier écrits dans la table d'outbox, avec le type de l'agrégat qui les produit.
+ */
+public enum OutboxEventType {
+
+    ORDER_STATUS_CHANGED("ORDER"),
+    ORDER_DELETED("ORDER"),
+    PAYMENT_SUCCEEDED("PAYMENT_TRANSACTION"),
+    PAYMENT_FAILED("PAYMENT_TRANSACTION"),
+    INSTALLMENT_PLAN_COMPLETED("INSTALLMENT_PLAN");
+
+    private final String aggregateType;
+
+    OutboxEventType (String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType () {
+        return aggregateType;
+    }
+}
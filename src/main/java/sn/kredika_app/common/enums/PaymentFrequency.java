@@ -0,0 +1,80 @@
+package sn.kredika_app.common.enums;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Fréquences de remboursement d'un crédit. Les codes français historiques (MENSUEL, TRIMESTRIEL, ...) sont acceptés
+ * comme alias des codes anglais stockés dans cart_items.credit_frequency_code et installment_plans.frequency_code.
+ */
+public enum PaymentFrequency {
+
+    WEEKLY(4, 0, 1),
+    BIWEEKLY(2, 0, 2),
+    MONTHLY(1, 1, 0),
+    QUARTERLY(0, 3, 0);
+
+    private final int installmentsPerMonth;
+    private final int periodMonths;
+    private final int periodWeeks;
+
+    PaymentFrequency (int installmentsPerMonth, int periodMonths, int periodWeeks) {
+        this.installmentsPerMonth = installmentsPerMonth;
+        this.periodMonths = periodMonths;
+        this.periodWeeks = periodWeeks;
+    }
+
+    /**
+     * @param code code de fréquence (null pour la fréquence par défaut, mensuelle)
+     * @return la fréquence correspondante
+     * @throws IllegalArgumentException si le code est inconnu
+     */
+    public static PaymentFrequency fromCode (String code) {
+        if (code == null || code.isBlank()) {
+            return MONTHLY;
+        }
+        return switch (code.trim().toUpperCase(Locale.ROOT)) {
+            case "WEEKLY", "HEBDOMADAIRE" -> WEEKLY;
+            case "BIWEEKLY", "BIMENSUEL" -> BIWEEKLY;
+            case "MONTHLY", "MENSUEL" -> MONTHLY;
+            case "QUARTERLY", "TRIMESTRIEL" -> QUARTERLY;
+            default -> throw new IllegalArgumentException("Fréquence de paiement inconnue : " + code);
+        };
+    }
+
+    /**
+     * @param durationMonths durée du crédit en mois
+     * @return le nombre d'échéances sur cette durée (au moins 1)
+     */
+    public int installmentCount (int durationMonths) {
+        if (this == QUARTERLY) {
+            return Math.max(1, (durationMonths + 2) / 3);
+        }
+        return Math.max(1, durationMonths * installmentsPerMonth);
+    }
+
+    /**
+     * @return l'écart entre deux échéances, en mois (0 pour les fréquences hebdomadaires)
+     */
+    public int getPeriodMonths () {
+        return periodMonths;
+    }
+
+    /**
+     * @return l'écart entre deux échéances, en semaines (0 pour les fréquences mensuelles)
+     */
+    public int getPeriodWeeks () {
+        return periodWeeks;
+    }
+
+    /**
+     * @param startDate         date de départ du plan
+     * @param installmentNumber numéro de l'échéance (à partir de 1)
+     * @return la date d'échéance
+     */
+    public LocalDate dueDate (LocalDate startDate, int installmentNumber) {
+        return periodMonths > 0
+                ? startDate.plusMonths((long) periodMonths * installmentNumber)
+                : startDate.plusWeeks((long) periodWeeks * installmentNumber);
+    }
+}
@@ -0,0 +1,59 @@
+package sn.kredika_app.common.enums;
+
+/**
+ * Ordres de tri supportés par le catalogue paginé par clé.
+ * Chaque ordre est adossé à un index composite (category_id, is_active, clé, id) afin que la page N coûte autant que
+ * la page 1.
+ */
+public enum ProductCatalogSort {
+
+    /**
+     * Produits les plus récents d'abord (idx_product_catalog_newest)
+     */
+    NEWEST("p.created_at", false),
+
+    /**
+     * Prix croissant (idx_product_catalog_price)
+     */
+    PRICE_ASC("p.price", true),
+
+    /**
+     * Prix décroissant (idx_product_catalog_price parcouru à rebours)
+     */
+    PRICE_DESC("p.price", false),
+
+    /**
+     * Meilleures notes d'abord, les produits sans note étant traités comme notés 0 (idx_product_catalog_rating)
+     */
+    TOP_RATED("COALESCE(p.rating, 0)", false);
+
+    private final String keyExpression;
+    private final boolean ascending;
+
+    ProductCatalogSort (String keyExpression, boolean ascending) {
+        this.keyExpression = keyExpression;
+        this.ascending = ascending;
+    }
+
+    /**
+     * @return l'expression SQL de la clé de tri, identique à celle de l'index associé
+     */
+    public String getKeyExpression () {
+        return keyExpression;
+    }
+
+    /**
+     * @return la clause ORDER BY complète, départagée par l'identifiant
+     */
+    public String orderByClause () {
+        String direction = ascending ? "ASC" : "DESC";
+        return keyExpression + " " + direction + ", p.id " + direction;
+    }
+
+    /**
+     * @return le prédicat de recherche (seek) comparant la ligne au curseur
+     */
+    public String seekPredicate () {
+        return "(" + keyExpression + ", p.id) " + (ascending ? ">" : "<") + " (:cursorKey, :cursorId)";
+    }
+}
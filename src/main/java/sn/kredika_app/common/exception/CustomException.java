@@ -0,0 +1,33 @@
+package sn.kredika_app.common.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception métier portant le statut HTTP à renvoyer au client.
+ */
+@Getter
+public class CustomException extends RuntimeException {
+
+    /**
+     * Statut HTTP associé à l'erreur
+     */
+    private final HttpStatus status;
+
+    public CustomException (HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public static CustomException badRequest (String message) {
+        return new CustomException(HttpStatus.BAD_REQUEST, message);
+    }
+
+    public static CustomException notFound (String message) {
+        return new CustomException(HttpStatus.NOT_FOUND, message);
+    }
+
+    public static CustomException conflict (String message) {
+        return new CustomException(HttpStatus.CONFLICT, message);
+    }
+}
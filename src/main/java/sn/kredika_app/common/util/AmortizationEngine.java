@@ -0,0 +1,170 @@
+package sn.kredika_app.common.util;
+
+import sn.kredika_app.common.enums.PaymentFrequency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Calcul des échéanciers de crédit en entiers.
+ * Les montants sont manipulés en centimes (long), l'échelle des colonnes de montant : aucun arrondi intermédiaire,
+ * la somme des échéances est toujours exactement le total du plan. Le franc CFA n'ayant pas de subdivision en
+ * usage, chaque échéance est un nombre entier de francs :
+ * <ul>
+ *     <li>le total en francs est divisé par le nombre d'échéances, le reste de la division étant réparti à raison
+ *     d'un franc sur les premières échéances ;</li>
+ *     <li>les centimes éventuels du total (commission arrondie au centime) sont portés par la première échéance.</li>
+ * </ul>
+ * Le résultat ne dépend que du total, du nombre d'échéances et de la fréquence : deux calculs du même plan donnent
+ * le même échéancier.
+ */
+public final class AmortizationEngine {
+
+    /**
+     * Centimes par franc, pas d'arrondi des échéances
+     */
+    public static final long CENTIMES_PER_FRANC = 100;
+
+    private AmortizationEngine () {
+    }
+
+    /**
+     * Reçoit les échéances une à une, sans allocation intermédiaire, par exemple pour alimenter un lot JDBC
+     */
+    @FunctionalInterface
+    public interface InstallmentSink {
+
+        /**
+         * @param installmentNumber numéro de l'échéance (à partir de 1)
+         * @param dueDate           date d'échéance
+         * @param amountCentimes    montant de l'échéance en centimes
+         */
+        void accept (int installmentNumber, LocalDate dueDate, long amountCentimes);
+    }
+
+    /**
+     * Échéancier calculé, prêt pour une insertion par lot
+     *
+     * @param totalCentimes total du plan
+     * @param amounts       montant de chaque échéance en centimes (index 0 = échéance n° 1)
+     * @param dueDates      date de chaque échéance
+     */
+    public record Amortization(long totalCentimes, long[] amounts, LocalDate[] dueDates) {
+
+        public int count () {
+            return amounts.length;
+        }
+
+        /**
+         * @param index index de l'échéance (0 pour la première)
+         */
+        public BigDecimal amount (int index) {
+            return fromCentimes(amounts[index]);
+        }
+
+        /**
+         * @return le montant de la première échéance, la plus élevée
+         */
+        public BigDecimal firstAmount () {
+            return amount(0);
+        }
+
+        public LocalDate endDate () {
+            return dueDates[dueDates.length - 1];
+        }
+    }
+
+    /**
+     * @param total     total du plan (échelle 2 au plus)
+     * @param count     nombre d'échéances (au moins 1)
+     * @param frequency fréquence des échéances
+     * @param startDate date de départ, la première échéance tombant une période plus tard
+     * @return l'échéancier
+     */
+    public static Amortization amortize (BigDecimal total, int count, PaymentFrequency frequency,
+                                         LocalDate startDate) {
+        long totalCentimes = toCentimes(total);
+        long[] amounts = split(totalCentimes, count);
+        LocalDate[] dueDates = new LocalDate[count];
+        for (int i = 0; i < count; i++) {
+            dueDates[i] = frequency.dueDate(startDate, i + 1);
+        }
+        return new Amortization(totalCentimes, amounts, dueDates);
+    }
+
+    /**
+     * Variante sans allocation d'{@link #amortize} pour les traitements de masse (restructurations)
+     */
+    public static void amortize (long totalCentimes, int count, PaymentFrequency frequency, LocalDate startDate,
+                                 InstallmentSink sink) {
+        checkArguments(totalCentimes, count);
+        long francs = totalCentimes / CENTIMES_PER_FRANC;
+        long centimes = totalCentimes % CENTIMES_PER_FRANC;
+        long base = francs / count;
+        long extra = francs % count;
+        for (int number = 1; number <= count; number++) {
+            long amount = (base + (number <= extra ? 1 : 0)) * CENTIMES_PER_FRANC + (number == 1 ? centimes : 0);
+            sink.accept(number, frequency.dueDate(startDate, number), amount);
+        }
+    }
+
+    /**
+     * Répartit un total en échéances de francs entiers, le reste sur les premières échéances
+     *
+     * @return le montant de chaque échéance en centimes ; leur somme vaut exactement le total
+     */
+    public static long[] split (long totalCentimes, int count) {
+        checkArguments(totalCentimes, count);
+        long francs = totalCentimes / CENTIMES_PER_FRANC;
+        long base = francs / count;
+        long extra = francs % count;
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = (base + (i < extra ? 1 : 0)) * CENTIMES_PER_FRANC;
+        }
+        amounts[0] += totalCentimes % CENTIMES_PER_FRANC;
+        return amounts;
+    }
+
+    /**
+     * Montant de la première échéance de {@link #split}, la plus élevée, sans calculer les autres
+     *
+     * @return le montant en centimes
+     */
+    public static long firstInstallment (long totalCentimes, int count) {
+        checkArguments(totalCentimes, count);
+        long francs = totalCentimes / CENTIMES_PER_FRANC;
+        long base = francs / count + (francs % count == 0 ? 0 : 1);
+        return base * CENTIMES_PER_FRANC + totalCentimes % CENTIMES_PER_FRANC;
+    }
+
+    /**
+     * @throws ArithmeticException si le montant a plus de deux décimales significatives
+     */
+    public static long toCentimes (BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Montant lu en base, d'échelle quelconque, arrondi au centime le plus proche
+     *
+     * @param defaultValue valeur retenue pour un montant absent (null)
+     */
+    public static long toCentimes (BigDecimal amount, long defaultValue) {
+        return amount == null ? defaultValue : toCentimes(amount.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    public static BigDecimal fromCentimes (long centimes) {
+        return BigDecimal.valueOf(centimes, 2);
+    }
+
+    private static void checkArguments (long totalCentimes, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Nombre d'échéances invalide : " + count);
+        }
+        if (totalCentimes < 0) {
+            throw new IllegalArgumentException("Montant négatif : " + totalCentimes);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package sn.kredika_app.common.util;
+
+import sn.kredika_app.common.enums.PaymentFrequency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Set;
+
+/**
+ * Règles de calcul d'une ligne de panier, partagées par le panier en mémoire et par le recalcul SQL des paniers
+ * (JdbcCartRepricingRepository reproduit les mêmes formules) :
+ * <ul>
+ *     <li>comptant : total = prix unitaire × quantité ;</li>
+ *     <li>crédit : total = prix unitaire × quantité × (1 + taux de commission de la durée), échéance = première
+ *     échéance de l'échéancier d'AmortizationEngine pour le nombre d'échéances de la fréquence choisie (francs
+ *     entiers, la plus élevée), soit le montant du plan créé au passage en caisse ;</li>
+ * </ul>
+ * totaux arrondis au centime, au plus proche.
+ */
+public final class CreditPricing {
+
+    public static final String PAYMENT_CASH = "CASH";
+    public static final String PAYMENT_CREDIT = "CREDIT";
+    public static final String PAYMENT_MOBILE_MONEY = "MOBILE_MONEY";
+
+    /**
+     * Modes de paiement acceptés sur une ligne de panier
+     */
+    public static final Set<String> PAYMENT_METHODS = Set.of(PAYMENT_CASH, PAYMENT_CREDIT, PAYMENT_MOBILE_MONEY);
+
+    private CreditPricing () {
+    }
+
+    /**
+     * @param commissionRate taux de commission, null pour un paiement comptant
+     */
+    public static BigDecimal lineTotal (BigDecimal unitPrice, int quantity, BigDecimal commissionRate) {
+        BigDecimal base = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        if (commissionRate != null) {
+            base = base.add(base.multiply(commissionRate));
+        }
+        return base.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * @return le montant de la première échéance, ou null pour un paiement comptant
+     */
+    public static BigDecimal installmentAmount (BigDecimal total, Integer creditDuration, String frequencyCode) {
+        if (creditDuration == null) {
+            return null;
+        }
+        int installments = PaymentFrequency.fromCode(frequencyCode).installmentCount(creditDuration);
+        return AmortizationEngine.fromCentimes(
+                AmortizationEngine.firstInstallment(AmortizationEngine.toCentimes(total), installments));
+    }
+}
@@ -0,0 +1,60 @@
+package sn.kredika_app.common.util;
+
+import sn.kredika_app.common.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encode et décode les curseurs opaques utilisés par la pagination par clé (keyset).
+ * Un curseur est la concaténation des valeurs de tri de la dernière ligne renvoyée, encodée en Base64 URL-safe.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec () {
+    }
+
+    /**
+     * Construit un curseur opaque à partir des valeurs de tri
+     *
+     * @param parts valeurs de tri de la dernière ligne (ne doivent pas contenir '|')
+     * @return le curseur encodé
+     */
+    public static String encode (String... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i] == null || parts[i].contains(SEPARATOR)) {
+                throw new IllegalArgumentException("Valeur de curseur invalide : " + parts[i]);
+            }
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur opaque
+     *
+     * @param cursor        curseur reçu du client
+     * @param expectedParts nombre de valeurs attendues
+     * @return les valeurs de tri
+     * @throws CustomException 400 si le curseur est illisible
+     */
+    public static String[] decode (String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != expectedParts) {
+                throw CustomException.badRequest("Curseur de pagination invalide");
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw CustomException.badRequest("Curseur de pagination invalide");
+        }
+    }
+}
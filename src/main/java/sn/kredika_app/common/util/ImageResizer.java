@@ -0,0 +1,142 @@
+package sn.kredika_app.common.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Opérations ImageIO utilisées par le pipeline d'images produits : lecture des dimensions sans décodage, décodage
+ * sous-échantillonné, réduction de qualité et encodage JPEG/PNG.
+ */
+public final class ImageResizer {
+
+    private ImageResizer () {
+    }
+
+    /**
+     * Dimensions d'une image et nom du format détecté
+     */
+    public record ImageInfo(int width, int height, String format) {
+    }
+
+    /**
+     * Lit les dimensions depuis l'en-tête du fichier, sans décoder les pixels
+     *
+     * @return les dimensions, ou null si le format n'est pas reconnu
+     */
+    public static ImageInfo probe (Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new ImageInfo(reader.getWidth(0), reader.getHeight(0), reader.getFormatName().toLowerCase());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Décode une image en sous-échantillonnant à la lecture lorsque la plus grande variante demandée est bien plus
+     * petite que l'original : un original de 6000 px n'est jamais décodé en pleine résolution pour produire 1280 px.
+     *
+     * @param file          fichier source
+     * @param sourceWidth   largeur de l'original
+     * @param largestTarget plus grande largeur à produire
+     * @return l'image décodée, d'une largeur au moins égale à largestTarget
+     */
+    public static BufferedImage decode (Path file, int sourceWidth, int largestTarget) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Format d'image non reconnu : " + file.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, sourceWidth / Math.max(1, largestTarget));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Réduit une image à la largeur demandée en conservant ses proportions. La réduction procède par divisions
+     * successives par deux (interpolation bilinéaire), ce qui évite le crénelage d'une réduction directe.
+     */
+    public static BufferedImage scaleToWidth (BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = hasAlpha(source) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth);
+        return current;
+    }
+
+    public static boolean hasAlpha (BufferedImage image) {
+        return image.getColorModel().hasAlpha();
+    }
+
+    /**
+     * Encode en JPEG avec la qualité donnée (0 à 1)
+     */
+    public static void writeJpeg (BufferedImage image, float quality, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    public static void writePng (BufferedImage image, OutputStream out) throws IOException {
+        if (!ImageIO.write(image, "png", out)) {
+            throw new IOException("Aucun encodeur PNG disponible");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package sn.kredika_app.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import sn.kredika_app.infrastructure.storage.ContentAddressedImageStorage;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sert les images du stockage local sous /media/images/**. Les fichiers étant adressés par leur contenu, ils ne
+ * changent jamais et peuvent être mis en cache indéfiniment par les clients et les CDN. Le répertoire
+ * temporaire du stockage est exclu.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ImageStorageConfig implements WebMvcConfigurer {
+
+    private final ContentAddressedImageStorage storage;
+
+    @Override
+    public void addResourceHandlers (ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/media/images/**")
+                .addResourceLocations(storage.getRoot().toUri().toString())
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic()
+                        .immutable())
+                .resourceChain(true)
+                .addResolver(new PathResourceResolver() {
+                    @Override
+                    protected Resource getResource (String resourcePath, Resource location) throws IOException {
+                        // Les fichiers en cours d'écriture sous tmp/ ne sont pas encore adressés par leur contenu
+                        return storage.isPublishable(resourcePath) ? super.getResource(resourcePath, location) : null;
+                    }
+                });
+    }
+}
@@ -26,4 +26,5 @@ public class CartItemRequestDto {
 
     private String paymentMethodCode;
     private Integer creditDuration;
+    private String creditFrequencyCode;
 }
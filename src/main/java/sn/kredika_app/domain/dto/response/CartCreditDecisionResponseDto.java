@@ -0,0 +1,26 @@
+package sn.kredika_app.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CartCreditDecisionResponseDto {
+    /**
+     * Issue la plus défavorable des lignes : APPROVE seulement si toutes les lignes sont accordées telles quelles
+     */
+    private String outcome;
+    private BigDecimal approvedTotalAmount;
+    private List<CreditDecisionResponseDto> lines;
+}
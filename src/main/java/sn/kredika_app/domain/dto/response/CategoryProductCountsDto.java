@@ -0,0 +1,24 @@
+package sn.kredika_app.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CategoryProductCountsDto {
+    private UUID categoryId;
+    private Boolean includesSubcategories;
+    private Long activeCount;
+    private Long inStockCount;
+    private Long creditEligibleCount;
+}
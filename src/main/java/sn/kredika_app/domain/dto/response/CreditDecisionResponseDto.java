@@ -0,0 +1,34 @@
+package sn.kredika_app.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreditDecisionResponseDto {
+    private UUID productId;
+    /**
+     * APPROVE, LIMIT ou DECLINE
+     */
+    private String outcome;
+    private BigDecimal requestedAmount;
+    private BigDecimal approvedAmount;
+    /**
+     * Total à rembourser pour le montant accordé, commission comprise
+     */
+    private BigDecimal approvedTotalAmount;
+    private Integer durationMonths;
+    private List<String> reasons;
+}
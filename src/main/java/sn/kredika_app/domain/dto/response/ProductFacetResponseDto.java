@@ -0,0 +1,26 @@
+package sn.kredika_app.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductFacetResponseDto {
+    private UUID categoryId;
+    private Integer totalCount;
+    /**
+     * Nombre de produits par valeur, pour chaque facette (brand, color, priceBucket, creditEligible, featured)
+     */
+    private Map<String, Map<String, Integer>> facets;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.List;
 import java.util.UUID;
 
 @Getter
@@ -21,4 +22,23 @@ public class ProductImageResponseDto {
     private String altText;
     private Integer position;
     private Boolean isPrimary;
+    private Integer width;
+    private Integer height;
+    private String processingStatus;
+    /**
+     * URL de la plus petite variante couvrant la largeur demandée par le client (l'original à défaut)
+     */
+    private String displayUrl;
+    /**
+     * Variantes redimensionnées, de la plus petite à la plus grande
+     */
+    private List<ProductImageVariantResponseDto> variants;
+
+    /**
+     * Constructeur utilisé par les projections JPQL
+     */
+    public ProductImageResponseDto (UUID id, String imageUrl, String altText, Integer position, Boolean isPrimary,
+                                    Integer width, Integer height, String processingStatus) {
+        this(id, imageUrl, altText, position, isPrimary, width, height, processingStatus, null, null);
+    }
 }
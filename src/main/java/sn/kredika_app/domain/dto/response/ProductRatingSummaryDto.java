@@ -0,0 +1,28 @@
+package sn.kredika_app.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductRatingSummaryDto {
+    private UUID productId;
+    private BigDecimal averageRating;
+    private Long ratingCount;
+    /**
+     * Nombre d'avis par note, de 1 à 5 étoiles (index 0 = 1 étoile)
+     */
+    private List<Long> histogram;
+}
@@ -32,4 +32,18 @@ public class ProductResponseDto {
     private Boolean creditEligible;
     private CategorySimpleDto category;
     private List<ProductImageResponseDto> images;
+
+    /**
+     * Constructeur à plat utilisé par les projections JPQL ({@code SELECT new ...}), qui ne peuvent pas imbriquer
+     * la construction de la catégorie. Les images ne sont pas renseignées.
+     */
+    public ProductResponseDto (UUID id, String name, String description, BigDecimal price, BigDecimal comparePrice,
+                               String sku, Integer stock, String mainImageUrl, BigDecimal rating,
+                               Integer reviewCount, Boolean creditEligible, UUID categoryId, String categoryName,
+                               String categorySlug, String categoryImageUrl) {
+        this(id, name, description, price, comparePrice, sku, stock, mainImageUrl, rating, reviewCount,
+                creditEligible,
+                categoryId != null ? new CategorySimpleDto(categoryId, categoryName, categorySlug, categoryImageUrl) : null,
+                null);
+    }
 }
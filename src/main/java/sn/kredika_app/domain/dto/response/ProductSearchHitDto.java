@@ -0,0 +1,27 @@
+package sn.kredika_app.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductSearchHitDto {
+    private UUID id;
+    private String name;
+    private String brand;
+    private BigDecimal price;
+    private BigDecimal rating;
+    private String mainImageUrl;
+    private Float rank;
+}
@@ -0,0 +1,34 @@
+package sn.kredika_app.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Ligne d'un rapport de ventes : selon le rapport, par jour, par catégorie ou par produit
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalesReportRowDto {
+    private LocalDate salesDate;
+    private UUID categoryId;
+    private UUID productId;
+    private Long units;
+    private BigDecimal revenue;
+    private Long creditUnits;
+    private BigDecimal creditRevenue;
+    private Long cashUnits;
+    private BigDecimal cashRevenue;
+    private BigDecimal commissionAmount;
+}
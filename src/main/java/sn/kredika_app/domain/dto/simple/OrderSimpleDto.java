@@ -23,4 +23,6 @@ public class OrderSimpleDto {
     private BigDecimal totalAmount;
     private String statusCode;
     private LocalDateTime createdAt;
+    private Integer itemCount;
+    private String thumbnailUrl;
 }
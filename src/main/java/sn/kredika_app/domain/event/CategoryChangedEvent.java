@@ -0,0 +1,11 @@
+package sn.kredika_app.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsqu'une catégorie est créée, modifiée ou supprimée.
+ *
+ * @param categoryId identifiant de la catégorie concernée
+ */
+public record CategoryChangedEvent(UUID categoryId) {
+}
@@ -0,0 +1,10 @@
+package sn.kredika_app.domain.event;
+
+/**
+ * Publié lorsque le taux de commission applicable à une durée de crédit change (modification, activation,
+ * désactivation ou suppression d'un paramétrage).
+ *
+ * @param durationMonths durée de crédit concernée, en mois
+ */
+public record CreditRateChangedEvent(int durationMonths) {
+}
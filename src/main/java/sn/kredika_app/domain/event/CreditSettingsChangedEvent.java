@@ -0,0 +1,12 @@
+package sn.kredika_app.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Publié à chaque écriture d'un paramétrage de crédit (taux, bornes de montant, activation, suppression), pour que la
+ * photographie des paramétrages actifs soit rechargée après validation.
+ *
+ * @param settingsId paramétrage modifié
+ */
+public record CreditSettingsChangedEvent(UUID settingsId) {
+}
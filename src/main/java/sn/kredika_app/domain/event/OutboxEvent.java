@@ -0,0 +1,21 @@
+package sn.kredika_app.domain.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import sn.kredika_app.common.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Événement lu dans l'outbox et remis aux handlers.
+ *
+ * @param id          identifiant de l'événement (clé de déduplication côté handler)
+ * @param type        type d'événement
+ * @param aggregateId identifiant de l'agrégat concerné
+ * @param payload     contenu de l'événement
+ * @param attempt     numéro de la tentative en cours (à partir de 1)
+ * @param createdAt   date d'écriture dans l'outbox
+ */
+public record OutboxEvent(UUID id, OutboxEventType type, UUID aggregateId, JsonNode payload, int attempt,
+                          LocalDateTime createdAt) {
+}
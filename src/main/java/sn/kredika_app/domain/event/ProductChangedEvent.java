@@ -0,0 +1,11 @@
+package sn.kredika_app.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsqu'un produit est créé, modifié ou supprimé.
+ *
+ * @param productId identifiant du produit concerné
+ */
+public record ProductChangedEvent(UUID productId) {
+}
@@ -0,0 +1,11 @@
+package sn.kredika_app.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsqu'une image produit a été téléversée et attend la génération de ses variantes.
+ *
+ * @param imageId identifiant de l'image (ProductImageModel)
+ */
+public record ProductImageUploadedEvent(UUID imageId) {
+}
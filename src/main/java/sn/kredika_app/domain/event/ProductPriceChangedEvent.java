@@ -0,0 +1,11 @@
+package sn.kredika_app.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Publié lorsque le prix d'un produit existant change.
+ *
+ * @param productId identifiant du produit concerné
+ */
+public record ProductPriceChangedEvent(UUID productId) {
+}
@@ -0,0 +1,29 @@
+package sn.kredika_app.domain.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.domain.event.CategoryChangedEvent;
+import sn.kredika_app.domain.model.CategoryModel;
+
+/**
+ * Listener JPA de CategoryModel : signale chaque écriture afin que les vues en mémoire dérivées des catégories
+ * soient reconstruites après validation de la transaction.
+ * Instancié par Spring (SpringBeanContainer) pour bénéficier de l'injection.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCategoryChange (CategoryModel category) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+    }
+}
@@ -0,0 +1,60 @@
+package sn.kredika_app.domain.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.domain.event.CreditRateChangedEvent;
+import sn.kredika_app.domain.event.CreditSettingsChangedEvent;
+import sn.kredika_app.domain.model.CreditSettingsModel;
+import sn.kredika_app.domain.snapshot.CreditRateContribution;
+
+import java.util.Objects;
+
+/**
+ * Listener JPA de CreditSettingsModel : signale chaque écriture, pour que les paramétrages tenus en mémoire soient
+ * rechargés, et chaque durée dont le taux ou les tranches applicables changent, afin que les paniers ouverts soient
+ * recalculés après validation.
+ */
+@Component
+@RequiredArgsConstructor
+public class CreditSettingsChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoad (CreditSettingsModel settings) {
+        settings.setLoadedContribution(CreditRateContribution.of(settings));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite (CreditSettingsModel settings) {
+        eventPublisher.publishEvent(new CreditSettingsChangedEvent(settings.getId()));
+        CreditRateContribution current = CreditRateContribution.of(settings);
+        publishChange(settings.getLoadedContribution(), current);
+        settings.setLoadedContribution(current);
+    }
+
+    @PostRemove
+    public void onRemove (CreditSettingsModel settings) {
+        eventPublisher.publishEvent(new CreditSettingsChangedEvent(settings.getId()));
+        publishChange(settings.getLoadedContribution(), null);
+        settings.setLoadedContribution(null);
+    }
+
+    private void publishChange (CreditRateContribution before, CreditRateContribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            eventPublisher.publishEvent(new CreditRateChangedEvent(before.durationMonths()));
+        }
+        if (after != null && (before == null || before.durationMonths() != after.durationMonths())) {
+            eventPublisher.publishEvent(new CreditRateChangedEvent(after.durationMonths()));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package sn.kredika_app.domain.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.model.InstallmentPlanModel;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcOutboxRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Listener JPA de InstallmentPlanModel : la clôture d'un plan est écrite dans l'outbox dans la même transaction que
+ * le plan.
+ */
+@Component
+@RequiredArgsConstructor
+public class InstallmentPlanChangeListener {
+
+    // Résolu à l'usage pour ne pas boucler sur l'EntityManagerFactory au démarrage
+    private final ObjectProvider<JdbcOutboxRepository> outboxRepository;
+
+    @PostLoad
+    @PostPersist
+    public void onLoad (InstallmentPlanModel plan) {
+        plan.setLoadedCompleted(plan.isCompleted());
+    }
+
+    @PostUpdate
+    public void onUpdate (InstallmentPlanModel plan) {
+        boolean completed = plan.isCompleted();
+        if (completed && !plan.isLoadedCompleted()) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("planId", plan.getId());
+            payload.put("planNumber", plan.getPlanNumber());
+            payload.put("userId", plan.getUserId());
+            payload.put("orderId", plan.getOrderId());
+            outboxRepository.getObject().append(OutboxEventType.INSTALLMENT_PLAN_COMPLETED, plan.getId(), payload);
+        }
+        plan.setLoadedCompleted(completed);
+    }
+}
@@ -0,0 +1,61 @@
+package sn.kredika_app.domain.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.model.OrderModel;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcOutboxRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Listener JPA de OrderModel : chaque changement de statut, et la suppression logique, est écrit dans l'outbox sur la
+ * même connexion, donc dans la même transaction que la commande.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderChangeListener {
+
+    // Résolu à l'usage pour ne pas boucler sur l'EntityManagerFactory au démarrage
+    private final ObjectProvider<JdbcOutboxRepository> outboxRepository;
+
+    @PostLoad
+    @PostPersist
+    public void onLoad (OrderModel order) {
+        order.setLoadedStatusCode(order.getStatusCode());
+        order.setLoadedDeleted(Boolean.TRUE.equals(order.getDeleted()));
+    }
+
+    @PostUpdate
+    public void onUpdate (OrderModel order) {
+        String previous = order.getLoadedStatusCode();
+        if (!Objects.equals(previous, order.getStatusCode())) {
+            Map<String, Object> payload = payload(order);
+            payload.put("previousStatusCode", previous);
+            payload.put("statusCode", order.getStatusCode());
+            outboxRepository.getObject().append(OutboxEventType.ORDER_STATUS_CHANGED, order.getId(), payload);
+        }
+        boolean deleted = Boolean.TRUE.equals(order.getDeleted());
+        if (deleted && !order.isLoadedDeleted()) {
+            Map<String, Object> payload = payload(order);
+            payload.put("statusCode", order.getStatusCode());
+            outboxRepository.getObject().append(OutboxEventType.ORDER_DELETED, order.getId(), payload);
+        }
+        order.setLoadedStatusCode(order.getStatusCode());
+        order.setLoadedDeleted(deleted);
+    }
+
+    private static Map<String, Object> payload (OrderModel order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("userId", order.getUserId());
+        payload.put("orderNumber", order.getOrderNumber());
+        return payload;
+    }
+}
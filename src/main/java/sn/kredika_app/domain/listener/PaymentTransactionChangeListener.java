@@ -0,0 +1,64 @@
+package sn.kredika_app.domain.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.model.PaymentTransactionModel;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcOutboxRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Listener JPA de PaymentTransactionModel : l'issue d'un paiement (markAsSuccessful, markAsFailed) est écrite dans
+ * l'outbox dans la même transaction que la transaction de paiement.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentTransactionChangeListener {
+
+    static final String STATUS_SUCCESS = "SUCCESS";
+    static final String STATUS_FAILED = "FAILED";
+
+    // Résolu à l'usage pour ne pas boucler sur l'EntityManagerFactory au démarrage
+    private final ObjectProvider<JdbcOutboxRepository> outboxRepository;
+
+    @PostLoad
+    public void onLoad (PaymentTransactionModel transaction) {
+        transaction.setLoadedStatusCode(transaction.getStatusCode());
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite (PaymentTransactionModel transaction) {
+        String status = transaction.getStatusCode();
+        if (!Objects.equals(transaction.getLoadedStatusCode(), status)) {
+            if (STATUS_SUCCESS.equals(status)) {
+                outboxRepository.getObject()
+                        .append(OutboxEventType.PAYMENT_SUCCEEDED, transaction.getId(), payload(transaction));
+            } else if (STATUS_FAILED.equals(status)) {
+                outboxRepository.getObject()
+                        .append(OutboxEventType.PAYMENT_FAILED, transaction.getId(), payload(transaction));
+            }
+        }
+        transaction.setLoadedStatusCode(status);
+    }
+
+    private static Map<String, Object> payload (PaymentTransactionModel transaction) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", transaction.getId());
+        payload.put("transactionNumber", transaction.getTransactionNumber());
+        payload.put("userId", transaction.getUserId());
+        payload.put("installmentPlanId", transaction.getInstallmentPlanId());
+        payload.put("paymentScheduleId", transaction.getPaymentScheduleId());
+        // Montant en texte : aucune perte de précision à la relecture
+        payload.put("amount", transaction.getAmount() == null ? null : transaction.getAmount().toPlainString());
+        payload.put("statusCode", transaction.getStatusCode());
+        return payload;
+    }
+}
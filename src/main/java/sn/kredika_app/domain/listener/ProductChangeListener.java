@@ -0,0 +1,125 @@
+package sn.kredika_app.domain.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.domain.event.ProductChangedEvent;
+import sn.kredika_app.domain.event.ProductPriceChangedEvent;
+import sn.kredika_app.domain.model.ProductModel;
+import sn.kredika_app.domain.snapshot.ProductCategoryContribution;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCategoryStatsRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcStockReservationRepository;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Listener JPA de ProductModel : répercute chaque écriture sur les compteurs de catégorie, sur la même connexion et
+ * donc dans la même transaction que l'écriture du produit.
+ * L'état connu au chargement est conservé sur l'entité pour calculer le delta (changement de catégorie,
+ * activation, suppression logique). Le stock n'étant modifié qu'en SQL, qui répercute lui-même ses passages en
+ * rupture, la présence en stock est relue en base (ligne verrouillée) avant chaque calcul de delta plutôt que déduite
+ * du stock de l'entité, qui peut dater de son chargement.
+ * Chaque écriture est également signalée afin que les index en mémoire (facettes) soient mis à jour après validation,
+ * et un changement de prix déclenche le recalcul des paniers ouverts.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductChangeListener {
+
+    // Résolus à l'usage : le listener est créé pendant la construction de l'EntityManagerFactory, dont dépendent
+    // indirectement les dépôts JDBC (JdbcTemplate, initialisation SQL différée)
+    private final ObjectProvider<JdbcCategoryStatsRepository> categoryStatsRepository;
+    private final ObjectProvider<JdbcStockReservationRepository> reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoad (ProductModel product) {
+        product.setLoadedContribution(ProductCategoryContribution.of(product));
+        product.setLoadedPrice(product.getPrice());
+    }
+
+    @PostUpdate
+    public void onUpdate (ProductModel product) {
+        rebaseOnCurrentStock(product);
+        onWrite(product);
+    }
+
+    @PreRemove
+    public void onRemoving (ProductModel product) {
+        rebaseOnCurrentStock(product);
+    }
+
+    @PostPersist
+    public void onWrite (ProductModel product) {
+        ProductCategoryContribution current = ProductCategoryContribution.of(product);
+        applyChange(product.getLoadedContribution(), current);
+        product.setLoadedContribution(current);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
+        if (product.getLoadedPrice() != null && product.getPrice() != null
+                && product.getLoadedPrice().compareTo(product.getPrice()) != 0) {
+            eventPublisher.publishEvent(new ProductPriceChangedEvent(product.getId()));
+        }
+        product.setLoadedPrice(product.getPrice());
+    }
+
+    @PostRemove
+    public void onRemove (ProductModel product) {
+        applyChange(product.getLoadedContribution(), null);
+        product.setLoadedContribution(null);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
+    }
+
+    /**
+     * Aligne le stock de l'entité et sa contribution connue sur le stock en base
+     */
+    private void rebaseOnCurrentStock (ProductModel product) {
+        Integer stock = reservationRepository.getObject().lockStock(product.getId());
+        if (stock == null) {
+            return;
+        }
+        product.refreshStock(stock);
+        if (product.getLoadedContribution() != null) {
+            product.setLoadedContribution(product.getLoadedContribution().withStock(stock));
+        }
+    }
+
+    private void applyChange (ProductCategoryContribution before, ProductCategoryContribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null && after != null && before.categoryId().equals(after.categoryId())) {
+            apply(after.categoryId(),
+                    delta(before.active(), after.active()),
+                    delta(before.inStock(), after.inStock()),
+                    delta(before.creditEligible(), after.creditEligible()));
+            return;
+        }
+        if (before != null) {
+            apply(before.categoryId(), -flag(before.active()), -flag(before.inStock()), -flag(before.creditEligible()));
+        }
+        if (after != null) {
+            apply(after.categoryId(), flag(after.active()), flag(after.inStock()), flag(after.creditEligible()));
+        }
+    }
+
+    private void apply (UUID categoryId, long active, long inStock, long creditEligible) {
+        if (active != 0 || inStock != 0 || creditEligible != 0) {
+            categoryStatsRepository.getObject().applyDelta(categoryId, active, inStock, creditEligible);
+        }
+    }
+
+    private static long delta (boolean before, boolean after) {
+        return flag(after) - flag(before);
+    }
+
+    private static long flag (boolean value) {
+        return value ? 1 : 0;
+    }
+}
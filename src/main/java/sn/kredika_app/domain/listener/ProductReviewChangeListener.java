@@ -0,0 +1,62 @@
+package sn.kredika_app.domain.listener;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.domain.model.ProductReviewModel;
+import sn.kredika_app.domain.snapshot.ReviewRatingContribution;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcProductRatingStatsRepository;
+
+import java.util.Objects;
+
+/**
+ * Listener JPA de ProductReviewModel : répercute l'approbation, la modification de note et la suppression d'un avis
+ * sur l'agrégat product_rating_stats, dans la même transaction que l'écriture de l'avis.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductReviewChangeListener {
+
+    // Résolu paresseusement, comme dans ProductChangeListener : une injection directe bouclerait sur
+    // l'EntityManagerFactory au démarrage
+    private final ObjectProvider<JdbcProductRatingStatsRepository> ratingStatsRepository;
+
+    @PostLoad
+    public void onLoad (ProductReviewModel review) {
+        review.setLoadedContribution(ReviewRatingContribution.of(review));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite (ProductReviewModel review) {
+        ReviewRatingContribution current = ReviewRatingContribution.of(review);
+        applyChange(review.getLoadedContribution(), current);
+        review.setLoadedContribution(current);
+    }
+
+    @PostRemove
+    public void onRemove (ProductReviewModel review) {
+        applyChange(review.getLoadedContribution(), null);
+        review.setLoadedContribution(null);
+    }
+
+    private void applyChange (ReviewRatingContribution before, ReviewRatingContribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null && after != null && before.productId().equals(after.productId())) {
+            ratingStatsRepository.getObject().replaceRating(after.productId(), before.rating(), after.rating());
+            return;
+        }
+        if (before != null) {
+            ratingStatsRepository.getObject().applyDelta(before.productId(), before.rating(), -1);
+        }
+        if (after != null) {
+            ratingStatsRepository.getObject().applyDelta(after.productId(), after.rating(), 1);
+        }
+    }
+}
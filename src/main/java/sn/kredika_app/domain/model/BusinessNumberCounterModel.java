@@ -0,0 +1,39 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compteur quotidien d'un type de numéro métier (commande, plan, transaction).
+ * Mis à jour exclusivement par incrément SQL (JdbcBusinessNumberRepository) lorsqu'un nœud loue un bloc de valeurs.
+ */
+@Entity
+@Table(name = "business_number_counters", schema = "kredika_app")
+@NoArgsConstructor
+@Getter
+@Setter
+public class BusinessNumberCounterModel {
+
+    /**
+     * Préfixe et jour du compteur, par exemple CMD-20250131
+     */
+    @Id
+    @Column(name = "counter_key", nullable = false, length = 32)
+    private String counterKey;
+
+    /**
+     * Dernière valeur du dernier bloc loué
+     */
+    @Column(name = "last_value", nullable = false)
+    private Long lastValue = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -18,6 +19,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.validator.constraints.URL;
+import sn.kredika_app.domain.listener.CategoryChangeListener;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +31,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "categories", schema = "kredika_app")
+@EntityListeners(CategoryChangeListener.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class CategoryModel extends BaseModel {
@@ -155,8 +158,11 @@ public class CategoryModel extends BaseModel {
 
     /**
      * Compte le nombre de produits actifs dans cette catégorie
+     * Initialise toute la collection products : utiliser CategoryProductStatsService, qui lit les compteurs
+     * maintenus dans category_product_stats.
      * @return Le nombre de produits actifs
      */
+    @Deprecated
     public long countActiveProducts() {
         return products.stream()
                 .filter(ProductModel::getActive)
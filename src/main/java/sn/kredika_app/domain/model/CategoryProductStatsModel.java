@@ -0,0 +1,51 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Compteurs de produits d'une catégorie, maintenus dans la même transaction que les écritures sur les produits.
+ * Les valeurs ne concernent que les produits rattachés directement à la catégorie ; les totaux d'un sous-arbre sont
+ * obtenus en additionnant les lignes des catégories descendantes, ce qui évite de verrouiller les catégories
+ * ancêtres à chaque modification de produit.
+ * Mis à jour exclusivement par incréments SQL (JdbcCategoryStatsRepository) : pas de verrouillage optimiste.
+ */
+@Entity
+@Table(name = "category_product_stats", schema = "kredika_app")
+@NoArgsConstructor
+@Getter
+@Setter
+public class CategoryProductStatsModel {
+
+    /**
+     * Identifiant de la catégorie (une ligne par catégorie)
+     */
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    /**
+     * Nombre de produits actifs non supprimés
+     */
+    @Column(name = "active_count", nullable = false)
+    private Long activeCount = 0L;
+
+    /**
+     * Nombre de produits actifs disposant de stock
+     */
+    @Column(name = "in_stock_count", nullable = false)
+    private Long inStockCount = 0L;
+
+    /**
+     * Nombre de produits actifs éligibles au crédit
+     */
+    @Column(name = "credit_eligible_count", nullable = false)
+    private Long creditEligibleCount = 0L;
+}
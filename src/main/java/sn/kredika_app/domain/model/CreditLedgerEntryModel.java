@@ -0,0 +1,76 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mouvement du journal de crédit, en ajout seul.
+ * Chaque mouvement est écrit dans la même instruction que la variation relative qu'il applique au profil de crédit
+ * (credit_profiles) ; la contrainte d'unicité sur (type, référence) rend l'application d'un même mouvement
+ * idempotente. Les mouvements anciens sont périodiquement remplacés par leur somme (COMPACTION).
+ */
+@Entity
+@Table(
+        name = "credit_ledger_entries", schema = "kredika_app",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_credit_ledger_type_reference",
+                        columnNames = {"entry_type", "reference_id"}
+                )
+        },
+        indexes = {
+                @Index(name = "idx_credit_ledger_user_created", columnList = "user_id, created_at"),
+                @Index(name = "idx_credit_ledger_created", columnList = "created_at")
+        }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class CreditLedgerEntryModel {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * CHECKOUT (débit d'une commande), REPAYMENT (paiement accepté), RECONCILIATION (correction depuis les
+     * échéances) ou COMPACTION (somme de mouvements anciens)
+     */
+    @Column(name = "entry_type", length = 20, nullable = false)
+    private String entryType;
+
+    /**
+     * Commande ou transaction de paiement à l'origine du mouvement ; null pour une correction ou un compactage
+     */
+    @Column(name = "reference_id")
+    private UUID referenceId;
+
+    /**
+     * Variation de la dette totale, telle qu'appliquée au profil (après bornage à zéro)
+     */
+    @Column(name = "debt_delta", precision = 12, scale = 2, nullable = false)
+    private BigDecimal debtDelta;
+
+    /**
+     * Variation du crédit disponible, telle qu'appliquée au profil (après bornage au plafond)
+     */
+    @Column(name = "available_delta", precision = 12, scale = 2, nullable = false)
+    private BigDecimal availableDelta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
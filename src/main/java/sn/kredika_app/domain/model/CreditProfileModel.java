@@ -59,21 +59,24 @@ public class CreditProfileModel extends BaseModel {
     /**
      * Crédit disponible (limite de crédit moins dette totale)
      * Doit être positif ou nul et inférieur à la limite de crédit
+     * Écrit à la création seulement : ensuite, uniquement par les mouvements du journal de crédit
+     * (JdbcCreditLedgerRepository)
      */
     @NotNull(message = "Le crédit disponible est obligatoire")
     @DecimalMin(value = "0.00", message = "Le crédit disponible ne peut être négatif")
     @Digits(integer = 10, fraction = 2, message = "Format invalide (10 chiffres avant, 2 après la virgule)")
-    @Column(name = "available_credit", precision = 10, scale = 2, nullable = false)
+    @Column(name = "available_credit", precision = 10, scale = 2, nullable = false, updatable = false)
     private BigDecimal availableCredit;
 
     /**
      * Dette totale actuelle de l'utilisateur
      * Valeur par défaut: 0.00
+     * Écrite à la création seulement : ensuite, uniquement par les mouvements du journal de crédit
      */
     @NotNull(message = "La dette totale est obligatoire")
     @DecimalMin(value = "0.00", message = "La dette totale ne peut être négative")
     @Digits(integer = 10, fraction = 2, message = "Format invalide (10 chiffres avant, 2 après la virgule)")
-    @Column(name = "total_debt", precision = 10, scale = 2, nullable = false)
+    @Column(name = "total_debt", precision = 10, scale = 2, nullable = false, updatable = false)
     private BigDecimal totalDebt = BigDecimal.ZERO;
 
     /**
@@ -2,6 +2,7 @@ package sn.kredika_app.domain.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -12,6 +13,8 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import sn.kredika_app.domain.listener.CreditSettingsChangeListener;
+import sn.kredika_app.domain.snapshot.CreditRateContribution;
 
 import java.math.BigDecimal;
 
@@ -21,6 +24,7 @@ import java.math.BigDecimal;
  */
 @Entity
 @Table(name = "credit_settings", schema = "kredika_app")
+@EntityListeners(CreditSettingsChangeListener.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class CreditSettingsModel extends BaseModel {
@@ -77,6 +81,12 @@ public class CreditSettingsModel extends BaseModel {
     @Column(name = "description", length = 500)
     private String description;
 
+    /**
+     * Taux applicable tel que connu en base (au chargement ou à la dernière écriture). Non persisté : sert à
+     * CreditSettingsChangeListener pour détecter un changement de taux.
+     */
+    private transient CreditRateContribution loadedContribution;
+
     /**
      * Vérifie si un montant est dans la plage autorisée
      *
@@ -160,4 +170,12 @@ public class CreditSettingsModel extends BaseModel {
     public void setDescription (String description) {
         this.description = description;
     }
-}
\ No newline at end of file
+
+    public CreditRateContribution getLoadedContribution () {
+        return loadedContribution;
+    }
+
+    public void setLoadedContribution (CreditRateContribution loadedContribution) {
+        this.loadedContribution = loadedContribution;
+    }
+}
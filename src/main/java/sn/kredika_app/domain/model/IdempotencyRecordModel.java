@@ -0,0 +1,74 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Requête idempotente : réservée (IN_PROGRESS) avant exécution, puis complétée avec la réponse renvoyée au client.
+ * Lue et écrite exclusivement en SQL (JdbcIdempotencyRepository) ; les lignes expirées sont purgées périodiquement.
+ */
+@Entity
+@Table(
+        name = "idempotency_records", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_idempotency_expiry", columnList = "expires_at")
+        }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class IdempotencyRecordModel {
+
+    /**
+     * Portée, utilisateur et clé client, par exemple CHECKOUT:&lt;userId&gt;:&lt;clé&gt;
+     */
+    @Id
+    @Column(name = "record_key", nullable = false, length = 200)
+    private String recordKey;
+
+    @Column(name = "scope", nullable = false, length = 30)
+    private String scope;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * Empreinte SHA-256 du corps de la requête : une clé rejouée avec un autre contenu est refusée
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * IN_PROGRESS ou COMPLETED
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "response_body", columnDefinition = "jsonb")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * Fin de validité de la réponse enregistrée ; 'infinity' tant que la requête est IN_PROGRESS, une réservation
+     * n'étant jamais reprise
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -22,6 +23,7 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import sn.kredika_app.domain.listener.InstallmentPlanChangeListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -37,6 +39,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "installment_plans", schema = "kredika_app")
+@EntityListeners(InstallmentPlanChangeListener.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class InstallmentPlanModel extends BaseModel {
@@ -213,6 +216,12 @@ public class InstallmentPlanModel extends BaseModel {
     @JsonIgnore
     private List<PaymentTransactionModel> paymentTransactions = new ArrayList<>();
 
+    /**
+     * Indique si le plan était déjà soldé en base (au chargement ou à la dernière écriture). Non persisté : sert à
+     * InstallmentPlanChangeListener pour détecter la clôture du plan.
+     */
+    private transient boolean loadedCompleted;
+
     /**
      * Calcule le montant restant à payer
      *
@@ -234,12 +243,23 @@ public class InstallmentPlanModel extends BaseModel {
     }
 
     /**
-     * Vérifie si le plan est en retard de paiement
+     * Vérifie si le plan est en retard de paiement à ce jour, sans délai de grâce
      *
-     * @return true si la date actuelle est après endDate et pas complètement payé
+     * @return true si une échéance est en retard, false sinon
      */
     public boolean isLate () {
-        return !isFullyPaid() && LocalDate.now().isAfter(endDate);
+        return isLate(LocalDate.now());
+    }
+
+    /**
+     * Vérifie si le plan est en retard de paiement à une date de coupure. Même règle que le calcul nocturne des
+     * pénalités, qui passe le plan au statut LATE ou le ramène à ACTIVE (JdbcLatePenaltyRepository).
+     *
+     * @return true si une échéance non supprimée est en retard à cutoffDate, false sinon
+     */
+    public boolean isLate (LocalDate cutoffDate) {
+        return paymentSchedules.stream()
+                .anyMatch(schedule -> !Boolean.TRUE.equals(schedule.getDeleted()) && schedule.isOverdue(cutoffDate));
     }
 
 
@@ -426,4 +446,19 @@ public class InstallmentPlanModel extends BaseModel {
     public void setPaymentTransactions (List<PaymentTransactionModel> paymentTransactions) {
         this.paymentTransactions = paymentTransactions;
     }
-}
\ No newline at end of file
+
+    /**
+     * Vérifie si le plan est clôturé (statut COMPLETED ou date de clôture renseignée)
+     */
+    public boolean isCompleted () {
+        return "COMPLETED".equals(statusCode) || completedAt != null;
+    }
+
+    public boolean isLoadedCompleted () {
+        return loadedCompleted;
+    }
+
+    public void setLoadedCompleted (boolean loadedCompleted) {
+        this.loadedCompleted = loadedCompleted;
+    }
+}
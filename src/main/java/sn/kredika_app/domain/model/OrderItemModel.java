@@ -4,10 +4,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
-import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
@@ -26,7 +26,12 @@ import java.util.UUID;
  * chaque ligne de commande.
  */
 @Entity
-@Table(name = "order_items", schema = "kredika_app")
+@Table(
+        name = "order_items", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_order_item_order", columnList = "order_id, created_at, id")
+        }
+)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class OrderItemModel extends BaseModel {
@@ -92,6 +97,7 @@ public class OrderItemModel extends BaseModel {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", insertable = false, updatable = false)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
     private OrderModel order;
 
     /**
@@ -102,16 +108,18 @@ public class OrderItemModel extends BaseModel {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", insertable = false, updatable = false)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
     private ProductModel product;
 
     /**
-     * Calcule automatiquement le prix total avant persistance
+     * Modifie la quantité et le prix unitaire et recalcule le prix total (quantité × prix unitaire). Seul moyen de
+     * chiffrer un article, afin que le prix total reste cohérent ; passer par OrderModel.updateItem pour que le total
+     * de la commande suive.
      */
-    @PreUpdate
-    private void calculateTotalPrice () {
-        if (quantity != null && unitPrice != null) {
-            this.totalPrice = unitPrice.multiply(new BigDecimal(quantity));
-        }
+    public void reprice (int quantity, BigDecimal unitPrice) {
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
     }
 
     /**
@@ -156,26 +164,14 @@ public class OrderItemModel extends BaseModel {
         return quantity;
     }
 
-    public void setQuantity (Integer quantity) {
-        this.quantity = quantity;
-    }
-
     public @NotNull(message = "Unit price is required") BigDecimal getUnitPrice () {
         return unitPrice;
     }
 
-    public void setUnitPrice (@NotNull(message = "Unit price is required") BigDecimal unitPrice) {
-        this.unitPrice = unitPrice;
-    }
-
     public @NotNull(message = "Total price is required") BigDecimal getTotalPrice () {
         return totalPrice;
     }
 
-    public void setTotalPrice (@NotNull(message = "Total price is required") BigDecimal totalPrice) {
-        this.totalPrice = totalPrice;
-    }
-
     public String getPaymentMethodCode () {
         return paymentMethodCode;
     }
@@ -5,11 +5,12 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
@@ -21,6 +22,7 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import sn.kredika_app.domain.listener.OrderChangeListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -33,7 +35,13 @@ import java.util.UUID;
  * transaction commerciale.
  */
 @Entity
-@Table(name = "orders", schema = "kredika_app")
+@Table(
+        name = "orders", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_order_user_history", columnList = "user_id, created_at DESC, id DESC")
+        }
+)
+@EntityListeners(OrderChangeListener.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class OrderModel extends BaseModel {
@@ -118,6 +126,7 @@ public class OrderModel extends BaseModel {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
     private UserModel user;
 
     /**
@@ -128,12 +137,15 @@ public class OrderModel extends BaseModel {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "delivery_address_id", insertable = false, updatable = false)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
     private UserAddressModel deliveryAddress;
 
     /**
      * Liste des articles de la commande
      * Relation One-to-Many vers OrderItemModel
      * Cascade: les opérations sur la commande affectent ses articles
+     * Le total de la commande n'est jamais recalculé depuis cette collection : addItem, removeItem et updateItem le
+     * tiennent à jour, si bien qu'une mise à jour de statut ne la charge pas.
      */
     @OneToMany(
             mappedBy = "order",
@@ -142,6 +154,7 @@ public class OrderModel extends BaseModel {
             orphanRemoval = true
     )
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
     private List<OrderItemModel> items = new ArrayList<>();
 
     /**
@@ -150,18 +163,56 @@ public class OrderModel extends BaseModel {
      */
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
     private List<InstallmentPlanModel> installmentPlans = new ArrayList<>();
 
     /**
-     * Calcule le montant total à partir des articles
+     * Statut connu en base (au chargement ou à la dernière écriture). Non persisté : sert à OrderChangeListener pour
+     * détecter un changement de statut.
+     */
+    private transient String loadedStatusCode;
+
+    /**
+     * Suppression logique connue en base. Non persisté : sert à OrderChangeListener pour détecter la suppression.
+     */
+    private transient boolean loadedDeleted;
+
+    /**
+     * Ajoute un article et reporte son prix sur le total. L'ajout est mis en file par Hibernate : la collection
+     * items n'est pas chargée.
+     *
+     * @throws IllegalArgumentException si l'article n'a pas été chiffré (OrderItemModel.reprice)
      */
-    @PreUpdate
-    private void calculateTotalAmount () {
-        if (items != null) {
-            this.totalAmount = items.stream()
-                    .map(OrderItemModel::getTotalPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public void addItem (OrderItemModel item) {
+        if (item.getTotalPrice() == null) {
+            throw new IllegalArgumentException("L'article doit être chiffré avant d'être ajouté à la commande");
         }
+        item.setOrder(this);
+        item.setOrderId(getId());
+        items.add(item);
+        this.totalAmount = currentTotal().add(item.getTotalPrice());
+    }
+
+    /**
+     * Retire un article (supprimé par orphanRemoval) et déduit son prix du total
+     */
+    public void removeItem (OrderItemModel item) {
+        if (items.remove(item)) {
+            this.totalAmount = currentTotal().subtract(item.getTotalPrice());
+        }
+    }
+
+    /**
+     * Modifie la quantité et le prix unitaire d'un article et reporte l'écart sur le total
+     */
+    public void updateItem (OrderItemModel item, int quantity, BigDecimal unitPrice) {
+        BigDecimal previous = item.getTotalPrice();
+        item.reprice(quantity, unitPrice);
+        this.totalAmount = currentTotal().subtract(previous).add(item.getTotalPrice());
+    }
+
+    private BigDecimal currentTotal () {
+        return totalAmount == null ? BigDecimal.ZERO : totalAmount;
     }
 
     /**
@@ -284,4 +335,24 @@ public class OrderModel extends BaseModel {
     public void setInstallmentPlans (List<InstallmentPlanModel> installmentPlans) {
         this.installmentPlans = installmentPlans;
     }
-}
\ No newline at end of file
+
+    public String getOrderNumber () {
+        return orderNumber;
+    }
+
+    public String getLoadedStatusCode () {
+        return loadedStatusCode;
+    }
+
+    public void setLoadedStatusCode (String loadedStatusCode) {
+        this.loadedStatusCode = loadedStatusCode;
+    }
+
+    public boolean isLoadedDeleted () {
+        return loadedDeleted;
+    }
+
+    public void setLoadedDeleted (boolean loadedDeleted) {
+        this.loadedDeleted = loadedDeleted;
+    }
+}
@@ -0,0 +1,70 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Événement métier en attente de diffusion (outbox transactionnelle).
+ * Écrit en SQL par les listeners JPA dans la transaction qui modifie l'agrégat, puis consommé par
+ * OutboxDispatcherServiceImpl. Statuts : PENDING (à traiter, ou en cours tant que available_at est dans le futur),
+ * DONE, DEAD (abandonné après le nombre maximal de tentatives).
+ */
+@Entity
+@Table(name = "outbox_events", schema = "kredika_app")
+@NoArgsConstructor
+@Getter
+@Setter
+public class OutboxEventModel {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 30)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", nullable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status;
+
+    /**
+     * Nombre de tentatives déjà engagées
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * Date à partir de laquelle l'événement peut être pris : prochain essai après un échec, ou fin du bail d'un
+     * dispatcher en cours de traitement
+     */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
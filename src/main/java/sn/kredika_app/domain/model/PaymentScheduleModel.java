@@ -138,12 +138,22 @@ public class PaymentScheduleModel extends BaseModel {
     }
 
     /**
-     * Vérifie si l'échéance est en retard
+     * Vérifie si l'échéance est en retard à ce jour, sans délai de grâce
      *
      * @return true si dueDate est passée et pas complètement payée, false sinon
      */
     public boolean isOverdue () {
-        return !isFullyPaid() && dueDate.isBefore(LocalDate.now());
+        return isOverdue(LocalDate.now());
+    }
+
+    /**
+     * Vérifie si l'échéance est en retard à une date de coupure. Même règle que le calcul nocturne des pénalités
+     * (JdbcLatePenaltyRepository), dont la date de coupure est le jour du calcul moins le délai de grâce.
+     *
+     * @return true si dueDate est antérieure à cutoffDate et l'échéance pas complètement payée, false sinon
+     */
+    public boolean isOverdue (LocalDate cutoffDate) {
+        return !isFullyPaid() && dueDate.isBefore(cutoffDate);
     }
 
     /**
@@ -4,6 +4,7 @@ package sn.kredika_app.domain.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -16,6 +17,7 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import sn.kredika_app.domain.listener.PaymentTransactionChangeListener;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import sn.kredika_app.domain.dto.response.GatewayResponseDto;
@@ -30,6 +32,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "payment_transactions", schema = "kredika_app")
+@EntityListeners(PaymentTransactionChangeListener.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class PaymentTransactionModel extends BaseModel {
@@ -160,6 +163,12 @@ public class PaymentTransactionModel extends BaseModel {
     @JsonIgnore
     private PaymentScheduleModel paymentSchedule;
 
+    /**
+     * Statut connu en base (au chargement ou à la dernière écriture). Non persisté : sert à
+     * PaymentTransactionChangeListener pour détecter l'issue du paiement.
+     */
+    private transient String loadedStatusCode;
+
     /**
      * Marque la transaction comme réussie
      *
@@ -337,4 +346,12 @@ public class PaymentTransactionModel extends BaseModel {
     public void setPaymentSchedule (PaymentScheduleModel paymentSchedule) {
         this.paymentSchedule = paymentSchedule;
     }
-}
\ No newline at end of file
+
+    public String getLoadedStatusCode () {
+        return loadedStatusCode;
+    }
+
+    public void setLoadedStatusCode (String loadedStatusCode) {
+        this.loadedStatusCode = loadedStatusCode;
+    }
+}
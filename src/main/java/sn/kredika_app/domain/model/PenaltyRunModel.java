@@ -0,0 +1,73 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Point de reprise du calcul nocturne des retards et pénalités, une ligne par journée.
+ * Les paramètres du calcul (date de coupure, taux) y sont figés au démarrage : une reprise après un arrêt applique
+ * exactement le même calcul aux plans restants (PenaltyRunPlanModel). Lu et écrit exclusivement en SQL
+ * (JdbcLatePenaltyRepository).
+ */
+@Entity
+@Table(name = "penalty_runs", schema = "kredika_app")
+@NoArgsConstructor
+@Getter
+@Setter
+public class PenaltyRunModel {
+
+    @Id
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    /**
+     * RUNNING, DONE, ou ABANDONED (remplacé par le calcul d'une journée suivante avant d'avoir été terminé)
+     */
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+
+    /**
+     * Les échéances dues avant cette date (délai de grâce déduit) sont en retard
+     */
+    @Column(name = "cutoff_date", nullable = false)
+    private LocalDate cutoffDate;
+
+    /**
+     * Pénalité par jour de retard, en part du reste dû
+     */
+    @Column(name = "daily_rate", precision = 7, scale = 6, nullable = false)
+    private BigDecimal dailyRate;
+
+    /**
+     * Plafond de la pénalité d'une échéance, en part du reste dû
+     */
+    @Column(name = "cap_rate", precision = 7, scale = 6, nullable = false)
+    private BigDecimal capRate;
+
+    @Column(name = "plans_total", nullable = false)
+    private Long plansTotal;
+
+    @Column(name = "plans_processed", nullable = false)
+    private Long plansProcessed;
+
+    @Column(name = "schedules_updated", nullable = false)
+    private Long schedulesUpdated;
+
+    @Column(name = "plans_updated", nullable = false)
+    private Long plansUpdated;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,47 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Plan restant à traiter par le calcul des pénalités d'une journée.
+ * La liste est établie au démarrage du calcul ; un lot supprime ses plans dans la transaction qui les met à jour,
+ * si bien que les lignes restantes sont exactement le travail à reprendre après un arrêt.
+ */
+@Entity
+@Table(name = "penalty_run_plans", schema = "kredika_app")
+@NoArgsConstructor
+@Getter
+@Setter
+public class PenaltyRunPlanModel {
+
+    @EmbeddedId
+    private Key id;
+
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "run_date", nullable = false)
+        private LocalDate runDate;
+
+        @Column(name = "plan_id", nullable = false)
+        private UUID planId;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -25,7 +26,12 @@ import java.util.UUID;
  * produit.
  */
 @Entity
-@Table(name = "product_images", schema = "kredika_app")
+@Table(
+        name = "product_images", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_product_image_product", columnList = "product_id, is_primary, position")
+        }
+)
 @NoArgsConstructor
 @Getter
 @Setter
@@ -69,6 +75,38 @@ public class ProductImageModel extends BaseModel {
     @Column(name = "is_primary")
     private Boolean isPrimary = false;
 
+    /**
+     * Empreinte SHA-256 du fichier original pour les images téléversées (stockage adressé par le contenu)
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * Chemin relatif du fichier original dans le stockage d'images
+     */
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    /**
+     * Dimensions et taille de l'original
+     */
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "byte_size")
+    private Long byteSize;
+
+    /**
+     * État de la génération des variantes redimensionnées : PENDING, READY, FAILED.
+     * Null pour les images référencées par URL externe, qui n'ont pas de variantes.
+     */
+    @Size(max = 20)
+    @Column(name = "processing_status", length = 20)
+    private String processingStatus;
+
     /**
      * Référence vers le produit associé Relation Many-to-One vers ProductModel Ne fait pas partie de la sérialisation
      * JSON
@@ -0,0 +1,64 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Variante redimensionnée d'une image produit, générée en arrière-plan après le téléversement.
+ * Les lignes sont écrites en lot par JdbcProductImageVariantRepository et remplacées d'un bloc à chaque traitement.
+ */
+@Entity
+@Table(
+        name = "product_image_variants", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_product_image_variant_image", columnList = "image_id, width")
+        }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductImageVariantModel {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    /**
+     * Image d'origine (ProductImageModel)
+     */
+    @Column(name = "image_id", nullable = false)
+    private UUID imageId;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    /**
+     * Format d'encodage : jpeg ou png (images avec transparence)
+     */
+    @Column(name = "format", nullable = false, length = 10)
+    private String format;
+
+    @Column(name = "byte_size", nullable = false)
+    private Long byteSize;
+
+    @Column(name = "url", nullable = false, length = 512)
+    private String url;
+
+    @Column(name = "storage_key", nullable = false)
+    private String storageKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
@@ -22,6 +23,8 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import sn.kredika_app.domain.dto.persistence.DimensionsPersistenceDto;
 import sn.kredika_app.domain.dto.persistence.ProductDataPersistenceDto;
+import sn.kredika_app.domain.listener.ProductChangeListener;
+import sn.kredika_app.domain.snapshot.ProductCategoryContribution;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -43,9 +46,12 @@ import java.util.stream.Collectors;
                 @Index(name = "idx_product_sku", columnList = "sku"),
                 @Index(name = "idx_product_slug", columnList = "slug"),
                 @Index(name = "idx_product_active", columnList = "is_active"),
-                @Index(name = "idx_product_featured", columnList = "is_featured")
+                @Index(name = "idx_product_featured", columnList = "is_featured"),
+                @Index(name = "idx_product_catalog_newest", columnList = "category_id, is_active, created_at DESC, id DESC"),
+                @Index(name = "idx_product_catalog_price", columnList = "category_id, is_active, price, id")
         }
 )
+@EntityListeners(ProductChangeListener.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class ProductModel extends BaseModel {
@@ -108,9 +114,11 @@ public class ProductModel extends BaseModel {
     /**
      * Quantité en stock.
      * Par défaut à 0, ne peut être négative.
+     * Renseignée à la création uniquement : les mouvements de stock passent par StockReservationService (mises à
+     * jour conditionnelles en SQL), afin qu'une entité chargée avant une réservation ne réécrive pas un stock périmé.
      */
     @Min(value = 0, message = "Le stock ne peut être négatif")
-    @Column(name = "stock")
+    @Column(name = "stock", updatable = false)
     private Integer stock = 0;
 
     /**
@@ -345,6 +353,18 @@ public class ProductModel extends BaseModel {
     @JsonIgnore
     private List<WishlistModel> wishlists = new ArrayList<>();
 
+    /**
+     * Contribution du produit aux compteurs de catégorie telle que connue en base (au chargement ou à la dernière
+     * écriture). Non persistée : sert à ProductChangeListener pour calculer les deltas.
+     */
+    private transient ProductCategoryContribution loadedContribution;
+
+    /**
+     * Prix connu en base (au chargement ou à la dernière écriture). Non persisté : sert à ProductChangeListener pour
+     * détecter un changement de prix et déclencher le recalcul des paniers.
+     */
+    private transient BigDecimal loadedPrice;
+
     /**
      * Vérifie si le produit est en stock.
      *
@@ -386,6 +406,8 @@ public class ProductModel extends BaseModel {
 
     /**
      * Récupère l'URL de l'image principale du produit.
+     * Initialise la collection images : pour une liste de produits, lire plutôt les projections de
+     * ProductRepository, qui joignent l'image principale dans la même requête.
      *
      * @return l'URL de l'image principale ou null si aucune image n'est définie comme principale
      */
@@ -414,7 +436,10 @@ public class ProductModel extends BaseModel {
      *
      * @param newRating nouvelle note à intégrer dans le calcul
      * @param isNew     true si c'est un nouvel avis, false si c'est une mise à jour
+     * @deprecated la note est maintenue par l'agrégat product_rating_stats (ProductReviewChangeListener) et recopiée
+     * périodiquement sur le produit ; cette méthode dérive lors des modifications d'avis et verrouille la ligne produit
      */
+    @Deprecated
     public void updateRating (BigDecimal newRating, boolean isNew) {
         if (newRating == null) return;
 
@@ -444,6 +469,8 @@ public class ProductModel extends BaseModel {
 
     /**
      * Incrémente le compteur de vues du produit.
+     * Réservé aux traitements portant déjà sur l'entité : le suivi des consultations passe par
+     * ProductCounterService, qui n'incrémente pas la version de l'entité.
      */
     public void incrementViewCount () {
         this.viewCount = (this.viewCount == null) ? 1 : this.viewCount + 1;
@@ -451,6 +478,7 @@ public class ProductModel extends BaseModel {
 
     /**
      * Incrémente le compteur d'achats du produit.
+     * Réservé aux traitements portant déjà sur l'entité : le suivi des achats passe par ProductCounterService.
      *
      * @param quantity quantité achetée à ajouter
      */
@@ -555,7 +583,24 @@ public class ProductModel extends BaseModel {
         return stock;
     }
 
+    /**
+     * Fixe le stock initial d'un produit pas encore enregistré. Ensuite, le stock ne se modifie que par
+     * StockReservationService.
+     *
+     * @throws IllegalStateException si le produit existe déjà en base
+     */
     public void setStock (@Min(value = 0, message = "Le stock ne peut être négatif") Integer stock) {
+        if (getId() != null) {
+            throw new IllegalStateException("Le stock d'un produit existant passe par StockReservationService");
+        }
+        this.stock = stock;
+    }
+
+    /**
+     * Recopie le stock lu en base, sans rien écrire (la colonne n'est pas modifiable par l'entité). Utilisé par
+     * ProductChangeListener pour que l'entité reflète les mouvements appliqués en SQL depuis son chargement.
+     */
+    public void refreshStock (Integer stock) {
         this.stock = stock;
     }
 
@@ -807,6 +852,22 @@ public class ProductModel extends BaseModel {
         this.wishlists = wishlists;
     }
 
+    public ProductCategoryContribution getLoadedContribution () {
+        return loadedContribution;
+    }
+
+    public void setLoadedContribution (ProductCategoryContribution loadedContribution) {
+        this.loadedContribution = loadedContribution;
+    }
+
+    public BigDecimal getLoadedPrice () {
+        return loadedPrice;
+    }
+
+    public void setLoadedPrice (BigDecimal loadedPrice) {
+        this.loadedPrice = loadedPrice;
+    }
+
     @Override
     public void prePersist () {
         super.prePersist();
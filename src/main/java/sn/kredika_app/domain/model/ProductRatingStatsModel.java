@@ -0,0 +1,72 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+
+/**
+ * Agrégat des notes approuvées d'un produit : somme, nombre et histogramme par nombre d'étoiles.
+ * Mis à jour exclusivement par incréments SQL (JdbcProductRatingStatsRepository) dans la transaction qui approuve,
+ * modifie ou supprime un avis : la ligne produit n'est pas verrouillée et la moyenne ne dérive pas.
+ */
+@Entity
+@Table(name = "product_rating_stats", schema = "kredika_app")
+@NoArgsConstructor
+@Getter
+@Setter
+public class ProductRatingStatsModel {
+
+    /**
+     * Identifiant du produit (une ligne par produit)
+     */
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    /**
+     * Somme des notes approuvées
+     */
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    /**
+     * Nombre d'avis approuvés
+     */
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(name = "star1_count", nullable = false)
+    private Long star1Count = 0L;
+
+    @Column(name = "star2_count", nullable = false)
+    private Long star2Count = 0L;
+
+    @Column(name = "star3_count", nullable = false)
+    private Long star3Count = 0L;
+
+    @Column(name = "star4_count", nullable = false)
+    private Long star4Count = 0L;
+
+    @Column(name = "star5_count", nullable = false)
+    private Long star5Count = 0L;
+
+    /**
+     * Calcule la note moyenne à partir de la somme et du nombre d'avis
+     *
+     * @return la moyenne arrondie à 2 décimales, ou null sans avis
+     */
+    public BigDecimal getAverageRating () {
+        if (ratingCount == null || ratingCount == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(ratingSum).divide(BigDecimal.valueOf(ratingCount), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -4,6 +4,7 @@ package sn.kredika_app.domain.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -14,6 +15,8 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import sn.kredika_app.domain.listener.ProductReviewChangeListener;
+import sn.kredika_app.domain.snapshot.ReviewRatingContribution;
 
 import java.util.UUID;
 
@@ -22,6 +25,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "product_reviews", schema = "kredika_app")
+@EntityListeners(ProductReviewChangeListener.class)
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class ProductReviewModel extends BaseModel {
@@ -111,6 +115,12 @@ public class ProductReviewModel extends BaseModel {
     @JsonIgnore
     private OrderModel order;
 
+    /**
+     * Contribution de l'avis à l'agrégat de notes telle que connue au chargement (non persistée). Sert à calculer le
+     * delta appliqué à product_rating_stats lors de l'écriture.
+     */
+    private transient ReviewRatingContribution loadedContribution;
+
     // Méthodes utilitaires
 
     /**
@@ -259,4 +269,12 @@ public class ProductReviewModel extends BaseModel {
     public void setOrder (OrderModel order) {
         this.order = order;
     }
+
+    public ReviewRatingContribution getLoadedContribution () {
+        return loadedContribution;
+    }
+
+    public void setLoadedContribution (ReviewRatingContribution loadedContribution) {
+        this.loadedContribution = loadedContribution;
+    }
 }
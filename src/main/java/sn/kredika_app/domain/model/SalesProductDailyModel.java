@@ -0,0 +1,85 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Agrégat des ventes d'un produit sur une journée (date de création des commandes livrées).
+ * Alimenté incrémentalement depuis l'outbox à chaque livraison, recalculable par plage de dates ; lu et écrit
+ * exclusivement en SQL (JdbcSalesRollupRepository).
+ */
+@Entity
+@Table(
+        name = "sales_product_daily", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_sales_product_daily_category", columnList = "category_id, sales_date")
+        }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class SalesProductDailyModel {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Column(name = "units", nullable = false)
+    private Long units;
+
+    @Column(name = "revenue", precision = 14, scale = 2, nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "credit_units", nullable = false)
+    private Long creditUnits;
+
+    @Column(name = "credit_revenue", precision = 14, scale = 2, nullable = false)
+    private BigDecimal creditRevenue;
+
+    @Column(name = "cash_units", nullable = false)
+    private Long cashUnits;
+
+    @Column(name = "cash_revenue", precision = 14, scale = 2, nullable = false)
+    private BigDecimal cashRevenue;
+
+    /**
+     * Commissions des plans de paiement adossés aux lignes vendues à crédit
+     */
+    @Column(name = "commission_amount", precision = 14, scale = 2, nullable = false)
+    private BigDecimal commissionAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "sales_date", nullable = false)
+        private LocalDate salesDate;
+
+        @Column(name = "product_id", nullable = false)
+        private UUID productId;
+    }
+}
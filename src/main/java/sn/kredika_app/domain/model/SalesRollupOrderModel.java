@@ -0,0 +1,52 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Commande comptée dans les agrégats de ventes.
+ * Une commande n'est ajoutée (ou retirée) qu'en insérant (ou supprimant) sa ligne : rejouer un événement ou le
+ * traiter après un recalcul de la journée est sans effet.
+ */
+@Entity
+@Table(
+        name = "sales_rollup_orders", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_sales_rollup_order_date", columnList = "sales_date")
+        }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class SalesRollupOrderModel {
+
+    @Id
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+
+    /**
+     * Contribution appliquée aux agrégats, par produit : [{product_id, category_id, units, revenue, credit_units,
+     * credit_revenue, commission}]. Le retrait de la commande retranche exactement ces montants.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "contribution", columnDefinition = "jsonb")
+    private String contribution;
+}
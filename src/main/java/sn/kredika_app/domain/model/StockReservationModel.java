@@ -0,0 +1,66 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ligne du registre des réservations de stock : quantité retirée de products.stock pour un panier, jusqu'à
+ * l'expiration du panier (HELD), puis consommée par la commande (CONSUMED) ou rendue au stock (RELEASED).
+ * Écrite exclusivement par JdbcStockReservationRepository ; les index partiels sur les réservations HELD sont
+ * déclarés dans db/schema-extensions.sql.
+ */
+@Entity
+@Table(
+        name = "stock_reservations", schema = "kredika_app",
+        indexes = {
+                @Index(name = "idx_stock_reservation_cart", columnList = "cart_id")
+        }
+)
+@NoArgsConstructor
+@Getter
+@Setter
+public class StockReservationModel {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "cart_id", nullable = false)
+    private UUID cartId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    /**
+     * Quantité retenue
+     */
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    /**
+     * HELD, CONSUMED ou RELEASED
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /**
+     * Fin de la réservation, alignée sur CartModel.expiresAt
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,33 @@
+package sn.kredika_app.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import sn.kredika_app.domain.dto.response.ProductImageVariantResponseDto;
+import sn.kredika_app.domain.model.ProductImageModel;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductImageRepository extends JpaRepository<ProductImageModel, UUID> {
+
+    /**
+     * Retire le statut d'image principale aux autres images du produit
+     */
+    @Modifying
+    @Query("""
+            update ProductImageModel i set i.isPrimary = false
+             where i.productId = :productId and i.isPrimary = true and i.id <> :keepId
+            """)
+    int clearOtherPrimary (@Param("productId") UUID productId, @Param("keepId") UUID keepId);
+
+    @Query("""
+            select new sn.kredika_app.domain.dto.response.ProductImageVariantResponseDto(
+                   v.imageId, v.width, v.height, v.format, v.byteSize, v.url)
+              from ProductImageVariantModel v, ProductImageModel i
+             where v.imageId = i.id and i.productId = :productId and i.isDeleted = false
+             order by v.imageId, v.width
+            """)
+    List<ProductImageVariantResponseDto> findVariantsByProductId (@Param("productId") UUID productId);
+}
@@ -0,0 +1,59 @@
+package sn.kredika_app.domain.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.dto.response.ProductImageResponseDto;
+import sn.kredika_app.domain.dto.response.ProductResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+import sn.kredika_app.domain.model.ProductModel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Accès aux produits.
+ * Les méthodes de lecture renvoient directement des DTO par projection JPQL : une seule instruction SQL par appel,
+ * l'image principale et la catégorie étant jointes dans la requête au lieu d'être chargées paresseusement.
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<ProductModel, UUID> {
+
+    /**
+     * Image principale du produit {@code p} : la première par position parmi les images principales non supprimées
+     */
+    String MAIN_IMAGE_URL = "(select i.imageUrl from ProductImageModel i"
+            + " where i.productId = p.id and i.isPrimary = true and i.isDeleted = false"
+            + " order by i.position limit 1)";
+
+    String RESPONSE_PROJECTION = "select new sn.kredika_app.domain.dto.response.ProductResponseDto("
+            + "p.id, p.name, p.description, p.price, p.comparePrice, p.sku, p.stock, "
+            + MAIN_IMAGE_URL + ", "
+            + "p.rating, p.reviewCount, p.creditEligible, c.id, c.name, c.slug, c.imageUrl)"
+            + " from ProductModel p left join p.category c";
+
+    String SIMPLE_PROJECTION = "select new sn.kredika_app.domain.dto.simple.ProductSimpleDto("
+            + "p.id, p.name, p.price, " + MAIN_IMAGE_URL + ")"
+            + " from ProductModel p";
+
+    @Query(RESPONSE_PROJECTION + " where p.id = :id and p.isDeleted = false")
+    Optional<ProductResponseDto> findResponseById (@Param("id") UUID id);
+
+    @Query(RESPONSE_PROJECTION + " where p.id in :ids and p.isDeleted = false")
+    List<ProductResponseDto> findResponsesByIds (@Param("ids") Collection<UUID> ids);
+
+    @Query(SIMPLE_PROJECTION + " where p.id in :ids and p.isDeleted = false")
+    List<ProductSimpleDto> findSimpleByIds (@Param("ids") Collection<UUID> ids);
+
+    @Query("""
+            select new sn.kredika_app.domain.dto.response.ProductImageResponseDto(
+                   i.id, i.imageUrl, i.altText, i.position, i.isPrimary, i.width, i.height, i.processingStatus)
+              from ProductImageModel i
+             where i.productId = :productId and i.isDeleted = false
+             order by i.position
+            """)
+    List<ProductImageResponseDto> findImagesByProductId (@Param("productId") UUID productId);
+}
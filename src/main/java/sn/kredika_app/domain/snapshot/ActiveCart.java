@@ -0,0 +1,93 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Panier actif d'un utilisateur, tenu en mémoire et persisté en différé.
+ * Immuable : chaque modification produit une nouvelle instance de révision supérieure, ce qui permet de la publier
+ * telle quelle dans un cache partagé et de rejeter en base toute écriture d'une révision plus ancienne.
+ *
+ * @param revision numéro de révision, incrémenté à chaque modification (persisté dans carts.version)
+ */
+public record ActiveCart(UUID cartId, UUID userId, String statusCode, LocalDateTime expiresAt,
+                         List<ActiveCartLine> lines, long revision) {
+
+    public static final String STATUS_ACTIVE = "ACTIVE";
+
+    public ActiveCart {
+        lines = List.copyOf(lines);
+    }
+
+    public static ActiveCart empty (UUID cartId, UUID userId, LocalDateTime expiresAt) {
+        return new ActiveCart(cartId, userId, STATUS_ACTIVE, expiresAt, List.of(), 0);
+    }
+
+    /**
+     * @return la ligne du produit, ou null s'il n'est pas dans le panier
+     */
+    public ActiveCartLine line (UUID productId) {
+        for (ActiveCartLine line : lines) {
+            if (line.productId().equals(productId)) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return un nouveau panier où la ligne remplace celle du même produit, ou est ajoutée en fin de panier
+     */
+    public ActiveCart withLine (ActiveCartLine line, LocalDateTime newExpiresAt) {
+        List<ActiveCartLine> updated = new ArrayList<>(lines.size() + 1);
+        boolean replaced = false;
+        for (ActiveCartLine existing : lines) {
+            if (existing.productId().equals(line.productId())) {
+                updated.add(line);
+                replaced = true;
+            } else {
+                updated.add(existing);
+            }
+        }
+        if (!replaced) {
+            updated.add(line);
+        }
+        return new ActiveCart(cartId, userId, statusCode, newExpiresAt, updated, revision + 1);
+    }
+
+    public ActiveCart withoutLine (UUID productId, LocalDateTime newExpiresAt) {
+        List<ActiveCartLine> updated = lines.stream()
+                .filter(existing -> !existing.productId().equals(productId))
+                .toList();
+        return new ActiveCart(cartId, userId, statusCode, newExpiresAt, updated, revision + 1);
+    }
+
+    /**
+     * @return un nouveau panier aux lignes recalculées, sans prolonger son expiration
+     */
+    public ActiveCart withLines (List<ActiveCartLine> updatedLines) {
+        return new ActiveCart(cartId, userId, statusCode, expiresAt, updatedLines, revision + 1);
+    }
+
+    public ActiveCart cleared (LocalDateTime newExpiresAt) {
+        return new ActiveCart(cartId, userId, statusCode, newExpiresAt, List.of(), revision + 1);
+    }
+
+    /**
+     * @return la somme des totaux de ligne
+     */
+    public BigDecimal totalAmount () {
+        BigDecimal total = BigDecimal.ZERO;
+        for (ActiveCartLine line : lines) {
+            total = total.add(line.totalAmount());
+        }
+        return total;
+    }
+
+    public boolean isExpired (LocalDateTime now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+}
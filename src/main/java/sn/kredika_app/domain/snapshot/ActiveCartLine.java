@@ -0,0 +1,17 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Ligne d'un panier actif tenu en mémoire, miroir d'une ligne de cart_items.
+ *
+ * @param itemId         identifiant de la ligne cart_items (attribué à la création, stable)
+ * @param productName    nom du produit au moment de l'ajout (affichage)
+ * @param commissionRate taux de commission de la durée choisie, null pour un paiement comptant
+ */
+public record ActiveCartLine(UUID itemId, UUID productId, String productName, String mainImageUrl, int quantity,
+                             String paymentMethodCode, Integer creditDuration, String creditFrequencyCode,
+                             BigDecimal unitPrice, BigDecimal commissionRate, BigDecimal totalAmount,
+                             BigDecimal installmentAmount) {
+}
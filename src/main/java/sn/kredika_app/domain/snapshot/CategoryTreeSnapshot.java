@@ -0,0 +1,171 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Photographie immuable de l'arbre des catégories.
+ * Chemins d'ancêtres, profondeurs et ensembles de descendants sont précalculés à la construction : les lectures ne
+ * parcourent jamais le graphe parent/enfants de CategoryModel et ne déclenchent aucun chargement paresseux.
+ */
+public final class CategoryTreeSnapshot {
+
+    private static final CategoryTreeSnapshot EMPTY = new CategoryTreeSnapshot(Map.of(), List.of());
+
+    private final Map<UUID, Node> nodes;
+    private final List<Node> roots;
+
+    private CategoryTreeSnapshot (Map<UUID, Node> nodes, List<Node> roots) {
+        this.nodes = nodes;
+        this.roots = roots;
+    }
+
+    /**
+     * Ligne minimale de la table categories nécessaire à la construction de l'arbre
+     */
+    public record CategoryRow(UUID id, UUID parentId, String name, String slug, String imageUrl, int position,
+                              boolean active) {
+    }
+
+    /**
+     * Nœud de l'arbre, avec ses données dérivées
+     *
+     * @param ancestorIds   ancêtres de la racine jusqu'au parent direct
+     * @param childIds      enfants directs, triés par position puis nom
+     * @param subtreeIds    le nœud lui-même suivi de tous ses descendants
+     * @param visible       actif, ainsi que tous ses ancêtres
+     */
+    public record Node(UUID id, UUID parentId, String name, String slug, String imageUrl, int position,
+                       boolean active, boolean visible, int depth, List<UUID> ancestorIds, List<UUID> childIds,
+                       UUID[] subtreeIds) {
+    }
+
+    public static CategoryTreeSnapshot empty () {
+        return EMPTY;
+    }
+
+    /**
+     * Construit l'arbre à partir des lignes de la table categories.
+     * Les catégories dont le parent est absent (supprimé) sont rattachées à la racine ; les catégories prises dans
+     * une boucle parent/enfant sans racine sont ignorées.
+     *
+     * @param rows toutes les catégories non supprimées
+     * @return la photographie de l'arbre
+     */
+    public static CategoryTreeSnapshot build (List<CategoryRow> rows) {
+        Map<UUID, CategoryRow> byId = new HashMap<>();
+        Map<UUID, List<CategoryRow>> childrenByParent = new HashMap<>();
+        for (CategoryRow row : rows) {
+            byId.put(row.id(), row);
+        }
+        List<CategoryRow> rootRows = new ArrayList<>();
+        for (CategoryRow row : rows) {
+            if (row.parentId() == null || !byId.containsKey(row.parentId())) {
+                rootRows.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.parentId(), k -> new ArrayList<>()).add(row);
+            }
+        }
+        Comparator<CategoryRow> order = Comparator.comparingInt(CategoryRow::position)
+                .thenComparing(CategoryRow::name, Comparator.nullsLast(String::compareTo));
+        rootRows.sort(order);
+        childrenByParent.values().forEach(list -> list.sort(order));
+
+        Map<UUID, Node> nodes = new HashMap<>();
+        Set<UUID> visited = new HashSet<>();
+        List<Node> roots = new ArrayList<>();
+        for (CategoryRow root : rootRows) {
+            roots.add(buildNode(root, null, List.of(), true, childrenByParent, nodes, visited));
+        }
+        return new CategoryTreeSnapshot(Collections.unmodifiableMap(nodes), List.copyOf(roots));
+    }
+
+    private static Node buildNode (CategoryRow row, UUID parentId, List<UUID> ancestors, boolean parentVisible,
+                                   Map<UUID, List<CategoryRow>> childrenByParent, Map<UUID, Node> nodes,
+                                   Set<UUID> visited) {
+        visited.add(row.id());
+        boolean visible = parentVisible && row.active();
+        List<UUID> childAncestors = new ArrayList<>(ancestors.size() + 1);
+        childAncestors.addAll(ancestors);
+        childAncestors.add(row.id());
+        List<UUID> pathToHere = List.copyOf(childAncestors);
+
+        List<UUID> childIds = new ArrayList<>();
+        List<UUID> subtree = new ArrayList<>();
+        subtree.add(row.id());
+        for (CategoryRow child : childrenByParent.getOrDefault(row.id(), List.of())) {
+            if (visited.contains(child.id())) {
+                continue;
+            }
+            Node childNode = buildNode(child, row.id(), pathToHere, visible, childrenByParent, nodes, visited);
+            childIds.add(childNode.id());
+            Collections.addAll(subtree, childNode.subtreeIds());
+        }
+
+        Node node = new Node(row.id(), parentId, row.name(), row.slug(), row.imageUrl(), row.position(),
+                row.active(), visible, ancestors.size(), ancestors, List.copyOf(childIds),
+                subtree.toArray(UUID[]::new));
+        nodes.put(node.id(), node);
+        return node;
+    }
+
+    /**
+     * @return le nœud de la catégorie, ou null si elle est inconnue
+     */
+    public Node node (UUID categoryId) {
+        return nodes.get(categoryId);
+    }
+
+    /**
+     * @return les catégories racines, triées
+     */
+    public List<Node> roots () {
+        return roots;
+    }
+
+    /**
+     * @return les enfants directs de la catégorie, triés
+     */
+    public List<Node> children (UUID categoryId) {
+        Node node = nodes.get(categoryId);
+        if (node == null) {
+            return List.of();
+        }
+        return node.childIds().stream().map(nodes::get).toList();
+    }
+
+    /**
+     * Identifiants de la catégorie et de toutes ses descendantes, prêts pour un {@code category_id = ANY(?)}
+     *
+     * @return une copie du tableau, ou un tableau ne contenant que l'identifiant demandé s'il est inconnu
+     */
+    public UUID[] subtreeIds (UUID categoryId) {
+        Node node = nodes.get(categoryId);
+        return node != null ? node.subtreeIds().clone() : new UUID[]{categoryId};
+    }
+
+    /**
+     * @return le fil d'Ariane de la racine jusqu'à la catégorie incluse
+     */
+    public List<Node> path (UUID categoryId) {
+        Node node = nodes.get(categoryId);
+        if (node == null) {
+            return List.of();
+        }
+        List<Node> path = new ArrayList<>(node.ancestorIds().size() + 1);
+        node.ancestorIds().forEach(id -> path.add(nodes.get(id)));
+        path.add(node);
+        return path;
+    }
+
+    public int size () {
+        return nodes.size();
+    }
+}
@@ -0,0 +1,48 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Commande complète construite en mémoire à partir d'un panier, avant toute écriture : lignes, plans de crédit et
+ * échéanciers, identifiants et numéros déjà attribués. Elle est écrite telle quelle par lots JDBC.
+ *
+ * @param creditAmount montant total financé à crédit, débité du crédit disponible du client
+ */
+public record CheckoutDraft(UUID orderId, String orderNumber, UUID userId, UUID cartId, UUID deliveryAddressId,
+                            String notes, BigDecimal totalAmount, BigDecimal creditAmount, List<Item> items,
+                            List<Plan> plans) {
+
+    public CheckoutDraft {
+        items = List.copyOf(items);
+        plans = List.copyOf(plans);
+    }
+
+    /**
+     * Ligne de commande
+     */
+    public record Item(UUID id, UUID productId, String productName, String mainImageUrl, int quantity,
+                       BigDecimal unitPrice, BigDecimal totalPrice, String paymentMethodCode) {
+    }
+
+    /**
+     * Plan de paiement d'une ligne à crédit
+     */
+    public record Plan(UUID id, String planNumber, UUID productId, BigDecimal principalAmount,
+                       BigDecimal commissionRate, BigDecimal commissionAmount, BigDecimal totalAmount,
+                       BigDecimal installmentAmount, int durationMonths, String frequencyCode, int totalInstallments,
+                       LocalDate startDate, LocalDate endDate, List<Schedule> schedules) {
+
+        public Plan {
+            schedules = List.copyOf(schedules);
+        }
+    }
+
+    /**
+     * Échéance d'un plan
+     */
+    public record Schedule(UUID id, int installmentNumber, LocalDate dueDate, BigDecimal amount) {
+    }
+}
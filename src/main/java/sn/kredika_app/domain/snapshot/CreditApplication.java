@@ -0,0 +1,14 @@
+package sn.kredika_app.domain.snapshot;
+
+import sn.kredika_app.common.enums.PaymentFrequency;
+
+import java.util.UUID;
+
+/**
+ * Demande de financement soumise au moteur de décision : une ligne de panier à crédit ou une simulation.
+ *
+ * @param productId produit financé, null pour une simulation
+ * @param principal montant financé (hors commission), en centimes
+ */
+public record CreditApplication(UUID productId, long principal, int durationMonths, PaymentFrequency frequency) {
+}
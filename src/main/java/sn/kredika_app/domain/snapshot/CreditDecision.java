@@ -0,0 +1,24 @@
+package sn.kredika_app.domain.snapshot;
+
+import sn.kredika_app.common.enums.CreditDecisionOutcome;
+
+import java.util.List;
+
+/**
+ * Décision du moteur pour une demande de financement. Montants en centimes.
+ *
+ * @param approvedPrincipal montant financé accordé (0 en cas de refus)
+ * @param approvedTotal     total à rembourser correspondant, commission comprise
+ * @param reasons           motifs du plafonnement ou du refus, vide pour un accord sans réserve
+ */
+public record CreditDecision(CreditApplication application, CreditDecisionOutcome outcome, long approvedPrincipal,
+                             long approvedTotal, List<String> reasons) {
+
+    public CreditDecision {
+        reasons = List.copyOf(reasons);
+    }
+
+    public boolean approved () {
+        return outcome == CreditDecisionOutcome.APPROVE;
+    }
+}
@@ -0,0 +1,34 @@
+package sn.kredika_app.domain.snapshot;
+
+import sn.kredika_app.domain.model.CreditSettingsModel;
+
+import java.math.BigDecimal;
+
+/**
+ * Taux de commission qu'un paramétrage de crédit applique à une tranche de montant d'une durée, à un instant donné.
+ *
+ * @param durationMonths durée du crédit en mois
+ * @param commissionRate taux de commission, sans zéros non significatifs
+ * @param minAmount      montant minimal de la tranche, sans zéros non significatifs (null si non borné)
+ * @param maxAmount      montant maximal de la tranche, sans zéros non significatifs (null si non borné)
+ */
+public record CreditRateContribution(int durationMonths, BigDecimal commissionRate, BigDecimal minAmount,
+                                     BigDecimal maxAmount) {
+
+    /**
+     * @return la contribution du paramétrage, ou null s'il ne s'applique pas (inactif, supprimé, incomplet)
+     */
+    public static CreditRateContribution of (CreditSettingsModel settings) {
+        if (settings.getDurationMonths() == null || settings.getCommissionRate() == null
+                || !Boolean.TRUE.equals(settings.getActive()) || Boolean.TRUE.equals(settings.getDeleted())) {
+            return null;
+        }
+        return new CreditRateContribution(settings.getDurationMonths(),
+                settings.getCommissionRate().stripTrailingZeros(), stripped(settings.getMinAmount()),
+                stripped(settings.getMaxAmount()));
+    }
+
+    private static BigDecimal stripped (BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros();
+    }
+}
@@ -0,0 +1,117 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Paramétrages de crédit actifs, figés et indexés par durée puis par tranche de montant.
+ * Immuable : une nouvelle instance est construite à chaque rechargement et publiée d'un bloc, si bien qu'un lecteur
+ * voit toujours un ensemble cohérent sans verrou. La recherche d'une durée est un accès direct à un tableau, celle
+ * d'une tranche une recherche dichotomique sur les montants minimaux.
+ */
+public final class CreditSettingsSnapshot {
+
+    private static final Comparator<CreditTerm> BAND_ORDER = Comparator.comparingLong(CreditTerm::minAmount)
+            .thenComparingLong(CreditTerm::maxAmount)
+            .thenComparingLong(CreditTerm::commissionRateBps);
+    private static final CreditTerm[] NONE = new CreditTerm[0];
+
+    private final CreditTerm[][] termsByDuration;
+    private final String fingerprint;
+
+    private CreditSettingsSnapshot (CreditTerm[][] termsByDuration, String fingerprint) {
+        this.termsByDuration = termsByDuration;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @param fingerprint empreinte de credit_settings au chargement, pour détecter un changement fait par un autre
+     *                    nœud
+     */
+    public static CreditSettingsSnapshot of (Collection<CreditTerm> terms, String fingerprint) {
+        int maxDuration = terms.stream().mapToInt(CreditTerm::durationMonths).max().orElse(0);
+        List<List<CreditTerm>> grouped = new ArrayList<>(maxDuration + 1);
+        for (int duration = 0; duration <= maxDuration; duration++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (CreditTerm term : terms) {
+            if (term.durationMonths() > 0) {
+                grouped.get(term.durationMonths()).add(term);
+            }
+        }
+        CreditTerm[][] index = new CreditTerm[maxDuration + 1][];
+        for (int duration = 0; duration <= maxDuration; duration++) {
+            index[duration] = grouped.get(duration).stream().sorted(BAND_ORDER).toArray(CreditTerm[]::new);
+        }
+        return new CreditSettingsSnapshot(index, fingerprint);
+    }
+
+    public String fingerprint () {
+        return fingerprint;
+    }
+
+    /**
+     * @param amount montant financé, en centimes
+     * @return la tranche de la durée qui contient le montant (celle de minimum le plus bas si plusieurs se
+     * chevauchent), ou null
+     */
+    public CreditTerm find (int durationMonths, long amount) {
+        CreditTerm[] bands = bands(durationMonths);
+        int last = lastBandStartingAtOrBelow(bands, amount);
+        for (int i = 0; i <= last; i++) {
+            if (bands[i].accepts(amount)) {
+                return bands[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tranche appliquée à un devis : celle qui contient le montant, sinon la plus proche (écart au minimum ou au
+     * maximum le plus faible, puis montant minimal le plus bas). Même règle que le recalcul SQL des paniers
+     * (JdbcCartRepricingRepository).
+     *
+     * @return la tranche, ou null si la durée n'est pas proposée
+     */
+    public CreditTerm quote (int durationMonths, long amount) {
+        CreditTerm exact = find(durationMonths, amount);
+        if (exact != null) {
+            return exact;
+        }
+        CreditTerm nearest = null;
+        long nearestDistance = Long.MAX_VALUE;
+        for (CreditTerm band : bands(durationMonths)) {
+            long distance = Math.max(Math.max(band.minAmount() - amount, amount - band.maxAmount()), 0);
+            if (distance < nearestDistance) {
+                nearest = band;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    private CreditTerm[] bands (int durationMonths) {
+        return durationMonths > 0 && durationMonths < termsByDuration.length ? termsByDuration[durationMonths] : NONE;
+    }
+
+    /**
+     * @return l'index de la dernière tranche dont le minimum est inférieur ou égal au montant, -1 si aucune
+     */
+    private static int lastBandStartingAtOrBelow (CreditTerm[] bands, long amount) {
+        int low = 0;
+        int high = bands.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (bands[middle].minAmount() <= amount) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+}
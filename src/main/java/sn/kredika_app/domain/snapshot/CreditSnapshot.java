@@ -0,0 +1,21 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.util.UUID;
+
+/**
+ * Situation de crédit d'un client, chargée en une requête pour le moteur de décision. Montants en centimes.
+ *
+ * @param hasProfile        le client a un profil de crédit
+ * @param creditScore       score de crédit, -1 s'il est inconnu
+ * @param monthlyIncome     revenu mensuel déclaré, -1 s'il est inconnu
+ * @param monthlyCommitment équivalent mensuel des échéances des plans actifs
+ */
+public record CreditSnapshot(UUID userId, boolean hasProfile, int creditScore, long creditLimit, long availableCredit,
+                             long totalDebt, int defaultCount, long monthlyIncome, long monthlyCommitment) {
+
+    public static final int UNKNOWN = -1;
+
+    public static CreditSnapshot withoutProfile (UUID userId) {
+        return new CreditSnapshot(userId, false, UNKNOWN, 0, 0, 0, 0, UNKNOWN, 0);
+    }
+}
@@ -0,0 +1,48 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.math.BigDecimal;
+
+/**
+ * Paramétrage de crédit actif : tranche de montant d'une durée et son taux. Montants en centimes.
+ *
+ * @param commissionRateBps taux de commission en dix-millièmes (0.1500 = 1500)
+ * @param minAmount         montant minimal financé, 0 si non borné
+ * @param maxAmount         montant maximal financé, Long.MAX_VALUE si non borné
+ */
+public record CreditTerm(int durationMonths, long commissionRateBps, long minAmount, long maxAmount) {
+
+    public static final long RATE_SCALE = 10_000;
+    private static final int RATE_DIGITS = 4;
+
+    /**
+     * @return le taux de commission, à l'échelle de credit_settings.commission_rate
+     */
+    public BigDecimal commissionRate () {
+        return BigDecimal.valueOf(commissionRateBps, RATE_DIGITS);
+    }
+
+    public boolean accepts (long amount) {
+        return amount >= minAmount && amount <= maxAmount;
+    }
+
+    /**
+     * @return le total à rembourser pour un montant financé, arrondi au centime le plus proche
+     */
+    public long totalFor (long principal) {
+        return (principal * (RATE_SCALE + commissionRateBps) + RATE_SCALE / 2) / RATE_SCALE;
+    }
+
+    /**
+     * @return le plus grand montant financé dont le total à rembourser ne dépasse pas le plafond donné
+     */
+    public long principalWithin (long totalCap) {
+        if (totalCap <= 0) {
+            return 0;
+        }
+        long principal = totalCap * RATE_SCALE / (RATE_SCALE + commissionRateBps);
+        while (principal > 0 && totalFor(principal) > totalCap) {
+            principal--;
+        }
+        return principal;
+    }
+}
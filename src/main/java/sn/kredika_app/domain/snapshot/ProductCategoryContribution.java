@@ -0,0 +1,48 @@
+package sn.kredika_app.domain.snapshot;
+
+import sn.kredika_app.domain.model.ProductModel;
+
+import java.util.UUID;
+
+/**
+ * Contribution d'un produit aux compteurs de sa catégorie, à un instant donné.
+ *
+ * @param categoryId     catégorie du produit
+ * @param active         compté dans active_count
+ * @param inStock        compté dans in_stock_count
+ * @param creditEligible compté dans credit_eligible_count
+ */
+public record ProductCategoryContribution(UUID categoryId, boolean active, boolean inStock, boolean creditEligible) {
+
+    /**
+     * @return la contribution du produit, ou null s'il ne compte dans aucune catégorie (supprimé, sans catégorie)
+     */
+    public static ProductCategoryContribution of (ProductModel product) {
+        return of(product, product.getStock());
+    }
+
+    /**
+     * @param stock stock à retenir à la place de celui de l'entité (lu en base)
+     * @return la contribution du produit, ou null s'il ne compte dans aucune catégorie (supprimé, sans catégorie)
+     */
+    public static ProductCategoryContribution of (ProductModel product, Integer stock) {
+        if (product.getCategoryId() == null || Boolean.TRUE.equals(product.getDeleted())) {
+            return null;
+        }
+        boolean active = Boolean.TRUE.equals(product.getActive());
+        return new ProductCategoryContribution(
+                product.getCategoryId(),
+                active,
+                active && stock != null && stock > 0,
+                active && Boolean.TRUE.equals(product.getCreditEligible())
+        );
+    }
+
+    /**
+     * @return la même contribution, avec la présence en stock recalculée pour le stock donné
+     */
+    public ProductCategoryContribution withStock (Integer stock) {
+        return new ProductCategoryContribution(categoryId, active, active && stock != null && stock > 0,
+                creditEligible);
+    }
+}
@@ -0,0 +1,463 @@
+package sn.kredika_app.domain.snapshot;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de facettes du catalogue, tenu en mémoire.
+ * Chaque produit actif reçoit un ordinal dense ; chaque valeur de facette (marque, couleur, tranche de prix, éligibilité
+ * au crédit, mise en avant) et chaque catégorie est associée à la liste de ces ordinaux ({@link Postings}). Une
+ * requête combine les listes des filtres actifs en bitmaps puis compte toutes les valeurs de toutes les facettes en
+ * une seule passe, sans requête SQL.
+ * Les mises à jour unitaires (upsert, remove) sont appliquées sous verrou d'écriture ; les lectures partagent le
+ * verrou de lecture. Les ordinaux des produits retirés ne sont pas réutilisés : une reconstruction complète les compacte.
+ */
+public final class ProductFacetIndex {
+
+    /**
+     * Bornes des tranches de prix (XOF) ; la dernière tranche est ouverte
+     */
+    private static final long[] PRICE_BOUNDS = {25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000};
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<FacetRow> rowsByOrdinal = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<UUID, Postings> byCategory = new HashMap<>();
+    private final Map<Facet, Map<String, Postings>> byFacet = new EnumMap<>(Facet.class);
+    private boolean building;
+
+    private ProductFacetIndex () {
+        for (Facet facet : Facet.values()) {
+            byFacet.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Facettes proposées dans le panneau de filtres
+     */
+    public enum Facet {
+        BRAND("brand"),
+        COLOR("color"),
+        PRICE_BUCKET("priceBucket"),
+        CREDIT_ELIGIBLE("creditEligible"),
+        FEATURED("featured");
+
+        private final String key;
+
+        Facet (String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return le nom de la facette exposé par l'API
+         */
+        public String getKey () {
+            return key;
+        }
+    }
+
+    /**
+     * Ligne minimale de la table products nécessaire à l'indexation
+     */
+    public record FacetRow(UUID id, UUID categoryId, String brand, String color, BigDecimal price,
+                           boolean creditEligible, boolean featured, boolean active, boolean deleted) {
+
+        /**
+         * @return true si le produit doit apparaître dans les résultats du catalogue
+         */
+        public boolean indexable () {
+            return active && !deleted;
+        }
+    }
+
+    /**
+     * Filtres actifs : OU entre les valeurs d'une même facette, ET entre facettes. Un ensemble vide ou null
+     * désactive le filtre correspondant.
+     */
+    public record FacetFilter(Set<String> brands, Set<String> colors, Set<String> priceBuckets,
+                              Boolean creditEligible, Boolean featured) {
+    }
+
+    /**
+     * Résultat d'une requête de facettes
+     *
+     * @param totalCount nombre de produits correspondant à tous les filtres
+     * @param counts     pour chaque facette, le nombre de produits par valeur (valeurs à zéro omises), calculé avec
+     *                   tous les filtres sauf celui de la facette elle-même
+     */
+    public record FacetResult(int totalCount, Map<Facet, Map<String, Integer>> counts) {
+    }
+
+    /**
+     * Construit l'index à partir des produits de la table products
+     *
+     * @param rows produits à indexer (les produits inactifs ou supprimés sont ignorés)
+     * @return un nouvel index
+     */
+    public static ProductFacetIndex build (Collection<FacetRow> rows) {
+        ProductFacetIndex index = new ProductFacetIndex();
+        index.building = true;
+        for (FacetRow row : rows) {
+            if (row.indexable()) {
+                index.add(row);
+            }
+        }
+        index.building = false;
+        int universe = index.rowsByOrdinal.size();
+        index.byCategory.values().forEach(postings -> postings.pack(universe));
+        index.byFacet.values().forEach(values -> values.values().forEach(postings -> postings.pack(universe)));
+        return index;
+    }
+
+    /**
+     * @return le libellé de la tranche de prix contenant ce prix (ex. "25000-50000", "1000000+")
+     */
+    public static String priceBucket (BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        long lower = 0;
+        for (long bound : PRICE_BOUNDS) {
+            if (price.compareTo(BigDecimal.valueOf(bound)) < 0) {
+                return lower + "-" + bound;
+            }
+            lower = bound;
+        }
+        return lower + "+";
+    }
+
+    /**
+     * Ajoute, met à jour ou retire un produit selon son état courant
+     */
+    public void upsert (FacetRow row) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(row.id());
+            if (ordinal != null) {
+                clear(ordinal);
+                if (row.indexable()) {
+                    set(ordinal, row);
+                }
+            } else if (row.indexable()) {
+                add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un produit de l'index (supprimé physiquement)
+     */
+    public void remove (UUID productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null) {
+                clear(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compte les produits correspondant aux filtres et toutes les valeurs de facettes
+     *
+     * @param categoryIds catégories du périmètre (une catégorie ou un sous-arbre), null pour tout le catalogue
+     * @param filter      filtres actifs
+     * @return le total et les compteurs par facette
+     */
+    public FacetResult query (UUID[] categoryIds, FacetFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet scope = scope(categoryIds);
+            Map<Facet, BitSet> selections = selections(filter);
+
+            BitSet matching = (BitSet) scope.clone();
+            selections.values().forEach(matching::and);
+
+            Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                BitSet base = matching;
+                if (selections.containsKey(facet)) {
+                    base = (BitSet) scope.clone();
+                    for (Map.Entry<Facet, BitSet> selection : selections.entrySet()) {
+                        if (selection.getKey() != facet) {
+                            base.and(selection.getValue());
+                        }
+                    }
+                }
+                counts.put(facet, countValues(byFacet.get(facet), base));
+            }
+            return new FacetResult(matching.cardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return le nombre de produits indexés
+     */
+    public int size () {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add (FacetRow row) {
+        int ordinal = rowsByOrdinal.size();
+        rowsByOrdinal.add(null);
+        ordinals.put(row.id(), ordinal);
+        set(ordinal, row);
+    }
+
+    private void set (int ordinal, FacetRow row) {
+        rowsByOrdinal.set(ordinal, row);
+        live.set(ordinal);
+        if (row.categoryId() != null) {
+            addOrdinal(byCategory, row.categoryId(), ordinal);
+        }
+        for (Facet facet : Facet.values()) {
+            String value = valueOf(facet, row);
+            if (value != null) {
+                addOrdinal(byFacet.get(facet), value, ordinal);
+            }
+        }
+    }
+
+    private <K> void addOrdinal (Map<K, Postings> postingsByKey, K key, int ordinal) {
+        Postings postings = postingsByKey.computeIfAbsent(key, k -> new Postings());
+        postings.add(ordinal);
+        // Pendant la construction, les listes sont converties une fois l'univers connu
+        if (!building) {
+            postings.densifyIfLarger(rowsByOrdinal.size());
+        }
+    }
+
+    private void clear (int ordinal) {
+        FacetRow previous = rowsByOrdinal.get(ordinal);
+        if (previous == null) {
+            return;
+        }
+        rowsByOrdinal.set(ordinal, null);
+        live.clear(ordinal);
+        if (previous.categoryId() != null) {
+            clearBit(byCategory, previous.categoryId(), ordinal);
+        }
+        for (Facet facet : Facet.values()) {
+            String value = valueOf(facet, previous);
+            if (value != null) {
+                clearBit(byFacet.get(facet), value, ordinal);
+            }
+        }
+    }
+
+    private static <K> void clearBit (Map<K, Postings> postingsByKey, K key, int ordinal) {
+        Postings postings = postingsByKey.get(key);
+        if (postings != null) {
+            postings.remove(ordinal);
+            if (postings.isEmpty()) {
+                postingsByKey.remove(key);
+            }
+        }
+    }
+
+    private BitSet scope (UUID[] categoryIds) {
+        if (categoryIds == null) {
+            return (BitSet) live.clone();
+        }
+        BitSet scope = new BitSet();
+        for (UUID categoryId : categoryIds) {
+            Postings postings = byCategory.get(categoryId);
+            if (postings != null) {
+                postings.orInto(scope);
+            }
+        }
+        return scope;
+    }
+
+    private Map<Facet, BitSet> selections (FacetFilter filter) {
+        Map<Facet, BitSet> selections = new EnumMap<>(Facet.class);
+        if (filter == null) {
+            return selections;
+        }
+        addSelection(selections, Facet.BRAND, filter.brands());
+        addSelection(selections, Facet.COLOR, filter.colors());
+        addSelection(selections, Facet.PRICE_BUCKET, filter.priceBuckets());
+        if (filter.creditEligible() != null) {
+            addSelection(selections, Facet.CREDIT_ELIGIBLE, Set.of(filter.creditEligible().toString()));
+        }
+        if (filter.featured() != null) {
+            addSelection(selections, Facet.FEATURED, Set.of(filter.featured().toString()));
+        }
+        return selections;
+    }
+
+    private void addSelection (Map<Facet, BitSet> selections, Facet facet, Set<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet union = new BitSet();
+        Map<String, Postings> postingsByValue = byFacet.get(facet);
+        for (String value : values) {
+            Postings postings = postingsByValue.get(normalize(facet, value));
+            if (postings != null) {
+                postings.orInto(union);
+            }
+        }
+        selections.put(facet, union);
+    }
+
+    private static Map<String, Integer> countValues (Map<String, Postings> postingsByValue, BitSet base) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Postings> entry : postingsByValue.entrySet()) {
+            int count = entry.getValue().countIn(base);
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    private static String valueOf (Facet facet, FacetRow row) {
+        return switch (facet) {
+            case BRAND -> normalize(facet, row.brand());
+            case COLOR -> normalize(facet, row.color());
+            case PRICE_BUCKET -> priceBucket(row.price());
+            case CREDIT_ELIGIBLE -> Boolean.toString(row.creditEligible());
+            case FEATURED -> Boolean.toString(row.featured());
+        };
+    }
+
+    /**
+     * Marques et couleurs sont comparées sans tenir compte des espaces superflus ; la casse saisie est conservée
+     */
+    private static String normalize (Facet facet, String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        return facet == Facet.CREDIT_ELIGIBLE || facet == Facet.FEATURED ? trimmed.toLowerCase() : trimmed;
+    }
+
+    /**
+     * Ordinaux des produits portant une valeur de facette ou appartenant à une catégorie.
+     * Une bitmap coûte un bit par ordinal jusqu'au plus grand, quel que soit le nombre de produits de la valeur : les
+     * milliers de marques et de catégories rares y coûteraient chacune autant que la valeur la plus répandue. Une
+     * valeur est donc tenue en tableau trié (4 octets par produit) tant que ce tableau reste plus petit que la bitmap,
+     * c'est-à-dire tant qu'elle concerne moins d'un produit sur 32 ; au-delà, elle passe en bitmap.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+        private BitSet bitmap;
+
+        void add (int ordinal) {
+            if (bitmap != null) {
+                bitmap.set(ordinal);
+                return;
+            }
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            ordinals[at] = ordinal;
+            size++;
+        }
+
+        void remove (int ordinal) {
+            if (bitmap != null) {
+                bitmap.clear(ordinal);
+                return;
+            }
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+                size--;
+            }
+        }
+
+        boolean isEmpty () {
+            return bitmap != null ? bitmap.isEmpty() : size == 0;
+        }
+
+        /**
+         * Passe en bitmap si le tableau trié est devenu plus gros qu'elle
+         *
+         * @param universe nombre d'ordinaux attribués
+         */
+        void densifyIfLarger (int universe) {
+            if (bitmap == null && (long) size * Integer.SIZE > universe) {
+                bitmap = new BitSet(universe);
+                for (int i = 0; i < size; i++) {
+                    bitmap.set(ordinals[i]);
+                }
+                ordinals = null;
+                size = 0;
+            }
+        }
+
+        /**
+         * Choix définitif de la représentation à la fin d'une construction complète ; les tableaux sont ajustés
+         */
+        void pack (int universe) {
+            densifyIfLarger(universe);
+            if (bitmap == null && ordinals.length > size) {
+                ordinals = Arrays.copyOf(ordinals, size);
+            }
+        }
+
+        void orInto (BitSet target) {
+            if (bitmap != null) {
+                target.or(bitmap);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                target.set(ordinals[i]);
+            }
+        }
+
+        int countIn (BitSet base) {
+            if (bitmap != null) {
+                if (!bitmap.intersects(base)) {
+                    return 0;
+                }
+                BitSet intersection = (BitSet) bitmap.clone();
+                intersection.and(base);
+                return intersection.cardinality();
+            }
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (base.get(ordinals[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
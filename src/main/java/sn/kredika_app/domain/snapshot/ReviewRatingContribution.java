@@ -0,0 +1,26 @@
+package sn.kredika_app.domain.snapshot;
+
+import sn.kredika_app.domain.model.ProductReviewModel;
+
+import java.util.UUID;
+
+/**
+ * Contribution d'un avis à l'agrégat de notes de son produit, à un instant donné.
+ *
+ * @param productId produit noté
+ * @param rating    note de 1 à 5
+ */
+public record ReviewRatingContribution(UUID productId, int rating) {
+
+    /**
+     * @return la contribution de l'avis, ou null s'il ne compte pas (non approuvé, supprimé, note invalide)
+     */
+    public static ReviewRatingContribution of (ProductReviewModel review) {
+        Integer rating = review.getRating();
+        if (review.getProductId() == null || rating == null || rating < 1 || rating > 5
+                || !Boolean.TRUE.equals(review.getApproved()) || Boolean.TRUE.equals(review.getDeleted())) {
+            return null;
+        }
+        return new ReviewRatingContribution(review.getProductId(), rating);
+    }
+}
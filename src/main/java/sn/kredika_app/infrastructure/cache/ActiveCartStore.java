@@ -0,0 +1,42 @@
+package sn.kredika_app.infrastructure.cache;
+
+import sn.kredika_app.domain.snapshot.ActiveCart;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Stockage des paniers actifs, indexés par utilisateur.
+ * L'implémentation locale (LocalActiveCartStore) tient les paniers dans la mémoire du nœud ; une implémentation
+ * adossée à un cache partagé peut la remplacer (kredika.cart.store) à condition de garantir l'atomicité de
+ * {@link #update} pour un même utilisateur.
+ */
+public interface ActiveCartStore {
+
+    /**
+     * @return le panier de l'utilisateur, ou null s'il n'est pas en mémoire
+     */
+    ActiveCart get (UUID userId);
+
+    /**
+     * Applique atomiquement une modification au panier de l'utilisateur
+     *
+     * @param mutation reçoit le panier courant (null s'il est absent) et renvoie le nouveau panier (null pour le
+     *                 retirer)
+     * @return le panier après modification
+     */
+    ActiveCart update (UUID userId, UnaryOperator<ActiveCart> mutation);
+
+    /**
+     * Retire le panier si sa révision n'a pas changé depuis la lecture
+     *
+     * @return true si le panier a été retiré
+     */
+    boolean remove (UUID userId, long expectedRevision);
+
+    /**
+     * @return les utilisateurs dont le panier est en mémoire
+     */
+    Set<UUID> userIds ();
+}
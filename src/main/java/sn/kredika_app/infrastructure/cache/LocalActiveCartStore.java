@@ -0,0 +1,49 @@
+package sn.kredika_app.infrastructure.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import sn.kredika_app.domain.snapshot.ActiveCart;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Paniers actifs dans la mémoire du nœud. ConcurrentHashMap.compute sérialise les modifications d'un même
+ * utilisateur sans bloquer les autres.
+ */
+@Component
+@ConditionalOnProperty(name = "kredika.cart.store", havingValue = "local", matchIfMissing = true)
+public class LocalActiveCartStore implements ActiveCartStore {
+
+    private final ConcurrentHashMap<UUID, ActiveCart> carts = new ConcurrentHashMap<>();
+
+    @Override
+    public ActiveCart get (UUID userId) {
+        return carts.get(userId);
+    }
+
+    @Override
+    public ActiveCart update (UUID userId, UnaryOperator<ActiveCart> mutation) {
+        return carts.compute(userId, (id, current) -> mutation.apply(current));
+    }
+
+    @Override
+    public boolean remove (UUID userId, long expectedRevision) {
+        boolean[] removed = {false};
+        carts.computeIfPresent(userId, (id, current) -> {
+            if (current.revision() == expectedRevision) {
+                removed[0] = true;
+                return null;
+            }
+            return current;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public Set<UUID> userIds () {
+        return Set.copyOf(carts.keySet());
+    }
+}
@@ -0,0 +1,33 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Compteurs quotidiens des numéros métier. Chaque nœud y loue des blocs de valeurs consécutives : l'incrément est
+ * atomique, deux nœuds ne peuvent donc jamais recevoir de blocs qui se chevauchent.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcBusinessNumberRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Loue un bloc de {@code blockSize} valeurs consécutives du compteur, créé à zéro s'il n'existe pas
+     *
+     * @return la dernière valeur du bloc ; le bloc va de {@code retour - blockSize + 1} à {@code retour}
+     */
+    public long leaseBlock (String counterKey, int blockSize) {
+        Long last = jdbcTemplate.queryForObject("""
+                INSERT INTO kredika_app.business_number_counters (counter_key, last_value, updated_at)
+                VALUES (?, ?, now())
+                ON CONFLICT (counter_key) DO UPDATE
+                   SET last_value = business_number_counters.last_value + EXCLUDED.last_value,
+                       updated_at = now()
+                RETURNING last_value
+                """, Long.class, counterKey, blockSize);
+        return last == null ? 0 : last;
+    }
+}
@@ -0,0 +1,212 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.snapshot.ActiveCart;
+import sn.kredika_app.domain.snapshot.ActiveCartLine;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistance des paniers actifs dans carts / cart_items, par lots.
+ * L'écriture d'un panier est conditionnée par sa révision (carts.version) : une écriture différée arrivant après une
+ * écriture plus récente du même panier est ignorée, ce qui dispense de tout verrou entre le vidage périodique et
+ * l'écriture synchrone du passage en caisse.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCartRepository {
+
+    private static final String UPSERT_CART_SQL = """
+            INSERT INTO kredika_app.carts
+                   (id, is_deleted, created_at, updated_at, user_id, status_code, total_amount, expires_at, version)
+            VALUES (?, false, now(), now(), ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE
+               SET updated_at = now(),
+                   status_code = EXCLUDED.status_code,
+                   total_amount = EXCLUDED.total_amount,
+                   expires_at = EXCLUDED.expires_at,
+                   version = EXCLUDED.version
+             WHERE carts.version IS NULL OR carts.version < EXCLUDED.version
+            """;
+
+    private static final String DELETE_REMOVED_ITEMS_SQL = """
+            DELETE FROM kredika_app.cart_items WHERE cart_id = ? AND NOT (id = ANY(?))
+            """;
+
+    private static final String UPSERT_ITEM_SQL = """
+            INSERT INTO kredika_app.cart_items
+                   (id, is_deleted, created_at, updated_at, cart_id, product_id, quantity, payment_method_code,
+                    credit_duration, credit_frequency_code, unit_price, commission_rate, total_amount,
+                    installment_amount, version)
+            VALUES (?, false, now(), now(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            ON CONFLICT (id) DO UPDATE
+               SET updated_at = now(),
+                   quantity = EXCLUDED.quantity,
+                   payment_method_code = EXCLUDED.payment_method_code,
+                   credit_duration = EXCLUDED.credit_duration,
+                   credit_frequency_code = EXCLUDED.credit_frequency_code,
+                   unit_price = EXCLUDED.unit_price,
+                   commission_rate = EXCLUDED.commission_rate,
+                   total_amount = EXCLUDED.total_amount,
+                   installment_amount = EXCLUDED.installment_amount,
+                   version = COALESCE(cart_items.version, 0) + 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Données produit utiles au panier
+     */
+    public record ProductInfo(UUID id, String name, String mainImageUrl, BigDecimal price, boolean active,
+                              boolean creditEligible, Integer maxCreditDuration) {
+    }
+
+    /**
+     * @return les produits non supprimés parmi les identifiants demandés
+     */
+    public List<ProductInfo> findProducts (UUID[] productIds) {
+        return jdbcTemplate.query("""
+                SELECT p.id, p.name, p.price, p.is_active, p.credit_eligible, p.max_credit_duration,
+                       %s AS main_image_url
+                  FROM kredika_app.products p
+                 WHERE p.id = ANY(?) AND p.is_deleted = false
+                """.formatted(ProductSqlFragments.MAIN_IMAGE_URL), (rs, rowNum) -> new ProductInfo(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getString("main_image_url"),
+                rs.getBigDecimal("price"),
+                rs.getBoolean("is_active"),
+                rs.getBoolean("credit_eligible"),
+                (Integer) rs.getObject("max_credit_duration")
+        ), new SqlArrayValue("uuid", (Object[]) productIds));
+    }
+
+    /**
+     * @return le panier actif le plus récent de l'utilisateur, lignes comprises, ou null
+     */
+    public ActiveCart findActiveCart (UUID userId) {
+        List<ActiveCart> carts = jdbcTemplate.query("""
+                SELECT id, status_code, expires_at, COALESCE(version, 0) AS version
+                  FROM kredika_app.carts
+                 WHERE user_id = ? AND status_code = 'ACTIVE' AND is_deleted = false
+                 ORDER BY updated_at DESC
+                 LIMIT 1
+                """, (rs, rowNum) -> {
+            Timestamp expiresAt = rs.getTimestamp("expires_at");
+            return new ActiveCart(rs.getObject("id", UUID.class), userId, rs.getString("status_code"),
+                    expiresAt == null ? null : expiresAt.toLocalDateTime(), List.of(), rs.getLong("version"));
+        }, userId);
+        if (carts.isEmpty()) {
+            return null;
+        }
+        ActiveCart cart = carts.getFirst();
+        List<ActiveCartLine> lines = jdbcTemplate.query("""
+                SELECT i.id, i.product_id, p.name, i.quantity, i.payment_method_code, i.credit_duration,
+                       i.credit_frequency_code, i.unit_price, i.commission_rate, i.total_amount, i.installment_amount,
+                       %s AS main_image_url
+                  FROM kredika_app.cart_items i
+                  JOIN kredika_app.products p ON p.id = i.product_id
+                 WHERE i.cart_id = ? AND i.is_deleted = false
+                 ORDER BY i.created_at
+                """.formatted(ProductSqlFragments.MAIN_IMAGE_URL), (rs, rowNum) -> new ActiveCartLine(
+                rs.getObject("id", UUID.class),
+                rs.getObject("product_id", UUID.class),
+                rs.getString("name"),
+                rs.getString("main_image_url"),
+                rs.getInt("quantity"),
+                rs.getString("payment_method_code"),
+                (Integer) rs.getObject("credit_duration"),
+                rs.getString("credit_frequency_code"),
+                rs.getBigDecimal("unit_price"),
+                rs.getBigDecimal("commission_rate"),
+                rs.getBigDecimal("total_amount"),
+                rs.getBigDecimal("installment_amount")
+        ), cart.cartId());
+        return new ActiveCart(cart.cartId(), userId, cart.statusCode(), cart.expiresAt(), lines, cart.revision());
+    }
+
+    /**
+     * Écrit un lot de paniers et leurs lignes, dans la transaction courante. Les paniers dont une révision plus
+     * récente est déjà en base sont ignorés.
+     *
+     * @return les paniers effectivement écrits
+     */
+    public List<ActiveCart> saveAll (List<ActiveCart> carts) {
+        if (carts.isEmpty()) {
+            return List.of();
+        }
+        int[] results = jdbcTemplate.batchUpdate(UPSERT_CART_SQL, carts, carts.size(), (ps, cart) -> {
+            ps.setObject(1, cart.cartId());
+            ps.setObject(2, cart.userId());
+            ps.setString(3, cart.statusCode());
+            ps.setBigDecimal(4, cart.totalAmount());
+            ps.setTimestamp(5, cart.expiresAt() == null ? null : Timestamp.valueOf(cart.expiresAt()));
+            ps.setLong(6, cart.revision());
+        })[0];
+
+        // 0 = révision plus récente déjà en base ; suppose des nombres de lignes exacts (pas de reWriteBatchedInserts)
+        List<ActiveCart> written = new ArrayList<>(carts.size());
+        for (int i = 0; i < carts.size(); i++) {
+            if (results[i] != 0) {
+                written.add(carts.get(i));
+            }
+        }
+        if (written.isEmpty()) {
+            return written;
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_REMOVED_ITEMS_SQL, written, written.size(), (ps, cart) -> {
+            ps.setObject(1, cart.cartId());
+            ps.setArray(2, itemIdArray(ps, cart));
+        });
+
+        List<Object[]> items = new ArrayList<>();
+        for (ActiveCart cart : written) {
+            for (ActiveCartLine line : cart.lines()) {
+                items.add(new Object[]{cart.cartId(), line});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPSERT_ITEM_SQL, items, items.size(), (ps, item) -> {
+            ActiveCartLine line = (ActiveCartLine) item[1];
+            ps.setObject(1, line.itemId());
+            ps.setObject(2, item[0]);
+            ps.setObject(3, line.productId());
+            ps.setInt(4, line.quantity());
+            ps.setString(5, line.paymentMethodCode());
+            ps.setObject(6, line.creditDuration(), Types.INTEGER);
+            ps.setString(7, line.creditFrequencyCode());
+            ps.setBigDecimal(8, line.unitPrice());
+            ps.setBigDecimal(9, line.commissionRate());
+            ps.setBigDecimal(10, line.totalAmount());
+            ps.setBigDecimal(11, line.installmentAmount());
+        });
+        return written;
+    }
+
+    /**
+     * Change le statut d'un panier (conversion en commande, abandon)
+     */
+    public int updateStatus (UUID cartId, String statusCode) {
+        return jdbcTemplate.update("""
+                UPDATE kredika_app.carts
+                   SET status_code = ?, updated_at = now(), version = COALESCE(version, 0) + 1
+                 WHERE id = ?
+                """, statusCode, cartId);
+    }
+
+    private static Array itemIdArray (PreparedStatement ps, ActiveCart cart) throws SQLException {
+        Object[] ids = cart.lines().stream().map(ActiveCartLine::itemId).toArray();
+        return ps.getConnection().createArrayOf("uuid", ids);
+    }
+}
@@ -0,0 +1,131 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recalcul ensembliste des lignes de paniers ouverts après un changement de prix produit ou de taux de commission.
+ * Les lignes visées sont celles des produits dont le prix a changé et celles à crédit des durées dont le taux a
+ * changé ; elles sont recalculées en SQL, par lots de paniers, avec les formules de CreditPricing :
+ * <ul>
+ *     <li>taux = celui de la tranche de la durée qui contient prix unitaire × quantité, sinon de la plus proche (même
+ *     règle que CreditSettingsSnapshot.quote) ;</li>
+ *     <li>total = prix unitaire × quantité × (1 + taux), arrondi au centime ;</li>
+ *     <li>échéance = première échéance d'AmortizationEngine : ⌈francs entiers du total / nombre d'échéances⌉ plus
+ *     les centimes du total, le nombre d'échéances dépendant de la fréquence (semaine ×4, quinzaine ×2, trimestre
+ *     ⌈durée/3⌉).</li>
+ * </ul>
+ * Un lot ne contient que des paniers distincts des autres lots : les lots peuvent s'exécuter en parallèle sans se
+ * disputer les lignes de carts. La version des paniers n'est pas modifiée, les paniers tenus en mémoire étant
+ * recalculés de leur côté par ActiveCartService.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCartRepricingRepository {
+
+    private static final String REPRICE_ITEMS_SQL = """
+            WITH lines AS (
+                SELECT i.id, i.quantity, i.credit_duration, i.commission_rate,
+                       i.payment_method_code = 'CREDIT' AND i.credit_duration IS NOT NULL AS credit,
+                       upper(COALESCE(i.credit_frequency_code, 'MONTHLY')) AS frequency,
+                       CASE WHEN i.product_id = ANY(?) THEN p.price ELSE i.unit_price END AS unit_price
+                  FROM kredika_app.cart_items i
+                  JOIN kredika_app.products p ON p.id = i.product_id
+                 WHERE i.cart_id = ANY(?) AND i.is_deleted = false
+                   AND (i.product_id = ANY(?) OR i.credit_duration = ANY(?))
+            ), priced AS (
+                SELECT l.id, l.quantity, l.credit_duration, l.frequency, l.unit_price,
+                       CASE WHEN l.credit THEN COALESCE(r.commission_rate, l.commission_rate) END AS commission_rate
+                  FROM lines l
+                  LEFT JOIN LATERAL (
+                      SELECT s.commission_rate
+                        FROM kredika_app.credit_settings s
+                       WHERE s.duration_months = l.credit_duration
+                         AND s.is_active IS TRUE AND s.is_deleted = false
+                       ORDER BY GREATEST(COALESCE(s.min_amount, 0) - round(l.unit_price * l.quantity, 2),
+                                         round(l.unit_price * l.quantity, 2) - s.max_amount, 0),
+                                COALESCE(s.min_amount, 0), s.max_amount NULLS LAST, s.commission_rate
+                       LIMIT 1
+                  ) r ON l.credit
+            ), computed AS (
+                SELECT id, unit_price, commission_rate,
+                       round(unit_price * quantity * (1 + COALESCE(commission_rate, 0)), 2) AS total_amount,
+                       CASE WHEN commission_rate IS NULL THEN NULL
+                            WHEN frequency IN ('WEEKLY', 'HEBDOMADAIRE') THEN GREATEST(1, credit_duration * 4)
+                            WHEN frequency IN ('BIWEEKLY', 'BIMENSUEL') THEN GREATEST(1, credit_duration * 2)
+                            WHEN frequency IN ('QUARTERLY', 'TRIMESTRIEL') THEN GREATEST(1, (credit_duration + 2) / 3)
+                            ELSE GREATEST(1, credit_duration) END AS installments
+                  FROM priced
+            )
+            UPDATE kredika_app.cart_items t
+               SET unit_price = c.unit_price,
+                   commission_rate = c.commission_rate,
+                   total_amount = c.total_amount,
+                   installment_amount = CASE WHEN c.installments IS NULL THEN NULL
+                                             ELSE (trunc(c.total_amount)::bigint + c.installments - 1) / c.installments
+                                                  + (c.total_amount - trunc(c.total_amount)) END,
+                   updated_at = now()
+              FROM computed c
+             WHERE t.id = c.id
+               AND (t.unit_price, t.commission_rate, t.total_amount)
+                   IS DISTINCT FROM (c.unit_price, c.commission_rate, c.total_amount)
+            """;
+
+    private static final String REFRESH_CART_TOTALS_SQL = """
+            UPDATE kredika_app.carts c
+               SET total_amount = s.total, updated_at = now()
+              FROM (SELECT cart_id, COALESCE(sum(total_amount), 0) AS total
+                      FROM kredika_app.cart_items
+                     WHERE cart_id = ANY(?) AND is_deleted = false
+                     GROUP BY cart_id) s
+             WHERE c.id = s.cart_id AND c.total_amount IS DISTINCT FROM s.total
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Résultat du recalcul d'un lot
+     *
+     * @param items lignes modifiées
+     * @param carts paniers dont le total a changé
+     */
+    public record RepricedChunk(int items, int carts) {
+    }
+
+    /**
+     * @return les paniers ouverts contenant au moins une ligne visée, triés par identifiant
+     */
+    public List<UUID> findAffectedCartIds (UUID[] productIds, Integer[] creditDurations) {
+        return jdbcTemplate.queryForList("""
+                SELECT DISTINCT i.cart_id
+                  FROM kredika_app.cart_items i
+                  JOIN kredika_app.carts c ON c.id = i.cart_id
+                 WHERE c.status_code = 'ACTIVE' AND c.is_deleted = false AND i.is_deleted = false
+                   AND (i.product_id = ANY(?) OR i.credit_duration = ANY(?))
+                 ORDER BY i.cart_id
+                """, UUID.class,
+                new SqlArrayValue("uuid", (Object[]) productIds),
+                new SqlArrayValue("integer", (Object[]) creditDurations));
+    }
+
+    /**
+     * Recalcule les lignes visées d'un lot de paniers puis le total de ces paniers, dans la transaction courante
+     */
+    public RepricedChunk repriceChunk (UUID[] cartIds, UUID[] productIds, Integer[] creditDurations) {
+        int items = jdbcTemplate.update(REPRICE_ITEMS_SQL,
+                new SqlArrayValue("uuid", (Object[]) productIds),
+                new SqlArrayValue("uuid", (Object[]) cartIds),
+                new SqlArrayValue("uuid", (Object[]) productIds),
+                new SqlArrayValue("integer", (Object[]) creditDurations));
+        if (items == 0) {
+            return new RepricedChunk(0, 0);
+        }
+        int carts = jdbcTemplate.update(REFRESH_CART_TOTALS_SQL, new SqlArrayValue("uuid", (Object[]) cartIds));
+        return new RepricedChunk(items, carts);
+    }
+}
@@ -0,0 +1,101 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Purge des paniers abandonnés.
+ * Les paniers ACTIVE expirés sont trouvés par l'index partiel idx_cart_active_expiry et traités par lots, chaque lot
+ * en une seule instruction autonome : réservations de stock rendues au stock (même remise en stock que
+ * JdbcStockReservationRepository.releaseExpired), lignes puis paniers supprimés. Les
+ * verrous ne durent donc que le temps d'un lot, et les paniers déjà verrouillés (passage en caisse, écriture différée)
+ * sont ignorés jusqu'au cycle suivant.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCartSweepRepository {
+
+    private static final String SWEEP_EXPIRED_SQL = """
+            WITH expired AS (
+                SELECT id
+                  FROM kredika_app.carts
+                 WHERE status_code = 'ACTIVE'
+                   AND is_deleted = false
+                   AND expires_at < :cutoff
+                 ORDER BY expires_at
+                 LIMIT :limit
+                   FOR UPDATE SKIP LOCKED
+            ), released AS (
+                UPDATE kredika_app.stock_reservations r
+                   SET status = 'RELEASED', closed_at = :now
+                  FROM expired e
+                 WHERE r.cart_id = e.id
+                   AND r.status = 'HELD'
+                RETURNING r.product_id, r.quantity
+            ), %s, deleted_items AS (
+                DELETE FROM kredika_app.cart_items i
+                 USING expired e
+                 WHERE i.cart_id = e.id
+                RETURNING i.id
+            ), deleted_carts AS (
+                DELETE FROM kredika_app.carts c
+                 USING expired e
+                 WHERE c.id = e.id
+                RETURNING c.id
+            )
+            SELECT (SELECT count(*) FROM deleted_carts)::int AS carts,
+                   (SELECT count(*) FROM deleted_items)::int AS items,
+                   (SELECT count(*) FROM released)::int AS holds
+            """.formatted(JdbcStockReservationRepository.RESTOCK_RELEASED_CTES);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Bilan d'un lot purgé
+     *
+     * @param carts paniers supprimés
+     * @param items lignes de panier supprimées
+     * @param holds réservations de stock rendues au stock
+     */
+    public record SweptChunk(int carts, int items, int holds) {
+    }
+
+    /**
+     * Purge un lot de paniers expirés en une seule instruction atomique
+     *
+     * @param cutoff paniers expirés avant cet instant
+     * @param now    instant de clôture des réservations
+     * @param limit  taille maximale du lot
+     * @return le bilan du lot
+     */
+    public SweptChunk sweepExpired (LocalDateTime cutoff, LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForObject(SWEEP_EXPIRED_SQL, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("limit", limit), (rs, rowNum) -> new SweptChunk(
+                rs.getInt("carts"),
+                rs.getInt("items"),
+                rs.getInt("holds")
+        ));
+    }
+
+    /**
+     * @return la date d'expiration du plus ancien panier expiré restant à purger, ou null s'il n'y en a pas
+     */
+    public LocalDateTime findOldestExpiry (LocalDateTime cutoff) {
+        List<Timestamp> oldest = jdbcTemplate.queryForList("""
+                SELECT min(expires_at)
+                  FROM kredika_app.carts
+                 WHERE status_code = 'ACTIVE'
+                   AND is_deleted = false
+                   AND expires_at < :cutoff
+                """, new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff)), Timestamp.class);
+        return oldest.isEmpty() || oldest.getFirst() == null ? null : oldest.getFirst().toLocalDateTime();
+    }
+}
@@ -0,0 +1,41 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.snapshot.CategoryTreeSnapshot.CategoryRow;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lectures JDBC des catégories, sans passer par le graphe d'entités CategoryModel.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCategoryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Charge en une requête toutes les catégories non supprimées
+     *
+     * @return les lignes nécessaires à la construction de l'arbre
+     */
+    public List<CategoryRow> findAllTreeRows () {
+        return jdbcTemplate.query("""
+                SELECT id, parent_id, name, slug, image_url, COALESCE(position, 0) AS position,
+                       COALESCE(is_active, true) AS is_active
+                  FROM kredika_app.categories
+                 WHERE is_deleted = false
+                """, (rs, rowNum) -> new CategoryRow(
+                rs.getObject("id", UUID.class),
+                rs.getObject("parent_id", UUID.class),
+                rs.getString("name"),
+                rs.getString("slug"),
+                rs.getString("image_url"),
+                rs.getInt("position"),
+                rs.getBoolean("is_active")
+        ));
+    }
+}
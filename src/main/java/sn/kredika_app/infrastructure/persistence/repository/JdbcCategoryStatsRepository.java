@@ -0,0 +1,117 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Accès ensembliste à la table category_product_stats.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCategoryStatsRepository {
+
+    private static final String APPLY_DELTA_SQL = """
+            INSERT INTO kredika_app.category_product_stats
+                   (category_id, active_count, in_stock_count, credit_eligible_count)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (category_id) DO UPDATE
+               SET active_count = category_product_stats.active_count + EXCLUDED.active_count,
+                   in_stock_count = category_product_stats.in_stock_count + EXCLUDED.in_stock_count,
+                   credit_eligible_count = category_product_stats.credit_eligible_count + EXCLUDED.credit_eligible_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applique un delta aux compteurs d'une catégorie, dans la transaction courante
+     */
+    public void applyDelta (UUID categoryId, long active, long inStock, long creditEligible) {
+        jdbcTemplate.update(APPLY_DELTA_SQL, categoryId, active, inStock, creditEligible);
+    }
+
+    /**
+     * Lit les compteurs directs de toutes les catégories (une ligne par catégorie, table de petite taille)
+     *
+     * @return compteurs {actifs, en stock, éligibles crédit} indexés par catégorie
+     */
+    public Map<UUID, long[]> findAll () {
+        Map<UUID, long[]> counts = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT category_id, active_count, in_stock_count, credit_eligible_count
+                  FROM kredika_app.category_product_stats
+                """, rs -> {
+            counts.put(rs.getObject("category_id", UUID.class), new long[]{
+                    rs.getLong("active_count"),
+                    rs.getLong("in_stock_count"),
+                    rs.getLong("credit_eligible_count")
+            });
+        });
+        return counts;
+    }
+
+    /**
+     * Additionne les compteurs d'un ensemble de catégories
+     *
+     * @param categoryIds catégories à additionner (typiquement un sous-arbre)
+     * @return {actifs, en stock, éligibles crédit}
+     */
+    public long[] sum (UUID[] categoryIds) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COALESCE(sum(active_count), 0) AS active_count,
+                       COALESCE(sum(in_stock_count), 0) AS in_stock_count,
+                       COALESCE(sum(credit_eligible_count), 0) AS credit_eligible_count
+                  FROM kredika_app.category_product_stats
+                 WHERE category_id = ANY(?)
+                """, (rs, rowNum) -> new long[]{
+                rs.getLong("active_count"),
+                rs.getLong("in_stock_count"),
+                rs.getLong("credit_eligible_count")
+        }, new SqlArrayValue("uuid", (Object[]) categoryIds));
+    }
+
+    public boolean isEmpty () {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM kredika_app.category_product_stats)", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Recalcule tous les compteurs depuis la table products (réconciliation), dans la transaction courante.
+     * Le verrou SHARE ROW EXCLUSIVE attend les transactions ayant déjà appliqué un delta et suspend les suivantes
+     * jusqu'à la validation : le recalcul, lu après l'obtention du verrou, inclut tous les deltas validés, et ceux des
+     * transactions encore en cours s'appliqueront par-dessus, sans être écrasés.
+     *
+     * @return le nombre de catégories mises à jour
+     */
+    public int recomputeAll () {
+        jdbcTemplate.execute("LOCK TABLE kredika_app.category_product_stats IN SHARE ROW EXCLUSIVE MODE");
+        int upserted = jdbcTemplate.update("""
+                INSERT INTO kredika_app.category_product_stats
+                       (category_id, active_count, in_stock_count, credit_eligible_count)
+                SELECT p.category_id,
+                       count(*) FILTER (WHERE p.is_active IS TRUE),
+                       count(*) FILTER (WHERE p.is_active IS TRUE AND p.stock > 0),
+                       count(*) FILTER (WHERE p.is_active IS TRUE AND p.credit_eligible IS TRUE)
+                  FROM kredika_app.products p
+                 WHERE p.is_deleted = false
+                 GROUP BY p.category_id
+                ON CONFLICT (category_id) DO UPDATE
+                   SET active_count = EXCLUDED.active_count,
+                       in_stock_count = EXCLUDED.in_stock_count,
+                       credit_eligible_count = EXCLUDED.credit_eligible_count
+                """);
+        int cleared = jdbcTemplate.update("""
+                UPDATE kredika_app.category_product_stats s
+                   SET active_count = 0, in_stock_count = 0, credit_eligible_count = 0
+                 WHERE NOT EXISTS (SELECT 1 FROM kredika_app.products p
+                                    WHERE p.category_id = s.category_id AND p.is_deleted = false)
+                """);
+        return upserted + cleared;
+    }
+}
@@ -0,0 +1,110 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.snapshot.CheckoutDraft;
+import sn.kredika_app.domain.snapshot.CheckoutDraft.Plan;
+import sn.kredika_app.domain.snapshot.CheckoutDraft.Schedule;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Écriture d'une commande complète par lots JDBC : une instruction pour la commande, puis un lot par table pour les
+ * lignes, les plans de crédit et les échéances. Le pilote PostgreSQL envoie chaque lot en un seul aller-retour :
+ * une commande de 10 lignes à crédit sur 24 mois (250 lignes) tient en quelques allers-retours.
+ * {@code reWriteBatchedInserts} n'est pas activé : les lots réécrits renvoient SUCCESS_NO_INFO au lieu du nombre de
+ * lignes, ce qui rendrait inopérante la garde de révision de JdbcCartRepository.saveAll.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCheckoutRepository {
+
+    private static final String INSERT_ORDER_SQL = """
+            INSERT INTO kredika_app.orders
+                   (id, is_deleted, created_at, updated_at, version, order_number, user_id, delivery_address_id,
+                    total_amount, status_code, payment_status_code, notes)
+            VALUES (?, false, now(), now(), 0, ?, ?, ?, ?, 'CREATED', 'PENDING', ?)
+            """;
+
+    private static final String INSERT_ITEM_SQL = """
+            INSERT INTO kredika_app.order_items
+                   (id, is_deleted, created_at, updated_at, version, order_id, product_id, quantity, unit_price,
+                    total_price, payment_method_code)
+            VALUES (?, false, now(), now(), 0, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_PLAN_SQL = """
+            INSERT INTO kredika_app.installment_plans
+                   (id, is_deleted, created_at, updated_at, version, plan_number, user_id, order_id, product_id,
+                    principal_amount, commission_rate, commission_amount, total_amount, installment_amount,
+                    duration_months, frequency_code, total_installments, paid_installments, start_date, end_date,
+                    status_code, late_penalty)
+            VALUES (?, false, now(), now(), 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, 'ACTIVE', 0)
+            """;
+
+    private static final String INSERT_SCHEDULE_SQL = """
+            INSERT INTO kredika_app.payment_schedules
+                   (id, is_deleted, created_at, updated_at, version, installment_plan_id, installment_number,
+                    due_date, amount, paid_amount, penalty_amount)
+            VALUES (?, false, now(), now(), 0, ?, ?, ?, ?, 0, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Écrit la commande, ses lignes, ses plans et leurs échéances dans la transaction courante
+     */
+    public void insertOrder (CheckoutDraft draft) {
+        jdbcTemplate.update(INSERT_ORDER_SQL, draft.orderId(), draft.orderNumber(), draft.userId(),
+                draft.deliveryAddressId(), draft.totalAmount(), draft.notes());
+
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, draft.items(), draft.items().size(), (ps, item) -> {
+            ps.setObject(1, item.id());
+            ps.setObject(2, draft.orderId());
+            ps.setObject(3, item.productId());
+            ps.setInt(4, item.quantity());
+            ps.setBigDecimal(5, item.unitPrice());
+            ps.setBigDecimal(6, item.totalPrice());
+            ps.setString(7, item.paymentMethodCode());
+        });
+        if (draft.plans().isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PLAN_SQL, draft.plans(), draft.plans().size(), (ps, plan) -> {
+            ps.setObject(1, plan.id());
+            ps.setString(2, plan.planNumber());
+            ps.setObject(3, draft.userId());
+            ps.setObject(4, draft.orderId());
+            ps.setObject(5, plan.productId());
+            ps.setBigDecimal(6, plan.principalAmount());
+            ps.setBigDecimal(7, plan.commissionRate());
+            ps.setBigDecimal(8, plan.commissionAmount());
+            ps.setBigDecimal(9, plan.totalAmount());
+            ps.setBigDecimal(10, plan.installmentAmount());
+            ps.setInt(11, plan.durationMonths());
+            ps.setString(12, plan.frequencyCode());
+            ps.setInt(13, plan.totalInstallments());
+            ps.setDate(14, Date.valueOf(plan.startDate()));
+            ps.setDate(15, Date.valueOf(plan.endDate()));
+        });
+
+        List<Object[]> schedules = new ArrayList<>();
+        for (Plan plan : draft.plans()) {
+            for (Schedule schedule : plan.schedules()) {
+                schedules.add(new Object[]{plan.id(), schedule});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SCHEDULE_SQL, schedules, schedules.size(), (ps, row) -> {
+            Schedule schedule = (Schedule) row[1];
+            ps.setObject(1, schedule.id());
+            ps.setObject(2, row[0]);
+            ps.setInt(3, schedule.installmentNumber());
+            ps.setDate(4, Date.valueOf(schedule.dueDate()));
+            ps.setBigDecimal(5, schedule.amount());
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.common.util.AmortizationEngine;
+import sn.kredika_app.domain.snapshot.CreditSnapshot;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lecture du moteur de décision de crédit : la situation d'un client en une seule requête (profil, revenu, charge
+ * mensuelle des plans actifs). Les paramétrages actifs sont servis par CreditSettingsService.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCreditDecisionRepository {
+
+    /**
+     * Équivalent mensuel des échéances des plans en cours, en retard compris : mêmes coefficients que
+     * PaymentFrequency (4 échéances hebdomadaires ou 2 bimensuelles par mois, une trimestrielle pour trois mois)
+     */
+    private static final String FIND_SNAPSHOT_SQL = """
+            SELECT u.monthly_income,
+                   cp.id IS NOT NULL AS has_profile,
+                   cp.credit_score, cp.credit_limit, cp.available_credit, cp.total_debt, cp.default_count,
+                   (SELECT COALESCE(sum(CASE upper(pl.frequency_code)
+                                            WHEN 'WEEKLY' THEN pl.installment_amount * 4
+                                            WHEN 'HEBDOMADAIRE' THEN pl.installment_amount * 4
+                                            WHEN 'BIWEEKLY' THEN pl.installment_amount * 2
+                                            WHEN 'BIMENSUEL' THEN pl.installment_amount * 2
+                                            WHEN 'QUARTERLY' THEN pl.installment_amount / 3
+                                            WHEN 'TRIMESTRIEL' THEN pl.installment_amount / 3
+                                            ELSE pl.installment_amount
+                                        END), 0)
+                      FROM kredika_app.installment_plans pl
+                     WHERE pl.user_id = u.id
+                       AND pl.status_code IN ('ACTIVE', 'LATE')
+                       AND pl.is_deleted = false) AS monthly_commitment
+              FROM kredika_app.users u
+              LEFT JOIN kredika_app.credit_profiles cp ON cp.user_id = u.id AND cp.is_deleted = false
+             WHERE u.id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return la situation de crédit du client, ou null si l'utilisateur n'existe pas
+     */
+    public CreditSnapshot findSnapshot (UUID userId) {
+        List<CreditSnapshot> snapshots = jdbcTemplate.query(FIND_SNAPSHOT_SQL, (rs, rowNum) -> {
+            if (!rs.getBoolean("has_profile")) {
+                return CreditSnapshot.withoutProfile(userId);
+            }
+            int score = rs.getInt("credit_score");
+            return new CreditSnapshot(userId, true,
+                    rs.wasNull() ? CreditSnapshot.UNKNOWN : score,
+                    AmortizationEngine.toCentimes(rs.getBigDecimal("credit_limit"), 0),
+                    AmortizationEngine.toCentimes(rs.getBigDecimal("available_credit"), 0),
+                    AmortizationEngine.toCentimes(rs.getBigDecimal("total_debt"), 0),
+                    rs.getInt("default_count"),
+                    AmortizationEngine.toCentimes(rs.getBigDecimal("monthly_income"), CreditSnapshot.UNKNOWN),
+                    AmortizationEngine.toCentimes(rs.getBigDecimal("monthly_commitment"), 0));
+        }, userId);
+        return snapshots.isEmpty() ? null : snapshots.getFirst();
+    }
+}
@@ -0,0 +1,209 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Journal de crédit et soldes du profil de crédit.
+ * Un mouvement est une seule instruction qui ajoute sa ligne au journal et applique sa variation au profil par un
+ * UPDATE relatif : jamais de lecture suivie d'une réécriture, donc ni mise à jour perdue ni échec de version quand un
+ * passage en caisse et un remboursement touchent le même client au même instant (le second attend simplement le
+ * verrou de ligne du premier).
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCreditLedgerRepository {
+
+    /**
+     * Le journal n'est écrit que si le débit a été appliqué
+     */
+    private static final String DEBIT_SQL = """
+            WITH applied AS (
+                UPDATE kredika_app.credit_profiles
+                   SET available_credit = available_credit - ?,
+                       total_debt = total_debt + ?,
+                       updated_at = now()
+                 WHERE user_id = ? AND is_deleted = false
+                   AND available_credit >= ?
+                RETURNING user_id
+            )
+            INSERT INTO kredika_app.credit_ledger_entries
+                   (id, user_id, entry_type, reference_id, debt_delta, available_delta, created_at)
+            SELECT gen_random_uuid(), user_id, 'CHECKOUT', ?, ?, -?, now()
+              FROM applied
+            """;
+
+    /**
+     * Le profil n'est modifié que si la ligne du journal est nouvelle : rejouer le même paiement est sans effet. Le
+     * profil est verrouillé avant le calcul des variations, si bien que le journal enregistre ce qui est réellement
+     * appliqué une fois la dette bornée à zéro et le crédit disponible au plafond.
+     */
+    private static final String REPAYMENT_SQL = """
+            WITH profile AS (
+                SELECT user_id,
+                       GREATEST(total_debt - ?, 0) - total_debt AS debt_delta,
+                       LEAST(available_credit + ?, credit_limit) - available_credit AS available_delta
+                  FROM kredika_app.credit_profiles
+                 WHERE user_id = ? AND is_deleted = false
+                   FOR UPDATE
+            ), claimed AS (
+                INSERT INTO kredika_app.credit_ledger_entries
+                       (id, user_id, entry_type, reference_id, debt_delta, available_delta, created_at)
+                SELECT gen_random_uuid(), user_id, 'REPAYMENT', ?, debt_delta, available_delta, now()
+                  FROM profile
+                ON CONFLICT (entry_type, reference_id) DO NOTHING
+                RETURNING user_id, debt_delta, available_delta
+            )
+            UPDATE kredika_app.credit_profiles p
+               SET total_debt = p.total_debt + c.debt_delta,
+                   available_credit = p.available_credit + c.available_delta,
+                   updated_at = now()
+              FROM claimed c
+             WHERE p.user_id = c.user_id AND p.is_deleted = false
+            """;
+
+    /**
+     * Les mouvements antérieurs à la date de coupure d'un lot de clients sont supprimés et remplacés par leur somme,
+     * datée du plus récent d'entre eux. Deux compactages concurrents ne suppriment jamais la même ligne : chacun
+     * n'additionne que ce qu'il a lui-même supprimé.
+     */
+    private static final String COMPACT_SQL = """
+            WITH users AS (
+                SELECT user_id
+                  FROM kredika_app.credit_ledger_entries
+                 WHERE created_at < ?
+                 GROUP BY user_id
+                HAVING count(*) > 1
+                 ORDER BY user_id
+                 LIMIT ?
+            ), folded AS (
+                DELETE FROM kredika_app.credit_ledger_entries l
+                 USING users u
+                 WHERE l.user_id = u.user_id AND l.created_at < ?
+                RETURNING l.user_id, l.debt_delta, l.available_delta, l.created_at
+            )
+            INSERT INTO kredika_app.credit_ledger_entries
+                   (id, user_id, entry_type, reference_id, debt_delta, available_delta, created_at)
+            SELECT gen_random_uuid(), user_id, 'COMPACTION', NULL, sum(debt_delta), sum(available_delta),
+                   max(created_at)
+              FROM folded
+             GROUP BY user_id
+            """;
+
+    /**
+     * Dette attendue = reste dû des échéances des plans non clôturés (pénalités exclues) ; crédit disponible attendu =
+     * plafond moins cette dette. Les clients dont un paiement accepté attend encore son remboursement dans l'outbox
+     * sont laissés de côté : leurs échéances sont déjà soldées alors que le profil ne l'est pas encore.
+     */
+    private static final String RECONCILE_SQL = """
+            WITH expected AS (
+                SELECT p.user_id, p.total_debt, p.available_credit, p.credit_limit, COALESCE(d.debt, 0) AS debt
+                  FROM kredika_app.credit_profiles p
+                  LEFT JOIN (
+                      SELECT pl.user_id, sum(GREATEST(s.amount - s.paid_amount, 0)) AS debt
+                        FROM kredika_app.installment_plans pl
+                        JOIN kredika_app.payment_schedules s
+                          ON s.installment_plan_id = pl.id AND s.is_deleted = false
+                       WHERE pl.user_id = ANY(?) AND pl.is_deleted = false AND pl.completed_at IS NULL
+                         AND pl.status_code NOT IN ('COMPLETED', 'CANCELLED')
+                       GROUP BY pl.user_id
+                  ) d ON d.user_id = p.user_id
+                 WHERE p.user_id = ANY(?) AND p.is_deleted = false
+                   AND NOT EXISTS (SELECT 1
+                                     FROM kredika_app.outbox_events o
+                                    WHERE o.status = 'PENDING' AND o.event_type = 'PAYMENT_SUCCEEDED'
+                                      AND o.payload ->> 'userId' = p.user_id::text)
+            ), corrected AS (
+                SELECT user_id, debt, GREATEST(credit_limit - debt, 0) AS available,
+                       debt - total_debt AS debt_delta,
+                       GREATEST(credit_limit - debt, 0) - available_credit AS available_delta
+                  FROM expected
+                 WHERE total_debt <> debt OR available_credit <> GREATEST(credit_limit - debt, 0)
+            ), applied AS (
+                UPDATE kredika_app.credit_profiles p
+                   SET total_debt = c.debt, available_credit = c.available, updated_at = now()
+                  FROM corrected c
+                 WHERE p.user_id = c.user_id AND p.is_deleted = false
+                RETURNING p.user_id
+            )
+            INSERT INTO kredika_app.credit_ledger_entries
+                   (id, user_id, entry_type, reference_id, debt_delta, available_delta, created_at)
+            SELECT gen_random_uuid(), c.user_id, 'RECONCILIATION', NULL, c.debt_delta, c.available_delta, now()
+              FROM corrected c
+              JOIN applied a ON a.user_id = c.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Débite le crédit disponible du client si celui-ci est suffisant, dans la transaction du passage en caisse
+     *
+     * @param orderId commande débitée
+     * @return true si le débit a été appliqué
+     */
+    public boolean debit (UUID userId, UUID orderId, BigDecimal amount) {
+        return jdbcTemplate.update(DEBIT_SQL, amount, amount, userId, amount, orderId, amount, amount) > 0;
+    }
+
+    /**
+     * Répercute un remboursement : la dette diminue et le crédit disponible est reconstitué, dans la limite du
+     * plafond
+     *
+     * @param transactionId transaction de paiement remboursée
+     * @return true si le remboursement a été appliqué, false si le client n'a pas de profil ou si cette transaction a
+     * déjà été répercutée
+     */
+    public boolean applyRepayment (UUID userId, UUID transactionId, BigDecimal amount) {
+        return jdbcTemplate.update(REPAYMENT_SQL, amount, amount, userId, transactionId) > 0;
+    }
+
+    /**
+     * Compacte les mouvements antérieurs à la date de coupure d'au plus {@code limit} clients
+     *
+     * @return le nombre de clients compactés
+     */
+    public int compact (LocalDateTime before, int limit) {
+        Timestamp cutoff = Timestamp.valueOf(before);
+        return jdbcTemplate.update(COMPACT_SQL, cutoff, limit, cutoff);
+    }
+
+    /**
+     * @return les clients ayant un profil de crédit, après {@code after} (exclu) dans l'ordre des identifiants
+     */
+    public List<UUID> findProfileUserIds (UUID after, int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT user_id
+                  FROM kredika_app.credit_profiles
+                 WHERE is_deleted = false AND (CAST(? AS uuid) IS NULL OR user_id > ?)
+                 ORDER BY user_id
+                 LIMIT ?
+                """, UUID.class, after, after, limit);
+    }
+
+    /**
+     * Recalcule les soldes d'un lot de clients depuis leurs échéances, dans la transaction courante. Les profils sont
+     * d'abord verrouillés : tout passage en caisse validé avant est alors visible du recalcul, et aucun ne peut
+     * s'intercaler avant la fin de la transaction.
+     *
+     * @return le nombre de profils corrigés
+     */
+    public int reconcile (UUID[] userIds) {
+        jdbcTemplate.queryForList("""
+                SELECT user_id
+                  FROM kredika_app.credit_profiles
+                 WHERE user_id = ANY(?) AND is_deleted = false
+                 ORDER BY user_id
+                   FOR UPDATE
+                """, UUID.class, new SqlArrayValue("uuid", (Object[]) userIds));
+        return jdbcTemplate.update(RECONCILE_SQL, new SqlArrayValue("uuid", (Object[]) userIds),
+                new SqlArrayValue("uuid", (Object[]) userIds));
+    }
+}
@@ -0,0 +1,55 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.common.util.AmortizationEngine;
+import sn.kredika_app.domain.snapshot.CreditTerm;
+
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Lectures des paramétrages de crédit servis en mémoire par CreditSettingsService : les paramétrages actifs, et une
+ * empreinte de la table qui permet de savoir, en une lecture d'agrégat, si un rechargement est nécessaire.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCreditSettingsRepository {
+
+    private static final String FIND_ACTIVE_TERMS_SQL = """
+            SELECT duration_months, commission_rate, min_amount, max_amount
+              FROM kredika_app.credit_settings
+             WHERE is_active IS TRUE AND is_deleted = false
+            """;
+
+    /**
+     * Toute écriture JPA incrémente la version et met à jour updated_at ; une suppression physique change le nombre de
+     * lignes
+     */
+    private static final String FIND_FINGERPRINT_SQL = """
+            SELECT count(*) || ':' || COALESCE(sum(COALESCE(version, 0)), 0) || ':'
+                   || COALESCE(max(updated_at)::text, '')
+              FROM kredika_app.credit_settings
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return les paramétrages actifs, montants en centimes et taux en dix-millièmes
+     */
+    public List<CreditTerm> findActiveTerms () {
+        return jdbcTemplate.query(FIND_ACTIVE_TERMS_SQL, (rs, rowNum) -> new CreditTerm(
+                rs.getInt("duration_months"),
+                rs.getBigDecimal("commission_rate").movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValue(),
+                AmortizationEngine.toCentimes(rs.getBigDecimal("min_amount"), 0),
+                AmortizationEngine.toCentimes(rs.getBigDecimal("max_amount"), Long.MAX_VALUE)));
+    }
+
+    /**
+     * @return l'empreinte courante de credit_settings, identique tant qu'aucune ligne n'est écrite
+     */
+    public String findFingerprint () {
+        return jdbcTemplate.queryForObject(FIND_FINGERPRINT_SQL, String.class);
+    }
+}
@@ -0,0 +1,116 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Registre des requêtes idempotentes.
+ * La réservation d'une clé est un seul {@code INSERT ... ON CONFLICT} : entre deux nœuds recevant la même requête,
+ * un seul obtient la réservation, l'autre lit la réponse enregistrée ou constate que la requête est en cours.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcIdempotencyRepository {
+
+    public static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Réponse enregistrée pour une clé
+     */
+    public record StoredResponse(String requestHash, String status, String responseBody, LocalDateTime expiresAt) {
+
+        public boolean completed () {
+            return STATUS_COMPLETED.equals(status);
+        }
+    }
+
+    /**
+     * Réserve la clé pour exécution. Une réservation n'expire jamais : l'opération validée en base peut précéder
+     * l'enregistrement de sa réponse, et reprendre la clé à ce moment l'exécuterait deux fois. Seule une réponse
+     * périmée peut être reprise ; une réservation ne disparaît que par {@link #complete} ou {@link #release}.
+     *
+     * @return true si la réservation est obtenue
+     */
+    public boolean claim (String recordKey, String scope, UUID userId, String requestHash) {
+        List<String> claimed = jdbcTemplate.queryForList("""
+                INSERT INTO kredika_app.idempotency_records
+                       (record_key, scope, user_id, request_hash, status, created_at, expires_at)
+                VALUES (?, ?, ?, ?, 'IN_PROGRESS', now(), 'infinity')
+                ON CONFLICT (record_key) DO UPDATE
+                   SET request_hash = EXCLUDED.request_hash,
+                       status = 'IN_PROGRESS',
+                       response_body = NULL,
+                       created_at = now(),
+                       completed_at = NULL,
+                       expires_at = EXCLUDED.expires_at
+                 WHERE idempotency_records.status = 'COMPLETED'
+                   AND idempotency_records.expires_at < now()
+                RETURNING record_key
+                """, String.class, recordKey, scope, userId, requestHash);
+        return !claimed.isEmpty();
+    }
+
+    /**
+     * @return la ligne enregistrée pour la clé, ou null
+     */
+    public StoredResponse find (String recordKey) {
+        List<StoredResponse> rows = jdbcTemplate.query("""
+                SELECT request_hash, status, response_body::text AS response_body, expires_at
+                  FROM kredika_app.idempotency_records
+                 WHERE record_key = ?
+                """, (rs, rowNum) -> new StoredResponse(
+                rs.getString("request_hash"),
+                rs.getString("status"),
+                rs.getString("response_body"),
+                rs.getTimestamp("expires_at").toLocalDateTime()
+        ), recordKey);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    /**
+     * Enregistre la réponse d'une requête réservée
+     */
+    public void complete (String recordKey, String responseBody, LocalDateTime expiresAt) {
+        jdbcTemplate.update("""
+                UPDATE kredika_app.idempotency_records
+                   SET status = 'COMPLETED',
+                       response_body = CAST(? AS jsonb),
+                       completed_at = now(),
+                       expires_at = ?
+                 WHERE record_key = ? AND status = 'IN_PROGRESS'
+                """, responseBody, Timestamp.valueOf(expiresAt), recordKey);
+    }
+
+    /**
+     * Libère la réservation d'une requête en échec, pour qu'un nouvel essai puisse l'exécuter
+     */
+    public void release (String recordKey) {
+        jdbcTemplate.update("""
+                DELETE FROM kredika_app.idempotency_records WHERE record_key = ? AND status = 'IN_PROGRESS'
+                """, recordKey);
+    }
+
+    /**
+     * Supprime un lot de lignes expirées
+     *
+     * @return le nombre de lignes supprimées
+     */
+    public int purgeExpired (int limit) {
+        return jdbcTemplate.update("""
+                DELETE FROM kredika_app.idempotency_records
+                 WHERE record_key IN (SELECT record_key
+                                        FROM kredika_app.idempotency_records
+                                       WHERE expires_at < now()
+                                       LIMIT ?)
+                """, limit);
+    }
+}
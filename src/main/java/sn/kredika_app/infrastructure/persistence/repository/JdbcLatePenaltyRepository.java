@@ -0,0 +1,220 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Calcul ensembliste des retards et pénalités des plans de paiement.
+ * Le calcul d'une journée est un point de reprise (penalty_runs) et une liste de plans à traiter
+ * (penalty_run_plans). Chaque lot est une seule instruction : il prend des plans de la liste avec
+ * {@code FOR UPDATE SKIP LOCKED}, les retire, verrouille ceux encore en cours (ACTIVE ou LATE), recalcule les
+ * pénalités de leurs échéances et leur statut, puis avance les compteurs du point de reprise. Les échéances d'un plan
+ * clôturé ou annulé ne sont jamais touchées. Plusieurs lots, sur un ou plusieurs nœuds, se partagent la liste
+ * sans jamais traiter le même plan ; après un arrêt, il ne reste que les plans non traités.
+ * Une pénalité est recalculée en entier à chaque passage (reste dû × taux journalier × jours de retard, plafonnée),
+ * jamais incrémentée : rejouer un lot est sans effet.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcLatePenaltyRepository {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_DONE = "DONE";
+
+    private static final String CREATE_RUN_SQL = """
+            INSERT INTO kredika_app.penalty_runs
+                   (run_date, status, cutoff_date, daily_rate, cap_rate, plans_total, plans_processed,
+                    schedules_updated, plans_updated, started_at)
+            VALUES (?, 'RUNNING', ?, ?, ?, 0, 0, 0, 0, now())
+            ON CONFLICT (run_date) DO NOTHING
+            """;
+
+    /**
+     * Plans en cours (ACTIVE ou LATE) ayant une échéance impayée passée la date de coupure (index partiel sur
+     * due_date), et plans encore LATE dont le retard a peut-être été régularisé. Les plans clôturés ou annulés ne sont
+     * jamais pris : leurs échéances gardent leur pénalité.
+     */
+    private static final String PLAN_RUN_SQL = """
+            INSERT INTO kredika_app.penalty_run_plans (run_date, plan_id)
+            SELECT CAST(? AS date), s.installment_plan_id
+              FROM kredika_app.payment_schedules s
+              JOIN kredika_app.installment_plans p ON p.id = s.installment_plan_id
+             WHERE s.paid_amount < s.amount AND s.is_deleted = false AND s.due_date < ?
+               AND p.is_deleted = false AND p.completed_at IS NULL AND p.status_code IN ('ACTIVE', 'LATE')
+            UNION
+            SELECT CAST(? AS date), id
+              FROM kredika_app.installment_plans
+             WHERE status_code = 'LATE' AND is_deleted = false AND completed_at IS NULL
+            """;
+
+    private static final String PENALIZE_CHUNK_SQL = """
+            WITH run AS (
+                SELECT run_date, cutoff_date, daily_rate, cap_rate
+                  FROM kredika_app.penalty_runs
+                 WHERE run_date = ? AND status = 'RUNNING'
+            ), claimed AS (
+                DELETE FROM kredika_app.penalty_run_plans w
+                 USING run r
+                 WHERE w.run_date = r.run_date
+                   AND w.plan_id IN (SELECT plan_id
+                                       FROM kredika_app.penalty_run_plans
+                                      WHERE run_date = ?
+                                      ORDER BY plan_id
+                                      LIMIT ?
+                                        FOR UPDATE SKIP LOCKED)
+                RETURNING w.plan_id
+            ), open_plans AS (
+                SELECT p.id AS plan_id
+                  FROM claimed c
+                  JOIN kredika_app.installment_plans p ON p.id = c.plan_id
+                 WHERE p.is_deleted = false AND p.completed_at IS NULL AND p.status_code IN ('ACTIVE', 'LATE')
+                   FOR UPDATE OF p
+            ), computed AS (
+                SELECT s.id, s.installment_plan_id AS plan_id, s.penalty_amount AS old_penalty,
+                       s.paid_amount < s.amount AND s.due_date < r.cutoff_date AS overdue,
+                       CASE WHEN s.paid_amount < s.amount AND s.due_date < r.cutoff_date
+                            THEN LEAST(round((s.amount - s.paid_amount) * r.daily_rate
+                                             * (r.cutoff_date - s.due_date), 2),
+                                       round((s.amount - s.paid_amount) * r.cap_rate, 2))
+                            ELSE s.penalty_amount END AS penalty
+                  FROM open_plans c
+                  JOIN kredika_app.payment_schedules s ON s.installment_plan_id = c.plan_id AND s.is_deleted = false
+                 CROSS JOIN run r
+            ), schedules AS (
+                UPDATE kredika_app.payment_schedules s
+                   SET penalty_amount = c.penalty, updated_at = now()
+                  FROM computed c
+                 WHERE s.id = c.id AND c.penalty <> c.old_penalty
+                RETURNING s.id
+            ), totals AS (
+                SELECT plan_id, sum(penalty) AS late_penalty,
+                       CASE WHEN bool_or(overdue) THEN 'LATE' ELSE 'ACTIVE' END AS status_code
+                  FROM computed
+                 GROUP BY plan_id
+            ), plans AS (
+                UPDATE kredika_app.installment_plans p
+                   SET late_penalty = t.late_penalty, status_code = t.status_code, updated_at = now()
+                  FROM totals t
+                 WHERE p.id = t.plan_id AND p.is_deleted = false AND p.completed_at IS NULL
+                   AND p.status_code IN ('ACTIVE', 'LATE')
+                   AND (p.late_penalty IS DISTINCT FROM t.late_penalty OR p.status_code <> t.status_code)
+                RETURNING p.id
+            ), progress AS (
+                UPDATE kredika_app.penalty_runs r
+                   SET plans_processed = r.plans_processed + (SELECT count(*) FROM claimed),
+                       schedules_updated = r.schedules_updated + (SELECT count(*) FROM schedules),
+                       plans_updated = r.plans_updated + (SELECT count(*) FROM plans)
+                 WHERE r.run_date = ?
+            )
+            SELECT (SELECT count(*) FROM claimed) AS plans,
+                   (SELECT count(*) FROM schedules) AS schedules,
+                   (SELECT count(*) FROM plans) AS updated_plans
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Résultat d'un lot
+     *
+     * @param plans        plans pris dans la liste
+     * @param schedules    échéances dont la pénalité a changé
+     * @param updatedPlans plans dont la pénalité ou le statut a changé
+     */
+    public record PenalizedChunk(int plans, int schedules, int updatedPlans) {
+    }
+
+    /**
+     * Crée le point de reprise de la journée, s'il n'existe pas encore
+     *
+     * @return true si le calcul de la journée vient d'être créé (la liste des plans reste à établir)
+     */
+    public boolean createRun (LocalDate runDate, LocalDate cutoffDate, BigDecimal dailyRate, BigDecimal capRate) {
+        return jdbcTemplate.update(CREATE_RUN_SQL, Date.valueOf(runDate), Date.valueOf(cutoffDate), dailyRate,
+                capRate) == 1;
+    }
+
+    /**
+     * Établit la liste des plans à traiter, dans la transaction qui a créé le calcul
+     *
+     * @return le nombre de plans à traiter
+     */
+    public int planRun (LocalDate runDate, LocalDate cutoffDate) {
+        int plans = jdbcTemplate.update(PLAN_RUN_SQL, Date.valueOf(runDate), Date.valueOf(cutoffDate),
+                Date.valueOf(runDate));
+        jdbcTemplate.update("UPDATE kredika_app.penalty_runs SET plans_total = ? WHERE run_date = ?", plans,
+                Date.valueOf(runDate));
+        return plans;
+    }
+
+    /**
+     * Abandonne les calculs inachevés des journées précédentes : celui de la journée les remplace, chaque pénalité
+     * étant recalculée en entier
+     *
+     * @return le nombre de calculs abandonnés
+     */
+    public int abandonBefore (LocalDate runDate) {
+        jdbcTemplate.update("DELETE FROM kredika_app.penalty_run_plans WHERE run_date < ?", Date.valueOf(runDate));
+        return jdbcTemplate.update("""
+                UPDATE kredika_app.penalty_runs
+                   SET status = 'ABANDONED', finished_at = now()
+                 WHERE run_date < ? AND status = 'RUNNING'
+                """, Date.valueOf(runDate));
+    }
+
+    /**
+     * @return le statut du calcul de la journée, ou null s'il n'a pas été lancé
+     */
+    public String findStatus (LocalDate runDate) {
+        List<String> statuses = jdbcTemplate.queryForList(
+                "SELECT status FROM kredika_app.penalty_runs WHERE run_date = ?", String.class,
+                Date.valueOf(runDate));
+        return statuses.isEmpty() ? null : statuses.getFirst();
+    }
+
+    /**
+     * @return la journée du dernier calcul inachevé, ou null
+     */
+    public LocalDate findRunningDate () {
+        List<LocalDate> dates = jdbcTemplate.queryForList("""
+                SELECT run_date
+                  FROM kredika_app.penalty_runs
+                 WHERE status = 'RUNNING'
+                 ORDER BY run_date DESC
+                 LIMIT 1
+                """, LocalDate.class);
+        return dates.isEmpty() ? null : dates.getFirst();
+    }
+
+    /**
+     * Traite au plus {@code limit} plans de la liste
+     */
+    public PenalizedChunk penalizeChunk (LocalDate runDate, int limit) {
+        Date day = Date.valueOf(runDate);
+        return jdbcTemplate.queryForObject(PENALIZE_CHUNK_SQL, (rs, rowNum) -> new PenalizedChunk(
+                rs.getInt("plans"),
+                rs.getInt("schedules"),
+                rs.getInt("updated_plans")
+        ), day, day, limit, day);
+    }
+
+    /**
+     * Clôt le calcul de la journée si plus aucun plan ne reste à traiter (un lot encore en cours sur un autre nœud
+     * le clôturera à son tour)
+     *
+     * @return true si le calcul vient d'être clos
+     */
+    public boolean finishRun (LocalDate runDate) {
+        return jdbcTemplate.update("""
+                UPDATE kredika_app.penalty_runs
+                   SET status = 'DONE', finished_at = now()
+                 WHERE run_date = ? AND status = 'RUNNING'
+                   AND NOT EXISTS (SELECT 1 FROM kredika_app.penalty_run_plans WHERE run_date = ?)
+                """, Date.valueOf(runDate), Date.valueOf(runDate)) == 1;
+    }
+}
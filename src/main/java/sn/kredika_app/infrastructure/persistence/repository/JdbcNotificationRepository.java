@@ -0,0 +1,31 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Écriture des notifications in-app produites par les événements de l'outbox.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcNotificationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Crée une notification. L'identifiant est celui de l'événement source : un rejeu ne crée pas de doublon.
+     */
+    public void insert (UUID id, UUID userId, String title, String message, String type, String priority,
+                        String actionUrl) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.notifications
+                       (id, is_deleted, created_at, updated_at, version, user_id, title, message, type, priority,
+                        is_read, channel, action_url, sent_at)
+                VALUES (?, false, now(), now(), 0, ?, ?, ?, ?, ?, false, 'APP', ?, now())
+                ON CONFLICT (id) DO NOTHING
+                """, id, userId, title, message, type, priority, actionUrl);
+    }
+}
@@ -0,0 +1,76 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.dto.simple.OrderSimpleDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Historique des commandes d'un client par pagination par clé sur (user_id, created_at, id).
+ * Chaque page est lue dans l'index idx_order_user_history à partir de la position du curseur ; le nombre d'articles
+ * et la vignette du premier produit sont calculés en SQL, ligne par ligne de la page, sans hydrater ni les commandes
+ * ni leurs collections items et installmentPlans.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcOrderHistoryRepository {
+
+    private static final String SELECT_CLAUSE = """
+            SELECT o.id, o.order_number, o.total_amount, o.status_code, o.created_at,
+                   (SELECT count(*)
+                      FROM kredika_app.order_items oi
+                     WHERE oi.order_id = o.id AND oi.is_deleted = false) AS item_count,
+                   (SELECT pi.image_url
+                      FROM kredika_app.order_items oi
+                      JOIN kredika_app.product_images pi
+                        ON pi.product_id = oi.product_id AND pi.is_primary = true AND pi.is_deleted = false
+                     WHERE oi.order_id = o.id AND oi.is_deleted = false
+                     ORDER BY oi.created_at, oi.id, pi.position
+                     LIMIT 1) AS thumbnail_url
+              FROM kredika_app.orders o
+             WHERE o.user_id = :userId
+               AND o.is_deleted = false
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Lit une page de l'historique, des commandes les plus récentes aux plus anciennes
+     *
+     * @param userId          identifiant du client
+     * @param cursorCreatedAt date de création de la dernière commande de la page précédente (null pour la première)
+     * @param cursorId        identifiant de la dernière commande de la page précédente (null pour la première)
+     * @param limit           nombre maximum de lignes à renvoyer
+     * @return les commandes de la page
+     */
+    public List<OrderSimpleDto> findPage (UUID userId, LocalDateTime cursorCreatedAt, UUID cursorId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder(SELECT_CLAUSE);
+        if (cursorCreatedAt != null && cursorId != null) {
+            sql.append("   AND (o.created_at, o.id) < (:cursorCreatedAt, :cursorId)\n");
+            params.addValue("cursorCreatedAt", Timestamp.valueOf(cursorCreatedAt));
+            params.addValue("cursorId", cursorId);
+        }
+        sql.append(" ORDER BY o.created_at DESC, o.id DESC\n");
+        sql.append(" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new OrderSimpleDto(
+                rs.getObject("id", UUID.class),
+                rs.getString("order_number"),
+                rs.getBigDecimal("total_amount"),
+                rs.getString("status_code"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getInt("item_count"),
+                rs.getString("thumbnail_url")
+        ));
+    }
+}
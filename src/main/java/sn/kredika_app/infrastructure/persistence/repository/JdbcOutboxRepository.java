@@ -0,0 +1,167 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.event.OutboxEvent;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Table d'outbox.
+ * L'écriture passe par la connexion de la transaction en cours : l'événement est validé ou annulé avec la
+ * modification qui l'a produit. La prise d'un lot est une seule instruction {@code FOR UPDATE SKIP LOCKED} qui
+ * prolonge available_at de la durée du bail : les dispatchers de plusieurs nœuds se partagent les événements sans
+ * jamais prendre le même, et un événement dont le dispatcher s'arrête redevient disponible à la fin du bail.
+ * <p>
+ * Seul le plus ancien événement en attente d'un agrégat peut être pris : les suivants restent bloqués tant qu'il est
+ * en cours, en attente de nouvel essai ou sous bail, quel que soit le délai de reprise. Deux dispatchers ne traitent
+ * donc jamais le même agrégat en même temps, et ses événements sont appliqués dans l'ordre d'écriture.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcOutboxRepository {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_DEAD = "DEAD";
+
+    private static final String CLAIM_BATCH_SQL = """
+            WITH next AS (
+                SELECT e.id
+                  FROM kredika_app.outbox_events e
+                 WHERE e.status = 'PENDING'
+                   AND e.available_at <= now()
+                   AND NOT EXISTS (SELECT 1
+                                     FROM kredika_app.outbox_events earlier
+                                    WHERE earlier.aggregate_id = e.aggregate_id
+                                      AND earlier.status = 'PENDING'
+                                      AND earlier.created_at < e.created_at)
+                 ORDER BY e.available_at
+                 LIMIT ?
+                   FOR UPDATE SKIP LOCKED
+            )
+            UPDATE kredika_app.outbox_events o
+               SET attempts = o.attempts + 1,
+                   available_at = now() + ? * interval '1 second'
+              FROM next n
+             WHERE o.id = n.id
+            RETURNING o.id, o.event_type, o.aggregate_id, o.payload::text AS payload, o.attempts, o.created_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Écrit un événement dans la transaction en cours. created_at prend l'heure réelle et non celle du début de la
+     * transaction : les événements d'un agrégat écrits dans une même transaction restent ordonnés.
+     */
+    public void append (OutboxEventType type, UUID aggregateId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Contenu d'événement non sérialisable", ex);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.outbox_events
+                       (id, aggregate_type, aggregate_id, event_type, payload, status, attempts, available_at,
+                        created_at)
+                VALUES (?, ?, ?, ?, CAST(? AS jsonb), 'PENDING', 0, now(), clock_timestamp())
+                """, UUID.randomUUID(), type.getAggregateType(), aggregateId, type.name(), json);
+    }
+
+    /**
+     * Prend un lot d'événements disponibles et leur pose un bail
+     *
+     * @param limit        taille maximale du lot
+     * @param leaseSeconds durée pendant laquelle les événements pris restent réservés à ce dispatcher
+     * @return les événements pris, par ordre d'écriture
+     */
+    public List<OutboxEvent> claimBatch (int limit, long leaseSeconds) {
+        return jdbcTemplate.query(CLAIM_BATCH_SQL, (rs, rowNum) -> {
+            try {
+                return new OutboxEvent(
+                        rs.getObject("id", UUID.class),
+                        OutboxEventType.valueOf(rs.getString("event_type")),
+                        rs.getObject("aggregate_id", UUID.class),
+                        objectMapper.readTree(rs.getString("payload")),
+                        rs.getInt("attempts"),
+                        rs.getTimestamp("created_at").toLocalDateTime()
+                );
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Contenu d'événement illisible", ex);
+            }
+        }, limit, leaseSeconds).stream()
+                .sorted(Comparator.comparing(OutboxEvent::createdAt))
+                .toList();
+    }
+
+    /**
+     * Marque l'événement traité, à condition que le bail de cette tentative soit toujours le dernier posé
+     *
+     * @return false si l'événement a été repris entre-temps par un autre dispatcher
+     */
+    public boolean markDone (UUID id, int attempt) {
+        return jdbcTemplate.update("""
+                UPDATE kredika_app.outbox_events
+                   SET status = 'DONE', processed_at = now(), last_error = NULL
+                 WHERE id = ? AND status = 'PENDING' AND attempts = ?
+                """, id, attempt) == 1;
+    }
+
+    /**
+     * Replanifie l'événement après un échec
+     */
+    public void reschedule (UUID id, int attempt, long delaySeconds, String error) {
+        jdbcTemplate.update("""
+                UPDATE kredika_app.outbox_events
+                   SET available_at = now() + ? * interval '1 second', last_error = ?
+                 WHERE id = ? AND status = 'PENDING' AND attempts = ?
+                """, delaySeconds, error, id, attempt);
+    }
+
+    /**
+     * Abandonne l'événement après le nombre maximal de tentatives
+     */
+    public void markDead (UUID id, int attempt, String error) {
+        jdbcTemplate.update("""
+                UPDATE kredika_app.outbox_events
+                   SET status = 'DEAD', processed_at = now(), last_error = ?
+                 WHERE id = ? AND status = 'PENDING' AND attempts = ?
+                """, error, id, attempt);
+    }
+
+    /**
+     * @return la date d'écriture du plus ancien événement non traité, ou null
+     */
+    public LocalDateTime findOldestPending () {
+        List<Timestamp> oldest = jdbcTemplate.queryForList("""
+                SELECT min(created_at) FROM kredika_app.outbox_events WHERE status = 'PENDING'
+                """, Timestamp.class);
+        return oldest.isEmpty() || oldest.getFirst() == null ? null : oldest.getFirst().toLocalDateTime();
+    }
+
+    /**
+     * Supprime un lot d'événements traités avant la date donnée
+     *
+     * @return le nombre de lignes supprimées
+     */
+    public int purgeDone (LocalDateTime before, int limit) {
+        return jdbcTemplate.update("""
+                DELETE FROM kredika_app.outbox_events
+                 WHERE id IN (SELECT id
+                                FROM kredika_app.outbox_events
+                               WHERE status = 'DONE' AND processed_at < ?
+                               LIMIT ?)
+                """, Timestamp.valueOf(before), limit);
+    }
+}
@@ -0,0 +1,67 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.dto.simple.InstallmentPlanSimpleDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Initiation des paiements d'échéances : lecture du plan et enregistrement de la transaction en attente, sans
+ * hydrater le plan ni ses échéances.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcPaymentRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return le plan s'il appartient à l'utilisateur, ou null
+     */
+    public InstallmentPlanSimpleDto findPlan (UUID planId, UUID userId) {
+        List<InstallmentPlanSimpleDto> plans = jdbcTemplate.query("""
+                SELECT id, plan_number, total_amount, status_code
+                  FROM kredika_app.installment_plans
+                 WHERE id = ? AND user_id = ? AND is_deleted = false
+                """, (rs, rowNum) -> new InstallmentPlanSimpleDto(
+                rs.getObject("id", UUID.class),
+                rs.getString("plan_number"),
+                rs.getBigDecimal("total_amount"),
+                rs.getString("status_code")
+        ), planId, userId);
+        return plans.isEmpty() ? null : plans.getFirst();
+    }
+
+    /**
+     * @return la première échéance non soldée du plan, ou null
+     */
+    public UUID findNextDueSchedule (UUID planId) {
+        List<UUID> schedules = jdbcTemplate.queryForList("""
+                SELECT id
+                  FROM kredika_app.payment_schedules
+                 WHERE installment_plan_id = ? AND is_deleted = false AND paid_amount < amount
+                 ORDER BY installment_number
+                 LIMIT 1
+                """, UUID.class, planId);
+        return schedules.isEmpty() ? null : schedules.getFirst();
+    }
+
+    /**
+     * Enregistre une transaction de paiement en attente de confirmation par la passerelle
+     */
+    public void insertPending (UUID id, String transactionNumber, UUID userId, UUID planId, UUID scheduleId,
+                               BigDecimal amount, String paymentMethodCode, String externalTransactionId) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.payment_transactions
+                       (id, is_deleted, created_at, updated_at, version, transaction_number, user_id,
+                        installment_plan_id, payment_schedule_id, amount, payment_method_code,
+                        external_transaction_id, status_code, refund_amount)
+                VALUES (?, false, now(), now(), 0, ?, ?, ?, ?, ?, ?, ?, 'PENDING', 0)
+                """, id, transactionNumber, userId, planId, scheduleId, amount, paymentMethodCode,
+                externalTransactionId);
+    }
+}
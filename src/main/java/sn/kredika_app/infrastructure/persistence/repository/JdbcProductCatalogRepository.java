@@ -0,0 +1,105 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.common.enums.ProductCatalogSort;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lecture du catalogue produits par pagination par clé (seek method).
+ * Aucune clause OFFSET n'est utilisée : chaque page démarre directement dans l'index composite à la position du
+ * curseur, ce qui rend le coût d'une page indépendant de sa profondeur.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcProductCatalogRepository {
+
+    private static final String SELECT_CLAUSE = """
+            SELECT p.id, p.name, p.price, p.created_at, COALESCE(p.rating, 0) AS rating_key,
+                   %s AS main_image_url
+              FROM kredika_app.products p
+             WHERE p.is_active = :active
+               AND p.is_deleted = false
+            """.formatted(ProductSqlFragments.MAIN_IMAGE_URL);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Ligne du catalogue accompagnée de la valeur de sa clé de tri (pour construire le curseur suivant)
+     */
+    public record CatalogRow(ProductSimpleDto product, String sortKey) {
+    }
+
+    /**
+     * Lit une page du catalogue d'une catégorie ou d'un sous-arbre de catégories.
+     * Pour une seule catégorie, le filtre d'égalité laisse l'index composite fournir directement l'ordre de tri ;
+     * pour un sous-arbre, toutes les catégories sont filtrées en un seul {@code category_id = ANY(?)}.
+     *
+     * @param categoryIds identifiants des catégories (une catégorie ou un sous-arbre)
+     * @param active      filtre sur is_active
+     * @param sort       ordre de tri
+     * @param cursorKey  valeur de clé du curseur (null pour la première page)
+     * @param cursorId   identifiant du curseur (null pour la première page)
+     * @param limit      nombre maximum de lignes à renvoyer
+     * @return les lignes de la page, dans l'ordre demandé
+     */
+    public List<CatalogRow> findPage (UUID[] categoryIds, boolean active, ProductCatalogSort sort,
+                                      String cursorKey, UUID cursorId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("active", active)
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder(SELECT_CLAUSE);
+        if (categoryIds.length == 1) {
+            sql.append("   AND p.category_id = :categoryId\n");
+            params.addValue("categoryId", categoryIds[0]);
+        } else {
+            sql.append("   AND p.category_id = ANY(:categoryIds)\n");
+            params.addValue("categoryIds", new SqlArrayValue("uuid", (Object[]) categoryIds));
+        }
+        if (cursorKey != null && cursorId != null) {
+            sql.append("   AND ").append(sort.seekPredicate()).append('\n');
+            params.addValue("cursorKey", parseKey(sort, cursorKey));
+            params.addValue("cursorId", cursorId);
+        }
+        sql.append(" ORDER BY ").append(sort.orderByClause()).append('\n');
+        sql.append(" LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            ProductSimpleDto product = new ProductSimpleDto(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("name"),
+                    rs.getBigDecimal("price"),
+                    rs.getString("main_image_url")
+            );
+            String key = switch (sort) {
+                case NEWEST -> rs.getTimestamp("created_at").toLocalDateTime().toString();
+                case PRICE_ASC, PRICE_DESC -> rs.getBigDecimal("price").toPlainString();
+                case TOP_RATED -> rs.getBigDecimal("rating_key").toPlainString();
+            };
+            return new CatalogRow(product, key);
+        });
+    }
+
+    private Object parseKey (ProductCatalogSort sort, String cursorKey) {
+        try {
+            return switch (sort) {
+                case NEWEST -> Timestamp.valueOf(LocalDateTime.parse(cursorKey));
+                case PRICE_ASC, PRICE_DESC, TOP_RATED -> new BigDecimal(cursorKey);
+            };
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw CustomException.badRequest("Curseur de pagination invalide");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+/**
+ * Application ensembliste des deltas de compteurs produits.
+ * Une seule instruction UPDATE ... FROM unnest(...) applique tous les deltas d'un lot ; la colonne version n'étant pas
+ * touchée, ces écritures n'entrent jamais en conflit avec le verrouillage optimiste de ProductModel.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcProductCounterRepository {
+
+    private static final String APPLY_DELTAS_SQL = """
+            UPDATE kredika_app.products p
+               SET view_count = COALESCE(p.view_count, 0) + d.views,
+                   purchase_count = COALESCE(p.purchase_count, 0) + d.purchases
+              FROM unnest(?::uuid[], ?::bigint[], ?::bigint[]) AS d(id, views, purchases)
+             WHERE p.id = d.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applique un lot de deltas en une instruction
+     *
+     * @param ids       identifiants des produits (triés pour un ordre de verrouillage stable entre nœuds)
+     * @param views     deltas de vues, alignés sur ids
+     * @param purchases deltas d'achats, alignés sur ids
+     * @return le nombre de lignes mises à jour
+     */
+    public int applyDeltas (UUID[] ids, Long[] views, Long[] purchases) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(APPLY_DELTAS_SQL)) {
+                Array idArray = connection.createArrayOf("uuid", ids);
+                Array viewArray = connection.createArrayOf("bigint", views);
+                Array purchaseArray = connection.createArrayOf("bigint", purchases);
+                ps.setArray(1, idArray);
+                ps.setArray(2, viewArray);
+                ps.setArray(3, purchaseArray);
+                return ps.executeUpdate();
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetRow;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lecture des colonnes de products nécessaires à l'index de facettes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcProductFacetRepository {
+
+    private static final String SELECT_CLAUSE = """
+            SELECT p.id, p.category_id, p.brand, p.color, p.price, p.credit_eligible, p.is_featured,
+                   p.is_active, p.is_deleted
+              FROM kredika_app.products p
+            """;
+
+    private static final RowMapper<FacetRow> ROW_MAPPER = (rs, rowNum) -> new FacetRow(
+            rs.getObject("id", UUID.class),
+            rs.getObject("category_id", UUID.class),
+            rs.getString("brand"),
+            rs.getString("color"),
+            rs.getBigDecimal("price"),
+            rs.getBoolean("credit_eligible"),
+            rs.getBoolean("is_featured"),
+            rs.getBoolean("is_active"),
+            rs.getBoolean("is_deleted")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return tous les produits actifs et non supprimés
+     */
+    public List<FacetRow> findAllIndexable () {
+        return jdbcTemplate.query(SELECT_CLAUSE + " WHERE p.is_active IS TRUE AND p.is_deleted = false", ROW_MAPPER);
+    }
+
+    /**
+     * @param productIds produits à relire
+     * @return l'état courant des produits encore présents en base, quel que soit leur statut
+     */
+    public List<FacetRow> findByIds (UUID[] productIds) {
+        return jdbcTemplate.query(SELECT_CLAUSE + " WHERE p.id = ANY(?)", ROW_MAPPER,
+                new SqlArrayValue("uuid", (Object[]) productIds));
+    }
+}
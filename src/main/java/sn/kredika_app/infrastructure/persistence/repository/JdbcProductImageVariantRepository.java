@@ -0,0 +1,92 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Écritures du pipeline d'images : variantes redimensionnées et état de traitement des images produits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcProductImageVariantRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Variante générée, prête à être insérée
+     */
+    public record VariantRow(int width, int height, String format, long byteSize, String url, String storageKey) {
+    }
+
+    /**
+     * Source à traiter : fichier original et largeur connue
+     */
+    public record ImageSource(UUID imageId, String storageKey, int width) {
+    }
+
+    /**
+     * @return la source de l'image si elle a été téléversée et n'est pas supprimée
+     */
+    public ImageSource findSource (UUID imageId) {
+        List<ImageSource> rows = jdbcTemplate.query("""
+                SELECT id, storage_key, width
+                  FROM kredika_app.product_images
+                 WHERE id = ? AND is_deleted = false AND storage_key IS NOT NULL
+                """, (rs, rowNum) -> new ImageSource(
+                rs.getObject("id", UUID.class),
+                rs.getString("storage_key"),
+                rs.getInt("width")
+        ), imageId);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    /**
+     * @param limit nombre maximum d'images
+     * @return les images encore en attente de traitement (reprise après redémarrage)
+     */
+    public List<UUID> findPendingImageIds (int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT id FROM kredika_app.product_images
+                 WHERE processing_status = 'PENDING' AND is_deleted = false
+                 ORDER BY created_at
+                 LIMIT ?
+                """, UUID.class, limit);
+    }
+
+    /**
+     * Remplace toutes les variantes d'une image par un lot d'insertions, dans la transaction courante
+     */
+    public void replaceVariants (UUID imageId, List<VariantRow> variants) {
+        jdbcTemplate.update("DELETE FROM kredika_app.product_image_variants WHERE image_id = ?", imageId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO kredika_app.product_image_variants
+                       (id, image_id, width, height, format, byte_size, url, storage_key, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, variants, variants.size(), (ps, variant) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, imageId);
+            ps.setInt(3, variant.width());
+            ps.setInt(4, variant.height());
+            ps.setString(5, variant.format());
+            ps.setLong(6, variant.byteSize());
+            ps.setString(7, variant.url());
+            ps.setString(8, variant.storageKey());
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    /**
+     * Met à jour l'état de traitement sans passer par l'entité (pas d'incrément de version)
+     */
+    public void updateStatus (UUID imageId, String status) {
+        jdbcTemplate.update("UPDATE kredika_app.product_images SET processing_status = ? WHERE id = ?",
+                status, imageId);
+    }
+}
@@ -0,0 +1,153 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Accès ensembliste à la table product_rating_stats.
+ * Toutes les mises à jour sont des incréments relatifs (col = col + delta) : deux avis approuvés en parallèle sur le
+ * même produit ne se perdent pas et la ligne produit n'est jamais verrouillée.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcProductRatingStatsRepository {
+
+    private static final String APPLY_DELTA_SQL = """
+            INSERT INTO kredika_app.product_rating_stats
+                   (product_id, rating_sum, rating_count, star1_count, star2_count, star3_count, star4_count, star5_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (product_id) DO UPDATE
+               SET rating_sum = product_rating_stats.rating_sum + EXCLUDED.rating_sum,
+                   rating_count = product_rating_stats.rating_count + EXCLUDED.rating_count,
+                   star1_count = product_rating_stats.star1_count + EXCLUDED.star1_count,
+                   star2_count = product_rating_stats.star2_count + EXCLUDED.star2_count,
+                   star3_count = product_rating_stats.star3_count + EXCLUDED.star3_count,
+                   star4_count = product_rating_stats.star4_count + EXCLUDED.star4_count,
+                   star5_count = product_rating_stats.star5_count + EXCLUDED.star5_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ajoute (sign = 1) ou retire (sign = -1) une note de l'agrégat, dans la transaction courante
+     */
+    public void applyDelta (UUID productId, int rating, int sign) {
+        long[] stars = new long[5];
+        stars[rating - 1] = sign;
+        write(productId, (long) sign * rating, sign, stars);
+    }
+
+    /**
+     * Remplace une note par une autre pour un avis déjà comptabilisé (le nombre d'avis ne change pas)
+     */
+    public void replaceRating (UUID productId, int oldRating, int newRating) {
+        long[] stars = new long[5];
+        stars[oldRating - 1] -= 1;
+        stars[newRating - 1] += 1;
+        write(productId, newRating - oldRating, 0, stars);
+    }
+
+    private void write (UUID productId, long sumDelta, long countDelta, long[] stars) {
+        jdbcTemplate.update(APPLY_DELTA_SQL, productId, sumDelta, countDelta,
+                stars[0], stars[1], stars[2], stars[3], stars[4]);
+    }
+
+    /**
+     * Lit l'agrégat d'un produit
+     *
+     * @return {somme, nombre, 1 étoile, ..., 5 étoiles}, ou un tableau de zéros si le produit n'a aucun avis approuvé
+     */
+    public long[] findByProductId (UUID productId) {
+        List<long[]> rows = jdbcTemplate.query("""
+                SELECT rating_sum, rating_count, star1_count, star2_count, star3_count, star4_count, star5_count
+                  FROM kredika_app.product_rating_stats
+                 WHERE product_id = ?
+                """, (rs, rowNum) -> new long[]{
+                rs.getLong("rating_sum"),
+                rs.getLong("rating_count"),
+                rs.getLong("star1_count"),
+                rs.getLong("star2_count"),
+                rs.getLong("star3_count"),
+                rs.getLong("star4_count"),
+                rs.getLong("star5_count")
+        }, productId);
+        return rows.isEmpty() ? new long[7] : rows.getFirst();
+    }
+
+    /**
+     * Recopie la moyenne et le nombre d'avis sur les produits dont la copie dénormalisée (tri, vignettes) diffère
+     * de l'agrégat. Seules les lignes réellement modifiées sont écrites.
+     *
+     * @return le nombre de produits mis à jour
+     */
+    public int syncProductRatings () {
+        return jdbcTemplate.update("""
+                UPDATE kredika_app.products p
+                   SET rating = CASE WHEN s.rating_count > 0
+                                     THEN round(s.rating_sum::numeric / s.rating_count, 2) END,
+                       review_count = s.rating_count
+                  FROM kredika_app.product_rating_stats s
+                 WHERE p.id = s.product_id
+                   AND (p.review_count IS DISTINCT FROM s.rating_count::int
+                        OR p.rating IS DISTINCT FROM CASE WHEN s.rating_count > 0
+                                                          THEN round(s.rating_sum::numeric / s.rating_count, 2) END)
+                """);
+    }
+
+    public boolean isEmpty () {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM kredika_app.product_rating_stats)", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Recalcule tous les agrégats depuis la table product_reviews (réconciliation), dans la transaction courante.
+     * Le verrou SHARE ROW EXCLUSIVE est pris avant la lecture des avis : un avis dont le delta est déjà appliqué est
+     * validé avant le recalcul, qui le compte donc, et un avis arrivé ensuite attend la fin de la réconciliation pour
+     * appliquer le sien par-dessus.
+     *
+     * @return le nombre de produits mis à jour
+     */
+    public int recomputeAll () {
+        jdbcTemplate.execute("LOCK TABLE kredika_app.product_rating_stats IN SHARE ROW EXCLUSIVE MODE");
+        int upserted = jdbcTemplate.update("""
+                INSERT INTO kredika_app.product_rating_stats
+                       (product_id, rating_sum, rating_count, star1_count, star2_count, star3_count, star4_count, star5_count)
+                SELECT r.product_id,
+                       sum(r.rating),
+                       count(*),
+                       count(*) FILTER (WHERE r.rating = 1),
+                       count(*) FILTER (WHERE r.rating = 2),
+                       count(*) FILTER (WHERE r.rating = 3),
+                       count(*) FILTER (WHERE r.rating = 4),
+                       count(*) FILTER (WHERE r.rating = 5)
+                  FROM kredika_app.product_reviews r
+                 WHERE r.is_approved IS TRUE
+                   AND r.is_deleted = false
+                   AND r.rating BETWEEN 1 AND 5
+                 GROUP BY r.product_id
+                ON CONFLICT (product_id) DO UPDATE
+                   SET rating_sum = EXCLUDED.rating_sum,
+                       rating_count = EXCLUDED.rating_count,
+                       star1_count = EXCLUDED.star1_count,
+                       star2_count = EXCLUDED.star2_count,
+                       star3_count = EXCLUDED.star3_count,
+                       star4_count = EXCLUDED.star4_count,
+                       star5_count = EXCLUDED.star5_count
+                """);
+        int cleared = jdbcTemplate.update("""
+                UPDATE kredika_app.product_rating_stats s
+                   SET rating_sum = 0, rating_count = 0,
+                       star1_count = 0, star2_count = 0, star3_count = 0, star4_count = 0, star5_count = 0
+                 WHERE s.rating_count <> 0
+                   AND NOT EXISTS (SELECT 1 FROM kredika_app.product_reviews r
+                                    WHERE r.product_id = s.product_id AND r.is_approved IS TRUE
+                                      AND r.is_deleted = false AND r.rating BETWEEN 1 AND 5)
+                """);
+        return upserted + cleared;
+    }
+}
@@ -0,0 +1,96 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.domain.dto.response.ProductSearchHitDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recherche plein texte sur les produits.
+ * S'appuie sur la colonne générée {@code products.search_vector} (nom, marque, tags, descriptions, sans accents,
+ * racinisés en français) et sur l'index GIN partiel {@code idx_product_search}, tous deux créés par
+ * db/schema-extensions.sql. La colonne étant recalculée par PostgreSQL à chaque écriture, l'index suit les
+ * créations, modifications et suppressions logiques sans traitement applicatif.
+ * ts_rank_cd étant évalué pour chaque ligne classée avant le LIMIT, le classement ne porte que sur les
+ * correspondances les plus récentes, dans la limite de la fenêtre consultable : pour une requête très large (un terme
+ * présent dans une grande partie du catalogue), le planificateur parcourt alors l'index partiel
+ * {@code idx_product_search_window} (ou idx_product_catalog_newest dans une catégorie) jusqu'à atteindre cette limite
+ * au lieu de construire le bitmap GIN de toutes les correspondances, au prix d'un classement partiel de ces requêtes.
+ * L'ordre (created_at, id) fixe la fenêtre : toutes les pages d'une même requête sont découpées dans les mêmes
+ * correspondances, sans doublon ni omission d'une page à l'autre.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcProductSearchRepository {
+
+    // La requête est répétée plutôt que partagée via un CTE : évaluée sur une constante, elle reste visible du
+    // planificateur, qui estime ainsi la sélectivité réelle des termes
+    private static final String CANDIDATES_SQL = """
+            SELECT p.id, p.name, p.brand, p.price, p.rating,
+                   %s AS main_image_url,
+                   p.rank
+              FROM (SELECT c.id, c.name, c.brand, c.price, c.rating,
+                           ts_rank_cd(c.search_vector, websearch_to_tsquery('french', kredika_app.f_unaccent(:query)))
+                               AS rank
+                      FROM (SELECT p.id, p.name, p.brand, p.price, p.rating, p.search_vector
+                              FROM kredika_app.products p
+                             WHERE p.search_vector @@ websearch_to_tsquery('french', kredika_app.f_unaccent(:query))
+                               AND p.is_active = true
+                               AND p.is_deleted = false
+            """.formatted(ProductSqlFragments.MAIN_IMAGE_URL);
+
+    // L'image principale n'est lue que pour la page retournée, pas pour les lignes sautées par l'OFFSET
+    private static final String RANKED_SQL = """
+                             ORDER BY p.created_at DESC, p.id DESC
+                             LIMIT :window) c
+                     ORDER BY rank DESC, c.id
+                     LIMIT :limit OFFSET :offset) p
+             ORDER BY p.rank DESC, p.id
+            """;
+
+    private static final String FORCE_CUSTOM_PLAN_SQL = "SET LOCAL plan_cache_mode = force_custom_plan";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Recherche les produits actifs correspondant à la requête, classés par pertinence
+     *
+     * @param query      texte saisi par l'utilisateur (syntaxe web : guillemets, OR, -exclusion)
+     * @param categoryId catégorie à laquelle restreindre la recherche (optionnelle)
+     * @param limit      nombre maximum de résultats
+     * @param offset     nombre de résultats à sauter
+     * @param window     nombre maximum de correspondances classées
+     * @return les résultats classés par pertinence décroissante
+     */
+    public List<ProductSearchHitDto> search (String query, UUID categoryId, int limit, int offset, int window) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", limit)
+                .addValue("offset", offset)
+                .addValue("window", window);
+
+        StringBuilder sql = new StringBuilder(CANDIDATES_SQL);
+        if (categoryId != null) {
+            sql.append("                               AND p.category_id = :categoryId\n");
+            params.addValue("categoryId", categoryId);
+        }
+        sql.append(RANKED_SQL);
+
+        // Un plan générique (instruction préparée réutilisée par le pilote) ignorerait la sélectivité des termes
+        jdbcTemplate.getJdbcTemplate().execute(FORCE_CUSTOM_PLAN_SQL);
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new ProductSearchHitDto(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getString("brand"),
+                rs.getBigDecimal("price"),
+                rs.getBigDecimal("rating"),
+                rs.getString("main_image_url"),
+                rs.getFloat("rank")
+        ));
+    }
+}
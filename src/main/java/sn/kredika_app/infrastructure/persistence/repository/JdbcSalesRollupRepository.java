@@ -0,0 +1,321 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.dto.response.SalesReportRowDto;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Agrégats de ventes par produit et par catégorie et par jour.
+ * Les commandes comptées sont tracées dans sales_rollup_orders avec leur contribution par produit, retranchée telle
+ * quelle au retrait de la commande. L'ajout ou le retrait d'une commande et le recalcul d'une journée prennent le même
+ * verrou consultatif transactionnel sur la journée, si bien qu'un événement traité pendant ou après le recalcul de sa
+ * journée ne compte jamais une commande deux fois. Les rapports ne lisent que les agrégats.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcSalesRollupRepository {
+
+    /**
+     * Espace de noms des verrous consultatifs des agrégats de ventes (clé 1), la journée étant la clé 2
+     */
+    private static final int LOCK_NAMESPACE = 20_020;
+
+    private static final String LOCK_DAY_SQL = "SELECT pg_advisory_xact_lock(:namespace, :day)";
+
+    private static final String FIND_ORDER_SQL = """
+            SELECT created_at::date AS sales_date,
+                   (status_code = 'DELIVERED' AND is_deleted = false) AS delivered
+              FROM kredika_app.orders
+             WHERE id = :orderId
+            """;
+
+    private static final String CLEAR_DAY_SQL = """
+            WITH products AS (
+                DELETE FROM kredika_app.sales_product_daily WHERE sales_date = :salesDate
+            ), categories AS (
+                DELETE FROM kredika_app.sales_category_daily WHERE sales_date = :salesDate
+            )
+            DELETE FROM kredika_app.sales_rollup_orders WHERE sales_date = :salesDate
+            """;
+
+    /**
+     * Ajout de commandes : la contribution de chaque commande (par produit, avec sa catégorie du moment) est
+     * calculée, conservée dans sales_rollup_orders puis ajoutée aux agrégats. Une commande déjà comptée n'est pas
+     * réappliquée.
+     */
+    private static final String ADD_SQL = """
+            WITH target_orders AS (
+                %s
+            ), order_lines AS (
+                SELECT t.id AS order_id, oi.product_id, p.category_id,
+                       sum(oi.quantity) AS units,
+                       sum(oi.total_price) AS revenue,
+                       COALESCE(sum(oi.quantity) FILTER (WHERE oi.payment_method_code = :credit), 0) AS credit_units,
+                       COALESCE(sum(oi.total_price) FILTER (WHERE oi.payment_method_code = :credit), 0) AS credit_revenue
+                  FROM target_orders t
+                  JOIN kredika_app.order_items oi ON oi.order_id = t.id AND oi.is_deleted = false
+                  JOIN kredika_app.products p ON p.id = oi.product_id
+                 GROUP BY t.id, oi.product_id, p.category_id
+            ), commissions AS (
+                SELECT pl.order_id, pl.product_id, sum(pl.commission_amount) AS commission
+                  FROM kredika_app.installment_plans pl
+                  JOIN target_orders t ON t.id = pl.order_id
+                 WHERE pl.is_deleted = false
+                 GROUP BY pl.order_id, pl.product_id
+            ), contributions AS (
+                SELECT ol.order_id,
+                       jsonb_agg(jsonb_build_object(
+                               'product_id', ol.product_id, 'category_id', ol.category_id,
+                               'units', ol.units, 'revenue', ol.revenue,
+                               'credit_units', ol.credit_units, 'credit_revenue', ol.credit_revenue,
+                               'commission', COALESCE(c.commission, 0))) AS contribution
+                  FROM order_lines ol
+                  LEFT JOIN commissions c ON c.order_id = ol.order_id AND c.product_id = ol.product_id
+                 GROUP BY ol.order_id
+            ), applied AS (
+                INSERT INTO kredika_app.sales_rollup_orders (order_id, sales_date, applied_at, contribution)
+                SELECT t.id, t.sales_date, now(), COALESCE(c.contribution, '[]'::jsonb)
+                  FROM target_orders t
+                  LEFT JOIN contributions c ON c.order_id = t.id
+                ON CONFLICT (order_id) DO NOTHING
+                RETURNING sales_date, contribution
+            ), %s
+            SELECT count(*)::int FROM applied
+            """;
+
+    /**
+     * Retrait d'une commande : exactement la contribution conservée à son ajout, quels que soient les changements
+     * intervenus depuis sur ses articles, ses plans ou la catégorie des produits
+     */
+    private static final String REMOVE_ORDER_SQL = """
+            WITH applied AS (
+                DELETE FROM kredika_app.sales_rollup_orders
+                 WHERE order_id = :orderId
+                RETURNING sales_date, contribution
+            ), %s
+            SELECT count(*)::int FROM applied
+            """;
+
+    /**
+     * Report des contributions de {@code applied(sales_date, contribution)} sur les agrégats produit et catégorie,
+     * avec le signe :sign (1 ou -1)
+     */
+    private static final String APPLY_CONTRIBUTIONS_SQL = """
+            per_product AS (
+                SELECT a.sales_date, c.product_id, c.category_id,
+                       :sign * sum(c.units) AS units,
+                       :sign * sum(c.revenue) AS revenue,
+                       :sign * sum(c.credit_units) AS credit_units,
+                       :sign * sum(c.credit_revenue) AS credit_revenue,
+                       :sign * sum(c.commission) AS commission
+                  FROM applied a
+                 CROSS JOIN LATERAL jsonb_to_recordset(a.contribution)
+                       AS c(product_id uuid, category_id uuid, units bigint, revenue numeric, credit_units bigint,
+                            credit_revenue numeric, commission numeric)
+                 GROUP BY a.sales_date, c.product_id, c.category_id
+            ), product_upsert AS (
+                INSERT INTO kredika_app.sales_product_daily AS s
+                       (sales_date, product_id, category_id, units, revenue, credit_units, credit_revenue,
+                        cash_units, cash_revenue, commission_amount, updated_at)
+                SELECT sales_date, product_id, max(category_id::text)::uuid, sum(units), sum(revenue),
+                       sum(credit_units), sum(credit_revenue), sum(units - credit_units),
+                       sum(revenue - credit_revenue), sum(commission), now()
+                  FROM per_product
+                 GROUP BY sales_date, product_id
+                ON CONFLICT (sales_date, product_id) DO UPDATE
+                   SET category_id = CASE WHEN :sign > 0 THEN EXCLUDED.category_id ELSE s.category_id END,
+                       units = s.units + EXCLUDED.units,
+                       revenue = s.revenue + EXCLUDED.revenue,
+                       credit_units = s.credit_units + EXCLUDED.credit_units,
+                       credit_revenue = s.credit_revenue + EXCLUDED.credit_revenue,
+                       cash_units = s.cash_units + EXCLUDED.cash_units,
+                       cash_revenue = s.cash_revenue + EXCLUDED.cash_revenue,
+                       commission_amount = s.commission_amount + EXCLUDED.commission_amount,
+                       updated_at = now()
+            ), category_upsert AS (
+                INSERT INTO kredika_app.sales_category_daily AS s
+                       (sales_date, category_id, units, revenue, credit_units, credit_revenue,
+                        cash_units, cash_revenue, commission_amount, updated_at)
+                SELECT sales_date, category_id, sum(units), sum(revenue), sum(credit_units), sum(credit_revenue),
+                       sum(units - credit_units), sum(revenue - credit_revenue), sum(commission), now()
+                  FROM per_product
+                 GROUP BY sales_date, category_id
+                ON CONFLICT (sales_date, category_id) DO UPDATE
+                   SET units = s.units + EXCLUDED.units,
+                       revenue = s.revenue + EXCLUDED.revenue,
+                       credit_units = s.credit_units + EXCLUDED.credit_units,
+                       credit_revenue = s.credit_revenue + EXCLUDED.credit_revenue,
+                       cash_units = s.cash_units + EXCLUDED.cash_units,
+                       cash_revenue = s.cash_revenue + EXCLUDED.cash_revenue,
+                       commission_amount = s.commission_amount + EXCLUDED.commission_amount,
+                       updated_at = now()
+            )""";
+
+    private static final String ADD_ORDER_SQL = ADD_SQL.formatted(
+            "SELECT CAST(:orderId AS uuid) AS id, CAST(:salesDate AS date) AS sales_date",
+            APPLY_CONTRIBUTIONS_SQL);
+
+    private static final String ADD_DAY_SQL = ADD_SQL.formatted("""
+            SELECT id, created_at::date AS sales_date
+                  FROM kredika_app.orders
+                 WHERE status_code = 'DELIVERED'
+                   AND is_deleted = false
+                   AND created_at >= :salesDate
+                   AND created_at < CAST(:salesDate AS date) + 1""", APPLY_CONTRIBUTIONS_SQL);
+
+    private static final String REMOVE_SQL = REMOVE_ORDER_SQL.formatted(APPLY_CONTRIBUTIONS_SQL);
+
+    private static final String DAILY_REPORT_SQL = """
+            SELECT sales_date, NULL::uuid AS category_id, NULL::uuid AS product_id,
+                   sum(units) AS units, sum(revenue) AS revenue,
+                   sum(credit_units) AS credit_units, sum(credit_revenue) AS credit_revenue,
+                   sum(cash_units) AS cash_units, sum(cash_revenue) AS cash_revenue,
+                   sum(commission_amount) AS commission_amount
+              FROM kredika_app.sales_category_daily
+             WHERE sales_date BETWEEN :from AND :to
+             GROUP BY sales_date
+             ORDER BY sales_date
+            """;
+
+    private static final String CATEGORY_REPORT_SQL = """
+            SELECT NULL::date AS sales_date, category_id, NULL::uuid AS product_id,
+                   sum(units) AS units, sum(revenue) AS revenue,
+                   sum(credit_units) AS credit_units, sum(credit_revenue) AS credit_revenue,
+                   sum(cash_units) AS cash_units, sum(cash_revenue) AS cash_revenue,
+                   sum(commission_amount) AS commission_amount
+              FROM kredika_app.sales_category_daily
+             WHERE sales_date BETWEEN :from AND :to
+             GROUP BY category_id
+             ORDER BY revenue DESC, category_id
+            """;
+
+    private static final String PRODUCT_REPORT_SQL = """
+            SELECT NULL::date AS sales_date, max(category_id::text)::uuid AS category_id, product_id,
+                   sum(units) AS units, sum(revenue) AS revenue,
+                   sum(credit_units) AS credit_units, sum(credit_revenue) AS credit_revenue,
+                   sum(cash_units) AS cash_units, sum(cash_revenue) AS cash_revenue,
+                   sum(commission_amount) AS commission_amount
+              FROM kredika_app.sales_product_daily
+             WHERE sales_date BETWEEN :from AND :to
+               AND (CAST(:categoryId AS uuid) IS NULL OR category_id = :categoryId)
+             GROUP BY product_id
+             ORDER BY revenue DESC, product_id
+             LIMIT :limit
+            """;
+
+    private static final RowMapper<SalesReportRowDto> REPORT_ROW_MAPPER = (rs, rowNum) -> {
+        Date salesDate = rs.getDate("sales_date");
+        return new SalesReportRowDto(
+                salesDate == null ? null : salesDate.toLocalDate(),
+                rs.getObject("category_id", UUID.class),
+                rs.getObject("product_id", UUID.class),
+                rs.getLong("units"),
+                rs.getBigDecimal("revenue"),
+                rs.getLong("credit_units"),
+                rs.getBigDecimal("credit_revenue"),
+                rs.getLong("cash_units"),
+                rs.getBigDecimal("cash_revenue"),
+                rs.getBigDecimal("commission_amount")
+        );
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * État d'une commande vu par les agrégats
+     *
+     * @param salesDate journée de rattachement (date de création de la commande)
+     * @param delivered commande livrée et non supprimée
+     */
+    public record OrderState(LocalDate salesDate, boolean delivered) {
+    }
+
+    /**
+     * @return l'état de la commande, ou null si elle n'existe pas
+     */
+    public OrderState findOrderState (UUID orderId) {
+        List<OrderState> states = jdbcTemplate.query(FIND_ORDER_SQL, new MapSqlParameterSource("orderId", orderId),
+                (rs, rowNum) -> new OrderState(rs.getDate("sales_date").toLocalDate(), rs.getBoolean("delivered")));
+        return states.isEmpty() ? null : states.getFirst();
+    }
+
+    /**
+     * Sérialise, jusqu'à la fin de la transaction courante, les écritures d'agrégats d'une journée
+     */
+    public void lockDay (LocalDate salesDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("namespace", LOCK_NAMESPACE)
+                .addValue("day", Math.toIntExact(salesDate.toEpochDay()));
+        jdbcTemplate.query(LOCK_DAY_SQL, params, rs -> null);
+    }
+
+    /**
+     * Ajoute la commande aux agrégats de sa journée si elle n'y est pas déjà, en conservant sa contribution
+     *
+     * @return true si la commande a été ajoutée
+     */
+    public boolean addOrder (UUID orderId, LocalDate salesDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orderId", orderId)
+                .addValue("salesDate", Date.valueOf(salesDate))
+                .addValue("credit", CreditPricing.PAYMENT_CREDIT)
+                .addValue("sign", 1);
+        return jdbcTemplate.queryForObject(ADD_ORDER_SQL, params, Integer.class) > 0;
+    }
+
+    /**
+     * Retire des agrégats la contribution conservée de la commande, si elle y figure
+     *
+     * @return true si la commande a été retirée
+     */
+    public boolean removeOrder (UUID orderId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orderId", orderId)
+                .addValue("sign", -1);
+        return jdbcTemplate.queryForObject(REMOVE_SQL, params, Integer.class) > 0;
+    }
+
+    /**
+     * Recalcule la journée depuis les commandes livrées ; le verrou de la journée doit être pris
+     *
+     * @return le nombre de commandes comptées
+     */
+    public int rebuildDay (LocalDate salesDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("salesDate", Date.valueOf(salesDate))
+                .addValue("credit", CreditPricing.PAYMENT_CREDIT)
+                .addValue("sign", 1);
+        jdbcTemplate.update(CLEAR_DAY_SQL, params);
+        return jdbcTemplate.queryForObject(ADD_DAY_SQL, params, Integer.class);
+    }
+
+    public List<SalesReportRowDto> findDailyTotals (LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(DAILY_REPORT_SQL, rangeParams(from, to), REPORT_ROW_MAPPER);
+    }
+
+    public List<SalesReportRowDto> findCategoryTotals (LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(CATEGORY_REPORT_SQL, rangeParams(from, to), REPORT_ROW_MAPPER);
+    }
+
+    public List<SalesReportRowDto> findProductTotals (LocalDate from, LocalDate to, UUID categoryId, int limit) {
+        MapSqlParameterSource params = rangeParams(from, to)
+                .addValue("categoryId", categoryId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(PRODUCT_REPORT_SQL, params, REPORT_ROW_MAPPER);
+    }
+
+    private static MapSqlParameterSource rangeParams (LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+    }
+}
@@ -0,0 +1,235 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mouvements de stock et registre des réservations.
+ * Le stock n'est jamais lu puis réécrit : chaque mouvement est un {@code UPDATE ... SET stock = stock + :delta}
+ * conditionné par {@code stock + :delta >= 0}, si bien que la survente est impossible quel que soit le nombre de
+ * transactions concurrentes sur un même produit. Les passages en rupture et les retours en stock sont répercutés
+ * sur category_product_stats dans la même instruction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcStockReservationRepository {
+
+    public static final String STATUS_HELD = "HELD";
+    public static final String STATUS_CONSUMED = "CONSUMED";
+    public static final String STATUS_RELEASED = "RELEASED";
+
+    private static final String ADJUST_STOCK_SQL = """
+            WITH updated AS (
+                UPDATE kredika_app.products
+                   SET stock = stock + :delta
+                 WHERE id = :productId
+                   AND is_deleted = false
+                   AND stock + :delta >= 0
+                RETURNING category_id, is_active, stock
+            ), transition AS (
+                SELECT category_id,
+                       (CASE WHEN stock > 0 THEN 1 ELSE 0 END)
+                           - (CASE WHEN stock - :delta > 0 THEN 1 ELSE 0 END) AS in_stock_delta
+                  FROM updated
+                 WHERE is_active IS TRUE
+            ), stats AS (
+                UPDATE kredika_app.category_product_stats s
+                   SET in_stock_count = s.in_stock_count + t.in_stock_delta
+                  FROM transition t
+                 WHERE s.category_id = t.category_id
+                   AND t.in_stock_delta <> 0
+            )
+            SELECT stock FROM updated
+            """;
+
+    private static final String ADJUST_STOCK_BATCH_SQL = """
+            WITH moves AS (
+                SELECT product_id, delta
+                  FROM unnest(CAST(:productIds AS uuid[]), CAST(:deltas AS int[])) AS m(product_id, delta)
+            ), locked AS (
+                SELECT p.id
+                  FROM kredika_app.products p
+                  JOIN moves m ON m.product_id = p.id
+                 WHERE p.is_deleted = false
+                   AND p.stock + m.delta >= 0
+                 ORDER BY p.id
+                   FOR UPDATE OF p
+            ), updated AS (
+                UPDATE kredika_app.products p
+                   SET stock = p.stock + m.delta
+                  FROM moves m, locked l
+                 WHERE p.id = m.product_id
+                   AND l.id = p.id
+                   AND p.stock + m.delta >= 0
+                RETURNING p.category_id, p.is_active, p.stock, m.delta
+            ), transitions AS (
+                SELECT category_id,
+                       sum((CASE WHEN stock > 0 THEN 1 ELSE 0 END)
+                               - (CASE WHEN stock - delta > 0 THEN 1 ELSE 0 END)) AS in_stock_delta
+                  FROM updated
+                 WHERE is_active IS TRUE
+                 GROUP BY category_id
+            ), stats AS (
+                UPDATE kredika_app.category_product_stats s
+                   SET in_stock_count = s.in_stock_count + t.in_stock_delta
+                  FROM transitions t
+                 WHERE s.category_id = t.category_id
+                   AND t.in_stock_delta <> 0
+            )
+            SELECT count(*) FROM updated
+            """;
+
+    /**
+     * Remise en stock des réservations clôturées par la requête englobante, qui doit exposer un CTE
+     * {@code released(product_id, quantity)} : quantités cumulées par produit, produits verrouillés dans l'ordre de
+     * leur identifiant (comme dans {@link #adjustStockBatch}, pour qu'aucun lot concurrent ne puisse s'interbloquer),
+     * stock crédité et retours en stock répercutés sur category_product_stats. Partagé avec la purge des paniers
+     * abandonnés (JdbcCartSweepRepository).
+     */
+    static final String RESTOCK_RELEASED_CTES = """
+            totals AS (
+                SELECT product_id, sum(quantity)::int AS quantity
+                  FROM released
+                 GROUP BY product_id
+            ), locked AS (
+                SELECT p.id
+                  FROM kredika_app.products p
+                  JOIN totals t ON t.product_id = p.id
+                 ORDER BY p.id
+                   FOR UPDATE OF p
+            ), restocked AS (
+                UPDATE kredika_app.products p
+                   SET stock = p.stock + t.quantity
+                  FROM totals t, locked l
+                 WHERE p.id = t.product_id
+                   AND l.id = p.id
+                RETURNING p.category_id, p.is_active, p.is_deleted, p.stock, t.quantity
+            ), transitions AS (
+                SELECT category_id, count(*) AS back_in_stock
+                  FROM restocked
+                 WHERE is_active IS TRUE AND is_deleted = false AND stock > 0 AND stock - quantity <= 0
+                 GROUP BY category_id
+            ), stats AS (
+                UPDATE kredika_app.category_product_stats s
+                   SET in_stock_count = s.in_stock_count + t.back_in_stock
+                  FROM transitions t
+                 WHERE s.category_id = t.category_id
+            )""";
+
+    private static final String RELEASE_EXPIRED_SQL = """
+            WITH expired AS (
+                SELECT id
+                  FROM kredika_app.stock_reservations
+                 WHERE status = 'HELD'
+                   AND expires_at < :now
+                 ORDER BY expires_at
+                 LIMIT :limit
+                   FOR UPDATE SKIP LOCKED
+            ), released AS (
+                UPDATE kredika_app.stock_reservations r
+                   SET status = 'RELEASED', closed_at = :now
+                  FROM expired e
+                 WHERE r.id = e.id
+                RETURNING r.product_id, r.quantity
+            ), %s
+            SELECT count(*) FROM released
+            """.formatted(RESTOCK_RELEASED_CTES);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Quantité rendue ou consommée lors de la clôture d'une réservation
+     */
+    public record ClosedHold(UUID productId, int quantity) {
+    }
+
+    /**
+     * Applique un mouvement de stock conditionnel
+     *
+     * @param productId produit
+     * @param delta     quantité ajoutée (positive) ou retirée (négative)
+     * @return le nouveau stock, ou null si le stock est insuffisant ou le produit introuvable
+     */
+    public Integer adjustStock (UUID productId, int delta) {
+        List<Integer> rows = jdbcTemplate.queryForList(ADJUST_STOCK_SQL, new MapSqlParameterSource()
+                .addValue("productId", productId)
+                .addValue("delta", delta), Integer.class);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    /**
+     * Applique plusieurs mouvements de stock conditionnels en une seule instruction. Les lignes produits sont
+     * verrouillées dans l'ordre de leur identifiant, si bien que deux lots concurrents ne peuvent pas s'interbloquer.
+     *
+     * @param productIds produits, sans doublon
+     * @param deltas     mouvement de chaque produit, au même rang
+     * @return le nombre de mouvements appliqués ; inférieur au nombre de produits si l'un d'eux manque de stock
+     */
+    public int adjustStockBatch (UUID[] productIds, Integer[] deltas) {
+        Integer applied = jdbcTemplate.queryForObject(ADJUST_STOCK_BATCH_SQL, new MapSqlParameterSource()
+                .addValue("productIds", new SqlArrayValue("uuid", (Object[]) productIds))
+                .addValue("deltas", new SqlArrayValue("integer", (Object[]) deltas)), Integer.class);
+        return applied == null ? 0 : applied;
+    }
+
+    /**
+     * Lit le stock d'un produit en verrouillant sa ligne jusqu'à la fin de la transaction : aucun mouvement ne peut
+     * s'intercaler avant la validation
+     *
+     * @return le stock, ou null si le produit n'existe pas
+     */
+    public Integer lockStock (UUID productId) {
+        List<Integer> rows = jdbcTemplate.queryForList("""
+                SELECT stock FROM kredika_app.products WHERE id = :productId FOR UPDATE
+                """, new MapSqlParameterSource("productId", productId), Integer.class);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    /**
+     * Clôt toutes les réservations actives d'un panier
+     *
+     * @param status CONSUMED (commande validée) ou RELEASED (panier abandonné)
+     * @return les quantités clôturées par produit, triées par produit
+     */
+    public List<ClosedHold> closeCartHolds (UUID cartId, String status) {
+        List<ClosedHold> closed = jdbcTemplate.query("""
+                UPDATE kredika_app.stock_reservations
+                   SET status = :status, closed_at = now()
+                 WHERE cart_id = :cartId
+                   AND status = 'HELD'
+                RETURNING product_id, quantity
+                """, new MapSqlParameterSource()
+                .addValue("cartId", cartId)
+                .addValue("status", status), (rs, rowNum) -> new ClosedHold(
+                rs.getObject("product_id", UUID.class),
+                rs.getInt("quantity")
+        ));
+        return closed.stream()
+                .sorted((a, b) -> a.productId().compareTo(b.productId()))
+                .toList();
+    }
+
+    /**
+     * Rend au stock un lot de réservations expirées, en une seule instruction atomique. Les lignes déjà verrouillées
+     * par un autre nœud sont ignorées (SKIP LOCKED), ce qui permet plusieurs balayeurs concurrents. La remise en stock
+     * suit {@link #RESTOCK_RELEASED_CTES}.
+     *
+     * @param now   instant de référence
+     * @param limit taille maximale du lot
+     * @return le nombre de réservations libérées
+     */
+    public int releaseExpired (LocalDateTime now, int limit) {
+        Integer released = jdbcTemplate.queryForObject(RELEASE_EXPIRED_SQL, new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("limit", limit), Integer.class);
+        return released == null ? 0 : released;
+    }
+}
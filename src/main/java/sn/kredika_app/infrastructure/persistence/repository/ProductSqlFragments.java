@@ -0,0 +1,20 @@
+package sn.kredika_app.infrastructure.persistence.repository;
+
+/**
+ * Fragments SQL partagés par les lectures JDBC du catalogue produits.
+ */
+final class ProductSqlFragments {
+
+    /**
+     * URL de l'image principale du produit aliasé {@code p}, lue sans charger la collection {@code images}
+     */
+    static final String MAIN_IMAGE_URL = """
+            (SELECT pi.image_url
+               FROM kredika_app.product_images pi
+              WHERE pi.product_id = p.id AND pi.is_primary = true AND pi.is_deleted = false
+              ORDER BY pi.position
+              LIMIT 1)""";
+
+    private ProductSqlFragments () {
+    }
+}
@@ -0,0 +1,159 @@
+package sn.kredika_app.infrastructure.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Stockage local des images adressé par le contenu : chaque fichier est rangé sous
+ * {@code <racine>/<h[0..2]>/<h[2..4]>/<sha256>.<ext>}. Les octets sont écrits en flux vers un fichier temporaire
+ * pendant le calcul de l'empreinte, puis déplacés atomiquement à leur adresse définitive ; aucun fichier n'est chargé
+ * entièrement en mémoire et deux téléversements identiques partagent le même fichier.
+ */
+@Slf4j
+@Component
+public class ContentAddressedImageStorage {
+
+    /**
+     * Sous-répertoire des écritures en cours, sur le même système de fichiers que la racine pour que le déplacement
+     * reste atomique ; il ne doit jamais être servi
+     */
+    public static final String TEMP_DIR = "tmp";
+
+    private final Path root;
+    private final String baseUrl;
+
+    public ContentAddressedImageStorage (
+            @Value("${kredika.images.storage-dir:./data/images}") String storageDir,
+            @Value("${kredika.images.base-url:http://localhost:8888/api/media/images}") String baseUrl
+    ) {
+        this.root = Path.of(storageDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * Écrit le contenu d'un fichier dans un flux de sortie
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo (OutputStream out) throws IOException;
+    }
+
+    /**
+     * Fichier stocké
+     *
+     * @param contentHash empreinte SHA-256 en hexadécimal
+     * @param storageKey  chemin relatif à la racine du stockage
+     * @param byteSize    taille en octets
+     * @param created     false si un fichier identique existait déjà
+     */
+    public record StoredFile(String contentHash, String storageKey, long byteSize, boolean created) {
+    }
+
+    /**
+     * @return le répertoire racine servi sous l'URL de base
+     */
+    public Path getRoot () {
+        return root;
+    }
+
+    /**
+     * Stocke un contenu produit en flux
+     *
+     * @param writer    producteur du contenu
+     * @param extension extension du fichier, sans point
+     * @return le fichier stocké
+     */
+    public StoredFile store (ContentWriter writer, String extension) {
+        Path temp = null;
+        try {
+            Path tempDir = Files.createDirectories(root.resolve(TEMP_DIR));
+            temp = Files.createTempFile(tempDir, "upload-", ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (DigestOutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                writer.writeTo(out);
+            }
+            long size = Files.size(temp);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String storageKey = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+            Path target = resolve(storageKey);
+
+            if (Files.exists(target)) {
+                Files.delete(temp);
+                return new StoredFile(hash, storageKey, size, false);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                Files.deleteIfExists(temp);
+                return new StoredFile(hash, storageKey, size, false);
+            }
+            return new StoredFile(hash, storageKey, size, true);
+        } catch (IOException ex) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Échec de l'écriture dans le stockage d'images", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            deleteQuietly(temp);
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * @return le chemin absolu du fichier correspondant à une clé de stockage
+     */
+    public Path resolve (String storageKey) {
+        Path path = root.resolve(storageKey).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Clé de stockage invalide : " + storageKey);
+        }
+        return path;
+    }
+
+    /**
+     * @return true si le chemin relatif désigne un fichier publiable, c'est-à-dire hors du répertoire temporaire
+     */
+    public boolean isPublishable (String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        return path.startsWith(root) && !path.startsWith(root.resolve(TEMP_DIR));
+    }
+
+    /**
+     * @return l'URL publique d'une clé de stockage
+     */
+    public String urlOf (String storageKey) {
+        return baseUrl + "/" + storageKey;
+    }
+
+    /**
+     * Supprime un fichier que l'appelant vient de créer (rejet après validation)
+     */
+    public void discard (StoredFile file) {
+        if (file != null && file.created()) {
+            deleteQuietly(resolve(file.storageKey()));
+        }
+    }
+
+    private static void deleteQuietly (Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Impossible de supprimer {} : {}", path, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+-- Objets de schéma non exprimables via les annotations JPA (index sur expression, index partiels, ...).
+-- Exécuté après la mise à jour Hibernate (spring.jpa.defer-datasource-initialization) : chaque instruction doit
+-- être idempotente.
+
+-- Catalogue paginé par clé, tri "meilleures notes" : la clé de tri COALESCE(rating, 0) doit être indexée telle quelle
+CREATE INDEX IF NOT EXISTS idx_product_catalog_rating
+    ON kredika_app.products (category_id, is_active, (COALESCE(rating, 0)) DESC, id DESC);
+
+-- Recherche plein texte : unaccent n'étant que STABLE, il est encapsulé dans une fonction IMMUTABLE utilisable dans
+-- une colonne générée et dans un index
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION kredika_app.f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS 'SELECT public.unaccent(''public.unaccent''::regdictionary, $1)';
+
+-- Vecteur pondéré recalculé par PostgreSQL à chaque INSERT/UPDATE : nom et marque (A), tags (B),
+-- description courte (C), description (D)
+ALTER TABLE kredika_app.products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french'::regconfig, kredika_app.f_unaccent(coalesce(name, ''))), 'A') ||
+        setweight(to_tsvector('french'::regconfig, kredika_app.f_unaccent(coalesce(brand, ''))), 'A') ||
+        setweight(to_tsvector('french'::regconfig, kredika_app.f_unaccent(coalesce(tags::text, ''))), 'B') ||
+        setweight(to_tsvector('french'::regconfig, kredika_app.f_unaccent(coalesce(short_description, ''))), 'C') ||
+        setweight(to_tsvector('french'::regconfig, kredika_app.f_unaccent(coalesce(description, ''))), 'D')
+    ) STORED;
+
+-- Index partiel : les produits inactifs ou supprimés logiquement sortent de l'index dès leur mise à jour
+CREATE INDEX IF NOT EXISTS idx_product_search
+    ON kredika_app.products USING GIN (search_vector)
+    WHERE is_active = true AND is_deleted = false;
+
+-- Fenêtre de classement de la recherche : les correspondances les plus récentes, dans un ordre stable d'une page à
+-- l'autre
+CREATE INDEX IF NOT EXISTS idx_product_search_window
+    ON kredika_app.products (created_at DESC, id DESC)
+    WHERE is_active = true AND is_deleted = false;
+
+-- Réservations de stock : une seule réservation active par (panier, produit), et balayage des réservations expirées
+-- par ordre d'expiration sans parcourir l'historique CONSUMED/RELEASED
+CREATE UNIQUE INDEX IF NOT EXISTS uk_stock_reservation_held
+    ON kredika_app.stock_reservations (cart_id, product_id)
+    WHERE status = 'HELD';
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservation_expiry
+    ON kredika_app.stock_reservations (expires_at)
+    WHERE status = 'HELD';
+
+-- Purge des paniers abandonnés : seuls les paniers ACTIVE portent une expiration à surveiller, les paniers convertis
+-- en commande restent hors de l'index
+CREATE INDEX IF NOT EXISTS idx_cart_active_expiry
+    ON kredika_app.carts (expires_at)
+    WHERE status_code = 'ACTIVE' AND is_deleted = false;
+
+-- Outbox : le dispatcher ne parcourt que les événements en attente, par date de disponibilité ; les événements traités
+-- sortent de l'index
+CREATE INDEX IF NOT EXISTS idx_outbox_pending
+    ON kredika_app.outbox_events (available_at)
+    WHERE status = 'PENDING';
+
+-- Outbox : un événement n'est pris que si son agrégat n'a pas d'événement en attente plus ancien
+CREATE INDEX IF NOT EXISTS idx_outbox_pending_aggregate
+    ON kredika_app.outbox_events (aggregate_id, created_at)
+    WHERE status = 'PENDING';
+
+-- Recalcul des agrégats de ventes : une journée ne lit que les commandes livrées de cette journée
+CREATE INDEX IF NOT EXISTS idx_order_delivered_created
+    ON kredika_app.orders (created_at)
+    WHERE status_code = 'DELIVERED' AND is_deleted = false;
+
+-- Décision de crédit : charge mensuelle des plans en cours (ACTIVE ou LATE) d'un client, lue dans l'index seul
+DROP INDEX IF EXISTS kredika_app.idx_installment_plan_user_active;
+CREATE INDEX IF NOT EXISTS idx_installment_plan_user_current
+    ON kredika_app.installment_plans (user_id) INCLUDE (frequency_code, installment_amount)
+    WHERE status_code IN ('ACTIVE', 'LATE') AND is_deleted = false;
+
+-- Réconciliation du crédit : plans non clôturés d'un lot de clients, puis reste dû de leurs échéances lu dans l'index
+CREATE INDEX IF NOT EXISTS idx_installment_plan_user_open
+    ON kredika_app.installment_plans (user_id)
+    WHERE completed_at IS NULL AND is_deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_payment_schedule_plan
+    ON kredika_app.payment_schedules (installment_plan_id) INCLUDE (amount, paid_amount)
+    WHERE is_deleted = false;
+
+-- Pénalités de retard : échéances impayées par date d'échéance ; une échéance soldée sort de l'index
+CREATE INDEX IF NOT EXISTS idx_payment_schedule_unpaid_due
+    ON kredika_app.payment_schedules (due_date) INCLUDE (installment_plan_id)
+    WHERE paid_amount < amount AND is_deleted = false;
+
+CREATE INDEX IF NOT EXISTS idx_installment_plan_late
+    ON kredika_app.installment_plans (id)
+    WHERE status_code = 'LATE' AND is_deleted = false;
@@ -0,0 +1,138 @@
+package sn.kredika_app.application.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.CreditSettingsService;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.dto.request.CartItemRequestDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mesure une modification de panier en mémoire (ajout d'une ligne à crédit puis changement de quantité), produits
+ * et taux déjà en cache : aucune requête SQL n'est attendue sur ce chemin.
+ * Test lourd : lancer avec {@code mvn test -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ActiveCartBenchmarkTest {
+
+    private static final int PRODUCTS = 10;
+    private static final int WARMUP = 2_000;
+    private static final int RUNS = 10_000;
+    private static final int CREDIT_DURATION = 12;
+
+    @Autowired
+    private ActiveCartService activeCartService;
+
+    @Autowired
+    private CreditSettingsService creditSettingsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID creditSettingsId = UUID.randomUUID();
+    private final List<UUID> productIds = new ArrayList<>();
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Benchmark panier', ?, true, 0)
+                """, categoryId, "benchmark-panier-" + categoryId);
+        for (int i = 0; i < PRODUCTS; i++) {
+            UUID productId = UUID.randomUUID();
+            productIds.add(productId);
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                      is_active, stock, credit_eligible, max_credit_duration)
+                    VALUES (?, false, now(), now(), ?, ?, ?, true, 1000, true, 36)
+                    """, productId, "Produit panier " + i, 40_000 + i * 1_000, categoryId);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.credit_settings (id, is_deleted, created_at, updated_at, duration_months,
+                                                         commission_rate, is_active)
+                VALUES (?, false, now(), now(), ?, 0.1000, true)
+                """, creditSettingsId, CREDIT_DURATION);
+        creditSettingsService.refresh();
+        for (int i = 0; i < 50; i++) {
+            UUID userId = UUID.randomUUID();
+            userIds.add(userId);
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                    VALUES (?, false, now(), now(), 'Client benchmark', ?)
+                    """, userId, "panier-" + userId + "@example.com");
+            // Premier accès : chargement du panier et des produits depuis la base, hors mesure
+            activeCartService.addItem(userId, new CartItemRequestDto(productIds.getFirst(), 1, null, null, null));
+        }
+        for (UUID productId : productIds) {
+            activeCartService.addItem(userIds.getFirst(), new CartItemRequestDto(productId, 1, null, null, null));
+        }
+    }
+
+    @AfterAll
+    void cleanup () {
+        activeCartService.flush();
+        for (UUID userId : userIds) {
+            jdbcTemplate.update("""
+                    DELETE FROM kredika_app.cart_items WHERE cart_id IN
+                           (SELECT id FROM kredika_app.carts WHERE user_id = ?)
+                    """, userId);
+            jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.credit_settings WHERE id = ?", creditSettingsId);
+        for (UUID productId : productIds) {
+            jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void cartMutationStaysUnder1MsAtP99 () {
+        for (int i = 0; i < WARMUP; i++) {
+            mutate(i);
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            mutate(i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long p50 = samples[RUNS / 2] / 1_000;
+        long p99 = samples[(int) Math.ceil(RUNS * 0.99) - 1] / 1_000;
+        log.info("modification de panier en mémoire : p50 {} µs, p99 {} µs", p50, p99);
+
+        assertThat(activeCartService.getCart(userIds.getFirst()).getItems()).hasSize(PRODUCTS);
+        assertThat(p99).isLessThan(1_000);
+    }
+
+    private void mutate (int i) {
+        UUID userId = userIds.get(i % userIds.size());
+        UUID productId = productIds.get(i % PRODUCTS);
+        activeCartService.addItem(userId, new CartItemRequestDto(productId, 1, CreditPricing.PAYMENT_CREDIT,
+                CREDIT_DURATION, "MONTHLY"));
+        activeCartService.updateItem(userId, productId, new CartItemRequestDto(null, 1 + i % 3, null, null, null));
+    }
+}
@@ -0,0 +1,193 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.CreditSettingsService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.dto.request.CartItemRequestDto;
+import sn.kredika_app.domain.dto.response.CartResponseDto;
+import sn.kredika_app.domain.snapshot.ActiveCart;
+import sn.kredika_app.infrastructure.cache.LocalActiveCartStore;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCartRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie la validation des lignes du panier en mémoire et leur écriture différée, y compris quand la base est
+ * indisponible au moment du vidage.
+ */
+@SpringBootTest
+class ActiveCartServiceTest {
+
+    @Autowired
+    private ActiveCartService activeCartService;
+
+    @Autowired
+    private JdbcCartRepository cartRepository;
+
+    @Autowired
+    private CreditSettingsService creditSettingsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Panier', ?, true, 0)
+                """, categoryId, "panier-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                VALUES (?, false, now(), now(), 'Fer à repasser', 12500, ?, true, 50)
+                """, productId, categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Awa Ndiaye', ?)
+                """, userId, "awa-" + userId + "@example.com");
+    }
+
+    @AfterEach
+    void cleanUp () {
+        activeCartService.flush();
+        jdbcTemplate.update("""
+                DELETE FROM kredika_app.cart_items WHERE cart_id IN
+                       (SELECT id FROM kredika_app.carts WHERE user_id = ?)
+                """, userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void unknownPaymentMethodIsRejected () {
+        assertThatThrownBy(() -> activeCartService.addItem(userId,
+                new CartItemRequestDto(productId, 1, "CHEQUE", null, null)))
+                .isInstanceOf(CustomException.class);
+
+        activeCartService.addItem(userId, new CartItemRequestDto(productId, 1, null, null, null));
+        assertThatThrownBy(() -> activeCartService.updateItem(userId, productId,
+                new CartItemRequestDto(null, null, "cash", null, null)))
+                .isInstanceOf(CustomException.class);
+
+        CartResponseDto cart = activeCartService.getCart(userId);
+        assertThat(cart.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getPaymentMethodCode()).isEqualTo(CreditPricing.PAYMENT_CASH));
+    }
+
+    @Test
+    void knownPaymentMethodsAreKept () {
+        activeCartService.addItem(userId, new CartItemRequestDto(productId, 2, CreditPricing.PAYMENT_MOBILE_MONEY,
+                null, null));
+
+        CartResponseDto cart = activeCartService.getCart(userId);
+        assertThat(cart.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getPaymentMethodCode())
+                        .isEqualTo(CreditPricing.PAYMENT_MOBILE_MONEY));
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo("25000.00");
+    }
+
+    @Test
+    void flushWritesTheCartOnce () {
+        activeCartService.addItem(userId, new CartItemRequestDto(productId, 1, null, null, null));
+        activeCartService.updateItem(userId, productId, new CartItemRequestDto(null, 3, null, null, null));
+
+        assertThat(activeCartService.flush()).isGreaterThanOrEqualTo(1);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("""
+                SELECT i.quantity, c.total_amount
+                  FROM kredika_app.carts c
+                  JOIN kredika_app.cart_items i ON i.cart_id = c.id
+                 WHERE c.user_id = ?
+                """, userId);
+        assertThat(((Number) row.get("quantity")).intValue()).isEqualTo(3);
+        assertThat(row.get("total_amount").toString()).isEqualTo("37500.00");
+    }
+
+    @Test
+    void olderRevisionIsNeverWrittenOverANewerOne () {
+        activeCartService.addItem(userId, new CartItemRequestDto(productId, 1, null, null, null));
+        activeCartService.flush();
+        ActiveCart stale = activeCartService.snapshot(userId);
+        activeCartService.updateItem(userId, productId, new CartItemRequestDto(null, 4, null, null, null));
+        activeCartService.flush();
+
+        assertThat(cartRepository.saveAll(List.of(stale))).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT i.quantity FROM kredika_app.carts c JOIN kredika_app.cart_items i ON i.cart_id = c.id
+                 WHERE c.user_id = ?
+                """, Integer.class, userId)).isEqualTo(4);
+    }
+
+    @Test
+    void cartsStayDirtyWhenTheTransactionCannotStart () {
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        ActiveCartServiceImpl service = new ActiveCartServiceImpl(new LocalActiveCartStore(), cartRepository,
+                creditSettingsService, new TransactionTemplate(unavailableWhen(databaseDown)),
+                new SimpleMeterRegistry(), 60, 30_000);
+        service.addItem(userId, new CartItemRequestDto(productId, 2, null, null, null));
+
+        assertThat(service.flush()).isZero();
+        assertThat(service.flush()).isZero();
+
+        databaseDown.set(false);
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT i.quantity FROM kredika_app.carts c JOIN kredika_app.cart_items i ON i.cart_id = c.id
+                 WHERE c.user_id = ?
+                """, Integer.class, userId)).isEqualTo(2);
+    }
+
+    /**
+     * Gestionnaire de transactions qui refuse d'ouvrir une transaction tant que la base est déclarée indisponible
+     */
+    private PlatformTransactionManager unavailableWhen (AtomicBoolean databaseDown) {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction (TransactionDefinition definition) {
+                if (databaseDown.get()) {
+                    throw new CannotCreateTransactionException("Base indisponible");
+                }
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit (TransactionStatus status) {
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback (TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+    }
+}
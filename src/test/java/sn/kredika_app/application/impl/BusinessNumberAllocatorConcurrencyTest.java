@@ -0,0 +1,79 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import sn.kredika_app.common.enums.BusinessNumberType;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcBusinessNumberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie qu'aucun numéro n'est attribué deux fois lorsque plusieurs nœuds, chacun sollicité par de nombreux threads,
+ * louent des blocs sur le même compteur quotidien.
+ */
+@SpringBootTest
+class BusinessNumberAllocatorConcurrencyTest {
+
+    private static final int NODES = 4;
+    private static final int THREADS_PER_NODE = 8;
+    private static final int NUMBERS_PER_THREAD = 250;
+    private static final int BLOCK_SIZE = 20;
+
+    @Autowired
+    private JdbcBusinessNumberRepository numberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentNodesNeverHandOutTheSameNumber () throws Exception {
+        // Chaque instance simule un nœud : son propre bloc en mémoire, le compteur en base est partagé
+        List<BusinessNumberServiceImpl> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new BusinessNumberServiceImpl(numberRepository, transactionManager, BLOCK_SIZE));
+        }
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> duplicates = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE)) {
+            for (BusinessNumberServiceImpl node : nodes) {
+                for (int t = 0; t < THREADS_PER_NODE; t++) {
+                    duplicates.add(pool.submit(() -> {
+                        start.await();
+                        int collisions = 0;
+                        for (int i = 0; i < NUMBERS_PER_THREAD; i++) {
+                            if (!numbers.add(node.next(BusinessNumberType.PAYMENT_TRANSACTION))) {
+                                collisions++;
+                            }
+                        }
+                        return collisions;
+                    }));
+                }
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        }
+
+        int collisions = 0;
+        for (Future<Integer> result : duplicates) {
+            collisions += result.get();
+        }
+        assertThat(collisions).isZero();
+        assertThat(numbers).hasSize(NODES * THREADS_PER_NODE * NUMBERS_PER_THREAD);
+        assertThat(numbers).allMatch(number -> number.matches("^TRX-\\d{8}-\\d{5}$"));
+    }
+}
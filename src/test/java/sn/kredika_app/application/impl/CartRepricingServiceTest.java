@@ -0,0 +1,187 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.CartRepricingService.RepricingReport;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.event.ProductPriceChangedEvent;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le recalcul en base des paniers ouverts après un changement de prix ou de taux, son accord avec CreditPricing
+ * sur le montant d'échéance, et l'exposition des jauges du service.
+ */
+@SpringBootTest
+class CartRepricingServiceTest {
+
+    private static final int CREDIT_DURATION = 17;
+
+    @Autowired
+    private CartRepricingServiceImpl cartRepricingService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID cashProductId = UUID.randomUUID();
+    private final UUID creditProductId = UUID.randomUUID();
+    private final UUID creditSettingsId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final UUID cartId = UUID.randomUUID();
+    private final UUID convertedCartId = UUID.randomUUID();
+    private final UUID cashItemId = UUID.randomUUID();
+    private final UUID creditItemId = UUID.randomUUID();
+    private final UUID convertedItemId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Recalcul', ?, true, 0)
+                """, categoryId, "recalcul-" + categoryId);
+        insertProduct(cashProductId, "Mixeur", 10_000);
+        insertProduct(creditProductId, "Cuisinière", 85_000);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.credit_settings (id, is_deleted, created_at, updated_at, duration_months,
+                                                         commission_rate, is_active)
+                VALUES (?, false, now(), now(), ?, 0.2000, true)
+                """, creditSettingsId, CREDIT_DURATION);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Ibrahima Sow', ?)
+                """, userId, "ibrahima-" + userId + "@example.com");
+        insertCart(cartId, "ACTIVE", 122_000);
+        insertCart(convertedCartId, "CONVERTED", 20_000);
+        insertItem(cashItemId, cartId, cashProductId, 2, "CASH", null, "10000.00", null, "20000.00", null);
+        insertItem(creditItemId, cartId, creditProductId, 1, "CREDIT", CREDIT_DURATION, "85000.00", "0.2000",
+                "102000.00", "6000.00");
+        insertItem(convertedItemId, convertedCartId, cashProductId, 2, "CASH", null, "10000.00", null, "20000.00",
+                null);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.cart_items WHERE cart_id IN (?, ?)", cartId, convertedCartId);
+        jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE id IN (?, ?)", cartId, convertedCartId);
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.credit_settings WHERE id = ?", creditSettingsId);
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id IN (?, ?)", cashProductId, creditProductId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void priceChangeRepricesOpenCartsOnly () {
+        jdbcTemplate.update("UPDATE kredika_app.products SET price = 12000 WHERE id = ?", cashProductId);
+
+        RepricingReport report = cartRepricingService.reprice(List.of(cashProductId), List.of());
+
+        assertThat(report.items()).isEqualTo(1);
+        assertThat(report.carts()).isEqualTo(1);
+        assertThat(report.failedChunks()).isZero();
+        assertItem(cashItemId, "12000.00", "24000.00", null);
+        assertItem(creditItemId, "85000.00", "102000.00", "6000.00");
+        assertItem(convertedItemId, "10000.00", "20000.00", null);
+        assertThat(cartTotal(cartId)).isEqualByComparingTo("126000.00");
+        assertThat(cartTotal(convertedCartId)).isEqualByComparingTo("20000.00");
+    }
+
+    @Test
+    void rateChangeRepricesCreditLinesOfThatDuration () {
+        jdbcTemplate.update("UPDATE kredika_app.credit_settings SET commission_rate = 0.4000 WHERE id = ?",
+                creditSettingsId);
+
+        RepricingReport report = cartRepricingService.reprice(List.of(), List.of(CREDIT_DURATION));
+
+        assertThat(report.items()).isEqualTo(1);
+        assertItem(creditItemId, "85000.00", "119000.00", "7000.00");
+        assertItem(cashItemId, "10000.00", "20000.00", null);
+        assertThat(cartTotal(cartId)).isEqualByComparingTo("139000.00");
+    }
+
+    @Test
+    void sqlInstallmentMatchesTheFirstScheduledInstallment () {
+        jdbcTemplate.update("UPDATE kredika_app.products SET price = 85003.34 WHERE id = ?", creditProductId);
+
+        cartRepricingService.reprice(List.of(creditProductId), List.of());
+
+        // 102 004,01 sur 17 mois : 6 000 francs et un reste de 4, porté d'un franc par les premières échéances
+        BigDecimal expected = CreditPricing.installmentAmount(new BigDecimal("102004.01"), CREDIT_DURATION, "MONTHLY");
+        assertThat(expected).isEqualByComparingTo("6001.01");
+        assertItem(creditItemId, "85003.34", "102004.01", expected.toPlainString());
+    }
+
+    @Test
+    void pendingChangesAreCoalescedIntoOneRun () {
+        jdbcTemplate.update("UPDATE kredika_app.products SET price = 11000 WHERE id = ?", cashProductId);
+        cartRepricingService.onProductPriceChanged(new ProductPriceChangedEvent(cashProductId));
+        cartRepricingService.onProductPriceChanged(new ProductPriceChangedEvent(cashProductId));
+        assertThat(meterRegistry.get("kredika.cart.repricing.pending").gauge().value()).isGreaterThanOrEqualTo(1);
+
+        cartRepricingService.repricePending();
+
+        assertItem(cashItemId, "11000.00", "22000.00", null);
+        assertThat(meterRegistry.get("kredika.cart.repricing.progress").gauge().value()).isEqualTo(1.0);
+    }
+
+    private void insertProduct (UUID id, String name, int price) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock, credit_eligible, max_credit_duration)
+                VALUES (?, false, now(), now(), ?, ?, ?, true, 10, true, 36)
+                """, id, name, price, categoryId);
+    }
+
+    private void insertCart (UUID id, String status, int total) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.carts (id, is_deleted, created_at, updated_at, user_id, status_code,
+                                               total_amount, expires_at, version)
+                VALUES (?, false, now(), now(), ?, ?, ?, now() + interval '1 hour', 1)
+                """, id, userId, status, total);
+    }
+
+    private void insertItem (UUID id, UUID cart, UUID productId, int quantity, String method, Integer duration,
+                             String unitPrice, String rate, String total, String installment) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.cart_items (id, is_deleted, created_at, updated_at, cart_id, product_id,
+                                                    quantity, payment_method_code, credit_duration,
+                                                    credit_frequency_code, unit_price, commission_rate, total_amount,
+                                                    installment_amount, version)
+                VALUES (?, false, now(), now(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+                """, id, cart, productId, quantity, method, duration, duration == null ? null : "MONTHLY",
+                new BigDecimal(unitPrice), rate == null ? null : new BigDecimal(rate), new BigDecimal(total),
+                installment == null ? null : new BigDecimal(installment));
+    }
+
+    private void assertItem (UUID itemId, String unitPrice, String total, String installment) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("""
+                SELECT unit_price, total_amount, installment_amount FROM kredika_app.cart_items WHERE id = ?
+                """, itemId);
+        assertThat((BigDecimal) row.get("unit_price")).isEqualByComparingTo(unitPrice);
+        assertThat((BigDecimal) row.get("total_amount")).isEqualByComparingTo(total);
+        if (installment == null) {
+            assertThat(row.get("installment_amount")).isNull();
+        } else {
+            assertThat((BigDecimal) row.get("installment_amount")).isEqualByComparingTo(installment);
+        }
+    }
+
+    private BigDecimal cartTotal (UUID id) {
+        return jdbcTemplate.queryForObject("SELECT total_amount FROM kredika_app.carts WHERE id = ?",
+                BigDecimal.class, id);
+    }
+}
@@ -0,0 +1,162 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.CartSweeperService;
+import sn.kredika_app.application.interfaces.service.CategoryProductStatsService;
+import sn.kredika_app.application.interfaces.service.StockReservationService;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCategoryStatsRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que la purge des paniers abandonnés rend leurs réservations au stock et met à jour les compteurs de
+ * catégorie, et qu'elle peut tourner en même temps que la libération des réservations expirées sans interblocage.
+ */
+@SpringBootTest
+class CartSweeperServiceTest {
+
+    private static final int CARTS = 200;
+
+    @Autowired
+    private CartSweeperService cartSweeperService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private CategoryProductStatsService categoryProductStatsService;
+
+    @Autowired
+    private JdbcCategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final List<UUID> productIds = new ArrayList<>();
+    private final List<UUID> cartIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Purge', ?, true, 0)
+                """, categoryId, "purge-" + categoryId);
+        for (int i = 0; i < 4; i++) {
+            UUID productId = UUID.randomUUID();
+            productIds.add(productId);
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                      is_active, stock)
+                    VALUES (?, false, now(), now(), ?, 5000, ?, true, 0)
+                    """, productId, "Produit purge " + i, categoryId);
+        }
+        categoryProductStatsService.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp () {
+        for (UUID cartId : cartIds) {
+            jdbcTemplate.update("DELETE FROM kredika_app.stock_reservations WHERE cart_id = ?", cartId);
+            jdbcTemplate.update("DELETE FROM kredika_app.cart_items WHERE cart_id = ?", cartId);
+            jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE id = ?", cartId);
+        }
+        for (UUID productId : productIds) {
+            jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void sweepReturnsHoldsToStockAndDeletesExpiredCarts () {
+        UUID expired = insertCart("1 hour");
+        UUID fresh = insertCart("-1 hour");
+        hold(expired, productIds.get(0), 2, "1 hour");
+        hold(expired, productIds.get(1), 1, "1 hour");
+        hold(fresh, productIds.get(1), 1, "-1 hour");
+
+        cartSweeperService.sweepExpired();
+
+        assertThat(stock(productIds.get(0))).isEqualTo(2);
+        assertThat(stock(productIds.get(1))).isEqualTo(1);
+        assertThat(categoryStatsRepository.sum(new UUID[]{categoryId})[1]).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM kredika_app.carts WHERE id = ?", Long.class,
+                expired)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM kredika_app.cart_items WHERE cart_id = ?",
+                Long.class, expired)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM kredika_app.stock_reservations WHERE cart_id = ? AND status = 'HELD'
+                """, Long.class, fresh)).isEqualTo(1L);
+    }
+
+    @Test
+    void sweepAndReleaseRunConcurrentlyWithoutDeadlock () throws Exception {
+        // Chaque panier réserve les produits dans un ordre différent ; la moitié des paniers n'expire pas mais leurs
+        // réservations si, ce qui met les deux chemins de remise en stock en concurrence sur les mêmes produits
+        for (int c = 0; c < CARTS; c++) {
+            UUID cartId = insertCart(c % 2 == 0 ? "1 hour" : "-1 hour");
+            for (int p = 0; p < productIds.size(); p++) {
+                hold(cartId, productIds.get((c + p) % productIds.size()), 1, "1 hour");
+            }
+        }
+
+        CompletableFuture<Void> sweeper = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20; i++) {
+                cartSweeperService.sweepExpired();
+            }
+        });
+        CompletableFuture<Void> releaser = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20; i++) {
+                stockReservationService.releaseExpired();
+            }
+        });
+        CompletableFuture.allOf(sweeper, releaser).get();
+        cartSweeperService.sweepExpired();
+        stockReservationService.releaseExpired();
+
+        for (UUID productId : productIds) {
+            assertThat(stock(productId)).isEqualTo(CARTS);
+        }
+        assertThat(categoryStatsRepository.sum(new UUID[]{categoryId})[1]).isEqualTo(productIds.size());
+    }
+
+    private UUID insertCart (String expiredSince) {
+        UUID cartId = UUID.randomUUID();
+        cartIds.add(cartId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.carts (id, is_deleted, created_at, updated_at, status_code, total_amount,
+                                               expires_at)
+                VALUES (?, false, now(), now(), 'ACTIVE', 0, now() - CAST(? AS interval))
+                """, cartId, expiredSince);
+        return cartId;
+    }
+
+    private void hold (UUID cartId, UUID productId, int quantity, String expiredSince) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.cart_items (id, is_deleted, created_at, updated_at, cart_id, product_id,
+                                                    quantity, payment_method_code, unit_price, total_amount, version)
+                VALUES (gen_random_uuid(), false, now(), now(), ?, ?, ?, 'CASH', 5000, 5000 * ?, 0)
+                """, cartId, productId, quantity, quantity);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.stock_reservations (id, cart_id, product_id, quantity, status, expires_at,
+                                                            created_at)
+                VALUES (gen_random_uuid(), ?, ?, ?, 'HELD', now() - CAST(? AS interval), now())
+                """, cartId, productId, quantity, expiredSince);
+    }
+
+    private int stock (UUID productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM kredika_app.products WHERE id = ?", Integer.class,
+                productId);
+    }
+}
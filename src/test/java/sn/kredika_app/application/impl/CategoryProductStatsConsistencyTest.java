@@ -0,0 +1,175 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.CategoryProductStatsService;
+import sn.kredika_app.application.interfaces.service.StockReservationService;
+import sn.kredika_app.domain.model.ProductModel;
+import sn.kredika_app.domain.repository.ProductRepository;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCategoryStatsRepository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie que les compteurs de catégorie suivent les écritures JPA des produits, et qu'une réconciliation concurrente
+ * n'écrase pas le delta d'une transaction en cours.
+ */
+@SpringBootTest
+class CategoryProductStatsConsistencyTest {
+
+    @Autowired
+    private CategoryProductStatsService categoryProductStatsService;
+
+    @Autowired
+    private JdbcCategoryStatsRepository categoryStatsRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID otherCategoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        for (UUID id : List.of(categoryId, otherCategoryId)) {
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active,
+                                                        position)
+                    VALUES (?, false, now(), now(), 'Compteurs', ?, true, 0)
+                    """, id, "compteurs-" + id);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, version, name, price,
+                                                  category_id, is_active, stock, credit_eligible)
+                VALUES (?, false, now(), now(), 0, 'Climatiseur', 250000, ?, false, 4, true)
+                """, productId, categoryId);
+        categoryProductStatsService.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        for (UUID id : List.of(categoryId, otherCategoryId)) {
+            jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", id);
+            jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", id);
+        }
+    }
+
+    @Test
+    void entityWritesMoveTheCounters () {
+        assertThat(counts(categoryId)).containsExactly(0L, 0L, 0L);
+
+        update(product -> product.setActive(true));
+        assertThat(counts(categoryId)).containsExactly(1L, 1L, 1L);
+
+        update(product -> product.setCreditEligible(false));
+        assertThat(counts(categoryId)).containsExactly(1L, 1L, 0L);
+
+        update(product -> product.setCategoryId(otherCategoryId));
+        assertThat(counts(categoryId)).containsExactly(0L, 0L, 0L);
+        assertThat(counts(otherCategoryId)).containsExactly(1L, 1L, 0L);
+
+        update(product -> product.setDeleted(true));
+        assertThat(counts(otherCategoryId)).containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    void reconcileRepairsDrift () {
+        jdbcTemplate.update("""
+                UPDATE kredika_app.category_product_stats
+                   SET active_count = 42, in_stock_count = 42, credit_eligible_count = 42
+                 WHERE category_id = ?
+                """, categoryId);
+
+        categoryProductStatsService.reconcile();
+
+        assertThat(counts(categoryId)).containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    void reconcileWaitsForInFlightDeltas () throws Exception {
+        CountDownLatch deltaApplied = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Écriture hors JPA reproduisant ce que fait ProductChangeListener : produit puis delta, même transaction
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    jdbcTemplate.update("UPDATE kredika_app.products SET is_active = true WHERE id = ?", productId);
+                    categoryStatsRepository.applyDelta(categoryId, 1, 1, 1);
+                    deltaApplied.countDown();
+                    await(release);
+                }));
+        assertThat(deltaApplied.await(30, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> reconcile = CompletableFuture.supplyAsync(categoryProductStatsService::reconcile);
+        Thread.sleep(500);
+        assertThat(reconcile).isNotDone();
+
+        release.countDown();
+        writer.get(30, TimeUnit.SECONDS);
+        reconcile.get(30, TimeUnit.SECONDS);
+
+        assertThat(counts(categoryId)).containsExactly(1L, 1L, 1L);
+    }
+
+    @Test
+    void staleEntityStockIsNotCountedBack () {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductModel product = productRepository.findById(productId).orElseThrow();
+            assertThat(product.getStock()).isEqualTo(4);
+            // Rupture validée par une autre transaction après le chargement de l'entité
+            CompletableFuture.runAsync(() -> stockReservationService.adjustStock(productId, -4)).join();
+            product.setActive(true);
+        });
+
+        assertThat(counts(categoryId)).containsExactly(1L, 0L, 1L);
+        assertThat(productRepository.findById(productId).orElseThrow().isInStock()).isFalse();
+    }
+
+    @Test
+    void stockOfAStoredProductCannotBeSet () {
+        ProductModel product = productRepository.findById(productId).orElseThrow();
+
+        assertThatThrownBy(() -> product.setStock(10)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void update (Consumer<ProductModel> change) {
+        transactionTemplate.executeWithoutResult(status ->
+                change.accept(productRepository.findById(productId).orElseThrow()));
+    }
+
+    private long[] counts (UUID id) {
+        return categoryStatsRepository.sum(new UUID[]{id});
+    }
+
+    private static void await (CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package sn.kredika_app.application.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.CheckoutService;
+import sn.kredika_app.application.interfaces.service.CreditSettingsService;
+import sn.kredika_app.common.util.CreditPricing;
+import sn.kredika_app.domain.dto.request.CartItemRequestDto;
+import sn.kredika_app.domain.dto.request.CheckoutRequestDto;
+import sn.kredika_app.domain.dto.response.OrderResponseDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mesure le passage en caisse d'un panier de 10 lignes à crédit sur 24 mois (10 plans, 240 échéances).
+ * Test lourd : lancer avec {@code mvn test -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CheckoutBenchmarkTest {
+
+    private static final int PRODUCTS = 10;
+    private static final int WARMUP = 30;
+    private static final int RUNS = 300;
+    private static final int CREDIT_DURATION = 24;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private ActiveCartServiceImpl activeCartService;
+
+    @Autowired
+    private CreditSettingsService creditSettingsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID creditSettingsId = UUID.randomUUID();
+    private final List<UUID> productIds = new ArrayList<>();
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Benchmark caisse', ?, true, 0)
+                """, categoryId, "benchmark-caisse-" + categoryId);
+        for (int i = 0; i < PRODUCTS; i++) {
+            UUID productId = UUID.randomUUID();
+            productIds.add(productId);
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                      is_active, stock, credit_eligible, max_credit_duration)
+                    VALUES (?, false, now(), now(), ?, ?, ?, true, 1000000, true, 36)
+                    """, productId, "Produit caisse " + i, 25_000 + i * 1_000, categoryId);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.credit_settings (id, is_deleted, created_at, updated_at, duration_months,
+                                                         commission_rate, is_active)
+                VALUES (?, false, now(), now(), ?, 0.1500, true)
+                """, creditSettingsId, CREDIT_DURATION);
+        creditSettingsService.refresh();
+
+        for (int i = 0; i < WARMUP + RUNS; i++) {
+            UUID userId = UUID.randomUUID();
+            userIds.add(userId);
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                    VALUES (?, false, now(), now(), 'Client benchmark', ?)
+                    """, userId, "caisse-" + userId + "@example.com");
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.credit_profiles (id, is_deleted, created_at, updated_at, user_id,
+                                                             credit_limit, available_credit, total_debt)
+                    VALUES (gen_random_uuid(), false, now(), now(), ?, 10000000, 10000000, 0)
+                    """, userId);
+            for (UUID productId : productIds) {
+                activeCartService.addItem(userId, new CartItemRequestDto(productId, 1, CreditPricing.PAYMENT_CREDIT,
+                        CREDIT_DURATION, "MONTHLY"));
+            }
+        }
+    }
+
+    @AfterAll
+    void cleanup () {
+        for (UUID userId : userIds) {
+            jdbcTemplate.update("""
+                    DELETE FROM kredika_app.payment_schedules WHERE installment_plan_id IN
+                           (SELECT id FROM kredika_app.installment_plans WHERE user_id = ?)
+                    """, userId);
+            jdbcTemplate.update("DELETE FROM kredika_app.installment_plans WHERE user_id = ?", userId);
+            jdbcTemplate.update("""
+                    DELETE FROM kredika_app.order_items WHERE order_id IN
+                           (SELECT id FROM kredika_app.orders WHERE user_id = ?)
+                    """, userId);
+            jdbcTemplate.update("DELETE FROM kredika_app.orders WHERE user_id = ?", userId);
+            jdbcTemplate.update("""
+                    DELETE FROM kredika_app.cart_items WHERE cart_id IN
+                           (SELECT id FROM kredika_app.carts WHERE user_id = ?)
+                    """, userId);
+            jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM kredika_app.credit_profiles WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.credit_settings WHERE id = ?", creditSettingsId);
+        for (UUID productId : productIds) {
+            jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void tenItemCreditCartChecksOutUnder100MsAtP99 () {
+        for (int i = 0; i < WARMUP; i++) {
+            checkoutService.checkout(userIds.get(i), new CheckoutRequestDto());
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            OrderResponseDto order = checkoutService.checkout(userIds.get(WARMUP + i), new CheckoutRequestDto());
+            samples[i] = System.nanoTime() - start;
+            assertThat(order.getItems()).hasSize(PRODUCTS);
+        }
+        Arrays.sort(samples);
+        long p50 = samples[RUNS / 2] / 1_000;
+        long p99 = samples[(int) Math.ceil(RUNS * 0.99) - 1] / 1_000;
+        log.info("passage en caisse (10 lignes, 24 mois) : p50 {} µs, p99 {} µs", p50, p99);
+
+        Integer schedules = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM kredika_app.payment_schedules s
+                  JOIN kredika_app.installment_plans p ON p.id = s.installment_plan_id
+                 WHERE p.user_id = ?
+                """, Integer.class, userIds.getLast());
+        assertThat(schedules).isEqualTo(PRODUCTS * CREDIT_DURATION);
+        assertThat(p99).isLessThan(100_000);
+    }
+}
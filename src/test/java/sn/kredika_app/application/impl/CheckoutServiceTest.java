@@ -0,0 +1,114 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.ActiveCartService;
+import sn.kredika_app.application.interfaces.service.CheckoutService;
+import sn.kredika_app.application.interfaces.service.ProductCounterService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.request.CartItemRequestDto;
+import sn.kredika_app.domain.dto.request.CheckoutRequestDto;
+import sn.kredika_app.domain.dto.response.OrderResponseDto;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie qu'un passage en caisse comptant décompte le stock, convertit le panier et compte les achats, et qu'un
+ * passage refusé ne compte rien.
+ */
+@SpringBootTest
+class CheckoutServiceTest {
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private ActiveCartService activeCartService;
+
+    @Autowired
+    private ProductCounterService productCounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Caisse', ?, true, 0)
+                """, categoryId, "caisse-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, version, name, price,
+                                                  category_id, is_active, stock, purchase_count)
+                VALUES (?, false, now(), now(), 0, 'Radio', 15000, ?, true, 5, 0)
+                """, productId, categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Fatou Diop', ?)
+                """, userId, "fatou-" + userId + "@example.com");
+        productCounterService.flush();
+    }
+
+    @AfterEach
+    void cleanUp () {
+        activeCartService.flush();
+        jdbcTemplate.update("""
+                DELETE FROM kredika_app.order_items WHERE order_id IN
+                       (SELECT id FROM kredika_app.orders WHERE user_id = ?)
+                """, userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.orders WHERE user_id = ?", userId);
+        jdbcTemplate.update("""
+                DELETE FROM kredika_app.cart_items WHERE cart_id IN
+                       (SELECT id FROM kredika_app.carts WHERE user_id = ?)
+                """, userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void checkoutConsumesStockAndCountsPurchases () {
+        activeCartService.addItem(userId, new CartItemRequestDto(productId, 3, null, null, null));
+
+        OrderResponseDto order = checkoutService.checkout(userId, new CheckoutRequestDto());
+        productCounterService.flush();
+
+        assertThat(order.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(3));
+        Map<String, Object> product = jdbcTemplate.queryForMap(
+                "SELECT stock, purchase_count FROM kredika_app.products WHERE id = ?", productId);
+        assertThat(((Number) product.get("stock")).intValue()).isEqualTo(2);
+        assertThat(((Number) product.get("purchase_count")).longValue()).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status_code FROM kredika_app.carts WHERE user_id = ?", String.class, userId))
+                .isEqualTo(CheckoutServiceImpl.CART_STATUS_CONVERTED);
+    }
+
+    @Test
+    void rejectedCheckoutCountsNothing () {
+        activeCartService.addItem(userId, new CartItemRequestDto(productId, 6, null, null, null));
+
+        assertThatThrownBy(() -> checkoutService.checkout(userId, new CheckoutRequestDto()))
+                .isInstanceOf(CustomException.class);
+        productCounterService.flush();
+
+        Map<String, Object> product = jdbcTemplate.queryForMap(
+                "SELECT stock, purchase_count FROM kredika_app.products WHERE id = ?", productId);
+        assertThat(((Number) product.get("stock")).intValue()).isEqualTo(5);
+        assertThat(((Number) product.get("purchase_count")).longValue()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package sn.kredika_app.application.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import sn.kredika_app.common.enums.CreditDecisionOutcome;
+import sn.kredika_app.common.enums.CreditRule;
+import sn.kredika_app.common.enums.PaymentFrequency;
+import sn.kredika_app.domain.snapshot.CreditApplication;
+import sn.kredika_app.domain.snapshot.CreditDecision;
+import sn.kredika_app.domain.snapshot.CreditSettingsSnapshot;
+import sn.kredika_app.domain.snapshot.CreditSnapshot;
+import sn.kredika_app.domain.snapshot.CreditTerm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Décisions du moteur en mode lot, et coût d'une évaluation en mémoire.
+ * Mesure lourde : lancer avec {@code mvn test -Dbenchmark=true}.
+ */
+@Slf4j
+class CreditDecisionEngineBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int RUNS = 1_000_000;
+    private static final int CART_LINES = 10;
+
+    private final CreditDecisionEngine engine = new CreditDecisionEngine(EnumSet.allOf(CreditRule.class), 300, 2,
+            4000);
+    private final CreditSettingsSnapshot terms = CreditSettingsSnapshot.of(List.of(
+            new CreditTerm(12, 1000, 10_000_00L, 500_000_00L),
+            new CreditTerm(24, 1200, 300_000_01L, 2_000_000_00L),
+            new CreditTerm(24, 1500, 10_000_00L, 300_000_00L)), "test");
+
+    @Test
+    void cartLinesShareTheAvailableCredit () {
+        CreditSnapshot snapshot = new CreditSnapshot(UUID.randomUUID(), true, 650, 1_000_000_00L, 500_000_00L, 0, 0,
+                CreditSnapshot.UNKNOWN, 0);
+        List<CreditDecision> decisions = engine.evaluateAll(snapshot, terms, List.of(
+                new CreditApplication(UUID.randomUUID(), 300_000_00L, 24, PaymentFrequency.MONTHLY),
+                new CreditApplication(UUID.randomUUID(), 300_000_00L, 24, PaymentFrequency.MONTHLY),
+                new CreditApplication(UUID.randomUUID(), 300_000_00L, 24, PaymentFrequency.MONTHLY)));
+
+        assertThat(decisions).extracting(CreditDecision::outcome).containsExactly(CreditDecisionOutcome.APPROVE,
+                CreditDecisionOutcome.LIMIT, CreditDecisionOutcome.DECLINE);
+        assertThat(decisions.get(0).approvedTotal()).isEqualTo(345_000_00L);
+        assertThat(decisions.get(0).approvedTotal() + decisions.get(1).approvedTotal()).isLessThanOrEqualTo(500_000_00L);
+        assertThat(decisions.get(1).approvedPrincipal()).isEqualTo(134_782_60L);
+        assertThat(decisions.get(2).reasons()).isNotEmpty();
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void evaluatesACartInMicroseconds () {
+        List<CreditSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            snapshots.add(new CreditSnapshot(UUID.randomUUID(), true, 300 + i % 500, 5_000_000_00L,
+                    (1 + i % 50) * 100_000_00L, 0, i % 4, 400_000_00L + i * 1_000_00L, (i % 20) * 10_000_00L));
+        }
+        List<CreditApplication> cart = new ArrayList<>();
+        for (int i = 0; i < CART_LINES; i++) {
+            cart.add(new CreditApplication(UUID.randomUUID(), 25_000_00L + i * 40_000_00L, i % 2 == 0 ? 12 : 24,
+                    PaymentFrequency.MONTHLY));
+        }
+
+        long checksum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += engine.evaluateAll(snapshots.get(i & 1023), terms, cart).size();
+        }
+        long[] samples = new long[RUNS / 1000];
+        for (int batch = 0; batch < samples.length; batch++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                checksum += engine.evaluateAll(snapshots.get(i & 1023), terms, cart).getLast().approvedTotal();
+            }
+            samples[batch] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(samples);
+        long p50 = samples[samples.length / 2];
+        long p99 = samples[(int) Math.ceil(samples.length * 0.99) - 1];
+        log.info("panier de {} lignes à crédit : p50 {} ns, p99 {} ns (somme de contrôle {})", CART_LINES,
+                p50, p99, checksum);
+        assertThat(p99).isLessThan(20_000);
+    }
+}
@@ -0,0 +1,183 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcCreditLedgerRepository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que chaque mouvement du journal de crédit enregistre exactement la variation appliquée au profil (la somme
+ * du journal suit donc les soldes), que le compactage ne change aucun solde, et que la réconciliation recale les
+ * profils sur les échéances restant dues.
+ * Profil de départ : plafond 100 000, crédit disponible 90 000, dette 10 000.
+ */
+@SpringBootTest
+class CreditLedgerTest {
+
+    private static final LocalDateTime OLD_ENTRY = LocalDateTime.of(2001, 5, 10, 9, 0);
+
+    @Autowired
+    private JdbcCreditLedgerRepository ledgerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID planId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Moussa Faye', ?)
+                """, userId, "moussa-" + userId + "@example.com");
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.credit_profiles (id, is_deleted, created_at, updated_at, version, user_id,
+                                                         credit_limit, available_credit, total_debt, default_count)
+                VALUES (?, false, now(), now(), 0, ?, 100000, 90000, 10000, 0)
+                """, UUID.randomUUID(), userId);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.credit_ledger_entries WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.payment_schedules WHERE installment_plan_id = ?", planId);
+        jdbcTemplate.update("DELETE FROM kredika_app.installment_plans WHERE id = ?", planId);
+        jdbcTemplate.update("DELETE FROM kredika_app.credit_profiles WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+    }
+
+    @Test
+    void debitIsAppliedOnlyWithinTheAvailableCredit () {
+        UUID orderId = UUID.randomUUID();
+
+        assertThat(ledgerRepository.debit(userId, orderId, new BigDecimal("60000"))).isTrue();
+        assertThat(ledgerRepository.debit(userId, UUID.randomUUID(), new BigDecimal("30000.01"))).isFalse();
+
+        assertBalances("30000", "70000");
+        assertThat(entries()).singleElement().satisfies(entry -> {
+            assertThat(entry.get("entry_type")).isEqualTo("CHECKOUT");
+            assertThat(entry.get("reference_id")).isEqualTo(orderId);
+        });
+        assertLedgerMatchesBalances();
+    }
+
+    @Test
+    void repaymentRecordsTheClampedDelta () {
+        UUID transactionId = UUID.randomUUID();
+
+        // Remboursement supérieur à la dette : la dette s'arrête à zéro, le crédit disponible au plafond
+        assertThat(ledgerRepository.applyRepayment(userId, transactionId, new BigDecimal("30000"))).isTrue();
+        assertThat(ledgerRepository.applyRepayment(userId, transactionId, new BigDecimal("30000"))).isFalse();
+
+        assertBalances("100000", "0");
+        assertThat(entries()).singleElement().satisfies(entry -> {
+            assertThat((BigDecimal) entry.get("debt_delta")).isEqualByComparingTo("-10000");
+            assertThat((BigDecimal) entry.get("available_delta")).isEqualByComparingTo("10000");
+        });
+        assertLedgerMatchesBalances();
+    }
+
+    @Test
+    void compactionFoldsOldEntriesWithoutChangingBalances () {
+        ledgerRepository.debit(userId, UUID.randomUUID(), new BigDecimal("20000"));
+        ledgerRepository.applyRepayment(userId, UUID.randomUUID(), new BigDecimal("5000"));
+        jdbcTemplate.update("UPDATE kredika_app.credit_ledger_entries SET created_at = ? WHERE user_id = ?",
+                Timestamp.valueOf(OLD_ENTRY), userId);
+        ledgerRepository.debit(userId, UUID.randomUUID(), new BigDecimal("1000"));
+
+        assertThat(ledgerRepository.compact(OLD_ENTRY.plusDays(1), 10_000)).isPositive();
+
+        List<Map<String, Object>> entries = entries();
+        assertThat(entries).extracting(entry -> entry.get("entry_type"))
+                .containsExactlyInAnyOrder("COMPACTION", "CHECKOUT");
+        Map<String, Object> compaction = entries.stream()
+                .filter(entry -> "COMPACTION".equals(entry.get("entry_type"))).findFirst().orElseThrow();
+        assertThat((BigDecimal) compaction.get("debt_delta")).isEqualByComparingTo("15000");
+        assertThat((BigDecimal) compaction.get("available_delta")).isEqualByComparingTo("-15000");
+        assertThat(((Timestamp) compaction.get("created_at")).toLocalDateTime()).isEqualTo(OLD_ENTRY);
+        assertBalances("74000", "26000");
+        assertLedgerMatchesBalances();
+    }
+
+    @Test
+    void reconcileAlignsTheProfileWithOutstandingInstallments () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.installment_plans (id, is_deleted, created_at, updated_at, version, user_id,
+                                                           principal_amount, commission_rate, commission_amount,
+                                                           total_amount, installment_amount, status_code)
+                VALUES (?, false, now(), now(), 0, ?, 20000, 0.2000, 4000, 24000, 12000, 'ACTIVE')
+                """, planId, userId);
+        insertSchedule(1, "12000", "12000");
+        insertSchedule(2, "12000", "5000");
+
+        Integer corrected = transactionTemplate.execute(status ->
+                ledgerRepository.reconcile(new UUID[]{userId}));
+
+        assertThat(corrected).isEqualTo(1);
+        assertBalances("93000", "7000");
+        assertThat(entries()).singleElement().satisfies(entry -> {
+            assertThat(entry.get("entry_type")).isEqualTo("RECONCILIATION");
+            assertThat((BigDecimal) entry.get("debt_delta")).isEqualByComparingTo("-3000");
+            assertThat((BigDecimal) entry.get("available_delta")).isEqualByComparingTo("3000");
+        });
+        Integer again = transactionTemplate.execute(status -> ledgerRepository.reconcile(new UUID[]{userId}));
+        assertThat(again).isZero();
+    }
+
+    private void insertSchedule (int number, String amount, String paidAmount) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.payment_schedules (id, is_deleted, created_at, updated_at, version,
+                                                           installment_plan_id, installment_number, due_date, amount,
+                                                           paid_amount, penalty_amount)
+                VALUES (?, false, now(), now(), 0, ?, ?, ?, ?, ?, 0)
+                """, UUID.randomUUID(), planId, number, Date.valueOf(LocalDate.now().plusMonths(number)),
+                new BigDecimal(amount), new BigDecimal(paidAmount));
+    }
+
+    private List<Map<String, Object>> entries () {
+        return jdbcTemplate.queryForList("""
+                SELECT entry_type, reference_id, debt_delta, available_delta, created_at
+                  FROM kredika_app.credit_ledger_entries
+                 WHERE user_id = ?
+                """, userId);
+    }
+
+    private void assertBalances (String availableCredit, String totalDebt) {
+        Map<String, Object> profile = jdbcTemplate.queryForMap(
+                "SELECT available_credit, total_debt FROM kredika_app.credit_profiles WHERE user_id = ?", userId);
+        assertThat((BigDecimal) profile.get("available_credit")).isEqualByComparingTo(availableCredit);
+        assertThat((BigDecimal) profile.get("total_debt")).isEqualByComparingTo(totalDebt);
+    }
+
+    /**
+     * Solde de départ plus somme du journal = solde du profil
+     */
+    private void assertLedgerMatchesBalances () {
+        Map<String, Object> sums = jdbcTemplate.queryForMap("""
+                SELECT 90000 + COALESCE(sum(available_delta), 0) AS available_credit,
+                       10000 + COALESCE(sum(debt_delta), 0) AS total_debt
+                  FROM kredika_app.credit_ledger_entries
+                 WHERE user_id = ?
+                """, userId);
+        assertBalances(sums.get("available_credit").toString(), sums.get("total_debt").toString());
+    }
+}
@@ -0,0 +1,172 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.CreditSettingsService;
+import sn.kredika_app.common.util.AmortizationEngine;
+import sn.kredika_app.domain.snapshot.CreditSettingsSnapshot;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le choix de la tranche de crédit : tranche contenant le montant (la plus basse en cas de chevauchement),
+ * sinon la plus proche, et l'accord entre CreditSettingsSnapshot.quote et la jointure latérale du recalcul SQL des
+ * paniers (JdbcCartRepricingRepository).
+ * Tranches de la durée du test : [0 ; 100 000], [100 000,01 ; 500 000], [400 000 ; 800 000], [1 000 000 ; 2 000 000].
+ */
+@SpringBootTest
+class CreditSettingsQuoteTest {
+
+    private static final int DURATION = 29;
+
+    /**
+     * Montant financé (francs) et taux attendu
+     */
+    private static final Map<Long, String> EXPECTED_RATES = new LinkedHashMap<>();
+
+    static {
+        EXPECTED_RATES.put(50_000L, "0.1000");
+        EXPECTED_RATES.put(100_000L, "0.1000");
+        EXPECTED_RATES.put(450_000L, "0.1500");
+        EXPECTED_RATES.put(700_000L, "0.1800");
+        EXPECTED_RATES.put(850_000L, "0.1800");
+        EXPECTED_RATES.put(900_000L, "0.1800");
+        EXPECTED_RATES.put(950_000L, "0.2500");
+        EXPECTED_RATES.put(3_000_000L, "0.2500");
+    }
+
+    @Autowired
+    private CreditSettingsService creditSettingsService;
+
+    @Autowired
+    private CartRepricingServiceImpl cartRepricingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final UUID cartId = UUID.randomUUID();
+    private final List<UUID> settingIds = new ArrayList<>();
+    private final Map<Long, UUID> itemByAmount = new LinkedHashMap<>();
+
+    @BeforeEach
+    void seed () {
+        insertBand(null, "100000", "0.1000");
+        insertBand("100000.01", "500000", "0.1500");
+        insertBand("400000", "800000", "0.1800");
+        insertBand("1000000", "2000000", "0.2500");
+        creditSettingsService.refresh();
+
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Tranches', ?, true, 0)
+                """, categoryId, "tranches-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Fatou Diop', ?)
+                """, userId, "fatou-" + userId + "@example.com");
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.carts (id, is_deleted, created_at, updated_at, user_id, status_code,
+                                               total_amount, expires_at, version)
+                VALUES (?, false, now(), now(), ?, 'ACTIVE', 0, now() + interval '1 hour', 1)
+                """, cartId, userId);
+        for (long amount : EXPECTED_RATES.keySet()) {
+            UUID productId = UUID.randomUUID();
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                      is_active, stock, credit_eligible, max_credit_duration)
+                    VALUES (?, false, now(), now(), 'Tranche', ?, ?, true, 10, true, 60)
+                    """, productId, amount, categoryId);
+            UUID itemId = UUID.randomUUID();
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.cart_items (id, is_deleted, created_at, updated_at, cart_id, product_id,
+                                                        quantity, payment_method_code, credit_duration,
+                                                        credit_frequency_code, unit_price, commission_rate,
+                                                        total_amount, installment_amount, version)
+                    VALUES (?, false, now(), now(), ?, ?, 1, 'CREDIT', ?, 'MONTHLY', ?, 0, ?, 0, 0)
+                    """, itemId, cartId, productId, DURATION, amount, amount);
+            itemByAmount.put(amount, itemId);
+        }
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.cart_items WHERE cart_id = ?", cartId);
+        jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE id = ?", cartId);
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+        for (UUID id : settingIds) {
+            jdbcTemplate.update("DELETE FROM kredika_app.credit_settings WHERE id = ?", id);
+        }
+        creditSettingsService.refresh();
+    }
+
+    @Test
+    void findSelectsTheContainingBandByBinarySearch () {
+        CreditSettingsSnapshot snapshot = creditSettingsService.current();
+
+        assertThat(snapshot.find(DURATION, centimes(0)).commissionRate()).isEqualByComparingTo("0.1000");
+        assertThat(snapshot.find(DURATION, centimes(100_000)).commissionRate()).isEqualByComparingTo("0.1000");
+        assertThat(snapshot.find(DURATION, centimes(100_000) + 1).commissionRate()).isEqualByComparingTo("0.1500");
+        // Chevauchement : la tranche de minimum le plus bas l'emporte
+        assertThat(snapshot.find(DURATION, centimes(450_000)).commissionRate()).isEqualByComparingTo("0.1500");
+        assertThat(snapshot.find(DURATION, centimes(500_000) + 1).commissionRate()).isEqualByComparingTo("0.1800");
+        assertThat(snapshot.find(DURATION, centimes(2_000_000)).commissionRate()).isEqualByComparingTo("0.2500");
+        // Hors de toute tranche
+        assertThat(snapshot.find(DURATION, centimes(900_000))).isNull();
+        assertThat(snapshot.find(DURATION, centimes(2_000_000) + 1)).isNull();
+    }
+
+    @Test
+    void quoteFallsBackToTheNearestBand () {
+        CreditSettingsSnapshot snapshot = creditSettingsService.current();
+
+        EXPECTED_RATES.forEach((amount, rate) ->
+                assertThat(snapshot.quote(DURATION, centimes(amount)).commissionRate())
+                        .as("montant %d", amount)
+                        .isEqualByComparingTo(rate));
+    }
+
+    @Test
+    void sqlRepricingPicksTheSameBandAsQuote () {
+        cartRepricingService.reprice(List.of(), List.of(DURATION));
+
+        CreditSettingsSnapshot snapshot = creditSettingsService.current();
+        itemByAmount.forEach((amount, itemId) -> {
+            BigDecimal sqlRate = jdbcTemplate.queryForObject(
+                    "SELECT commission_rate FROM kredika_app.cart_items WHERE id = ?", BigDecimal.class, itemId);
+            assertThat(sqlRate)
+                    .as("montant %d", amount)
+                    .isEqualByComparingTo(snapshot.quote(DURATION, centimes(amount)).commissionRate());
+        });
+    }
+
+    private void insertBand (String minAmount, String maxAmount, String rate) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.credit_settings (id, is_deleted, created_at, updated_at, duration_months,
+                                                         commission_rate, min_amount, max_amount, is_active)
+                VALUES (?, false, now(), now(), ?, ?, ?, ?, true)
+                """, id, DURATION, new BigDecimal(rate), minAmount == null ? null : new BigDecimal(minAmount),
+                new BigDecimal(maxAmount));
+        settingIds.add(id);
+    }
+
+    private static long centimes (long francs) {
+        return francs * AmortizationEngine.CENTIMES_PER_FRANC;
+    }
+}
@@ -0,0 +1,122 @@
+package sn.kredika_app.application.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.IdempotencyService;
+import sn.kredika_app.common.enums.IdempotencyScope;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcIdempotencyRepository;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie qu'une clé n'est exécutée qu'une fois, qu'une réservation en cours n'est jamais reprise quel que soit son
+ * âge, qu'un échec libère la clé, et que le cache mémoire des réponses reste borné.
+ */
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JdbcIdempotencyRepository idempotencyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.idempotency_records WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void replayReturnsTheStoredResponseWithoutRunningAgain () {
+        Map<String, Object> request = Map.of("amount", 5000);
+
+        String first = run("cle-1", request);
+        String replay = run("cle-1", request);
+
+        assertThat(replay).isEqualTo(first);
+        assertThat(executions).hasValue(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM kredika_app.idempotency_records WHERE user_id = ?", String.class, userId))
+                .isEqualTo(JdbcIdempotencyRepository.STATUS_COMPLETED);
+        assertThatThrownBy(() -> run("cle-1", Map.of("amount", 7000)))
+                .isInstanceOfSatisfying(CustomException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    void startedClaimIsNeverTakenOver () {
+        // Réservation d'un autre nœud, commencée il y a longtemps : son opération a pu être validée sans réponse
+        String recordKey = IdempotencyScope.PAYMENT.name() + ":" + userId + ":cle-2";
+        assertThat(idempotencyRepository.claim(recordKey, IdempotencyScope.PAYMENT.name(), userId, "empreinte"))
+                .isTrue();
+        jdbcTemplate.update("""
+                UPDATE kredika_app.idempotency_records SET created_at = now() - interval '1 day'
+                 WHERE record_key = ?
+                """, recordKey);
+
+        assertThatThrownBy(() -> run("cle-2", Map.of()))
+                .isInstanceOfSatisfying(CustomException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        assertThat(idempotencyRepository.purgeExpired(1000)).isZero();
+        assertThat(idempotencyRepository.find(recordKey).completed()).isFalse();
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void failedExecutionReleasesTheKey () {
+        assertThatThrownBy(() -> idempotencyService.execute(IdempotencyScope.PAYMENT, userId, "cle-3", Map.of(),
+                String.class, () -> {
+                    throw CustomException.conflict("échec");
+                })).isInstanceOf(CustomException.class);
+
+        run("cle-3", Map.of());
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void memoryCacheIsBounded () {
+        IdempotencyServiceImpl bounded = new IdempotencyServiceImpl(idempotencyRepository, objectMapper,
+                new SimpleMeterRegistry(), 24, 30, 2);
+        for (String key : new String[]{"cle-a", "cle-b", "cle-c"}) {
+            bounded.execute(IdempotencyScope.PAYMENT, userId, key, Map.of(), String.class, this::operation);
+        }
+        // Sans la base, seule une entrée encore en mémoire peut servir le rejeu
+        jdbcTemplate.update("DELETE FROM kredika_app.idempotency_records WHERE user_id = ?", userId);
+
+        bounded.execute(IdempotencyScope.PAYMENT, userId, "cle-c", Map.of(), String.class, this::operation);
+        assertThat(executions).hasValue(3);
+        bounded.execute(IdempotencyScope.PAYMENT, userId, "cle-a", Map.of(), String.class, this::operation);
+        assertThat(executions).hasValue(4);
+    }
+
+    private String run (String key, Object request) {
+        return idempotencyService.execute(IdempotencyScope.PAYMENT, userId, key, request, String.class,
+                this::operation);
+    }
+
+    private String operation () {
+        return "exécution-" + executions.incrementAndGet();
+    }
+}
@@ -0,0 +1,201 @@
+package sn.kredika_app.application.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.LatePenaltyService.PenaltyReport;
+import sn.kredika_app.application.interfaces.service.PaymentService;
+import sn.kredika_app.domain.dto.request.PaymentTransactionRequestDto;
+import sn.kredika_app.domain.model.InstallmentPlanModel;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcLatePenaltyRepository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie le passage d'un plan en retard puis son retour à ACTIVE, l'accord entre la règle SQL et
+ * InstallmentPlanModel.isLate, qu'un calcul rejoué est sans effet, qu'un calcul interrompu est repris en arrière-plan,
+ * qu'un plan annulé garde ses pénalités et qu'un plan en retard accepte encore les paiements.
+ * Les calculs sont datés de journées passées réservées au test ; délai de grâce de 3 jours, 10 pb par jour.
+ */
+@SpringBootTest
+class LatePenaltyTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2002, 2, 1);
+    private static final LocalDate CUTOFF_DATE = RUN_DATE.minusDays(3);
+    private static final LocalDate DUE_DATE = LocalDate.of(2002, 1, 1);
+
+    @Autowired
+    private LatePenaltyServiceImpl latePenaltyService;
+
+    @Autowired
+    private JdbcLatePenaltyRepository penaltyRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID planId = UUID.randomUUID();
+    private final UUID cancelledPlanId = UUID.randomUUID();
+    private final UUID scheduleId = UUID.randomUUID();
+    private final UUID cancelledScheduleId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Aminata Ba', ?)
+                """, userId, "aminata-" + userId + "@example.com");
+        insertPlan(planId, "ACTIVE");
+        insertPlan(cancelledPlanId, "CANCELLED");
+        insertSchedule(scheduleId, planId);
+        insertSchedule(cancelledScheduleId, cancelledPlanId);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        for (LocalDate day : List.of(RUN_DATE, RUN_DATE.plusDays(1))) {
+            jdbcTemplate.update("DELETE FROM kredika_app.penalty_run_plans WHERE run_date = ?", Date.valueOf(day));
+            jdbcTemplate.update("DELETE FROM kredika_app.penalty_runs WHERE run_date = ?", Date.valueOf(day));
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.payment_transactions WHERE user_id = ?", userId);
+        for (UUID id : List.of(planId, cancelledPlanId)) {
+            jdbcTemplate.update("DELETE FROM kredika_app.payment_schedules WHERE installment_plan_id = ?", id);
+            jdbcTemplate.update("DELETE FROM kredika_app.installment_plans WHERE id = ?", id);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+    }
+
+    @Test
+    void overduePlanTurnsLateThenBackToActive () {
+        assertThat(isLate(CUTOFF_DATE)).isTrue();
+
+        PenaltyReport report = latePenaltyService.run(RUN_DATE);
+
+        assertThat(report.completed()).isTrue();
+        // 10 000 restants × 0,001 × 28 jours de retard à la date de coupure
+        assertPlan(planId, "LATE", "280");
+        assertThat(penalty(scheduleId)).isEqualByComparingTo("280");
+        // Un plan annulé n'est jamais touché, même avec une échéance impayée
+        assertPlan(cancelledPlanId, "CANCELLED", null);
+        assertThat(penalty(cancelledScheduleId)).isEqualByComparingTo("0");
+
+        jdbcTemplate.update("UPDATE kredika_app.payment_schedules SET paid_amount = amount WHERE id = ?", scheduleId);
+        assertThat(isLate(CUTOFF_DATE.plusDays(1))).isFalse();
+
+        assertThat(latePenaltyService.run(RUN_DATE.plusDays(1)).completed()).isTrue();
+
+        assertPlan(planId, "ACTIVE", "280");
+    }
+
+    @Test
+    void rerunChangesNothing () {
+        PenaltyReport first = latePenaltyService.run(RUN_DATE);
+        assertThat(first.updatedPlans()).isPositive();
+
+        PenaltyReport again = latePenaltyService.run(RUN_DATE);
+        assertThat(again.completed()).isTrue();
+        assertThat(again.plans()).isZero();
+
+        // Même journée recalculée depuis le début : les pénalités sont recalculées en entier, pas cumulées
+        jdbcTemplate.update("DELETE FROM kredika_app.penalty_runs WHERE run_date = ?", Date.valueOf(RUN_DATE));
+        PenaltyReport recomputed = latePenaltyService.run(RUN_DATE);
+        assertThat(recomputed.completed()).isTrue();
+        assertThat(recomputed.plans()).isPositive();
+        assertThat(recomputed.schedules()).isZero();
+        assertThat(recomputed.updatedPlans()).isZero();
+        assertPlan(planId, "LATE", "280");
+    }
+
+    @Test
+    void interruptedRunIsResumedInTheBackground () throws Exception {
+        // Calcul créé puis interrompu avant le premier lot
+        transactionTemplate.executeWithoutResult(status -> {
+            penaltyRepository.createRun(RUN_DATE, CUTOFF_DATE, new BigDecimal("0.0010"), new BigDecimal("0.2000"));
+            penaltyRepository.planRun(RUN_DATE, CUTOFF_DATE);
+        });
+        assertThat(penaltyRepository.findStatus(RUN_DATE)).isEqualTo(JdbcLatePenaltyRepository.STATUS_RUNNING);
+
+        Future<PenaltyReport> resumed = latePenaltyService.resume();
+
+        assertThat(resumed).isNotNull();
+        assertThat(resumed.get(30, TimeUnit.SECONDS).completed()).isTrue();
+        assertThat(penaltyRepository.findStatus(RUN_DATE)).isEqualTo(JdbcLatePenaltyRepository.STATUS_DONE);
+        assertPlan(planId, "LATE", "280");
+    }
+
+    @Test
+    void latePlanStillAcceptsPayments () {
+        latePenaltyService.run(RUN_DATE);
+        assertPlan(planId, "LATE", "280");
+
+        PaymentTransactionRequestDto request = new PaymentTransactionRequestDto(planId, new BigDecimal("10000"),
+                "WAVE", null);
+
+        assertThat(paymentService.initiate(userId, request).getStatusCode())
+                .isEqualTo(PaymentServiceImpl.TRANSACTION_STATUS_PENDING);
+    }
+
+    private void insertPlan (UUID id, String statusCode) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.installment_plans (id, is_deleted, created_at, updated_at, version, user_id,
+                                                           principal_amount, commission_rate, commission_amount,
+                                                           total_amount, installment_amount, status_code)
+                VALUES (?, false, now(), now(), 0, ?, 16000, 0.2500, 4000, 20000, 10000, ?)
+                """, id, userId, statusCode);
+    }
+
+    private void insertSchedule (UUID id, UUID plan) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.payment_schedules (id, is_deleted, created_at, updated_at, version,
+                                                           installment_plan_id, installment_number, due_date, amount,
+                                                           paid_amount, penalty_amount)
+                VALUES (?, false, now(), now(), 0, ?, 1, ?, 10000, 0, 0)
+                """, id, plan, Date.valueOf(DUE_DATE));
+    }
+
+    private boolean isLate (LocalDate cutoffDate) {
+        Boolean late = transactionTemplate.execute(status ->
+                entityManager.find(InstallmentPlanModel.class, planId).isLate(cutoffDate));
+        return Boolean.TRUE.equals(late);
+    }
+
+    private void assertPlan (UUID id, String statusCode, String latePenalty) {
+        Map<String, Object> plan = jdbcTemplate.queryForMap(
+                "SELECT status_code, late_penalty FROM kredika_app.installment_plans WHERE id = ?", id);
+        assertThat(plan.get("status_code")).isEqualTo(statusCode);
+        if (latePenalty == null) {
+            assertThat(plan.get("late_penalty")).isNull();
+        } else {
+            assertThat((BigDecimal) plan.get("late_penalty")).isEqualByComparingTo(latePenalty);
+        }
+    }
+
+    private BigDecimal penalty (UUID id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT penalty_amount FROM kredika_app.payment_schedules WHERE id = ?", BigDecimal.class, id);
+    }
+}
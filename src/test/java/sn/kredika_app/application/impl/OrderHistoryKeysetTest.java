@@ -0,0 +1,169 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.OrderHistoryService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.response.CursorPageResponseDto;
+import sn.kredika_app.domain.dto.simple.OrderSimpleDto;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie que le parcours page par page de l'historique des commandes renvoie chaque commande une seule fois, dans
+ * l'ordre (created_at, id) décroissant, y compris lorsque plusieurs commandes partagent la même date de création.
+ */
+@SpringBootTest
+class OrderHistoryKeysetTest {
+
+    private static final int TIMESTAMPS = 5;
+    private static final int ORDERS_PER_TIMESTAMP = 5;
+    private static final int PAGE_SIZE = 7;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final UUID otherUserId = UUID.randomUUID();
+    private final List<UUID> visibleOrders = new ArrayList<>();
+    private final Map<UUID, LocalDateTime> createdAt = new HashMap<>();
+    private final Map<UUID, Integer> itemCounts = new HashMap<>();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Historique', ?, true, 0)
+                """, categoryId, "historique-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                VALUES (?, false, now(), now(), 'Bouilloire', 8000, ?, true, 100)
+                """, productId, categoryId);
+        for (UUID id : List.of(userId, otherUserId)) {
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                    VALUES (?, false, now(), now(), 'Client historique', ?)
+                    """, id, "historique-" + id + "@example.com");
+        }
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 10, 0, 0, 123_456_000);
+        int sequence = 0;
+        for (int t = 0; t < TIMESTAMPS; t++) {
+            // Plusieurs commandes à la même microseconde : seul l'identifiant les départage
+            LocalDateTime at = base.plusMinutes(t);
+            for (int i = 0; i < ORDERS_PER_TIMESTAMP; i++) {
+                UUID orderId = insertOrder(userId, at, false, sequence++);
+                visibleOrders.add(orderId);
+                createdAt.put(orderId, at);
+                int items = 1 + i % 3;
+                itemCounts.put(orderId, items);
+                for (int k = 0; k < items; k++) {
+                    insertItem(orderId);
+                }
+            }
+        }
+        insertOrder(userId, base.plusMinutes(2), true, sequence++);
+        insertOrder(otherUserId, base.plusMinutes(2), false, sequence);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        for (UUID id : List.of(userId, otherUserId)) {
+            jdbcTemplate.update("""
+                    DELETE FROM kredika_app.order_items WHERE order_id IN
+                           (SELECT id FROM kredika_app.orders WHERE user_id = ?)
+                    """, id);
+            jdbcTemplate.update("DELETE FROM kredika_app.orders WHERE user_id = ?", id);
+            jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", id);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void pagesCoverEveryOrderOnceInKeysetOrder () {
+        // Ordre de PostgreSQL sur uuid : octets non signés, soit l'ordre lexicographique de la forme hexadécimale
+        List<UUID> expected = visibleOrders.stream()
+                .sorted(Comparator.comparing((UUID id) -> createdAt.get(id))
+                        .thenComparing(UUID::toString)
+                        .reversed())
+                .toList();
+
+        List<OrderSimpleDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponseDto<OrderSimpleDto> page = orderHistoryService.listOrders(userId, cursor, PAGE_SIZE);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            assertThat(page.getHasNext()).isEqualTo(page.getNextCursor() != null);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo((expected.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(seen).extracting(OrderSimpleDto::getId).containsExactlyElementsOf(expected);
+        assertThat(seen).allSatisfy(order -> {
+            assertThat(order.getCreatedAt()).isEqualTo(createdAt.get(order.getId()));
+            assertThat(order.getItemCount()).isEqualTo(itemCounts.get(order.getId()));
+        });
+    }
+
+    @Test
+    void pageBoundaryInsideATieDoesNotSkipOrRepeat () {
+        // Page de 3 : la coupure tombe au milieu des 5 commandes de même date
+        CursorPageResponseDto<OrderSimpleDto> first = orderHistoryService.listOrders(userId, null, 3);
+        CursorPageResponseDto<OrderSimpleDto> second = orderHistoryService.listOrders(userId, first.getNextCursor(), 3);
+
+        List<UUID> ids = new ArrayList<>();
+        first.getItems().forEach(order -> ids.add(order.getId()));
+        second.getItems().forEach(order -> ids.add(order.getId()));
+        assertThat(ids).doesNotHaveDuplicates().hasSize(6);
+        assertThat(first.getItems().getLast().getCreatedAt()).isEqualTo(second.getItems().getFirst().getCreatedAt());
+    }
+
+    @Test
+    void invalidCursorIsRejected () {
+        assertThatThrownBy(() -> orderHistoryService.listOrders(userId, "pas-un-curseur", PAGE_SIZE))
+                .isInstanceOf(CustomException.class);
+    }
+
+    private UUID insertOrder (UUID owner, LocalDateTime at, boolean deleted, int sequence) {
+        UUID orderId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.orders (id, is_deleted, created_at, updated_at, version, order_number, user_id,
+                                                total_amount, status_code, payment_status_code)
+                VALUES (?, ?, ?, now(), 0, ?, ?, 8000, 'CREATED', 'PENDING')
+                """, orderId, deleted, Timestamp.valueOf(at), "HIST-" + owner.toString().substring(0, 8) + "-" + sequence,
+                owner);
+        return orderId;
+    }
+
+    private void insertItem (UUID orderId) {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.order_items (id, is_deleted, created_at, updated_at, version, order_id,
+                                                     product_id, quantity, unit_price, total_price)
+                VALUES (?, false, now(), now(), 0, ?, ?, 1, 8000, 8000)
+                """, UUID.randomUUID(), orderId, productId);
+    }
+}
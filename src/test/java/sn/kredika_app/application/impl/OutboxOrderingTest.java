@@ -0,0 +1,105 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.common.enums.OutboxEventType;
+import sn.kredika_app.domain.event.OutboxEvent;
+import sn.kredika_app.infrastructure.persistence.repository.JdbcOutboxRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie qu'un agrégat n'a jamais qu'un événement pris à la fois : les suivants attendent que le plus ancien soit
+ * traité ou abandonné, même quand son délai de reprise dépasse le bail.
+ * Chaque scénario s'exécute dans une transaction annulée : les événements écrits restent invisibles des dispatchers
+ * planifiés.
+ */
+@SpringBootTest
+class OutboxOrderingTest {
+
+    private static final int LEASE_SECONDS = 60;
+
+    @Autowired
+    private JdbcOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID otherOrderId = UUID.randomUUID();
+
+    @Test
+    void onlyTheOldestPendingEventOfAnAggregateIsClaimed () {
+        inRolledBackTransaction(() -> {
+            append(orderId, "CONFIRMED");
+            append(orderId, "SHIPPED");
+            append(orderId, "DELIVERED");
+            append(otherOrderId, "CONFIRMED");
+
+            List<OutboxEvent> first = claim();
+            assertThat(first).extracting(OutboxEvent::aggregateId).containsExactlyInAnyOrder(orderId, otherOrderId);
+            assertThat(statusOf(first, orderId)).isEqualTo("CONFIRMED");
+
+            // Tant que le premier est sous bail, rien d'autre n'est pris pour cet agrégat
+            assertThat(claim()).isEmpty();
+
+            OutboxEvent confirmed = of(first, orderId);
+            assertThat(outboxRepository.markDone(confirmed.id(), confirmed.attempt())).isTrue();
+            List<OutboxEvent> second = claim();
+            assertThat(second).extracting(OutboxEvent::aggregateId).containsExactly(orderId);
+            assertThat(statusOf(second, orderId)).isEqualTo("SHIPPED");
+        });
+    }
+
+    @Test
+    void retryingEventBlocksItsSuccessorsBeyondTheLease () {
+        inRolledBackTransaction(() -> {
+            append(orderId, "CONFIRMED");
+            append(orderId, "SHIPPED");
+
+            OutboxEvent confirmed = of(claim(), orderId);
+            // Délai de reprise bien plus long que le bail : l'événement suivant, disponible, reste bloqué
+            outboxRepository.reschedule(confirmed.id(), confirmed.attempt(), LEASE_SECONDS * 10L, "échec");
+            assertThat(claim()).isEmpty();
+
+            outboxRepository.markDead(confirmed.id(), confirmed.attempt(), "abandon");
+            assertThat(statusOf(claim(), orderId)).isEqualTo("SHIPPED");
+        });
+    }
+
+    private void append (UUID aggregateId, String statusCode) {
+        outboxRepository.append(OutboxEventType.ORDER_STATUS_CHANGED, aggregateId, Map.of("statusCode", statusCode));
+    }
+
+    /**
+     * Lot pris dans la transaction de test, restreint aux agrégats du test
+     */
+    private List<OutboxEvent> claim () {
+        Set<UUID> mine = Set.of(orderId, otherOrderId);
+        return outboxRepository.claimBatch(10_000, LEASE_SECONDS).stream()
+                .filter(event -> mine.contains(event.aggregateId()))
+                .toList();
+    }
+
+    private static OutboxEvent of (List<OutboxEvent> events, UUID aggregateId) {
+        return events.stream().filter(event -> event.aggregateId().equals(aggregateId)).findFirst().orElseThrow();
+    }
+
+    private static String statusOf (List<OutboxEvent> events, UUID aggregateId) {
+        return of(events, aggregateId).payload().path("statusCode").asText();
+    }
+
+    private void inRolledBackTransaction (Runnable scenario) {
+        transactionTemplate.executeWithoutResult(status -> {
+            scenario.run();
+            status.setRollbackOnly();
+        });
+    }
+}
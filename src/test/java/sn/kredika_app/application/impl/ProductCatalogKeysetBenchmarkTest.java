@@ -0,0 +1,115 @@
+package sn.kredika_app.application.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.ProductCatalogService;
+import sn.kredika_app.common.enums.ProductCatalogSort;
+import sn.kredika_app.common.util.CursorCodec;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que la page N du catalogue coûte autant que la page 1.
+ * Test lourd (insère 50 000 produits) : lancer avec {@code mvn test -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductCatalogKeysetBenchmarkTest {
+
+    private static final int PRODUCT_COUNT = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int RUNS = 50;
+
+    @Autowired
+    private ProductCatalogService productCatalogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+
+    @BeforeAll
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Benchmark', ?, true, 0)
+                """, categoryId, "benchmark-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                SELECT gen_random_uuid(), false, now() - (g * interval '1 second'), now(), 'Produit ' || g,
+                       (random() * 100000 + 1)::numeric(10, 2), ?, true, 10
+                  FROM generate_series(1, ?) g
+                """, categoryId, PRODUCT_COUNT);
+        jdbcTemplate.execute("ANALYZE kredika_app.products");
+    }
+
+    @AfterAll
+    void cleanup () {
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void deepPageCostsTheSameAsFirstPage () {
+        // Curseur positionné sur la 49 000e ligne, tel qu'un client l'obtiendrait après 2 450 pages
+        Map<String, Object> anchor = jdbcTemplate.queryForMap("""
+                SELECT id, created_at FROM kredika_app.products
+                 WHERE category_id = ? AND is_active = true AND is_deleted = false
+                 ORDER BY created_at DESC, id DESC
+                OFFSET 49000 LIMIT 1
+                """, categoryId);
+        String deepCursor = CursorCodec.encode(
+                ProductCatalogSort.NEWEST.name(),
+                ((Timestamp) anchor.get("created_at")).toLocalDateTime().toString(),
+                anchor.get("id").toString()
+        );
+
+        long firstPage = medianNanos(() -> productCatalogService.listByCategory(
+                categoryId, false, true, ProductCatalogSort.NEWEST, null, PAGE_SIZE));
+        long deepPage = medianNanos(() -> productCatalogService.listByCategory(
+                categoryId, false, true, ProductCatalogSort.NEWEST, deepCursor, PAGE_SIZE));
+        long offsetPage = medianNanos(() -> jdbcTemplate.queryForList("""
+                SELECT id FROM kredika_app.products
+                 WHERE category_id = ? AND is_active = true AND is_deleted = false
+                 ORDER BY created_at DESC, id DESC
+                OFFSET 49000 LIMIT 20
+                """, categoryId));
+
+        log.info("page 1 : {} µs, page 2451 (curseur) : {} µs, page 2451 (OFFSET) : {} µs",
+                firstPage / 1_000, deepPage / 1_000, offsetPage / 1_000);
+
+        assertThat(deepPage).isLessThan(firstPage * 3);
+        assertThat(deepPage).isLessThan(offsetPage);
+    }
+
+    private long medianNanos (Runnable action) {
+        for (int i = 0; i < 10; i++) {
+            action.run();
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+}
@@ -0,0 +1,111 @@
+package sn.kredika_app.application.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.ProductCounterService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que les vues et achats enregistrés en mémoire atteignent la base au vidage, sans toucher à la version de
+ * l'entité produit.
+ */
+@SpringBootTest
+class ProductCounterFlushTest {
+
+    private static final int THREADS = 16;
+    private static final int VIEWS_PER_THREAD = 500;
+
+    @Autowired
+    private ProductCounterService productCounterService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Compteurs', ?, true, 0)
+                """, categoryId, "compteurs-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, version, name, price,
+                                                  category_id, is_active, stock, view_count, purchase_count)
+                VALUES (?, false, now(), now(), 0, 'Téléviseur', 150000, ?, true, 10, 7, 2)
+                """, productId, categoryId);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void concurrentViewsAndPurchasesAreFlushedAsDeltas () throws Exception {
+        double viewsBefore = meterRegistry.counter("kredika.product.views").count();
+        double purchasesBefore = meterRegistry.counter("kredika.product.purchases").count();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                        productCounterService.recordView(productId);
+                    }
+                    productCounterService.recordPurchase(productId, 2);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+        productCounterService.flush();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT view_count, purchase_count, version FROM kredika_app.products WHERE id = ?", productId);
+        assertThat(((Number) row.get("view_count")).longValue()).isEqualTo(7L + THREADS * VIEWS_PER_THREAD);
+        assertThat(((Number) row.get("purchase_count")).longValue()).isEqualTo(2L + THREADS * 2);
+        assertThat(((Number) row.get("version")).longValue()).isZero();
+
+        assertThat(meterRegistry.counter("kredika.product.views").count() - viewsBefore)
+                .isEqualTo(THREADS * VIEWS_PER_THREAD);
+        assertThat(meterRegistry.counter("kredika.product.purchases").count() - purchasesBefore)
+                .isEqualTo(THREADS * 2);
+    }
+
+    @Test
+    void secondFlushWritesNothingTwice () {
+        productCounterService.recordView(productId);
+        productCounterService.recordPurchase(productId, 3);
+        productCounterService.recordPurchase(productId, 0);
+        productCounterService.flush();
+        productCounterService.flush();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT view_count, purchase_count FROM kredika_app.products WHERE id = ?", productId);
+        assertThat(((Number) row.get("view_count")).longValue()).isEqualTo(8L);
+        assertThat(((Number) row.get("purchase_count")).longValue()).isEqualTo(5L);
+    }
+}
@@ -0,0 +1,189 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import sn.kredika_app.application.interfaces.service.ProductImageService;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.dto.response.ProductImageResponseDto;
+import sn.kredika_app.infrastructure.storage.ContentAddressedImageStorage;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie le téléversement d'une image produit : stockage de l'original, génération des variantes après validation,
+ * rejet des fichiers illisibles sans fichier orphelin, et exclusion du répertoire temporaire des fichiers servis.
+ */
+@SpringBootTest(properties = "kredika.images.storage-dir=${java.io.tmpdir}/kredika-images-test")
+@AutoConfigureMockMvc
+class ProductImageUploadTest {
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private ContentAddressedImageStorage storage;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Images', ?, true, 0)
+                """, categoryId, "images-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                VALUES (?, false, now(), now(), 'Téléviseur', 150000, ?, true, 5)
+                """, productId, categoryId);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("""
+                DELETE FROM kredika_app.product_image_variants
+                 WHERE image_id IN (SELECT id FROM kredika_app.product_images WHERE product_id = ?)
+                """, productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.product_images WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void uploadStoresTheOriginalAndGeneratesVariants () throws Exception {
+        ProductImageResponseDto image = productImageService.upload(productId, png(800, 600), "Face avant", null, true);
+
+        assertThat(image.getProcessingStatus()).isEqualTo(ProductImageServiceImpl.STATUS_PENDING);
+        assertThat(image.getWidth()).isEqualTo(800);
+        assertThat(image.getHeight()).isEqualTo(600);
+        String storageKey = jdbcTemplate.queryForObject(
+                "SELECT storage_key FROM kredika_app.product_images WHERE id = ?", String.class, image.getId());
+        assertThat(storage.resolve(storageKey)).exists();
+        assertThat(temporaryFiles()).isEmpty();
+
+        awaitStatus(image.getId(), ProductImageServiceImpl.STATUS_READY);
+        List<Integer> widths = jdbcTemplate.queryForList(
+                "SELECT width FROM kredika_app.product_image_variants WHERE image_id = ? ORDER BY width",
+                Integer.class, image.getId());
+        assertThat(widths).containsExactly(160, 320, 640);
+
+        mockMvc.perform(get("/media/images/" + storageKey)).andExpect(status().isOk());
+    }
+
+    @Test
+    void unreadableFileIsRejectedWithoutLeavingAFile () throws Exception {
+        long filesBefore = storedFiles();
+        MockMultipartFile notAnImage = new MockMultipartFile("file", "photo.png", "image/png",
+                ("pas une image " + UUID.randomUUID()).getBytes());
+
+        assertThatThrownBy(() -> productImageService.upload(productId, notAnImage, null, null, false))
+                .isInstanceOf(CustomException.class);
+
+        assertThat(storedFiles()).isEqualTo(filesBefore);
+        assertThat(temporaryFiles()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM kredika_app.product_images WHERE product_id = ?", Long.class, productId))
+                .isZero();
+    }
+
+    @Test
+    void unknownProductIsRejectedBeforeAnyWrite () throws Exception {
+        long filesBefore = storedFiles();
+
+        assertThatThrownBy(() -> productImageService.upload(UUID.randomUUID(), png(320, 200), null, null, false))
+                .isInstanceOf(CustomException.class);
+
+        assertThat(storedFiles()).isEqualTo(filesBefore);
+    }
+
+    @Test
+    void temporaryDirectoryIsNotServed () throws Exception {
+        Path tempDir = Files.createDirectories(storage.getRoot().resolve(ContentAddressedImageStorage.TEMP_DIR));
+        Path partial = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            mockMvc.perform(get("/media/images/" + ContentAddressedImageStorage.TEMP_DIR + "/"
+                    + partial.getFileName())).andExpect(status().isNotFound());
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private void awaitStatus (UUID imageId, String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        String current;
+        do {
+            current = jdbcTemplate.queryForObject(
+                    "SELECT processing_status FROM kredika_app.product_images WHERE id = ?", String.class, imageId);
+            if (expected.equals(current)) {
+                return;
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+        assertThat(current).isEqualTo(expected);
+    }
+
+    private long storedFiles () throws IOException {
+        if (!Files.exists(storage.getRoot())) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(storage.getRoot())) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private List<Path> temporaryFiles () throws IOException {
+        Path tempDir = storage.getRoot().resolve(ContentAddressedImageStorage.TEMP_DIR);
+        if (!Files.exists(tempDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.toList();
+        }
+    }
+
+    /**
+     * Image au contenu unique pour que chaque test crée son propre fichier
+     */
+    private static MockMultipartFile png (int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color((int) (Math.random() * 0xFFFFFF)));
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.WHITE);
+        g.drawString(UUID.randomUUID().toString(), 10, 20);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("file", "photo.png", "image/png", out.toByteArray());
+    }
+}
@@ -0,0 +1,186 @@
+package sn.kredika_app.application.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.ProductRatingStatsService;
+import sn.kredika_app.domain.dto.response.ProductRatingSummaryDto;
+import sn.kredika_app.domain.model.ProductReviewModel;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que l'agrégat de notes suit l'approbation, la modification et la suppression des avis, et que la copie
+ * dénormalisée sur products rejoint l'agrégat. La réconciliation ne doit pas écraser le delta d'un avis en cours
+ * d'approbation.
+ */
+@SpringBootTest
+class ProductRatingStatsTest {
+
+    @Autowired
+    private ProductRatingStatsService productRatingStatsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Avis', ?, true, 0)
+                """, categoryId, "avis-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                VALUES (?, false, now(), now(), 'Ventilateur', 30000, ?, true, 5)
+                """, productId, categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Moussa Fall', ?)
+                """, userId, "moussa-" + userId + "@example.com");
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.product_reviews WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.product_rating_stats WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void aggregateFollowsTheReviewLifecycle () {
+        assertThat(productRatingStatsService.getRatingSummary(productId).getRatingCount()).isZero();
+
+        UUID pending = create(4, false);
+        UUID approved = create(5, true);
+        create(2, true);
+        assertSummary("3.50", 2, List.of(0L, 1L, 0L, 0L, 1L));
+
+        update(pending, review -> review.setApproved(true));
+        assertSummary("3.67", 3, List.of(0L, 1L, 0L, 1L, 1L));
+
+        update(approved, review -> review.setRating(1));
+        assertSummary("2.33", 3, List.of(1L, 1L, 0L, 1L, 0L));
+
+        update(approved, review -> review.setDeleted(true));
+        assertSummary("3.00", 2, List.of(0L, 1L, 0L, 1L, 0L));
+    }
+
+    @Test
+    void syncCopiesTheAverageOntoTheProduct () {
+        create(3, true);
+        create(4, true);
+
+        productRatingStatsService.syncProductRatings();
+
+        Map<String, Object> product = jdbcTemplate.queryForMap(
+                "SELECT rating, review_count FROM kredika_app.products WHERE id = ?", productId);
+        assertThat((BigDecimal) product.get("rating")).isEqualByComparingTo("3.50");
+        assertThat(((Number) product.get("review_count")).intValue()).isEqualTo(2);
+    }
+
+    @Test
+    void reconcileRepairsDrift () {
+        create(5, true);
+        jdbcTemplate.update("""
+                UPDATE kredika_app.product_rating_stats SET rating_sum = 99, rating_count = 9, star5_count = 9
+                 WHERE product_id = ?
+                """, productId);
+
+        productRatingStatsService.reconcile();
+
+        assertSummary("5.00", 1, List.of(0L, 0L, 0L, 0L, 1L));
+    }
+
+    @Test
+    void reconcileWaitsForInFlightReviews () throws Exception {
+        create(5, true);
+        CountDownLatch deltaApplied = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Avis approuvé dont le delta est appliqué, transaction encore ouverte pendant la réconciliation
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    ProductReviewModel created = new ProductReviewModel();
+                    created.setProductId(productId);
+                    created.setUserId(userId);
+                    created.setRating(3);
+                    created.setApproved(true);
+                    entityManager.persist(created);
+                    entityManager.flush();
+                    deltaApplied.countDown();
+                    await(release);
+                }));
+        assertThat(deltaApplied.await(30, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> reconcile = CompletableFuture.supplyAsync(productRatingStatsService::reconcile);
+        Thread.sleep(500);
+        assertThat(reconcile).isNotDone();
+
+        release.countDown();
+        writer.get(30, TimeUnit.SECONDS);
+        reconcile.get(30, TimeUnit.SECONDS);
+
+        assertSummary("4.00", 2, List.of(0L, 0L, 1L, 0L, 1L));
+    }
+
+    private UUID create (int rating, boolean approved) {
+        return transactionTemplate.execute(status -> {
+            ProductReviewModel created = new ProductReviewModel();
+            created.setProductId(productId);
+            created.setUserId(userId);
+            created.setRating(rating);
+            created.setApproved(approved);
+            entityManager.persist(created);
+            return created.getId();
+        });
+    }
+
+    private void update (UUID reviewId, Consumer<ProductReviewModel> change) {
+        transactionTemplate.executeWithoutResult(status ->
+                change.accept(entityManager.find(ProductReviewModel.class, reviewId)));
+    }
+
+    private void assertSummary (String average, long count, List<Long> histogram) {
+        ProductRatingSummaryDto summary = productRatingStatsService.getRatingSummary(productId);
+        assertThat(summary.getAverageRating()).isEqualByComparingTo(average);
+        assertThat(summary.getRatingCount()).isEqualTo(count);
+        assertThat(summary.getHistogram()).containsExactlyElementsOf(histogram);
+    }
+
+    private static void await (CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package sn.kredika_app.application.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.ProductSearchService;
+import sn.kredika_app.domain.dto.response.ProductSearchResponseDto;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mesure la recherche plein texte sur un catalogue de 500 000 produits, pour une requête sélective et pour une
+ * requête présente dans tout le catalogue.
+ * Test lourd : lancer avec {@code mvn test -Dbenchmark=true}.
+ */
+@Slf4j
+@SpringBootTest
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductSearchBenchmarkTest {
+
+    private static final int PRODUCT_COUNT = 500_000;
+    private static final int WARMUP = 50;
+    private static final int RUNS = 500;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+
+    @BeforeAll
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Benchmark recherche', ?, true, 0)
+                """, categoryId, "benchmark-recherche-" + categoryId);
+        // 1 produit sur 1 000 porte un nom de modèle rare ; tous partagent la marque "Kredika". Les dates de création
+        // se suivent comme dans un catalogue alimenté au fil de l'eau
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, brand, price,
+                                                  category_id, is_active, stock, short_description)
+                SELECT gen_random_uuid(), false, now() - (? - g) * interval '1 second', now(),
+                       (ARRAY['Téléviseur', 'Réfrigérateur', 'Smartphone', 'Climatiseur', 'Congélateur',
+                              'Ventilateur', 'Machine à laver', 'Ordinateur portable'])[g % 8 + 1]
+                           || CASE WHEN g % 1000 = 0 THEN ' Zénith' ELSE ' modèle ' || g END,
+                       'Kredika', (random() * 500000 + 1000)::numeric(10, 2), ?, true, 10,
+                       'Livraison rapide à Dakar et paiement en plusieurs fois'
+                  FROM generate_series(1, ?) g
+                """, PRODUCT_COUNT, categoryId, PRODUCT_COUNT);
+        // Vide la liste d'attente de l'index GIN alimentée par l'insertion massive
+        jdbcTemplate.execute("VACUUM ANALYZE kredika_app.products");
+    }
+
+    @AfterAll
+    void cleanup () {
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void searchStaysUnder20MsAtP99 () {
+        long selective = p99Micros("zenith");
+        long broad = p99Micros("kredika");
+        long deepPage = p99Micros("refrigerateur", 45);
+
+        log.info("recherche sur {} produits : p99 sélective {} µs, p99 large {} µs, p99 page 46 {} µs",
+                PRODUCT_COUNT, selective, broad, deepPage);
+
+        assertThat(productSearchService.search("zenith", null, 0, 20).getItems()).hasSize(20);
+        assertThat(selective).isLessThan(20_000);
+        assertThat(broad).isLessThan(20_000);
+        assertThat(deepPage).isLessThan(20_000);
+    }
+
+    private long p99Micros (String query) {
+        return p99Micros(query, 0);
+    }
+
+    private long p99Micros (String query, int page) {
+        for (int i = 0; i < WARMUP; i++) {
+            productSearchService.search(query, null, page, 20);
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            ProductSearchResponseDto response = productSearchService.search(query, null, page, 20);
+            samples[i] = System.nanoTime() - start;
+            assertThat(response.getItems()).isNotEmpty();
+        }
+        Arrays.sort(samples);
+        return samples[(int) Math.ceil(RUNS * 0.99) - 1] / 1_000;
+    }
+}
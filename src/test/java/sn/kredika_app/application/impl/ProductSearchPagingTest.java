@@ -0,0 +1,85 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.ProductSearchService;
+import sn.kredika_app.domain.dto.response.ProductSearchHitDto;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que les pages d'une requête ayant plus de correspondances que la fenêtre consultable sont découpées dans
+ * la même fenêtre : pas de doublon d'une page à l'autre, et la même page à chaque appel.
+ * Tous les produits du test portent le même texte, donc le même score : l'ordre ne dépend que de la fenêtre et de
+ * l'identifiant.
+ */
+@SpringBootTest
+class ProductSearchPagingTest {
+
+    private static final int PRODUCT_COUNT = ProductSearchServiceImpl.MAX_RESULT_WINDOW + 200;
+    private static final int PAGE_SIZE = ProductSearchServiceImpl.MAX_PAGE_SIZE;
+    private static final String QUERY = "kalimbaphone";
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Pagination recherche', ?, true, 0)
+                """, categoryId, "pagination-recherche-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                SELECT gen_random_uuid(), false, now(), now(), 'Kalimbaphone', 15000, ?, true, 10
+                  FROM generate_series(1, ?)
+                """, categoryId, PRODUCT_COUNT);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void pagesOfABroadQueryNeverOverlap () {
+        List<UUID> first = page(0);
+        List<UUID> second = page(1);
+
+        assertThat(first).hasSize(PAGE_SIZE).doesNotHaveDuplicates();
+        assertThat(second).hasSize(PAGE_SIZE).doesNotContainAnyElementsOf(first);
+        assertThat(page(0)).containsExactlyElementsOf(first);
+        assertThat(page(1)).containsExactlyElementsOf(second);
+        // À score égal : la fenêtre retient les plus récents par (created_at, id), puis les pages suivent l'identifiant
+        List<UUID> expected = jdbcTemplate.queryForList("""
+                SELECT id
+                  FROM (SELECT id FROM kredika_app.products WHERE category_id = ?
+                         ORDER BY created_at DESC, id DESC LIMIT ?) w
+                 ORDER BY id
+                 LIMIT ?
+                """, UUID.class, categoryId, ProductSearchServiceImpl.MAX_RESULT_WINDOW, 2 * PAGE_SIZE);
+        assertThat(first).containsExactlyElementsOf(expected.subList(0, PAGE_SIZE));
+        assertThat(second).containsExactlyElementsOf(expected.subList(PAGE_SIZE, 2 * PAGE_SIZE));
+    }
+
+    private List<UUID> page (int number) {
+        return productSearchService.search(QUERY, categoryId, number, PAGE_SIZE).getItems().stream()
+                .map(ProductSearchHitDto::getId)
+                .toList();
+    }
+}
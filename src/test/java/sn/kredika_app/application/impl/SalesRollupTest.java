@@ -0,0 +1,184 @@
+package sn.kredika_app.application.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sn.kredika_app.application.interfaces.service.SalesReportService;
+import sn.kredika_app.application.interfaces.service.SalesRollupService;
+import sn.kredika_app.application.interfaces.service.SalesRollupService.RebuildJob;
+import sn.kredika_app.common.exception.CustomException;
+import sn.kredika_app.domain.model.OrderModel;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie que le retrait d'une commande retranche exactement ce qui a été ajouté, que la suppression logique d'une
+ * commande livrée la retire des agrégats, et que le recalcul lancé depuis l'API s'exécute en arrière-plan.
+ * Les commandes sont datées d'une journée passée réservée au test.
+ */
+@SpringBootTest
+class SalesRollupTest {
+
+    private static final LocalDate SALES_DATE = LocalDate.of(2001, 3, 15);
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID otherCategoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orderId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed () {
+        for (UUID id : List.of(categoryId, otherCategoryId)) {
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active,
+                                                        position)
+                    VALUES (?, false, now(), now(), 'Ventes', ?, true, 0)
+                    """, id, "ventes-" + id);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                VALUES (?, false, now(), now(), 'Cuisinière', 90000, ?, true, 10)
+                """, productId, categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Awa Ndiaye', ?)
+                """, userId, "awa-" + userId + "@example.com");
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.orders (id, is_deleted, created_at, updated_at, version, order_number, user_id,
+                                                total_amount, status_code, payment_status_code)
+                VALUES (?, false, ?, now(), 0, ?, ?, 180000, 'DELIVERED', 'PAID')
+                """, orderId, Timestamp.valueOf(SALES_DATE.atTime(11, 0)),
+                "CMD-20010315-%05d".formatted(Math.floorMod(orderId.hashCode(), 100_000)), userId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.order_items (id, is_deleted, created_at, updated_at, version, order_id,
+                                                     product_id, quantity, unit_price, total_price)
+                VALUES (?, false, now(), now(), 0, ?, ?, 2, 90000, 180000)
+                """, UUID.randomUUID(), orderId, productId);
+    }
+
+    @AfterEach
+    void cleanUp () {
+        Date day = Date.valueOf(SALES_DATE);
+        jdbcTemplate.update("DELETE FROM kredika_app.sales_rollup_orders WHERE sales_date = ?", day);
+        jdbcTemplate.update("DELETE FROM kredika_app.sales_product_daily WHERE sales_date = ?", day);
+        jdbcTemplate.update("DELETE FROM kredika_app.sales_category_daily WHERE sales_date = ?", day);
+        jdbcTemplate.update("DELETE FROM kredika_app.outbox_events WHERE aggregate_id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM kredika_app.order_items WHERE order_id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM kredika_app.orders WHERE id = ?", orderId);
+        jdbcTemplate.update("DELETE FROM kredika_app.users WHERE id = ?", userId);
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        for (UUID id : List.of(categoryId, otherCategoryId)) {
+            jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", id);
+            jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", id);
+        }
+    }
+
+    @Test
+    void removalSubtractsExactlyWhatWasAdded () {
+        assertThat(salesRollupService.syncOrder(orderId)).isTrue();
+        assertThat(salesRollupService.syncOrder(orderId)).isFalse();
+        assertThat(categoryRevenue(categoryId)).isEqualByComparingTo("180000");
+
+        // Article modifié et produit recatégorisé après l'ajout : le retrait ne doit voir ni l'un ni l'autre
+        jdbcTemplate.update("UPDATE kredika_app.order_items SET quantity = 3, total_price = 270000 WHERE order_id = ?",
+                orderId);
+        jdbcTemplate.update("UPDATE kredika_app.products SET category_id = ? WHERE id = ?", otherCategoryId,
+                productId);
+        jdbcTemplate.update("UPDATE kredika_app.orders SET status_code = 'RETURNED' WHERE id = ?", orderId);
+
+        assertThat(salesRollupService.syncOrder(orderId)).isTrue();
+        assertThat(categoryRevenue(categoryId)).isEqualByComparingTo("0");
+        assertThat(categoryRevenue(otherCategoryId)).isNull();
+        Map<String, Object> product = jdbcTemplate.queryForMap("""
+                SELECT units, revenue FROM kredika_app.sales_product_daily WHERE sales_date = ? AND product_id = ?
+                """, Date.valueOf(SALES_DATE), productId);
+        assertThat(((Number) product.get("units")).longValue()).isZero();
+        assertThat((BigDecimal) product.get("revenue")).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void softDeletedDeliveredOrderLeavesTheRollups () {
+        salesRollupService.syncOrder(orderId);
+
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.find(OrderModel.class, orderId).setDeleted(true));
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM kredika_app.outbox_events WHERE aggregate_id = ? AND event_type = 'ORDER_DELETED'
+                """, Integer.class, orderId)).isEqualTo(1);
+        // Traitement de l'événement, que le dispatcher l'ait déjà fait ou non
+        salesRollupService.syncOrder(orderId);
+        assertThat(categoryRevenue(categoryId)).isEqualByComparingTo("0");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM kredika_app.sales_rollup_orders WHERE order_id = ?", Integer.class, orderId))
+                .isZero();
+    }
+
+    @Test
+    void rebuildRunsInTheBackground () throws InterruptedException {
+        RebuildJob started = salesRollupService.startRebuild(SALES_DATE, SALES_DATE);
+        assertThat(started.status()).isEqualTo(SalesRollupServiceImpl.JOB_RUNNING);
+
+        RebuildJob job = started;
+        for (int i = 0; i < 300 && SalesRollupServiceImpl.JOB_RUNNING.equals(job.status()); i++) {
+            Thread.sleep(100);
+            job = salesRollupService.findRebuild(started.id());
+        }
+
+        assertThat(job.status()).isEqualTo(SalesRollupServiceImpl.JOB_DONE);
+        assertThat(job.report().orders()).isEqualTo(1);
+        assertThat(categoryRevenue(categoryId)).isEqualByComparingTo("180000");
+        assertThatThrownBy(() -> salesRollupService.findRebuild(UUID.randomUUID()))
+                .isInstanceOf(CustomException.class);
+    }
+
+    @Test
+    void reportRangeFollowsTheRebuildLimit () {
+        LocalDate from = SALES_DATE.minusDays(3660);
+
+        assertThat(salesReportService.dailyTotals(from.plusDays(1), SALES_DATE)).isNotNull();
+        assertThatThrownBy(() -> salesReportService.dailyTotals(from, SALES_DATE))
+                .isInstanceOf(CustomException.class);
+        assertThatThrownBy(() -> salesRollupService.startRebuild(from, SALES_DATE))
+                .isInstanceOf(CustomException.class);
+    }
+
+    private BigDecimal categoryRevenue (UUID id) {
+        List<BigDecimal> revenue = jdbcTemplate.queryForList("""
+                SELECT revenue FROM kredika_app.sales_category_daily WHERE sales_date = ? AND category_id = ?
+                """, BigDecimal.class, Date.valueOf(SALES_DATE), id);
+        return revenue.isEmpty() ? null : revenue.getFirst();
+    }
+}
@@ -0,0 +1,130 @@
+package sn.kredika_app.application.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sn.kredika_app.application.interfaces.service.StockReservationService;
+import sn.kredika_app.common.exception.CustomException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie qu'aucune survente n'est possible lorsque des milliers de passages en caisse visent le même produit, et que
+ * les réservations expirées du registre reviennent au stock.
+ */
+@SpringBootTest
+class StockReservationConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int CARTS = 200;
+    private static final int ATTEMPTS = 2_000;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final List<UUID> cartIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Vente flash', ?, true, 0)
+                """, categoryId, "vente-flash-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                VALUES (?, false, now(), now(), 'Smartphone promo', 50000, ?, true, ?)
+                """, productId, categoryId, INITIAL_STOCK);
+        for (int i = 0; i < CARTS; i++) {
+            UUID cartId = UUID.randomUUID();
+            cartIds.add(cartId);
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.carts (id, is_deleted, created_at, updated_at, status_code, total_amount,
+                                                   expires_at)
+                    VALUES (?, false, now(), now(), 'ACTIVE', 0, now() + interval '1 hour')
+                    """, cartId);
+        }
+    }
+
+    @AfterEach
+    void cleanUp () {
+        jdbcTemplate.update("DELETE FROM kredika_app.stock_reservations WHERE product_id = ?", productId);
+        for (UUID cartId : cartIds) {
+            jdbcTemplate.update("DELETE FROM kredika_app.carts WHERE id = ?", cartId);
+        }
+        jdbcTemplate.update("DELETE FROM kredika_app.products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM kredika_app.category_product_stats WHERE category_id = ?", categoryId);
+        jdbcTemplate.update("DELETE FROM kredika_app.categories WHERE id = ?", categoryId);
+    }
+
+    @Test
+    void concurrentCheckoutsNeverOversell () throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                UUID cartId = cartIds.get(i % CARTS);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        stockReservationService.consumeForCheckout(cartId, Map.of(productId, 1));
+                        accepted.incrementAndGet();
+                    } catch (CustomException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        }
+
+        Integer stock = jdbcTemplate.queryForObject(
+                "SELECT stock FROM kredika_app.products WHERE id = ?", Integer.class, productId);
+
+        assertThat(accepted.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - INITIAL_STOCK);
+        assertThat(stock).isZero();
+    }
+
+    @Test
+    void expiredHoldsReturnToStock () {
+        UUID cartId = cartIds.getFirst();
+        stockReservationService.adjustStock(productId, -30);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.stock_reservations (id, cart_id, product_id, quantity, status, expires_at,
+                                                            created_at)
+                VALUES (gen_random_uuid(), ?, ?, 30, 'HELD', now() - interval '1 minute', now())
+                """, cartId, productId);
+
+        assertThat(stockReservationService.releaseExpired()).isGreaterThanOrEqualTo(1);
+
+        Integer stock = jdbcTemplate.queryForObject(
+                "SELECT stock FROM kredika_app.products WHERE id = ?", Integer.class, productId);
+        assertThat(stock).isEqualTo(INITIAL_STOCK);
+    }
+}
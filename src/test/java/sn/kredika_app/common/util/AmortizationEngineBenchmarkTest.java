@@ -0,0 +1,91 @@
+package sn.kredika_app.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import sn.kredika_app.common.enums.PaymentFrequency;
+import sn.kredika_app.common.util.AmortizationEngine.Amortization;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exactitude des échéanciers calculés en entiers, et débit du calcul pour les restructurations de masse.
+ * Mesure lourde : lancer avec {@code mvn test -Dbenchmark=true}.
+ */
+@Slf4j
+class AmortizationEngineBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+    private static final int SCHEDULES_PER_ROUND = 1_000_000;
+    private static final int CREDIT_DURATION = 24;
+
+    @Test
+    void installmentsAddUpToTheTotalInWholeFrancs () {
+        LocalDate start = LocalDate.of(2024, 1, 31);
+        for (PaymentFrequency frequency : PaymentFrequency.values()) {
+            int count = frequency.installmentCount(CREDIT_DURATION);
+            Amortization amortization = AmortizationEngine.amortize(new BigDecimal("287500.75"), count, frequency,
+                    start);
+
+            assertThat(Arrays.stream(amortization.amounts()).sum()).isEqualTo(28_750_075L);
+            assertThat(amortization.amounts()[0] % AmortizationEngine.CENTIMES_PER_FRANC).isEqualTo(75);
+            long[] francs = Arrays.stream(amortization.amounts()).map(a -> a / AmortizationEngine.CENTIMES_PER_FRANC)
+                    .toArray();
+            assertThat(Arrays.stream(francs).max().getAsLong() - Arrays.stream(francs).min().getAsLong())
+                    .isLessThanOrEqualTo(1);
+            for (int i = 1; i < count; i++) {
+                assertThat(amortization.amounts()[i] % AmortizationEngine.CENTIMES_PER_FRANC).isZero();
+                assertThat(francs[i]).isLessThanOrEqualTo(francs[i - 1]);
+                assertThat(amortization.dueDates()[i]).isEqualTo(frequency.dueDate(start, i + 1));
+            }
+            assertThat(amortization.dueDates()[0]).isEqualTo(frequency.dueDate(start, 1));
+            assertThat(AmortizationEngine.amortize(new BigDecimal("287500.75"), count, frequency, start).amounts())
+                    .isEqualTo(amortization.amounts());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void generatesMillionsOfSchedulesPerMinute () {
+        long[] totals = new long[1024];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = ThreadLocalRandom.current().nextLong(10_000_00L, 5_000_000_00L);
+        }
+        PaymentFrequency[] frequencies = PaymentFrequency.values();
+        LocalDate start = LocalDate.of(2024, 1, 15);
+        long[] checksum = new long[1];
+        AmortizationEngine.InstallmentSink sink = (number, dueDate, amount) ->
+                checksum[0] += amount + number + dueDate.getDayOfMonth();
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(totals, frequencies, start, sink);
+        }
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long elapsed = runRound(totals, frequencies, start, sink);
+            best = Math.max(best, SCHEDULES_PER_ROUND * 60_000_000_000d / elapsed);
+        }
+        log.info("échéanciers ({} mois) : {} millions par minute (somme de contrôle {})",
+                CREDIT_DURATION, String.format("%.1f", best / 1_000_000), checksum[0]);
+        assertThat(best).isGreaterThan(5_000_000);
+    }
+
+    private static long runRound (long[] totals, PaymentFrequency[] frequencies, LocalDate start,
+                                  AmortizationEngine.InstallmentSink sink) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < SCHEDULES_PER_ROUND; i++) {
+            PaymentFrequency frequency = frequencies[i & 3];
+            AmortizationEngine.amortize(totals[i & 1023], frequency.installmentCount(CREDIT_DURATION), frequency,
+                    start, sink);
+        }
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,135 @@
+package sn.kredika_app.domain.model;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie qu'une mise à jour de statut ne charge pas les articles de la commande et que le total suit les ajouts
+ * d'articles sans relecture de la collection.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OrderTotalQueryCountTest {
+
+    private static final int ITEM_COUNT = 20;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final UUID orderId = UUID.randomUUID();
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Électroménager', ?, true, 0)
+                """, categoryId, "electromenager-" + categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                  is_active, stock)
+                VALUES (?, false, now(), now(), 'Réfrigérateur', 1000, ?, true, 50)
+                """, productId, categoryId);
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.users (id, is_deleted, created_at, updated_at, full_name, email)
+                VALUES (?, false, now(), now(), 'Awa Diop', ?)
+                """, userId, "awa-" + userId + "@example.com");
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.orders (id, is_deleted, created_at, updated_at, version, order_number, user_id,
+                                                total_amount, status_code, payment_status_code)
+                VALUES (?, false, now(), now(), 0, 'CMD-20250101-00001', ?, ?, 'CREATED', 'PENDING')
+                """, orderId, userId, 1000 * ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.order_items (id, is_deleted, created_at, updated_at, version, order_id,
+                                                         product_id, quantity, unit_price, total_price)
+                    VALUES (?, false, now(), now(), 0, ?, ?, 1, 1000, 1000)
+                    """, UUID.randomUUID(), orderId, productId);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void statusUpdateNeverLoadsItems () {
+        OrderModel order = entityManager.find(OrderModel.class, orderId);
+        order.setStatusCode("PROCESSING");
+        order.setPaymentStatusCode("PAID");
+        entityManager.flush();
+
+        assertThat(Hibernate.isInitialized(order.getItems())).isFalse();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        // Lecture de la commande puis mise à jour, rien d'autre
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(1000L * ITEM_COUNT));
+    }
+
+    @Test
+    void addingAnItemUpdatesTheTotalWithoutLoadingItems () {
+        OrderModel order = entityManager.find(OrderModel.class, orderId);
+        OrderItemModel item = new OrderItemModel();
+        item.setProductId(productId);
+        item.setPaymentMethodCode("CASH");
+        item.reprice(3, new BigDecimal("1000.00"));
+        order.addItem(item);
+        entityManager.flush();
+
+        assertThat(Hibernate.isInitialized(order.getItems())).isFalse();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        // Lecture de la commande, insertion de l'article, mise à jour du total
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        BigDecimal persisted = jdbcTemplate.queryForObject(
+                "SELECT total_amount FROM kredika_app.orders WHERE id = ?", BigDecimal.class, orderId);
+        assertThat(persisted).isEqualByComparingTo(BigDecimal.valueOf(1000L * ITEM_COUNT + 3000));
+    }
+
+    @Test
+    void unpricedItemIsRejectedWithoutTouchingTheTotal () {
+        OrderModel order = entityManager.find(OrderModel.class, orderId);
+        OrderItemModel item = new OrderItemModel();
+        item.setProductId(productId);
+
+        assertThatThrownBy(() -> order.addItem(item)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(1000L * ITEM_COUNT));
+    }
+
+    @Test
+    void updatingAnItemMovesTheTotalByTheDifference () {
+        OrderModel order = entityManager.find(OrderModel.class, orderId);
+        OrderItemModel item = new OrderItemModel();
+        item.setProductId(productId);
+        item.reprice(1, new BigDecimal("1000.00"));
+        order.addItem(item);
+
+        order.updateItem(item, 4, new BigDecimal("1250.00"));
+
+        assertThat(item.getTotalPrice()).isEqualByComparingTo("5000.00");
+        assertThat(order.getTotalAmount()).isEqualByComparingTo(BigDecimal.valueOf(1000L * ITEM_COUNT + 5000));
+    }
+}
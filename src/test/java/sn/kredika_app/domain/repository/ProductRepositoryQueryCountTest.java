@@ -0,0 +1,91 @@
+package sn.kredika_app.domain.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import sn.kredika_app.domain.dto.response.ProductResponseDto;
+import sn.kredika_app.domain.dto.simple.ProductSimpleDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie que les projections produits s'exécutent en une seule instruction SQL, sans N+1 sur les images ni sur la
+ * catégorie.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ProductRepositoryQueryCountTest {
+
+    private static final int PRODUCT_COUNT = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final List<UUID> productIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed () {
+        jdbcTemplate.update("""
+                INSERT INTO kredika_app.categories (id, is_deleted, created_at, updated_at, name, slug, is_active, position)
+                VALUES (?, false, now(), now(), 'Téléphones', ?, true, 0)
+                """, categoryId, "telephones-" + categoryId);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            UUID productId = UUID.randomUUID();
+            productIds.add(productId);
+            jdbcTemplate.update("""
+                    INSERT INTO kredika_app.products (id, is_deleted, created_at, updated_at, name, price, category_id,
+                                                      is_active, stock)
+                    VALUES (?, false, now(), now(), ?, 1000, ?, true, 5)
+                    """, productId, "Produit " + i, categoryId);
+            for (int position = 0; position < 2; position++) {
+                jdbcTemplate.update("""
+                        INSERT INTO kredika_app.product_images (id, is_deleted, created_at, updated_at, product_id,
+                                                                image_url, position, is_primary)
+                        VALUES (?, false, now(), now(), ?, ?, ?, ?)
+                        """, UUID.randomUUID(), productId, "https://cdn.kredika.sn/" + productId + "/" + position + ".jpg",
+                        position, position == 0);
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void responsesOf50ProductsRunOneStatement () {
+        List<ProductResponseDto> products = productRepository.findResponsesByIds(productIds);
+
+        assertThat(products).hasSize(PRODUCT_COUNT);
+        assertThat(products).allSatisfy(product -> {
+            assertThat(product.getMainImageUrl()).endsWith("/0.jpg");
+            assertThat(product.getCategory().getName()).isEqualTo("Téléphones");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void summariesByIdsRunOneStatement () {
+        List<ProductSimpleDto> summaries = productRepository.findSimpleByIds(productIds);
+
+        assertThat(summaries).hasSize(PRODUCT_COUNT);
+        assertThat(summaries).allSatisfy(product -> assertThat(product.getMainImageUrl()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,163 @@
+package sn.kredika_app.domain.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.Facet;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetFilter;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetResult;
+import sn.kredika_app.domain.snapshot.ProductFacetIndex.FacetRow;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exactitude des compteurs de facettes après des mises à jour unitaires, et empreinte mémoire et latence de l'index
+ * sur un catalogue de 500 000 produits.
+ * Mesure lourde : lancer avec {@code mvn test -Dbenchmark=true}.
+ */
+@Slf4j
+class ProductFacetIndexBenchmarkTest {
+
+    private static final int PRODUCTS = 500_000;
+    private static final int CATEGORIES = 400;
+    private static final int BRANDS = 3_000;
+    private static final String[] COLORS = {"Noir", "Blanc", "Gris", "Argent", "Rouge", "Bleu", "Vert", "Jaune",
+            "Rose", "Or", "Marron", "Violet"};
+    private static final int QUERIES = 2_000;
+
+    @Test
+    void countsMatchAFullScanAfterUpdates () {
+        Random random = new Random(7);
+        UUID[] categories = uuids(20, random);
+        List<FacetRow> rows = rows(5_000, categories, 300, random);
+        ProductFacetIndex index = ProductFacetIndex.build(rows);
+
+        // Mises à jour unitaires : changement de marque et de catégorie, désactivation, suppression, ajout
+        Map<UUID, FacetRow> current = new HashMap<>();
+        rows.forEach(row -> current.put(row.id(), row));
+        for (int i = 0; i < 2_000; i++) {
+            FacetRow row = rows.get(random.nextInt(rows.size()));
+            FacetRow updated = switch (i % 4) {
+                case 0 -> row(row.id(), categories[random.nextInt(categories.length)], random.nextInt(300), random,
+                        true);
+                case 1 -> row(row.id(), row.categoryId(), random.nextInt(300), random, random.nextBoolean());
+                case 2 -> null;
+                default -> row(UUID.randomUUID(), categories[random.nextInt(categories.length)],
+                        random.nextInt(300), random, true);
+            };
+            if (updated == null) {
+                index.remove(row.id());
+                current.remove(row.id());
+            } else {
+                index.upsert(updated);
+                current.put(updated.id(), updated);
+            }
+        }
+
+        UUID[] scope = Arrays.copyOf(categories, 5);
+        FacetFilter filter = new FacetFilter(Set.of("Marque 1", "Marque 2", "Marque 3"), Set.of("Noir"), null,
+                true, null);
+        FacetResult result = index.query(scope, filter);
+
+        Set<UUID> inScope = Set.of(scope);
+        List<FacetRow> live = current.values().stream().filter(FacetRow::indexable).toList();
+        assertThat(index.size()).isEqualTo(live.size());
+        assertThat(result.totalCount()).isEqualTo((int) live.stream()
+                .filter(row -> inScope.contains(row.categoryId()))
+                .filter(row -> filter.brands().contains(row.brand()) && "Noir".equals(row.color())
+                        && row.creditEligible())
+                .count());
+        // Compteurs par marque : tous les filtres sauf celui des marques
+        Map<String, Integer> expectedBrands = new HashMap<>();
+        live.stream()
+                .filter(row -> inScope.contains(row.categoryId()))
+                .filter(row -> "Noir".equals(row.color()) && row.creditEligible())
+                .forEach(row -> expectedBrands.merge(row.brand(), 1, Integer::sum));
+        assertThat(result.counts().get(Facet.BRAND)).isEqualTo(expectedBrands);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void fiveHundredThousandProductsStayCompactAndFast () {
+        Random random = new Random(42);
+        UUID[] categories = uuids(CATEGORIES, random);
+
+        long before = usedHeap();
+        List<FacetRow> rows = rows(PRODUCTS, categories, BRANDS, random);
+        long withRows = usedHeap();
+        ProductFacetIndex index = ProductFacetIndex.build(rows);
+        long withIndex = usedHeap();
+        long rowBytes = withRows - before;
+        long postingBytes = withIndex - withRows;
+
+        long[] samples = new long[QUERIES];
+        for (int i = 0; i < QUERIES + QUERIES / 2; i++) {
+            UUID[] scope = Arrays.copyOfRange(categories, i % 380, i % 380 + 20);
+            FacetFilter filter = new FacetFilter(Set.of("Marque " + i % BRANDS), null, null,
+                    i % 2 == 0 ? Boolean.TRUE : null, null);
+            long start = System.nanoTime();
+            index.query(scope, filter);
+            if (i >= QUERIES / 2) {
+                samples[i - QUERIES / 2] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        long p50 = samples[QUERIES / 2] / 1_000;
+        long p99 = samples[(int) Math.ceil(QUERIES * 0.99) - 1] / 1_000;
+        log.info("facettes sur {} produits : lignes {} Mo, postings {} Mo, requête p50 {} µs, p99 {} µs",
+                index.size(), rowBytes / 1_048_576, postingBytes / 1_048_576, p50, p99);
+
+        assertThat(index.size()).isEqualTo(PRODUCTS);
+        assertThat(postingBytes).isLessThan(64L * 1_048_576);
+        assertThat(p99).isLessThan(20_000);
+    }
+
+    /**
+     * Produits au format lu par JdbcProductFacetRepository : chaque ligne porte ses propres instances de chaînes et
+     * d'identifiants de catégorie. Les marques suivent une distribution très inégale, comme dans le catalogue.
+     */
+    private static List<FacetRow> rows (int count, UUID[] categories, int brands, Random random) {
+        List<FacetRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID category = categories[random.nextInt(categories.length)];
+            int brand = (int) (brands * Math.pow(random.nextDouble(), 3));
+            rows.add(row(UUID.randomUUID(), new UUID(category.getMostSignificantBits(),
+                    category.getLeastSignificantBits()), brand, random, true));
+        }
+        return rows;
+    }
+
+    private static FacetRow row (UUID id, UUID categoryId, int brand, Random random, boolean active) {
+        return new FacetRow(id, categoryId, new String("Marque " + brand), new String(COLORS[random.nextInt(
+                COLORS.length)]), BigDecimal.valueOf(5_000 + random.nextInt(1_500_000)), random.nextInt(10) < 3,
+                random.nextInt(20) == 0, active, false);
+    }
+
+    private static UUID[] uuids (int count, Random random) {
+        UUID[] uuids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        return uuids;
+    }
+
+    private static long usedHeap () {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}